@@ -24,14 +24,19 @@
 package com.googlecode.logVisualizer;
 
 import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.swing.JOptionPane;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.UIManager.LookAndFeelInfo;
 
@@ -52,8 +57,10 @@ import com.googlecode.logVisualizer.gui.LogGUI;
 import com.googlecode.logVisualizer.gui.LogGUI.GanttPaneButtonListener;
 import com.googlecode.logVisualizer.gui.LogVisualizerGUI;
 import com.googlecode.logVisualizer.gui.LogVisualizerGUI.LogLoaderListener;
+import com.googlecode.logVisualizer.parser.CachingLogParser;
 import com.googlecode.logVisualizer.parser.LogParser;
 import com.googlecode.logVisualizer.parser.LogsCreator;
+import com.googlecode.logVisualizer.parser.LogsCreator.ParsingProgressListener;
 import com.googlecode.logVisualizer.parser.MafiaLogParser;
 import com.googlecode.logVisualizer.parser.PreparsedLogParser;
 import com.googlecode.logVisualizer.util.DataNumberPair;
@@ -62,6 +69,8 @@ import com.puttysoftware.updaterx.ProductData;
 import com.puttysoftware.updaterx.UpdateChecker;
 
 public final class LogVisualizer {
+    // Milliseconds between two checks of a followed mafia session log.
+    private static final int LOG_FOLLOWING_INTERVAL = 2000;
     static {
         // Create data directories if they do not exist.
         if (!UtilityConstants.ROOT_LOCATION.exists()) {
@@ -143,6 +152,12 @@ public final class LogVisualizer {
             public void loadPreparsedLog(final File file) {
                 LogVisualizer.this.loadLog(file, new PreparsedLogParser(file));
             }
+
+            @Override
+            public void followMafiaLog(final File file) {
+                LogVisualizer.this.followLog(file, new MafiaLogParser(file,
+                        Settings.getSettingBoolean("Include mafia log notes")));
+            }
         });
         this.gui.setSize(800, 600);
         RefineryUtilities.centerFrameOnScreen(this.gui);
@@ -186,32 +201,85 @@ public final class LogVisualizer {
         }
     }
 
-    void loadLog(final File file, final LogParser parser) {
+    void loadLog(final File file, final LogParser logParser) {
         final long t = System.currentTimeMillis();
+        final LogParser parser = Settings
+                .getSettingBoolean("Parsed log caching") ? new CachingLogParser(
+                file, logParser) : logParser;
         try {
             parser.parse();
             this.addLogGUI(file, parser);
         } catch (final IOException e) {
-            // If there was an IO error of some kind while reading the
-            // log file, print the stack trace and show an error dialog,
-            // so the user actually knows something is up.
-            e.printStackTrace();
-            JOptionPane
-                    .showMessageDialog(
-                            null,
-                            "There was a problem with reading and/or parsing the ascension log.\n\n"
-                                    + "Make sure that the ascension log file isn't corrupted or doesn't contain any line longer than 500 characters\n"
-                                    + "and try again. If it still doesn't work, try contacting the developers of the Ascension Log Visualizer for\n"
-                                    + "further help.", "Problem occurred",
-                            JOptionPane.ERROR_MESSAGE);
+            LogVisualizer.showParsingProblem(e);
         }
         System.out.println((System.currentTimeMillis() - t));
     }
 
+    /**
+     * Parses the given mafia session log and shows it like
+     * {@link #loadLog(File, LogParser)} does, but afterwards keeps checking
+     * the log for new entries and adds them to the shown log as long as its
+     * tab is open.
+     */
+    void followLog(final File file, final MafiaLogParser parser) {
+        try {
+            parser.parseAppendedBlocks();
+        } catch (final IOException e) {
+            LogVisualizer.showParsingProblem(e);
+            return;
+        }
+        final LogGUI logGUI = this.addLogGUI(file, parser);
+        // Checking the log length is cheap and the timer runs on the event
+        // dispatch thread, so the log data is never changed while it is being
+        // drawn.
+        final Timer timer = new Timer(LogVisualizer.LOG_FOLLOWING_INTERVAL,
+                null);
+        timer.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                // Stop following the log once its tab has been closed.
+                if (!logGUI.isDisplayable()) {
+                    timer.stop();
+                    return;
+                }
+                try {
+                    if (parser.parseAppendedBlocks()) {
+                        logGUI.updateLogData();
+                    }
+                } catch (final IOException ioe) {
+                    timer.stop();
+                    LogVisualizer.showParsingProblem(ioe);
+                }
+            }
+        });
+        timer.start();
+    }
+
+    /**
+     * If there was an IO error of some kind while reading the log file, print
+     * the stack trace and show an error dialog, so the user actually knows
+     * something is up.
+     */
+    private static void showParsingProblem(final IOException e) {
+        e.printStackTrace();
+        JOptionPane
+                .showMessageDialog(
+                        null,
+                        "There was a problem with reading and/or parsing the ascension log.\n\n"
+                                + "Make sure that the ascension log file isn't corrupted and try again. Pre-parsed ascension logs also must not\n"
+                                + "contain any line longer than 500 characters. If it still doesn't work, try contacting the developers of the\n"
+                                + "Ascension Log Visualizer for further help.",
+                        "Problem occurred",
+                        JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * Adds a {@link LogGUI} with the given logData to the log pane.
+     *
+     * @return The added LogGUI.
      */
-    private synchronized void addLogGUI(final File log, final LogParser parser) {
+    private synchronized LogGUI addLogGUI(final File log,
+            final LogParser parser) {
         final LogGUI logGUI = new LogGUI(log, parser.getLogData(),
                 !parser.isDetailedLogData());
         logGUI.setGanttPanelButtonListener(new GanttPaneButtonListener() {
@@ -230,6 +298,7 @@ public final class LogVisualizer {
             }
         });
         this.gui.addLogTab(logGUI);
+        return logGUI;
     }
 
     /**
@@ -258,6 +327,9 @@ public final class LogVisualizer {
         kolDataFiles.add(new File(UtilityConstants.ROOT_DIRECTORY
                 + File.separator + UtilityConstants.KOL_DATA_DIRECTORY
                 + "outfits.txt"));
+        kolDataFiles.add(new File(UtilityConstants.ROOT_DIRECTORY
+                + File.separator + UtilityConstants.KOL_DATA_DIRECTORY
+                + "questTurncounts.txt"));
         kolDataFiles.add(new File(UtilityConstants.ROOT_DIRECTORY
                 + File.separator + UtilityConstants.KOL_DATA_DIRECTORY
                 + "statsItems.txt"));
@@ -319,15 +391,44 @@ public final class LogVisualizer {
         // Now, the actual parsing can start.
         try {
             System.out.println("Parsing, please wait.");
+            final long startTime = System.nanoTime();
+            final AtomicInteger logCount = new AtomicInteger();
+            final AtomicLong lineCount = new AtomicLong();
             final List<DataNumberPair<String>> errorFileList = LogsCreator
                     .createParsedLogs(mafiaLogs, parsedLogsSavingDirectory,
-                            TextualLogVersion.TEXT_LOG);
-            System.out.println("Parsing finished.\n\n");
+                            TextualLogVersion.TEXT_LOG,
+                            new ParsingProgressListener() {
+                                @Override
+                                public void logHandled(
+                                        final String parsedLogName,
+                                        final int lines,
+                                        final boolean isParsingSuccessful) {
+                                    lineCount.addAndGet(lines);
+                                    // Keeps the numbering of the printed
+                                    // logs in order.
+                                    synchronized (logCount) {
+                                        System.out.println(logCount
+                                                .incrementAndGet()
+                                                + ": "
+                                                + parsedLogName
+                                                + (isParsingSuccessful ? ""
+                                                        : " (failed)"));
+                                    }
+                                }
+                            });
+            final double seconds = Math.max(System.nanoTime() - startTime, 1)
+                    / 1e9;
+            System.out.println("Parsing finished.\n");
+            System.out.println(String.format(
+                    "%d logs with %d lines parsed in %.1f seconds "
+                            + "(%.1f logs/sec, %.0f lines/sec).\n\n",
+                    logCount.get(), lineCount.get(), seconds, logCount.get()
+                            / seconds, lineCount.get() / seconds));
             // If there were error logs, give the user feedback on them.
             if (!errorFileList.isEmpty()) {
                 final StringBuilder str = new StringBuilder(100);
                 str.append("There were problems parsing the following logs. Please check the underlaying mafia session logs to see\n"
-                        + "if they contained any corrupted data or lines longer than 500 characters and try to remove any problems.\n\n\n");
+                        + "if they contained any corrupted data and try to remove any problems.\n\n\n");
                 str.append("The given list lists the erroneous log name and turn number after which the error occurred in the mafia\n"
                         + "session log upon which the log is based on.\n\n");
                 for (final DataNumberPair<String> dn : errorFileList) {
@@ -345,6 +446,9 @@ public final class LogVisualizer {
     public static void main(final String[] args) {
         if ((args.length > 0)
                 && (args[0].equals("-parse") || args[0].equals("-p"))) {
+            // Parsing from the command line doesn't need a display, so it
+            // also works on servers.
+            System.setProperty("java.awt.headless", "true");
             LogVisualizer.commandLineParsing(args);
         } else {
             EventQueue.invokeLater(new Runnable() {
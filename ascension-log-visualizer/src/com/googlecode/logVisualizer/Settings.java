@@ -60,6 +60,18 @@ import net.java.dev.spellcast.utilities.UtilityConstants;
  * appears on the leaderboards ends on ascending, not when King Ralph is freed.</li>
  * <li>{@code "Include mafia log notes"}: TRUE if mafia session log notes are
  * parsed, otherwise FALSE.</li>
+ * <li>{@code "Pipelined log parsing"}: TRUE if mafia session logs are read on a
+ * separate thread while they are being parsed, otherwise FALSE.</li>
+ * <li>{@code "Parallel day parsing"}: TRUE if the days of condensed mafia logs
+ * are parsed in parallel, otherwise FALSE.</li>
+ * <li>{@code "Parallel log condensation"}: TRUE if the mafia session logs of
+ * different users are condensed in parallel, otherwise FALSE.</li>
+ * <li>{@code "Parallel log summary calculation"}: TRUE if the sections of log
+ * summaries are calculated in parallel, otherwise FALSE.</li>
+ * <li>{@code "Parsed log caching"}: TRUE if the parsing results of opened logs
+ * are cached on disk, otherwise FALSE.</li>
+ * <li>{@code "Parsed log cache size"}: The maximum size of the parsed log
+ * cache in megabytes.</li>
  */
 public final class Settings {
     private static final String TRUE_STRING = "TRUE";
@@ -95,6 +107,17 @@ public final class Settings {
                 Settings.FALSE_STRING);
         Settings.DEFAULT_SETTINGS.setProperty("Include mafia log notes",
                 Settings.FALSE_STRING);
+        Settings.DEFAULT_SETTINGS.setProperty("Pipelined log parsing",
+                Settings.FALSE_STRING);
+        Settings.DEFAULT_SETTINGS.setProperty("Parallel day parsing",
+                Settings.FALSE_STRING);
+        Settings.DEFAULT_SETTINGS.setProperty("Parallel log condensation",
+                Settings.FALSE_STRING);
+        Settings.DEFAULT_SETTINGS.setProperty(
+                "Parallel log summary calculation", Settings.FALSE_STRING);
+        Settings.DEFAULT_SETTINGS.setProperty("Parsed log caching",
+                Settings.TRUE_STRING);
+        Settings.DEFAULT_SETTINGS.setProperty("Parsed log cache size", "50");
         // If settings file hasn't been created yet, create it with default
         // values. Otherwise only make sure that the version number is correct.
         if (Settings.SETTINGS_FILE.exists()) {
@@ -68,6 +68,22 @@ public final class AreaInterval {
         this.subIntervals.add(interval);
     }
 
+    /**
+     * Brings the start and end turn of this area interval up to date after
+     * the given sub interval, which has already been added, has grown.
+     *
+     * @param interval
+     *            The grown sub interval.
+     */
+    public void updateSubInterval(final TurnInterval interval) {
+        if (interval.getStartTurn() < this.startTurn) {
+            this.startTurn = interval.getStartTurn();
+        }
+        if (interval.getEndTurn() > this.endTurn) {
+            this.endTurn = interval.getEndTurn();
+        }
+    }
+
     public TurnInterval getSubInterval(final int index) {
         return (index < this.subIntervals.size()) && (index >= 0) ? this.subIntervals
                 .get(index) : null;
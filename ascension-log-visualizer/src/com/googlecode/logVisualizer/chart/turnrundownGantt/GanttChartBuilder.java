@@ -73,9 +73,12 @@ public abstract class GanttChartBuilder extends AbstractChart {
      *
      */
     private static final long serialVersionUID = 1694279804243744892L;
+    private static final int SCROLL_CARET_EXTEND = 20;
     private List<TurnAreaCategory> categories = new ArrayList<>();
     private final Map<String, FamiliarColor> familiarColors = new LinkedHashMap<>();
     private SlidingGanttCategoryDataset dataset;
+    private CategoryPlot plot;
+    private JScrollBar scrollBar;
     private int lastTurnNumber = Integer.MIN_VALUE;
 
     protected GanttChartBuilder(final String title, final LogDataHolder logData) {
@@ -123,20 +126,42 @@ public abstract class GanttChartBuilder extends AbstractChart {
         plot.getRangeAxis().setAutoRange(false);
         plot.setRangeGridlinePaint(Color.black);
         AbstractChart.setBarShadowVisible(chart, false);
-        for (final AreaInterval ai : ((TurnRundownDataset) dataset
+        this.plot = plot;
+        this.addTurnData();
+        renderer.setSeriesPaint(0, Color.red);
+        renderer.setBaseToolTipGenerator(new IntervalCategoryToolTipGenerator(
+                "{1}, {3} - {4}", NumberFormat.getInstance()));
+        return chart;
+    }
+
+    /**
+     * Sets the range of the chart to the last turn of the dataset and adds
+     * the day, level and familiar markers.
+     */
+    private void addTurnData() {
+        for (final AreaInterval ai : ((TurnRundownDataset) this.dataset
                 .getUnderlyingDataset()).getDataset()) {
             if (this.lastTurnNumber < ai.getEndTurn()) {
                 this.lastTurnNumber = ai.getEndTurn();
             }
         }
-        this.addDayMarkers(plot);
-        this.addLevelMarkers(plot);
-        this.addFamiliarMarkers(plot);
-        plot.getRangeAxis().setUpperBound(this.lastTurnNumber + 10);
-        renderer.setSeriesPaint(0, Color.red);
-        renderer.setBaseToolTipGenerator(new IntervalCategoryToolTipGenerator(
-                "{1}, {3} - {4}", NumberFormat.getInstance()));
-        return chart;
+        this.addDayMarkers(this.plot);
+        this.addLevelMarkers(this.plot);
+        this.addFamiliarMarkers(this.plot);
+        this.plot.getRangeAxis().setUpperBound(this.lastTurnNumber + 10);
+    }
+
+    /**
+     * Updates the markers, the range and the scroll bar of the chart after new
+     * data has been added to the dataset, without creating the chart anew.
+     */
+    protected void updateChartData() {
+        this.plot.clearRangeMarkers();
+        this.addTurnData();
+        this.scrollBar.setMaximum(this.getScrollableAreaIntervals());
+        // Setting the index fires a change event, so the chart is redrawn.
+        this.dataset.setFirstCategoryIndex(this.dataset
+                .getFirstCategoryIndex());
     }
 
     private void addDayMarkers(final CategoryPlot plot) {
@@ -219,14 +244,9 @@ public abstract class GanttChartBuilder extends AbstractChart {
     @Override
     protected void addChart() {
         super.addChart();
-        final int scrollCaretExtend = 20;
-        int scrollableAreaIntervals = ((TurnRundownDataset) this.dataset
-                .getUnderlyingDataset()).getDataset().size()
-                - (this.dataset.getMaximumCategoryCount() - scrollCaretExtend);
-        scrollableAreaIntervals = scrollableAreaIntervals > 20 ? scrollableAreaIntervals
-                : 20;
         final JScrollBar scrollBar = new JScrollBar(Adjustable.VERTICAL, 0,
-                scrollCaretExtend, 0, scrollableAreaIntervals);
+                GanttChartBuilder.SCROLL_CARET_EXTEND, 0,
+                this.getScrollableAreaIntervals());
         scrollBar.getModel().addChangeListener(new ChangeListener() {
             @Override
             public void stateChanged(final ChangeEvent e) {
@@ -234,9 +254,17 @@ public abstract class GanttChartBuilder extends AbstractChart {
                         .getValue());
             }
         });
+        this.scrollBar = scrollBar;
         this.add(scrollBar, BorderLayout.EAST);
     }
 
+    private int getScrollableAreaIntervals() {
+        final int scrollableAreaIntervals = ((TurnRundownDataset) this.dataset
+                .getUnderlyingDataset()).getDataset().size()
+                - (this.dataset.getMaximumCategoryCount() - GanttChartBuilder.SCROLL_CARET_EXTEND);
+        return scrollableAreaIntervals > 20 ? scrollableAreaIntervals : 20;
+    }
+
     @Override
     protected ChartPanel createChartPanel() {
         return new ChartPanel(this.createChart(this.createDataset()));
@@ -79,6 +79,20 @@ public final class TurnRundownDataset extends AbstractSeriesDataset implements
         }
     }
 
+    /**
+     * Brings the dataset up to date after the given turn interval, which has
+     * already been added through
+     * {@link #addTurnInterval(TurnInterval, String)}, has grown.
+     */
+    public void updateTurnInterval(final TurnInterval area,
+            final String categoryName) {
+        final AreaInterval tmp = this.dataMap
+                .get(categoryName != null ? categoryName : area.getAreaName());
+        if (tmp != null) {
+            tmp.updateSubInterval(area);
+        }
+    }
+
     @Override
     public Number getEndValue(final int row, final int column,
             final int subinterval) {
@@ -23,6 +23,10 @@
  */
 package com.googlecode.logVisualizer.chart.turnrundownGantt;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+
 import org.jfree.data.gantt.SlidingGanttCategoryDataset;
 
 import com.googlecode.logVisualizer.logData.LogDataHolder;
@@ -33,6 +37,11 @@ public final class TurnrundownGantt extends GanttChartBuilder {
      *
      */
     private static final long serialVersionUID = 2028122645909913996L;
+    private TurnRundownDataset turnRundownData;
+    // The last turn interval added to the dataset and its end turn at that
+    // time. The log data might still add turns to it.
+    private TurnInterval lastInterval;
+    private int lastIntervalEndTurn;
 
     public TurnrundownGantt(final LogDataHolder logData) {
         super("Turn rundown", logData);
@@ -40,11 +49,52 @@ public final class TurnrundownGantt extends GanttChartBuilder {
 
     @Override
     protected SlidingGanttCategoryDataset createDataset() {
+        this.turnRundownData = this.createTurnRundownData();
+        return new SlidingGanttCategoryDataset(this.turnRundownData, 0, 30);
+    }
+
+    /**
+     * Brings the chart up to date with the turn intervals of the log data,
+     * without creating the chart anew.
+     * <p>
+     * Only the turn intervals added since the last update are added to the
+     * dataset, and the last interval added before is updated in case it has
+     * grown. Should the log data have removed or shrunk that interval when
+     * new turns were added, the area intervals of the dataset are collected
+     * again instead.
+     */
+    public void updateTurnIntervals() {
+        final SortedSet<TurnInterval> newIntervals = this.getLogData()
+                .getTurnsSpent().tailSet(this.lastInterval);
+        if (newIntervals.isEmpty()
+                || (newIntervals.first() != this.lastInterval)
+                || (this.lastInterval.getEndTurn() < this.lastIntervalEndTurn)) {
+            this.turnRundownData.setDataset(new ArrayList<>(this
+                    .createTurnRundownData().getDataset()));
+        } else {
+            this.turnRundownData.updateTurnInterval(this.lastInterval,
+                    this.findCategoryName(this.lastInterval));
+            final List<TurnInterval> addedIntervals = new ArrayList<>(
+                    newIntervals);
+            this.addTurnIntervals(this.turnRundownData,
+                    addedIntervals.subList(1, addedIntervals.size()));
+        }
+        this.updateChartData();
+    }
+
+    private TurnRundownDataset createTurnRundownData() {
         final TurnRundownDataset dataset = new TurnRundownDataset();
-        for (final TurnInterval ti : this.getLogData().getTurnsSpent()) {
+        this.addTurnIntervals(dataset, this.getLogData().getTurnsSpent());
+        return dataset;
+    }
+
+    private void addTurnIntervals(final TurnRundownDataset dataset,
+            final Iterable<TurnInterval> intervals) {
+        for (final TurnInterval ti : intervals) {
             dataset.addTurnInterval(ti, this.findCategoryName(ti));
+            this.lastInterval = ti;
         }
-        return new SlidingGanttCategoryDataset(dataset, 0, 30);
+        this.lastIntervalEndTurn = this.lastInterval.getEndTurn();
     }
 
     private String findCategoryName(final TurnInterval area) {
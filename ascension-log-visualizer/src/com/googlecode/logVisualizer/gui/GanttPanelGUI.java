@@ -40,6 +40,7 @@ final class GanttPanelGUI extends JSplitPane {
      *
      */
     private static final long serialVersionUID = 5900770458488660617L;
+    private final TurnrundownGantt turnrundown;
     private GanttPaneButtonListener buttonListener;
 
     /**
@@ -51,6 +52,7 @@ final class GanttPanelGUI extends JSplitPane {
         super(JSplitPane.VERTICAL_SPLIT);
         final JPanel optionsArea = new JPanel(new GridLayout(1, 0, 10, 0));
         final TurnrundownGantt turnrundown = new TurnrundownGantt(logData);
+        this.turnrundown = turnrundown;
         final JButton areaCategoryOptions = new JButton("Area categories");
         final JButton familiarOptions = new JButton("Familiar usage");
         areaCategoryOptions
@@ -81,6 +83,13 @@ final class GanttPanelGUI extends JSplitPane {
         this.setBottomComponent(turnrundown);
     }
 
+    /**
+     * Brings the turn rundown gantt chart up to date with the log data.
+     */
+    void updateTurnIntervals() {
+        this.turnrundown.updateTurnIntervals();
+    }
+
     /**
      * @param buttonListener
      *            The button listener to set.
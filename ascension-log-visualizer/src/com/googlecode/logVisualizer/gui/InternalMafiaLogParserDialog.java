@@ -242,7 +242,7 @@ public final class InternalMafiaLogParserDialog extends JDialog {
                     // If there were error logs, give the user feedback on them.
                     if (!errorFileList.isEmpty()) {
                         final String errorPreface = "<html>There were problems parsing the following logs. Please check the underlaying mafia session logs to see<br>"
-                                + "if they contained any corrupted data or lines longer than 500 characters and try to remove any problems.<br><br><br>"
+                                + "if they contained any corrupted data and try to remove any problems.<br><br><br>"
                                 + "The given list lists the erroneous ascension and turn number after which the error occurred in the mafia<br>"
                                 + "session logs upon which the ascension is based on.<br><br></html>";
                         final JPanel panel = new JPanel(new BorderLayout());
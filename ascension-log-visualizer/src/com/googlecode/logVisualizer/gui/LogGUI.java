@@ -29,8 +29,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 
 import javax.swing.AbstractListModel;
+import javax.swing.JComponent;
 import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
@@ -75,6 +77,12 @@ public final class LogGUI extends JSplitPane {
             "Quest Turns", "Misc", "Ascension log" };
     private final GanttPanelGUI ganttPanel;
     private final LogDataHolder logData;
+    private final File log;
+    private final boolean isTextLogFromFile;
+    private final JPanel chartArea;
+    private final JComponent[] cards;
+    private final boolean[] isCardOutdated;
+    private final JList<String> navigation;
 
     /**
      * @param log
@@ -98,54 +106,16 @@ public final class LogGUI extends JSplitPane {
         }
         this.ganttPanel = new GanttPanelGUI(logData);
         this.logData = logData;
-        final JPanel chartArea = new JPanel(new CardLayout());
-        final JList<String> navigation = new JList<>();
-        chartArea.add(this.ganttPanel, LogGUI.LIST_MENU_ITEM_NAMES[0]);
-        chartArea.add(new TotalTurnsSpentPie(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[1]);
-        chartArea.add(new TurnsSpentPerAreaBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[2]);
-        chartArea.add(new TurnsSpentPerLevelBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[3]);
-        chartArea.add(new TotalConsumptionPie(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[4]);
-        chartArea.add(new ConsumptionBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[5]);
-        chartArea.add(new PerDayConsumptionBarCharts(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[6]);
-        chartArea.add(new FamiliarUsagePie(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[7]);
-        chartArea.add(new SkillCastsBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[8]);
-        chartArea.add(new SkillMPCostBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[9]);
-        chartArea.add(new MPGainsBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[10]);
-        chartArea.add(new MeatPerLevelBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[11]);
-        chartArea.add(new PullsPanel(logData), LogGUI.LIST_MENU_ITEM_NAMES[12]);
-        chartArea.add(new StatGiverBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[13]);
-        chartArea.add(new StatsPerAreaBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[14]);
-        chartArea.add(new StatsPerTurnPerLevelBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[15]);
-        chartArea.add(new StatDevelopmentPanelGUI(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[16]);
-        chartArea.add(new QuestTurnsBarChart(logData),
-                LogGUI.LIST_MENU_ITEM_NAMES[17]);
-        chartArea.add(new MiscPanel(logData), LogGUI.LIST_MENU_ITEM_NAMES[18]);
-        if (isTextLogFromFile) {
-            chartArea.add(new JScrollPane(new LogViewer(log)),
-                    LogGUI.LIST_MENU_ITEM_NAMES[19]);
-        } else {
-            final JTextArea logArea = new JTextArea();
-            logArea.append(TextLogCreator.getTextualLog(logData,
-                    TextualLogVersion.TEXT_LOG));
-            logArea.setCaretPosition(0);
-            chartArea.add(new JScrollPane(logArea),
-                    LogGUI.LIST_MENU_ITEM_NAMES[19]);
+        this.log = log;
+        this.isTextLogFromFile = isTextLogFromFile;
+        this.chartArea = new JPanel(new CardLayout());
+        this.cards = new JComponent[LogGUI.LIST_MENU_ITEM_NAMES.length];
+        this.isCardOutdated = new boolean[LogGUI.LIST_MENU_ITEM_NAMES.length];
+        for (int i = 0; i < this.cards.length; i++) {
+            this.cards[i] = this.createCard(i);
+            this.chartArea.add(this.cards[i], LogGUI.LIST_MENU_ITEM_NAMES[i]);
         }
+        final JList<String> navigation = new JList<>();
         navigation.setModel(new AbstractListModel<String>() {
             /**
              *
@@ -168,16 +138,104 @@ public final class LogGUI extends JSplitPane {
             @Override
             public void valueChanged(final ListSelectionEvent lse) {
                 if (!lse.getValueIsAdjusting()) {
-                    ((CardLayout) chartArea.getLayout()).show(chartArea,
-                            navigation.getSelectedValue().toString());
+                    LogGUI.this.showCard(navigation.getSelectedIndex());
                 }
             }
         });
-        this.setRightComponent(chartArea);
+        this.navigation = navigation;
+        this.setRightComponent(this.chartArea);
         this.setLeftComponent(new JScrollPane(navigation));
         this.setDividerLocation(180);
     }
 
+    /**
+     * Creates the view shown for the given index of the navigation list.
+     */
+    private JComponent createCard(final int index) {
+        switch (index) {
+        case 0:
+            return this.ganttPanel;
+        case 1:
+            return new TotalTurnsSpentPie(this.logData);
+        case 2:
+            return new TurnsSpentPerAreaBarChart(this.logData);
+        case 3:
+            return new TurnsSpentPerLevelBarChart(this.logData);
+        case 4:
+            return new TotalConsumptionPie(this.logData);
+        case 5:
+            return new ConsumptionBarChart(this.logData);
+        case 6:
+            return new PerDayConsumptionBarCharts(this.logData);
+        case 7:
+            return new FamiliarUsagePie(this.logData);
+        case 8:
+            return new SkillCastsBarChart(this.logData);
+        case 9:
+            return new SkillMPCostBarChart(this.logData);
+        case 10:
+            return new MPGainsBarChart(this.logData);
+        case 11:
+            return new MeatPerLevelBarChart(this.logData);
+        case 12:
+            return new PullsPanel(this.logData);
+        case 13:
+            return new StatGiverBarChart(this.logData);
+        case 14:
+            return new StatsPerAreaBarChart(this.logData);
+        case 15:
+            return new StatsPerTurnPerLevelBarChart(this.logData);
+        case 16:
+            return new StatDevelopmentPanelGUI(this.logData);
+        case 17:
+            return new QuestTurnsBarChart(this.logData);
+        case 18:
+            return new MiscPanel(this.logData);
+        default:
+            if (this.isTextLogFromFile) {
+                return new JScrollPane(new LogViewer(this.log));
+            }
+            final JTextArea logArea = new JTextArea();
+            logArea.append(TextLogCreator.getTextualLog(this.logData,
+                    TextualLogVersion.TEXT_LOG));
+            logArea.setCaretPosition(0);
+            return new JScrollPane(logArea);
+        }
+    }
+
+    /**
+     * Shows the view for the given index of the navigation list. If the view
+     * is outdated, it is created anew first.
+     */
+    private void showCard(final int index) {
+        if (this.isCardOutdated[index]) {
+            this.chartArea.remove(this.cards[index]);
+            this.cards[index] = this.createCard(index);
+            this.chartArea.add(this.cards[index],
+                    LogGUI.LIST_MENU_ITEM_NAMES[index], index);
+            this.isCardOutdated[index] = false;
+        }
+        ((CardLayout) this.chartArea.getLayout()).show(this.chartArea,
+                LogGUI.LIST_MENU_ITEM_NAMES[index]);
+    }
+
+    /**
+     * Updates this GUI after new data has been added to its log data, for
+     * example because a mafia session log is followed while it is still being
+     * written.
+     * <p>
+     * The turn rundown gantt chart is brought up to date in place. All other
+     * views are only created anew once they are shown, the one which is
+     * currently shown right away.
+     */
+    public void updateLogData() {
+        this.ganttPanel.updateTurnIntervals();
+        Arrays.fill(this.isCardOutdated, 1, this.isCardOutdated.length, true);
+        if (this.navigation.getSelectedIndex() >= 0) {
+            this.showCard(this.navigation.getSelectedIndex());
+        }
+    }
+
     /**
      * @return The data of the ascension log.
      */
@@ -175,6 +175,24 @@ public final class LogVisualizerGUI extends JFrame {
                 }
             }
         });
+        fileMenu.add(new AbstractAction("Follow mafia session log") {
+            /**
+             *
+             */
+            private static final long serialVersionUID = 3815204573381947312L;
+
+            @Override
+            public void actionPerformed(final ActionEvent arg0) {
+                final int state = logChooser.showOpenDialog(null);
+                if (state == JFileChooser.APPROVE_OPTION) {
+                    LogVisualizerGUI.this.setCursor(Cursor
+                            .getPredefinedCursor(Cursor.WAIT_CURSOR));
+                    logLoaderlistener.followMafiaLog(logChooser
+                            .getSelectedFile());
+                    LogVisualizerGUI.this.setCursor(Cursor.getDefaultCursor());
+                }
+            }
+        });
         fileMenu.addSeparator();
         fileMenu.add(this.removeMenu);
         fileMenu.add(new AbstractAction("Remove all tabs") {
@@ -399,5 +417,12 @@ public final class LogVisualizerGUI extends JFrame {
          *            A preparsed ascension log.
          */
         public void loadPreparsedLog(File file);
+
+        /**
+         * @param file
+         *            A mafia session log which is still being written and
+         *            whose new entries should be added as they appear.
+         */
+        public void followMafiaLog(File file);
     }
 }
@@ -27,6 +27,7 @@ import com.googlecode.logVisualizer.logData.consumables.Consumable;
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
 import com.googlecode.logVisualizer.util.AbstractCountable;
 import com.googlecode.logVisualizer.util.Countable;
+import com.googlecode.logVisualizer.util.SymbolTable;
 
 /**
  * A relatively simple representation for (dropped) items. This class is not
@@ -58,7 +59,7 @@ public final class Item extends AbstractCountable<Item> {
         if (name == null) {
             throw new NullPointerException("Item name must not be null.");
         }
-        this.name = name;
+        this.name = SymbolTable.intern(name);
     }
 
     /**
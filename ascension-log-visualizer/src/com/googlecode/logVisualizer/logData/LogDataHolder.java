@@ -29,13 +29,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
 
 import com.googlecode.logVisualizer.logData.consumables.Consumable;
 import com.googlecode.logVisualizer.logData.logSummary.LevelData;
@@ -48,6 +48,7 @@ import com.googlecode.logVisualizer.logData.turn.turnAction.FamiliarChange;
 import com.googlecode.logVisualizer.logData.turn.turnAction.PlayerSnapshot;
 import com.googlecode.logVisualizer.logData.turn.turnAction.Pull;
 import com.googlecode.logVisualizer.util.DataNumberPair;
+import com.googlecode.logVisualizer.util.SortedArraySet;
 
 /**
  * This class is basically the representation of an ascension log. It can hold
@@ -57,12 +58,27 @@ import com.googlecode.logVisualizer.util.DataNumberPair;
  * object reference is passed in any parameter.
  */
 public final class LogDataHolder {
+    private static final String ASCENSION_START_STRING = "Ascension Start";
+    private static final TurnNumberSearch<Pull> PULL_TURNS = new TurnNumberSearch<Pull>() {
+        @Override
+        int getTurnNumber(final Pull element) {
+            return element.getTurnNumber();
+        }
+    };
+    private static final TurnNumberSearch<DataNumberPair<String>> LOST_COMBAT_TURNS = new TurnNumberSearch<DataNumberPair<String>>() {
+        @Override
+        int getTurnNumber(final DataNumberPair<String> element) {
+            return element.getNumber();
+        }
+    };
     private String logName;
-    // A little ugly, but since the TreeSet only checks based on compareTo() and
-    // not equals() and the TurnInterval compareTo() method shouldn't be changed
-    // just to make it easier to use in a TreeSet, this Comparator is used
-    // instead. It should be good enough for this purpose.
-    private final SortedSet<TurnInterval> turnsSpent = new TreeSet<>(
+    // A little ugly, but since the sorted set only checks based on compareTo()
+    // and not equals() and the TurnInterval compareTo() method shouldn't be
+    // changed just to make it easier to use in a sorted set, this Comparator
+    // is used instead. It should be good enough for this purpose. Turn
+    // intervals are nearly always added at the end, which is what
+    // SortedArraySet is made for.
+    private final SortedSet<TurnInterval> turnsSpent = new SortedArraySet<>(
             new Comparator<TurnInterval>() {
                 @Override
                 public int compare(final TurnInterval o1, final TurnInterval o2) {
@@ -81,9 +97,29 @@ public final class LogDataHolder {
     private final SortedMap<Integer, EquipmentChange> equipmentChanges = new TreeMap<>();
     private final List<Pull> pulls = new ArrayList<>(100);
     private final List<DataNumberPair<String>> lostCombats = new ArrayList<>();
+    // The seed turn of a log created through createContinuation(), otherwise
+    // null.
+    private SingleTurn continuationSeedTurn;
     private CharacterClass characterClass = CharacterClass.NOT_DEFINED;
     private ParsedLogClass parsedLogCreator = ParsedLogClass.NOT_DEFINED;
     private LogSummaryData logSummary;
+    // The data a preliminary log summary might have changed, as it was before
+    // the summary was created. Null if there is no such summary.
+    private SortedMap<Integer, LevelData> levelsBeforeSummary;
+    private CharacterClass characterClassBeforeSummary;
+    // Turn-indexed lookup tables of the sorted maps above. They are created
+    // when first needed and set to null whenever their map changes.
+    private TurnLookupTable<FamiliarChange> familiarChangeLookupTable;
+    private TurnLookupTable<DayChange> dayChangeLookupTable;
+    private TurnLookupTable<LevelData> levelLookupTable;
+    private TurnLookupTable<PlayerSnapshot> playerSnapshotLookupTable;
+    private TurnLookupTable<EquipmentChange> equipmentChangeLookupTable;
+    // Array copy of the turn intervals for range lookups. Created when first
+    // needed and set to null whenever the turn intervals change.
+    private TurnIntervalIndex turnIntervalIndex;
+    // Prefix sums over the single turns for meat range queries. Created when
+    // first needed and set to null whenever the turns change.
+    private TurnRangeIndex turnRangeIndex;
 
     public LogDataHolder() {
         // The start of an ascension is always on day 1.
@@ -95,8 +131,9 @@ public final class LogDataHolder {
         // The familiar is not known at the very start of an ascension.
         this.familiarChanges.put(0, new FamiliarChange("none", 0));
         // A dummy turn for the start of an ascension.
-        this.addTurnSpent(new SingleTurn("Ascension Start", "Ascension Start",
-                0, this.getLastEquipmentChange(), this.getLastFamiliarChange()));
+        this.addTurnSpent(new SingleTurn(LogDataHolder.ASCENSION_START_STRING,
+                LogDataHolder.ASCENSION_START_STRING, 0, this
+                        .getLastEquipmentChange(), this.getLastFamiliarChange()));
     }
 
     /**
@@ -107,9 +144,46 @@ public final class LogDataHolder {
      * incomplete.
      */
     public void createLogSummary() {
+        // The turns may have been changed directly since the range index was
+        // built.
+        this.turnRangeIndex = null;
         this.logSummary = new LogSummaryData(this);
     }
 
+    /**
+     * Creates the log summary from the data of this log while data is still
+     * being added to it, for example while following a mafia session log that
+     * is still being written.
+     * <p>
+     * Creating the summary adds the reached levels to this log and guesses the
+     * character class if it isn't known yet. Because these could change once
+     * more data is known, they can be reverted through
+     * {@link #revertPreliminaryLogSummary()} before further data is added.
+     */
+    public void createPreliminaryLogSummary() {
+        this.levelsBeforeSummary = new TreeMap<>(this.levels);
+        this.characterClassBeforeSummary = this.characterClass;
+        this.createLogSummary();
+    }
+
+    /**
+     * Reverts the levels and the character class of this log to the state
+     * before the last call of {@link #createPreliminaryLogSummary()}. The log
+     * summary itself is kept until a new one is created.
+     * <p>
+     * Does nothing if no preliminary log summary has been created since the
+     * last call of this method.
+     */
+    public void revertPreliminaryLogSummary() {
+        if (this.levelsBeforeSummary != null) {
+            this.levels.clear();
+            this.levels.putAll(this.levelsBeforeSummary);
+            this.levelLookupTable = null;
+            this.characterClass = this.characterClassBeforeSummary;
+            this.levelsBeforeSummary = null;
+        }
+    }
+
     /**
      * @return A summary of various parts of this ascension log.
      * @throws IllegalStateException
@@ -156,6 +230,8 @@ public final class LogDataHolder {
         if (turnInterval == null) {
             throw new NullPointerException("Turn interval must not be null.");
         }
+        this.turnIntervalIndex = null;
+        this.turnRangeIndex = null;
         // Remove any existing turn interval in the set that is equal to
         // turnInterval as defined by the comparator of turnsSpent.
         if (this.turnsSpent.contains(turnInterval)) {
@@ -203,6 +279,8 @@ public final class LogDataHolder {
         if (turn == null) {
             throw new NullPointerException("Turn must not be null.");
         }
+        this.turnIntervalIndex = null;
+        this.turnRangeIndex = null;
         // 1. If the turn rundown collection isn't empty and the last turn
         // interval's area name is equal to that of the given single turn, add
         // the turn to the last interval.
@@ -272,6 +350,24 @@ public final class LogDataHolder {
         return Collections.unmodifiableSortedSet(this.turnsSpent);
     }
 
+    /**
+     * Replaces all turn intervals of this log with the given ones. Unlike
+     * {@link #addTurnsSpent(TurnInterval)}, the turn intervals are added as
+     * they are, without being merged with each other.
+     * <p>
+     * This is meant for restoring a log which has been saved before, see
+     * {@link LogDataSerializer}.
+     *
+     * @param turnIntervals
+     *            The turn intervals to set.
+     */
+    void setTurnsSpent(final Collection<TurnInterval> turnIntervals) {
+        this.turnsSpent.clear();
+        this.turnsSpent.addAll(turnIntervals);
+        this.turnIntervalIndex = null;
+        this.turnRangeIndex = null;
+    }
+
     /**
      * Returns a sub interval of this LogDataHolder that includes all turn
      * intervals and other data that is inside the given interval (both
@@ -280,6 +376,11 @@ public final class LogDataHolder {
      * Note that turn intervals that start before the interval, but end inside
      * it will be included in the returned LogDataHolder. The same is true for
      * turn intervals that start inside the interval and end outside it.
+     * <p>
+     * The returned log shares the turn intervals and other data elements with
+     * this log, only the collections holding them are new. Their ranges are
+     * found through binary searches, so the cost of this method depends on the
+     * size of the interval and not on the size of this log.
      *
      * @param startTurn
      *            The start of the interval.
@@ -309,23 +410,17 @@ public final class LogDataHolder {
         // newly created LogDataHolder.
         subLog.turnsSpent.clear();
         // Add turn intervals.
-        for (final TurnInterval ti : this.turnsSpent) {
-            // Stop the iteration once we are outside the interval
-            if (ti.getStartTurn() > endTurn) {
-                break;
-            }
-            // Both start and end are inside the interval
-            if ((ti.getStartTurn() >= startTurn)
-                    && (ti.getEndTurn() <= endTurn)) {
-                subLog.turnsSpent.add(ti);
-            }
-            // The start is not, but the end is inside the interval
-            if ((ti.getEndTurn() <= endTurn) && (ti.getEndTurn() > startTurn)) {
-                subLog.turnsSpent.add(ti);
-            }
-            // The start is inside the interval, but the end is not
-            if ((ti.getStartTurn() >= startTurn)
-                    && (ti.getStartTurn() < endTurn)) {
+        final TurnIntervalIndex index = this.getTurnIntervalIndex();
+        for (int i = index.getFirstCandidateIndex(startTurn); i < index
+                .getEndIndex(endTurn); i++) {
+            final TurnInterval ti = index.getTurnInterval(i);
+            // Both start and end are inside the interval, or the start is not,
+            // but the end is inside the interval, or the start is inside the
+            // interval, but the end is not.
+            if (((ti.getStartTurn() >= startTurn) && (ti.getEndTurn() <= endTurn))
+                    || ((ti.getEndTurn() <= endTurn) && (ti.getEndTurn() > startTurn))
+                    || ((ti.getStartTurn() >= startTurn) && (ti
+                            .getStartTurn() < endTurn))) {
                 subLog.turnsSpent.add(ti);
             }
         }
@@ -335,36 +430,34 @@ public final class LogDataHolder {
         if (famChange != null) {
             subLog.addFamiliarChange(famChange);
         }
-        for (final FamiliarChange fc : this.getFamiliarChanges()) {
-            // Stop the iteration once we are outside the interval
-            if (fc.getTurnNumber() > endTurn) {
-                break;
-            }
-            // Add if inside the interval
-            if ((fc.getTurnNumber() >= startTurn)
-                    && (fc.getTurnNumber() <= endTurn)) {
-                subLog.addFamiliarChange(fc);
-            }
+        for (final FamiliarChange fc : LogDataHolder.getSubMap(
+                this.familiarChanges, startTurn, endTurn, true).values()) {
+            subLog.addFamiliarChange(fc);
         }
-        // Add day changes
-        for (final DayChange dc : this.getDayChanges()) {
-            // Stop the iteration once we are outside the interval
-            if (dc.getTurnNumber() > endTurn) {
-                break;
-            }
+        // Add day changes. They are sorted by day number, so their range is
+        // taken from the turn lookup table.
+        final TurnLookupTable<DayChange> dayChangeTable = this
+                .getDayChangeLookupTable();
+        for (int i = dayChangeTable.getFirstIndexOnOrAfter(startTurn); i < dayChangeTable
+                .getFirstIndexAfter(endTurn); i++) {
+            final DayChange dc = dayChangeTable.getElement(i);
             // Add if inside the interval
             if ((dc.getTurnNumber() >= startTurn)
                     && (dc.getTurnNumber() < endTurn)) {
                 subLog.addDayChange(dc);
             }
         }
-        // Add level changes
-        LevelData lastLevelBeforeInterval = null;
-        for (final LevelData ld : this.getLevels()) {
-            // Stop the iteration once we are outside the interval
-            if (ld.getLevelReachedOnTurn() > endTurn) {
-                break;
-            }
+        // Add level changes. Same as with the day changes, they are sorted by
+        // level number.
+        final TurnLookupTable<LevelData> levelTable = this
+                .getLevelLookupTable();
+        final int firstLevelIndex = levelTable
+                .getFirstIndexOnOrAfter(startTurn);
+        LevelData lastLevelBeforeInterval = firstLevelIndex > 0 ? levelTable
+                .getElement(firstLevelIndex - 1) : null;
+        for (int i = firstLevelIndex; i < levelTable
+                .getFirstIndexAfter(endTurn); i++) {
+            final LevelData ld = levelTable.getElement(i);
             if (ld.getLevelReachedOnTurn() < startTurn) {
                 lastLevelBeforeInterval = ld;
             }
@@ -383,16 +476,9 @@ public final class LogDataHolder {
         if (playSnap != null) {
             subLog.addPlayerSnapshot(playSnap);
         }
-        for (final PlayerSnapshot ps : this.getPlayerSnapshots()) {
-            // Stop the iteration once we are outside the interval
-            if (ps.getTurnNumber() > endTurn) {
-                break;
-            }
-            // Add if inside the interval
-            if ((ps.getTurnNumber() >= startTurn)
-                    && (ps.getTurnNumber() < endTurn)) {
-                subLog.addPlayerSnapshot(ps);
-            }
+        for (final PlayerSnapshot ps : LogDataHolder.getSubMap(
+                this.playerSnapshots, startTurn, endTurn, false).values()) {
+            subLog.addPlayerSnapshot(ps);
         }
         // Add equipment changes
         final EquipmentChange equipChange = this
@@ -400,51 +486,236 @@ public final class LogDataHolder {
         if (equipChange != null) {
             subLog.addEquipmentChange(equipChange);
         }
-        for (final EquipmentChange ec : this.getEquipmentChanges()) {
-            // Stop the iteration once we are outside the interval
-            if (ec.getTurnNumber() > endTurn) {
-                break;
-            }
-            // Add if inside the interval
-            if ((ec.getTurnNumber() > startTurn)
-                    && (ec.getTurnNumber() < endTurn)) {
-                subLog.addEquipmentChange(ec);
-            }
+        for (final EquipmentChange ec : LogDataHolder.getSubMap(
+                this.equipmentChanges, startTurn + 1, endTurn, false).values()) {
+            subLog.addEquipmentChange(ec);
         }
         // Add pulls
         final Set<Integer> includedDays = new HashSet<>();
         for (final DayChange dc : subLog.getDayChanges()) {
             includedDays.add(dc.getDayNumber());
         }
-        for (final Pull p : this.getPulls()) {
+        for (int i = LogDataHolder.PULL_TURNS.getFirstIndexOnOrAfter(
+                this.pulls, startTurn); i < this.pulls.size(); i++) {
+            final Pull p = this.pulls.get(i);
             // Stop the iteration once we are outside the interval
             if (p.getTurnNumber() > endTurn) {
                 break;
             }
             // Add if inside the interval
-            if ((p.getTurnNumber() >= startTurn)
-                    && (p.getTurnNumber() <= endTurn)
-                    && includedDays.contains(p.getDayNumber())) {
+            if (includedDays.contains(p.getDayNumber())) {
                 subLog.addPull(p);
             }
         }
         // Add lost combats
-        for (final DataNumberPair<String> dnp : this.getLostCombats()) {
-            final int turnNumber = dnp.getNumber();
+        for (int i = LogDataHolder.LOST_COMBAT_TURNS.getFirstIndexOnOrAfter(
+                this.lostCombats, startTurn); i < this.lostCombats.size(); i++) {
+            final DataNumberPair<String> dnp = this.lostCombats.get(i);
             // Stop the iteration once we are outside the interval
-            if (turnNumber > endTurn) {
+            if (dnp.getNumber() > endTurn) {
                 break;
             }
-            // Add if inside the interval
-            if ((turnNumber >= startTurn) && (turnNumber <= endTurn)) {
-                subLog.addLostCombat(dnp);
-            }
+            subLog.addLostCombat(dnp);
         }
         // Create log summary based on the sub interval
         subLog.createLogSummary();
         return subLog;
     }
 
+    /**
+     * @return The part of the given map from the given start key on up to the
+     *         given end key. The end key is only included if isEndInclusive is
+     *         true.
+     */
+    private static <V> SortedMap<Integer, V> getSubMap(
+            final SortedMap<Integer, V> map, final int startKey,
+            final int endKey, final boolean isEndInclusive) {
+        final int lastKey = isEndInclusive ? endKey : endKey - 1;
+        if (lastKey < startKey) {
+            return map.subMap(startKey, startKey);
+        }
+        return lastKey == Integer.MAX_VALUE ? map.tailMap(startKey) : map
+                .subMap(startKey, lastKey + 1);
+    }
+
+    private TurnIntervalIndex getTurnIntervalIndex() {
+        if (this.turnIntervalIndex == null) {
+            this.turnIntervalIndex = new TurnIntervalIndex(this.turnsSpent);
+        }
+        return this.turnIntervalIndex;
+    }
+
+    /**
+     * Returns the meat data of all single turns inside the given interval
+     * (both {@code startTurn} and {@code endTurn} are inclusive).
+     * <p>
+     * The result is computed from prefix sums over the single turns, which are
+     * built once when they are first needed. Thus, this method runs in
+     * constant time. Note that changes done directly to the turns of this log
+     * are only seen after they are added again through this class or after
+     * {@link #createLogSummary()} has been called.
+     *
+     * @param startTurn
+     *            The start of the interval.
+     * @param endTurn
+     *            The end of the interval.
+     * @return The meat data inside the given interval.
+     */
+    public MeatGain getMeatGain(final int startTurn, final int endTurn) {
+        final TurnRangeIndex index = this.getTurnRangeIndex();
+        return new MeatGain(index.getSum(TurnRangeIndex.ENCOUNTER_MEAT,
+                startTurn, endTurn), index.getSum(TurnRangeIndex.OTHER_MEAT,
+                startTurn, endTurn), index.getSum(TurnRangeIndex.MEAT_SPENT,
+                startTurn, endTurn));
+    }
+
+    private TurnRangeIndex getTurnRangeIndex() {
+        if (this.turnRangeIndex == null) {
+            this.turnRangeIndex = new TurnRangeIndex(this.turnsSpent);
+        }
+        return this.turnRangeIndex;
+    }
+
+    /**
+     * Creates an empty LogDataHolder which carries over the state a log of the
+     * earlier part of an ascension ends with, so it can be used to parse a
+     * later part of the same ascension independently of the earlier one.
+     * <p>
+     * Instead of the "Ascension Start" turn, the returned log starts with a
+     * seed turn in the given area on the given turn number. The seed turn
+     * makes sure that turns added to the returned log are treated the same
+     * way they would have been if they were added to the earlier log, as long
+     * as they are spent after it. Additionally, the given equipment change,
+     * familiar change and day change are put at turn 0 of the returned log.
+     * <p>
+     * A log created by this method and filled with data can be added to the
+     * end of a log holding the part of the ascension before it through
+     * {@link #appendContinuation(LogDataHolder)}.
+     *
+     * @param lastAreaName
+     *            The area name of the last turn spent in the earlier part.
+     * @param lastTurnNumber
+     *            The turn number of the last turn spent in the earlier part.
+     * @param lastEquipment
+     *            The equipment worn at the end of the earlier part.
+     * @param lastFamiliar
+     *            The familiar used at the end of the earlier part.
+     * @param lastDay
+     *            The last day change of the earlier part.
+     * @return The continuation of the earlier log.
+     */
+    public static LogDataHolder createContinuation(final String lastAreaName,
+            final int lastTurnNumber, final EquipmentChange lastEquipment,
+            final FamiliarChange lastFamiliar, final DayChange lastDay) {
+        final LogDataHolder continuation = new LogDataHolder();
+        continuation.equipmentChanges.put(0, lastEquipment);
+        continuation.familiarChanges.put(0, lastFamiliar);
+        continuation.dayChanges.put(lastDay.getDayNumber(), lastDay);
+        continuation.equipmentChangeLookupTable = null;
+        continuation.familiarChangeLookupTable = null;
+        continuation.dayChangeLookupTable = null;
+        // Seed the turn intervals with the end of the earlier log.
+        final SingleTurn seedTurn = new SingleTurn(lastAreaName, lastAreaName,
+                lastTurnNumber, lastEquipment, lastFamiliar);
+        continuation.turnsSpent.clear();
+        continuation.turnsSpent.add(new TurnInterval(seedTurn));
+        continuation.turnIntervalIndex = null;
+        continuation.turnRangeIndex = null;
+        continuation.continuationSeedTurn = seedTurn;
+        return continuation;
+    }
+
+    /**
+     * Adds all data of the given continuation to the end of this log.
+     * <p>
+     * The continuation has to have been created through
+     * {@link #createContinuation(String, int, EquipmentChange, FamiliarChange, DayChange)}
+     * from the state this log ends with. Data the continuation attributed to
+     * its seed turn is added to the last turn of this log. The turns up to
+     * the end of the first turn interval that doesn't hold the seed turn are
+     * added through
+     * {@link #addTurnSpent(SingleTurn)}, so the seam between the two parts
+     * looks as if they had been parsed in one go. Day changes and levels
+     * already present in this log are kept.
+     *
+     * @param continuation
+     *            The continuation to add.
+     */
+    public void appendContinuation(final LogDataHolder continuation) {
+        if (continuation == null) {
+            throw new NullPointerException("Continuation must not be null.");
+        }
+        // Add turn intervals.
+        final Iterator<TurnInterval> index = continuation.turnsSpent.iterator();
+        TurnInterval interval = index.hasNext() ? index.next() : null;
+        final List<SingleTurn> otherTurns = new ArrayList<>();
+        boolean isSeedInterval = false;
+        if (interval != null) {
+            for (final SingleTurn st : interval.getTurns()) {
+                if (st == continuation.continuationSeedTurn) {
+                    isSeedInterval = true;
+                } else {
+                    otherTurns.add(st);
+                }
+            }
+        }
+        if (isSeedInterval) {
+            this.turnsSpent.last().addTurnIntervalData(
+                    new TurnInterval(continuation.continuationSeedTurn));
+            this.addContinuationTurns(otherTurns, interval);
+            interval = index.hasNext() ? index.next() : null;
+        }
+        if (interval != null) {
+            this.addContinuationTurns(interval.getTurns(), interval);
+        }
+        while (index.hasNext()) {
+            this.addTurnsSpent(index.next());
+        }
+        // Add familiar and equipment changes. The ones at turn 0 are the ones
+        // the continuation was started with.
+        for (final FamiliarChange fc : continuation.familiarChanges.tailMap(1)
+                .values()) {
+            this.addFamiliarChange(fc);
+        }
+        for (final EquipmentChange ec : continuation.equipmentChanges
+                .tailMap(1).values()) {
+            this.addEquipmentChange(ec);
+        }
+        // Add day changes and levels.
+        for (final DayChange dc : continuation.getDayChanges()) {
+            if (!this.dayChanges.containsKey(dc.getDayNumber())) {
+                this.addDayChange(dc);
+            }
+        }
+        for (final LevelData ld : continuation.getLevels()) {
+            if (!this.levels.containsKey(ld.getLevelNumber())) {
+                this.addLevel(ld);
+            }
+        }
+        // Add the rest.
+        this.playerSnapshots.putAll(continuation.playerSnapshots);
+        this.playerSnapshotLookupTable = null;
+        this.pulls.addAll(continuation.pulls);
+        this.lostCombats.addAll(continuation.lostCombats);
+        if (this.characterClass == CharacterClass.NOT_DEFINED) {
+            this.characterClass = continuation.characterClass;
+        }
+    }
+
+    /**
+     * Adds the given turns through {@link #addTurnSpent(SingleTurn)} and the
+     * notes and free runaways of the given interval to the last turn interval.
+     */
+    private void addContinuationTurns(final Collection<SingleTurn> turns,
+            final TurnInterval interval) {
+        for (final SingleTurn st : turns) {
+            this.addTurnSpent(st);
+        }
+        this.turnsSpent.last().addNotes(interval.getNotes());
+        this.turnsSpent.last().incrementSuccessfulFreeRunaways(
+                interval.getFreeRunaways().getNumberOfSuccessfulRunaways());
+    }
+
     /**
      * @param familiarChange
      *            The familiar change to add.
@@ -455,6 +726,7 @@ public final class LogDataHolder {
         }
         final Integer turnNumber = Integer.valueOf(familiarChange
                 .getTurnNumber());
+        this.familiarChangeLookupTable = null;
         // Only the last familiar change of a turn should be saved.
         this.familiarChanges.remove(turnNumber);
         // If the new familiar change is to a familiar that was already used
@@ -507,8 +779,7 @@ public final class LogDataHolder {
             throw new IllegalArgumentException(
                     "Turn number cannot be negative.");
         }
-        return LogDataHolder.getLastElementBeforeInteger(this.familiarChanges,
-                Integer.valueOf(turn));
+        return this.getFamiliarChangeLookupTable().getLastElementBefore(turn);
     }
 
     /**
@@ -526,8 +797,8 @@ public final class LogDataHolder {
             throw new IllegalArgumentException(
                     "Turn number cannot be negative.");
         }
-        return LogDataHolder.getFirstElementAfterInteger(this.familiarChanges,
-                Integer.valueOf(turn));
+        return this.getFamiliarChangeLookupTable().getFirstElementOnOrAfter(
+                turn);
     }
 
     /**
@@ -539,6 +810,7 @@ public final class LogDataHolder {
             throw new NullPointerException("Day change must not be null.");
         }
         this.dayChanges.put(dayChange.getDayNumber(), dayChange);
+        this.dayChangeLookupTable = null;
     }
 
     /**
@@ -578,19 +850,11 @@ public final class LogDataHolder {
             throw new IllegalArgumentException(
                     "Turn number cannot be negative.");
         }
-        // Initialise with day 1, because it is always present.
-        DayChange currentDay = this.dayChanges.get(Integer.valueOf(1));
-        for (final DayChange day : this.getDayChanges()) {
-            // If the turn number of the day change is higher than the specified
-            // turn number, stop the loop.
-            if (day.getTurnNumber() > turnNumber) {
-                break;
-            }
-            // As long as loop isn't stopped, the checked day change happened
-            // before the given turn number.
-            currentDay = day;
-        }
-        return currentDay;
+        final DayChange currentDay = this.getDayChangeLookupTable()
+                .getLastElementOnOrBefore(turnNumber);
+        // Fall back to day 1, because it is always present.
+        return currentDay != null ? currentDay : this.dayChanges.get(Integer
+                .valueOf(1));
     }
 
     /**
@@ -602,6 +866,7 @@ public final class LogDataHolder {
             throw new NullPointerException("Level must not be null.");
         }
         this.levels.put(level.getLevelNumber(), level);
+        this.levelLookupTable = null;
     }
 
     /**
@@ -641,19 +906,11 @@ public final class LogDataHolder {
             throw new IllegalArgumentException(
                     "Turn number cannot be negative.");
         }
-        // Initialise with level 1, because it is always present.
-        LevelData currentLevel = this.levels.get(Integer.valueOf(1));
-        for (final LevelData level : this.getLevels()) {
-            // If the turn number of the level change is higher than the
-            // specified turn number, stop the loop.
-            if (level.getLevelReachedOnTurn() > turnNumber) {
-                break;
-            }
-            // As long as loop isn't stopped, the checked level change happened
-            // before the given turn number.
-            currentLevel = level;
-        }
-        return currentLevel;
+        final LevelData currentLevel = this.getLevelLookupTable()
+                .getLastElementOnOrBefore(turnNumber);
+        // Fall back to level 1, because it is always present.
+        return currentLevel != null ? currentLevel : this.levels.get(Integer
+                .valueOf(1));
     }
 
     /**
@@ -668,6 +925,7 @@ public final class LogDataHolder {
         this.playerSnapshots
                 .put(Integer.valueOf(playerSnapshot.getTurnNumber()),
                         playerSnapshot);
+        this.playerSnapshotLookupTable = null;
     }
 
     /**
@@ -710,8 +968,7 @@ public final class LogDataHolder {
             throw new IllegalArgumentException(
                     "Turn number cannot be negative.");
         }
-        return LogDataHolder.getLastElementBeforeInteger(this.playerSnapshots,
-                Integer.valueOf(turn));
+        return this.getPlayerSnapshotLookupTable().getLastElementBefore(turn);
     }
 
     /**
@@ -729,8 +986,8 @@ public final class LogDataHolder {
             throw new IllegalArgumentException(
                     "Turn number cannot be negative.");
         }
-        return LogDataHolder.getFirstElementAfterInteger(this.playerSnapshots,
-                Integer.valueOf(turn));
+        return this.getPlayerSnapshotLookupTable().getFirstElementOnOrAfter(
+                turn);
     }
 
     /**
@@ -745,6 +1002,7 @@ public final class LogDataHolder {
         this.equipmentChanges.put(
                 Integer.valueOf(equipmentChange.getTurnNumber()),
                 equipmentChange);
+        this.equipmentChangeLookupTable = null;
     }
 
     /**
@@ -788,8 +1046,7 @@ public final class LogDataHolder {
             throw new IllegalArgumentException(
                     "Turn number cannot be negative.");
         }
-        return LogDataHolder.getLastElementBeforeInteger(this.equipmentChanges,
-                Integer.valueOf(turn));
+        return this.getEquipmentChangeLookupTable().getLastElementBefore(turn);
     }
 
     /**
@@ -807,38 +1064,62 @@ public final class LogDataHolder {
             throw new IllegalArgumentException(
                     "Turn number cannot be negative.");
         }
-        return LogDataHolder.getFirstElementAfterInteger(this.equipmentChanges,
-                Integer.valueOf(turn));
+        return this.getEquipmentChangeLookupTable().getFirstElementOnOrAfter(
+                turn);
     }
 
-    /**
-     * @param map
-     *            The sorted map in which the element should be looked for.
-     * @param number
-     *            The number before which the last element in the map should be
-     *            returned of.
-     * @return The last element before the given number. Returns {@code null} if
-     *         there is no such element.
-     */
-    private static <V> V getLastElementBeforeInteger(
-            final SortedMap<Integer, V> map, final Integer number) {
-        final SortedMap<Integer, V> headMap = map.headMap(number);
-        return headMap.isEmpty() ? null : headMap.get(headMap.lastKey());
+    private TurnLookupTable<FamiliarChange> getFamiliarChangeLookupTable() {
+        if (this.familiarChangeLookupTable == null) {
+            this.familiarChangeLookupTable = new TurnLookupTable<>(
+                    this.familiarChanges);
+        }
+        return this.familiarChangeLookupTable;
     }
 
-    /**
-     * @param map
-     *            The sorted map in which the element should be looked for.
-     * @param number
-     *            The number on or after which the last element in the map
-     *            should be returned of.
-     * @return The last element before the given number. Returns {@code null} if
-     *         there is no such element.
-     */
-    private static <V> V getFirstElementAfterInteger(
-            final SortedMap<Integer, V> map, final Integer number) {
-        final SortedMap<Integer, V> tailMap = map.tailMap(number);
-        return tailMap.isEmpty() ? null : tailMap.get(tailMap.firstKey());
+    private TurnLookupTable<DayChange> getDayChangeLookupTable() {
+        if (this.dayChangeLookupTable == null) {
+            // Day changes are sorted by day number, so their turn numbers have
+            // to be taken from the day changes themselves.
+            final int[] turns = new int[this.dayChanges.size()];
+            int i = 0;
+            for (final DayChange dc : this.dayChanges.values()) {
+                turns[i++] = dc.getTurnNumber();
+            }
+            this.dayChangeLookupTable = new TurnLookupTable<>(
+                    this.dayChanges.values(), turns);
+        }
+        return this.dayChangeLookupTable;
+    }
+
+    private TurnLookupTable<LevelData> getLevelLookupTable() {
+        if (this.levelLookupTable == null) {
+            // Levels are sorted by level number, so their turn numbers have to
+            // be taken from the levels themselves.
+            final int[] turns = new int[this.levels.size()];
+            int i = 0;
+            for (final LevelData ld : this.levels.values()) {
+                turns[i++] = ld.getLevelReachedOnTurn();
+            }
+            this.levelLookupTable = new TurnLookupTable<>(
+                    this.levels.values(), turns);
+        }
+        return this.levelLookupTable;
+    }
+
+    private TurnLookupTable<PlayerSnapshot> getPlayerSnapshotLookupTable() {
+        if (this.playerSnapshotLookupTable == null) {
+            this.playerSnapshotLookupTable = new TurnLookupTable<>(
+                    this.playerSnapshots);
+        }
+        return this.playerSnapshotLookupTable;
+    }
+
+    private TurnLookupTable<EquipmentChange> getEquipmentChangeLookupTable() {
+        if (this.equipmentChangeLookupTable == null) {
+            this.equipmentChangeLookupTable = new TurnLookupTable<>(
+                    this.equipmentChanges);
+        }
+        return this.equipmentChangeLookupTable;
     }
 
     /**
@@ -980,6 +1261,270 @@ public final class LogDataHolder {
         return this.parsedLogCreator;
     }
 
+    /**
+     * A step function from turn numbers to the elements of one of the sorted
+     * maps of this class. The turn numbers are held in an int array, so a
+     * lookup is a binary search which doesn't allocate anything.
+     * <p>
+     * The elements are kept in the order of their map. If their turn numbers
+     * aren't in ascending order in that map, the lookups behave as if every
+     * turn number was raised to the highest one before it, which is the same
+     * as scanning the elements in order and stopping at the first one that
+     * lies after the wanted turn.
+     */
+    private static final class TurnLookupTable<V> {
+        private final int[] turns;
+        private final Object[] elements;
+
+        /**
+         * Creates a lookup table for a map which is keyed by turn numbers.
+         */
+        TurnLookupTable(final SortedMap<Integer, V> map) {
+            this.elements = map.values().toArray();
+            this.turns = new int[this.elements.length];
+            int i = 0;
+            for (final Integer turn : map.keySet()) {
+                this.turns[i++] = turn.intValue();
+            }
+        }
+
+        /**
+         * Creates a lookup table for the given elements, which happened on the
+         * given turns.
+         */
+        TurnLookupTable(final Collection<V> elements, final int[] turns) {
+            this.elements = elements.toArray();
+            this.turns = turns;
+            for (int i = 1; i < turns.length; i++) {
+                if (turns[i] < turns[i - 1]) {
+                    turns[i] = turns[i - 1];
+                }
+            }
+        }
+
+        /**
+         * @return The last element on or before the given turn. Returns
+         *         {@code null} if there is no such element.
+         */
+        V getLastElementOnOrBefore(final int turn) {
+            final int index = this.getFirstIndexAfter(turn);
+            return index > 0 ? this.getElement(index - 1) : null;
+        }
+
+        /**
+         * @return The last element before the given turn. Returns {@code null}
+         *         if there is no such element.
+         */
+        V getLastElementBefore(final int turn) {
+            return this.getLastElementOnOrBefore(turn - 1);
+        }
+
+        /**
+         * @return The first element on or after the given turn. Returns
+         *         {@code null} if there is no such element.
+         */
+        V getFirstElementOnOrAfter(final int turn) {
+            final int index = this.getFirstIndexOnOrAfter(turn);
+            return index < this.turns.length ? this.getElement(index) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V getElement(final int index) {
+            return (V) this.elements[index];
+        }
+
+        /**
+         * @return The index of the first element after the given turn. If the
+         *         turns of the elements aren't sorted, this is the first
+         *         element after the given turn or after an element after it.
+         */
+        int getFirstIndexAfter(final int turn) {
+            return this.getFirstIndexOnOrAfter(turn == Integer.MAX_VALUE ? turn
+                    : turn + 1);
+        }
+
+        /**
+         * @return The index of the first element on or after the given turn.
+         *         All elements before it are before the given turn.
+         */
+        int getFirstIndexOnOrAfter(final int turn) {
+            int low = 0;
+            int high = this.turns.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (this.turns[middle] < turn) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Binary search over lists which are sorted by the turn numbers of their
+     * elements.
+     */
+    private abstract static class TurnNumberSearch<T> {
+        abstract int getTurnNumber(T element);
+
+        /**
+         * @return The index of the first element of the given list on or after
+         *         the given turn.
+         */
+        final int getFirstIndexOnOrAfter(final List<T> elements, final int turn) {
+            int low = 0;
+            int high = elements.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (this.getTurnNumber(elements.get(middle)) < turn) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * The turn intervals of a log in their iteration order, held in an array
+     * together with the running maximum of their start and end turns. Because
+     * the running maximums are sorted even if the turn intervals themselves
+     * overlap, they make it possible to find the range of turn intervals which
+     * could lie inside a given turn interval through binary searches.
+     */
+    private static final class TurnIntervalIndex {
+        private final TurnInterval[] turnIntervals;
+        private final int[] maxStartTurns;
+        private final int[] maxEndTurns;
+
+        TurnIntervalIndex(final Collection<TurnInterval> turnIntervals) {
+            this.turnIntervals = turnIntervals
+                    .toArray(new TurnInterval[turnIntervals.size()]);
+            this.maxStartTurns = new int[this.turnIntervals.length];
+            this.maxEndTurns = new int[this.turnIntervals.length];
+            int maxStartTurn = Integer.MIN_VALUE;
+            int maxEndTurn = Integer.MIN_VALUE;
+            for (int i = 0; i < this.turnIntervals.length; i++) {
+                maxStartTurn = Math.max(maxStartTurn,
+                        this.turnIntervals[i].getStartTurn());
+                maxEndTurn = Math.max(maxEndTurn,
+                        this.turnIntervals[i].getEndTurn());
+                this.maxStartTurns[i] = maxStartTurn;
+                this.maxEndTurns[i] = maxEndTurn;
+            }
+        }
+
+        TurnInterval getTurnInterval(final int index) {
+            return this.turnIntervals[index];
+        }
+
+        /**
+         * @return The index of the first turn interval which either starts on
+         *         or after the given turn or ends after it. All turn intervals
+         *         before it start and end before the given turn.
+         */
+        int getFirstCandidateIndex(final int startTurn) {
+            return Math.min(
+                    TurnIntervalIndex.getFirstIndexAbove(this.maxStartTurns,
+                            startTurn - 1),
+                    TurnIntervalIndex.getFirstIndexAbove(this.maxEndTurns,
+                            startTurn));
+        }
+
+        /**
+         * @return The index of the first turn interval that comes after a turn
+         *         interval starting after the given turn. This is the point
+         *         where a scan over the turn intervals that stops at the first
+         *         one starting after the given turn would stop.
+         */
+        int getEndIndex(final int endTurn) {
+            return TurnIntervalIndex.getFirstIndexAbove(this.maxStartTurns,
+                    endTurn);
+        }
+
+        private static int getFirstIndexAbove(final int[] sortedValues,
+                final int value) {
+            int low = 0;
+            int high = sortedValues.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (sortedValues[middle] <= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Prefix sums of the single turn meat data, indexed by turn number. The
+     * sum of a column over the turns from 0 up to and including turn
+     * {@code t} is stored at index {@code t + 1}, so the sum over any turn
+     * interval is the difference of two array elements.
+     * <p>
+     * Only single turns are counted. Turn intervals don't carry the data of
+     * their turns separately, and pre-parsed logs have no single turns at all.
+     */
+    private static final class TurnRangeIndex {
+        static final int ENCOUNTER_MEAT = 0;
+        static final int OTHER_MEAT = 1;
+        static final int MEAT_SPENT = 2;
+        private static final int COLUMNS = 3;
+        private final int[][] prefixSums = new int[TurnRangeIndex.COLUMNS][];
+
+        TurnRangeIndex(final Collection<TurnInterval> turnIntervals) {
+            int lastTurn = 0;
+            for (final TurnInterval ti : turnIntervals) {
+                for (final SingleTurn st : ti.getTurns()) {
+                    lastTurn = Math.max(lastTurn, st.getTurnNumber());
+                }
+            }
+            for (int i = 0; i < this.prefixSums.length; i++) {
+                this.prefixSums[i] = new int[lastTurn + 2];
+            }
+            // First collect the values of each turn, then sum them up.
+            for (final TurnInterval ti : turnIntervals) {
+                for (final SingleTurn st : ti.getTurns()) {
+                    final int index = Math.max(st.getTurnNumber(), 0) + 1;
+                    this.add(TurnRangeIndex.ENCOUNTER_MEAT, index,
+                            st.getEncounterMeatGain());
+                    this.add(TurnRangeIndex.OTHER_MEAT, index,
+                            st.getOtherMeatGain());
+                    this.add(TurnRangeIndex.MEAT_SPENT, index,
+                            st.getMeatSpent());
+                }
+            }
+            for (final int[] column : this.prefixSums) {
+                for (int i = 1; i < column.length; i++) {
+                    column[i] += column[i - 1];
+                }
+            }
+        }
+
+        private void add(final int column, final int index, final int value) {
+            this.prefixSums[column][index] += value;
+        }
+
+        /**
+         * @return The sum of the given column over all turns from startTurn up
+         *         to and including endTurn.
+         */
+        int getSum(final int column, final int startTurn, final int endTurn) {
+            final int[] sums = this.prefixSums[column];
+            final int start = Math.max(startTurn, 0);
+            final int end = Math.min(endTurn, sums.length - 2);
+            if (end < start) {
+                return 0;
+            }
+            return sums[end + 1] - sums[start];
+        }
+    }
+
     /**
      * This enumeration represents all six character classes.
      */
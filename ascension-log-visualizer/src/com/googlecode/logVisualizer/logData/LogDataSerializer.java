@@ -0,0 +1,563 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.logData;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.googlecode.logVisualizer.logData.LogDataHolder.ParsedLogClass;
+import com.googlecode.logVisualizer.logData.consumables.Consumable;
+import com.googlecode.logVisualizer.logData.consumables.Consumable.ConsumableVersion;
+import com.googlecode.logVisualizer.logData.logSummary.LevelData;
+import com.googlecode.logVisualizer.logData.turn.AbstractTurn;
+import com.googlecode.logVisualizer.logData.turn.SingleTurn;
+import com.googlecode.logVisualizer.logData.turn.SingleTurn.TurnVersion;
+import com.googlecode.logVisualizer.logData.turn.TurnInterval;
+import com.googlecode.logVisualizer.logData.turn.turnAction.DayChange;
+import com.googlecode.logVisualizer.logData.turn.turnAction.EquipmentChange;
+import com.googlecode.logVisualizer.logData.turn.turnAction.FamiliarChange;
+import com.googlecode.logVisualizer.logData.turn.turnAction.PlayerSnapshot;
+import com.googlecode.logVisualizer.logData.turn.turnAction.Pull;
+import com.googlecode.logVisualizer.util.DataNumberPair;
+
+/**
+ * This class writes the data of a {@link LogDataHolder} in a compact binary
+ * format and reads it back, so that a log doesn't have to be parsed again
+ * every time it is needed.
+ * <p>
+ * All data which is added to a log while it is parsed is saved, that is the
+ * turn intervals together with their single turns, familiar, equipment, level
+ * and day changes, player snapshots, pulls and lost combats. The log summary
+ * is not saved, it has to be created anew after a log has been read.
+ * <p>
+ * Strings, equipment changes and familiar changes are only written out the
+ * first time they appear, afterwards only their index is written. This keeps
+ * the format small, because area names, item names and the like repeat a lot,
+ * and makes single turns share the same equipment and familiar change
+ * instances again after reading.
+ * <p>
+ * The format starts with a version number, which has to be increased whenever
+ * the format changes, so data written by an older version is recognised as
+ * such.
+ */
+public final class LogDataSerializer {
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int FORMAT_VERSION = 1;
+    private static final int MAGIC_NUMBER = 0x414C5644;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    // Marks an element which is written out for the first time.
+    private static final int NEW_ELEMENT = -1;
+
+    private LogDataSerializer() {
+    }
+
+    /**
+     * Writes the given log to the given stream.
+     *
+     * @param logData
+     *            The log to write.
+     * @param out
+     *            The stream to write to.
+     * @throws IOException
+     *             if there was a problem while writing to the stream
+     */
+    public static void writeLogData(final LogDataHolder logData,
+            final DataOutputStream out) throws IOException {
+        new Writer(out).writeLogData(logData);
+    }
+
+    /**
+     * Reads a log written by {@link #writeLogData(LogDataHolder,
+     * DataOutputStream)} from the given stream.
+     *
+     * @param in
+     *            The stream to read from.
+     * @return The read log. Its log summary has not been created yet.
+     * @throws IOException
+     *             if there was a problem while reading from the stream or the
+     *             data wasn't written in the current format
+     */
+    public static LogDataHolder readLogData(final DataInputStream in)
+            throws IOException {
+        return new Reader(in).readLogData();
+    }
+
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<EquipmentChange, Integer> equipmentChanges = new IdentityHashMap<>();
+        private final Map<FamiliarChange, Integer> familiarChanges = new IdentityHashMap<>();
+
+        Writer(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeLogData(final LogDataHolder logData) throws IOException {
+            this.out.writeInt(LogDataSerializer.MAGIC_NUMBER);
+            this.out.writeInt(LogDataSerializer.FORMAT_VERSION);
+            this.writeString(logData.getLogName());
+            this.writeString(logData.getCharacterClass().toString());
+            this.out.writeByte(logData.getParsedLogCreator().ordinal());
+            final Collection<TurnInterval> turnsSpent = logData
+                    .getTurnsSpent();
+            this.out.writeInt(turnsSpent.size());
+            for (final TurnInterval ti : turnsSpent) {
+                this.writeTurnInterval(ti);
+            }
+            final Collection<FamiliarChange> familiarChanges = logData
+                    .getFamiliarChanges();
+            this.out.writeInt(familiarChanges.size());
+            for (final FamiliarChange fc : familiarChanges) {
+                this.writeFamiliarChange(fc);
+            }
+            final Collection<EquipmentChange> equipmentChanges = logData
+                    .getEquipmentChanges();
+            this.out.writeInt(equipmentChanges.size());
+            for (final EquipmentChange ec : equipmentChanges) {
+                this.writeEquipmentChange(ec);
+            }
+            final Collection<DayChange> dayChanges = logData.getDayChanges();
+            this.out.writeInt(dayChanges.size());
+            for (final DayChange dc : dayChanges) {
+                this.out.writeInt(dc.getDayNumber());
+                this.out.writeInt(dc.getTurnNumber());
+            }
+            final Collection<LevelData> levels = logData.getLevels();
+            this.out.writeInt(levels.size());
+            for (final LevelData ld : levels) {
+                this.writeLevel(ld);
+            }
+            final Collection<PlayerSnapshot> playerSnapshots = logData
+                    .getPlayerSnapshots();
+            this.out.writeInt(playerSnapshots.size());
+            for (final PlayerSnapshot ps : playerSnapshots) {
+                this.out.writeInt(ps.getMuscleStats());
+                this.out.writeInt(ps.getMystStats());
+                this.out.writeInt(ps.getMoxieStats());
+                this.out.writeInt(ps.getAdventuresLeft());
+                this.out.writeInt(ps.getCurrentMeat());
+                this.out.writeInt(ps.getTurnNumber());
+            }
+            final List<Pull> pulls = logData.getPulls();
+            this.out.writeInt(pulls.size());
+            for (final Pull p : pulls) {
+                this.writeString(p.getItemName());
+                this.out.writeInt(p.getAmount());
+                this.out.writeInt(p.getTurnNumber());
+                this.out.writeInt(p.getDayNumber());
+            }
+            final List<DataNumberPair<String>> lostCombats = logData
+                    .getLostCombats();
+            this.out.writeInt(lostCombats.size());
+            for (final DataNumberPair<String> dnp : lostCombats) {
+                this.writeString(dnp.getData());
+                this.out.writeInt(dnp.getNumber());
+            }
+        }
+
+        private void writeTurnInterval(final TurnInterval ti)
+                throws IOException {
+            this.writeString(ti.getAreaName());
+            this.out.writeInt(ti.getStartTurn());
+            this.out.writeInt(ti.getEndTurn());
+            this.out.writeInt(ti.getFreeRunaways()
+                    .getNumberOfSuccessfulRunaways());
+            this.writeString(ti.getNotes());
+            this.writeTurnData(ti);
+            this.out.writeInt(ti.getTurns().size());
+            for (final SingleTurn st : ti.getTurns()) {
+                this.writeString(st.getAreaName());
+                this.writeString(st.getEncounterName());
+                this.out.writeInt(st.getTurnNumber());
+                this.writeEquipmentChange(st.getUsedEquipment());
+                this.writeFamiliarChange(st.getUsedFamiliar());
+                this.out.writeByte(st.getTurnVersion().ordinal());
+                this.out.writeBoolean(st.isDisintegrated());
+                this.writeTurnData(st);
+            }
+        }
+
+        private void writeTurnData(final AbstractTurn turn) throws IOException {
+            final MeatGain meat = turn.getMeat();
+            this.out.writeInt(meat.encounterMeatGain);
+            this.out.writeInt(meat.otherMeatGain);
+            this.out.writeInt(meat.meatSpent);
+            this.writeStatgain(turn.getStatGain());
+            final MPGain mpGain = turn.getMPGain();
+            this.out.writeInt(mpGain.getEncounterMPGain());
+            this.out.writeInt(mpGain.getStarfishMPGain());
+            this.out.writeInt(mpGain.getRestingMPGain());
+            this.out.writeInt(mpGain.getOutOfEncounterMPGain());
+            this.out.writeInt(mpGain.getConsumableMPGain());
+            final Collection<Item> droppedItems = turn.getDroppedItems();
+            this.out.writeInt(droppedItems.size());
+            for (final Item i : droppedItems) {
+                this.writeString(i.getName());
+                this.out.writeInt(i.getAmount());
+                this.out.writeInt(i.getFoundOnTurn());
+            }
+            final Collection<Skill> skillsCast = turn.getSkillsCast();
+            this.out.writeInt(skillsCast.size());
+            for (final Skill s : skillsCast) {
+                this.writeString(s.getName());
+                this.out.writeInt(s.getAmount());
+                this.out.writeInt(s.getTurnNumberOfCast());
+            }
+            final Collection<Consumable> consumablesUsed = turn
+                    .getConsumablesUsed();
+            this.out.writeInt(consumablesUsed.size());
+            for (final Consumable c : consumablesUsed) {
+                this.writeString(c.getName());
+                this.out.writeByte(c.getConsumableVersion().ordinal());
+                this.out.writeInt(c.getAdventureGain());
+                this.out.writeInt(c.getAmount());
+                this.out.writeInt(c.getTurnNumberOfUsage());
+                this.out.writeInt(c.getDayNumberOfUsage());
+                this.writeStatgain(c.getStatGain());
+            }
+        }
+
+        private void writeLevel(final LevelData ld) throws IOException {
+            this.out.writeInt(ld.getLevelNumber());
+            this.out.writeInt(ld.getLevelReachedOnTurn());
+            this.out.writeInt(ld.getCombatTurns());
+            this.out.writeInt(ld.getNoncombatTurns());
+            this.out.writeInt(ld.getOtherTurns());
+            this.writeStatgain(ld.getStatsAtLevelReached());
+            this.out.writeDouble(ld.getStatGainPerTurn());
+        }
+
+        private void writeStatgain(final Statgain stats) throws IOException {
+            this.out.writeInt(stats.mus);
+            this.out.writeInt(stats.myst);
+            this.out.writeInt(stats.mox);
+        }
+
+        private void writeEquipmentChange(final EquipmentChange ec)
+                throws IOException {
+            final Integer index = this.equipmentChanges.get(ec);
+            if (index != null) {
+                this.out.writeInt(index);
+                return;
+            }
+            this.equipmentChanges.put(ec, this.equipmentChanges.size());
+            this.out.writeInt(LogDataSerializer.NEW_ELEMENT);
+            this.out.writeInt(ec.getTurnNumber());
+            this.writeString(ec.getHat());
+            this.writeString(ec.getWeapon());
+            this.writeString(ec.getOffhand());
+            this.writeString(ec.getShirt());
+            this.writeString(ec.getPants());
+            this.writeString(ec.getAcc1());
+            this.writeString(ec.getAcc2());
+            this.writeString(ec.getAcc3());
+            this.writeString(ec.getFamEquip());
+        }
+
+        private void writeFamiliarChange(final FamiliarChange fc)
+                throws IOException {
+            final Integer index = this.familiarChanges.get(fc);
+            if (index != null) {
+                this.out.writeInt(index);
+                return;
+            }
+            this.familiarChanges.put(fc, this.familiarChanges.size());
+            this.out.writeInt(LogDataSerializer.NEW_ELEMENT);
+            this.writeString(fc.getFamiliarName());
+            this.out.writeInt(fc.getTurnNumber());
+        }
+
+        private void writeString(final String s) throws IOException {
+            final Integer index = this.strings.get(s);
+            if (index != null) {
+                this.out.writeInt(index);
+                return;
+            }
+            this.strings.put(s, this.strings.size());
+            final byte[] bytes = s.getBytes(LogDataSerializer.UTF_8);
+            this.out.writeInt(LogDataSerializer.NEW_ELEMENT);
+            this.out.writeInt(bytes.length);
+            this.out.write(bytes);
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private final List<EquipmentChange> equipmentChanges = new ArrayList<>();
+        private final List<FamiliarChange> familiarChanges = new ArrayList<>();
+
+        Reader(final DataInputStream in) {
+            this.in = in;
+        }
+
+        LogDataHolder readLogData() throws IOException {
+            if (this.in.readInt() != LogDataSerializer.MAGIC_NUMBER) {
+                throw new IOException("The data is not a saved log.");
+            }
+            final int version = this.in.readInt();
+            if (version != LogDataSerializer.FORMAT_VERSION) {
+                throw new IOException("The log was saved in format version "
+                        + version + ", but only version "
+                        + LogDataSerializer.FORMAT_VERSION
+                        + " can be read.");
+            }
+            final LogDataHolder logData = new LogDataHolder();
+            logData.setLogName(this.readString());
+            logData.setCharacterClass(this.readString());
+            logData.setParsedLogCreator(ParsedLogClass.values()[this.in
+                    .readByte()]);
+            final int turnIntervalCount = this.in.readInt();
+            final List<TurnInterval> turnsSpent = new ArrayList<>(
+                    turnIntervalCount);
+            for (int i = 0; i < turnIntervalCount; i++) {
+                turnsSpent.add(this.readTurnInterval());
+            }
+            logData.setTurnsSpent(turnsSpent);
+            final int familiarChangeCount = this.in.readInt();
+            for (int i = 0; i < familiarChangeCount; i++) {
+                logData.addFamiliarChange(this.readFamiliarChange());
+            }
+            final int equipmentChangeCount = this.in.readInt();
+            for (int i = 0; i < equipmentChangeCount; i++) {
+                logData.addEquipmentChange(this.readEquipmentChange());
+            }
+            final int dayChangeCount = this.in.readInt();
+            for (int i = 0; i < dayChangeCount; i++) {
+                final int dayNumber = this.in.readInt();
+                logData.addDayChange(new DayChange(dayNumber, this.in
+                        .readInt()));
+            }
+            final int levelCount = this.in.readInt();
+            for (int i = 0; i < levelCount; i++) {
+                logData.addLevel(this.readLevel());
+            }
+            final int playerSnapshotCount = this.in.readInt();
+            for (int i = 0; i < playerSnapshotCount; i++) {
+                final int mus = this.in.readInt();
+                final int myst = this.in.readInt();
+                final int mox = this.in.readInt();
+                final int adventures = this.in.readInt();
+                final int meat = this.in.readInt();
+                logData.addPlayerSnapshot(new PlayerSnapshot(mus, myst, mox,
+                        adventures, meat, this.in.readInt()));
+            }
+            final int pullCount = this.in.readInt();
+            for (int i = 0; i < pullCount; i++) {
+                final String itemName = this.readString();
+                final int amount = this.in.readInt();
+                final int turnNumber = this.in.readInt();
+                logData.addPull(new Pull(itemName, amount, turnNumber, this.in
+                        .readInt()));
+            }
+            final int lostCombatCount = this.in.readInt();
+            for (int i = 0; i < lostCombatCount; i++) {
+                final String encounterName = this.readString();
+                logData.addLostCombat(DataNumberPair.of(encounterName,
+                        this.in.readInt()));
+            }
+            return logData;
+        }
+
+        private TurnInterval readTurnInterval() throws IOException {
+            final String areaName = this.readString();
+            final int startTurn = this.in.readInt();
+            final int endTurn = this.in.readInt();
+            final TurnInterval ti = new TurnInterval(areaName, startTurn,
+                    endTurn);
+            ti.setSuccessfulFreeRunaways(this.in.readInt());
+            ti.setNotes(this.readString());
+            this.readTurnData(ti);
+            final int turnCount = this.in.readInt();
+            final List<SingleTurn> turns = new ArrayList<>(turnCount);
+            for (int i = 0; i < turnCount; i++) {
+                final String turnAreaName = this.readString();
+                final String encounterName = this.readString();
+                final int turnNumber = this.in.readInt();
+                final EquipmentChange usedEquipment = this
+                        .readEquipmentChange();
+                final SingleTurn st = new SingleTurn(turnAreaName,
+                        encounterName, turnNumber, usedEquipment,
+                        this.readFamiliarChange());
+                st.setTurnVersion(TurnVersion.values()[this.in.readByte()]);
+                st.setDisintegrated(this.in.readBoolean());
+                this.readTurnData(st);
+                turns.add(st);
+            }
+            if (!turns.isEmpty()) {
+                ti.restoreTurns(turns);
+            }
+            return ti;
+        }
+
+        private void readTurnData(final AbstractTurn turn) throws IOException {
+            final int encounterMeatGain = this.in.readInt();
+            final int otherMeatGain = this.in.readInt();
+            turn.setMeat(new MeatGain(encounterMeatGain, otherMeatGain,
+                    this.in.readInt()));
+            final Statgain stats = this.readStatgain();
+            turn.setStatGain(stats.mus, stats.myst, stats.mox);
+            final MPGain mpGain = turn.getMPGain();
+            mpGain.setEncounterMPGain(this.in.readInt());
+            mpGain.setStarfishMPGain(this.in.readInt());
+            mpGain.setRestingMPGain(this.in.readInt());
+            mpGain.setOutOfEncounterMPGain(this.in.readInt());
+            mpGain.setConsumableMPGain(this.in.readInt());
+            final int itemCount = this.in.readInt();
+            final List<Item> droppedItems = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                final String name = this.readString();
+                final int amount = this.in.readInt();
+                final int foundOnTurn = this.in.readInt();
+                droppedItems.add(foundOnTurn < 0 ? new Item(name, amount)
+                        : new Item(name, amount, foundOnTurn));
+            }
+            turn.setDroppedItems(droppedItems);
+            final int skillCount = this.in.readInt();
+            final List<Skill> skillsCast = new ArrayList<>(skillCount);
+            for (int i = 0; i < skillCount; i++) {
+                final String name = this.readString();
+                final int amount = this.in.readInt();
+                final int turnNumberOfCast = this.in.readInt();
+                skillsCast.add(turnNumberOfCast < 0 ? new Skill(name, amount)
+                        : new Skill(name, amount, turnNumberOfCast));
+            }
+            turn.setSkillsCast(skillsCast);
+            final int consumableCount = this.in.readInt();
+            final List<Consumable> consumablesUsed = new ArrayList<>(
+                    consumableCount);
+            for (int i = 0; i < consumableCount; i++) {
+                consumablesUsed.add(this.readConsumable());
+            }
+            turn.setConsumablesUsed(consumablesUsed);
+        }
+
+        private Consumable readConsumable() throws IOException {
+            final String name = this.readString();
+            final ConsumableVersion consumableVersion = ConsumableVersion
+                    .values()[this.in.readByte()];
+            final int adventureGain = this.in.readInt();
+            final int amount = this.in.readInt();
+            final int turnNumber = this.in.readInt();
+            final int dayNumber = this.in.readInt();
+            final Consumable consumable;
+            switch (consumableVersion) {
+            case FOOD:
+                consumable = turnNumber < 0 ? Consumable.newFoodConsumable(
+                        name, adventureGain, amount) : Consumable
+                        .newFoodConsumable(name, adventureGain, amount,
+                                turnNumber);
+                break;
+            case BOOZE:
+                consumable = turnNumber < 0 ? Consumable.newBoozeConsumable(
+                        name, adventureGain, amount) : Consumable
+                        .newBoozeConsumable(name, adventureGain, amount,
+                                turnNumber);
+                break;
+            case SPLEEN:
+                consumable = turnNumber < 0 ? Consumable.newSpleenConsumable(
+                        name, adventureGain, amount) : Consumable
+                        .newSpleenConsumable(name, adventureGain, amount,
+                                turnNumber);
+                break;
+            default:
+                consumable = turnNumber < 0 ? Consumable.newOtherConsumable(
+                        name, adventureGain, amount) : Consumable
+                        .newOtherConsumable(name, adventureGain, amount,
+                                turnNumber);
+                break;
+            }
+            if (dayNumber >= 1) {
+                consumable.setDayNumberOfUsage(dayNumber);
+            }
+            consumable.setStatGain(this.readStatgain());
+            return consumable;
+        }
+
+        private LevelData readLevel() throws IOException {
+            final int levelNumber = this.in.readInt();
+            final LevelData ld = new LevelData(levelNumber, this.in.readInt());
+            ld.setCombatTurns(this.in.readInt());
+            ld.setNoncombatTurns(this.in.readInt());
+            ld.setOtherTurns(this.in.readInt());
+            ld.setStatsAtLevelReached(this.readStatgain());
+            ld.setStatGainPerTurn(this.in.readDouble());
+            return ld;
+        }
+
+        private Statgain readStatgain() throws IOException {
+            final int mus = this.in.readInt();
+            final int myst = this.in.readInt();
+            return new Statgain(mus, myst, this.in.readInt());
+        }
+
+        private EquipmentChange readEquipmentChange() throws IOException {
+            final int index = this.in.readInt();
+            if (index != LogDataSerializer.NEW_ELEMENT) {
+                return this.equipmentChanges.get(index);
+            }
+            final int turnNumber = this.in.readInt();
+            final EquipmentChange ec = new EquipmentChange(turnNumber,
+                    this.readString(), this.readString(), this.readString(),
+                    this.readString(), this.readString(), this.readString(),
+                    this.readString(), this.readString(), this.readString());
+            this.equipmentChanges.add(ec);
+            return ec;
+        }
+
+        private FamiliarChange readFamiliarChange() throws IOException {
+            final int index = this.in.readInt();
+            if (index != LogDataSerializer.NEW_ELEMENT) {
+                return this.familiarChanges.get(index);
+            }
+            final String familiarName = this.readString();
+            final FamiliarChange fc = new FamiliarChange(familiarName,
+                    this.in.readInt());
+            this.familiarChanges.add(fc);
+            return fc;
+        }
+
+        private String readString() throws IOException {
+            final int index = this.in.readInt();
+            if (index != LogDataSerializer.NEW_ELEMENT) {
+                return this.strings.get(index);
+            }
+            final byte[] bytes = new byte[this.in.readInt()];
+            this.in.readFully(bytes);
+            final String s = new String(bytes, LogDataSerializer.UTF_8);
+            this.strings.add(s);
+            return s;
+        }
+    }
+}
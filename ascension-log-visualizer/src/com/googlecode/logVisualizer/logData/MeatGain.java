@@ -52,6 +52,26 @@ public final class MeatGain {
      */
     public MeatGain(final int encounterMeatGain, final int otherMeatGain,
             final int meatSpent) {
+        MeatGain.checkValues(encounterMeatGain, otherMeatGain, meatSpent);
+        this.encounterMeatGain = encounterMeatGain;
+        this.otherMeatGain = otherMeatGain;
+        this.meatSpent = meatSpent;
+    }
+
+    /**
+     * Checks whether the given values are valid values of a MeatGain object.
+     *
+     * @param encounterMeatGain
+     *            The encounter meat gain.
+     * @param otherMeatGain
+     *            The other meat gain.
+     * @param meatSpent
+     *            The meat spent.
+     * @throws IllegalArgumentException
+     *             if either meat gained or spent is negative.
+     */
+    public static void checkValues(final int encounterMeatGain,
+            final int otherMeatGain, final int meatSpent) {
         if (encounterMeatGain < 0) {
             throw new IllegalArgumentException(
                     "Encounter meat gained must not be negative.");
@@ -64,9 +84,6 @@ public final class MeatGain {
             throw new IllegalArgumentException(
                     "Meat spent must not be negative.");
         }
-        this.encounterMeatGain = encounterMeatGain;
-        this.otherMeatGain = otherMeatGain;
-        this.meatSpent = meatSpent;
     }
 
     /**
@@ -0,0 +1,215 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.logData;
+
+/**
+ * A mutable counterpart to {@link MeatGain}, meant for summing up meat gains
+ * and spendings without creating a new MeatGain object on every addition.
+ * <p>
+ * The immutable MeatGain of the current values is only created when it is
+ * asked for through {@link #toMeatGain()} and is then reused until the values
+ * change again.
+ * <p>
+ * Just like MeatGain, this class doesn't allow negative values. Any change
+ * which would lead to one throws an {@link IllegalArgumentException} and
+ * leaves the accumulator unchanged.
+ * <p>
+ * All methods in this class throw a {@link NullPointerException} if a null
+ * object reference is passed in any parameter.
+ */
+public final class MeatGainAccumulator {
+    private int encounterMeatGain;
+    private int otherMeatGain;
+    private int meatSpent;
+    private MeatGain meatGain;
+
+    /**
+     * Constructs the accumulator with a value of 0 for meat gained and spent.
+     */
+    public MeatGainAccumulator() {
+    }
+
+    /**
+     * @param meatData
+     *            The meat data to set.
+     */
+    public void setMeatData(final MeatGain meatData) {
+        this.setMeatData(meatData.encounterMeatGain, meatData.otherMeatGain,
+                meatData.meatSpent);
+        this.meatGain = meatData;
+    }
+
+    /**
+     * @param encounterMeatGain
+     *            The encounter meat gain to set.
+     * @param otherMeatGain
+     *            The other meat gain to set.
+     * @param meatSpent
+     *            The meat spent to set.
+     * @throws IllegalArgumentException
+     *             if either meat gained or spent is negative.
+     */
+    public void setMeatData(final int encounterMeatGain,
+            final int otherMeatGain, final int meatSpent) {
+        if (encounterMeatGain < 0) {
+            throw new IllegalArgumentException(
+                    "Encounter meat gained must not be negative.");
+        }
+        if (otherMeatGain < 0) {
+            throw new IllegalArgumentException(
+                    "Other meat gained must not be negative.");
+        }
+        if (meatSpent < 0) {
+            throw new IllegalArgumentException(
+                    "Meat spent must not be negative.");
+        }
+        this.encounterMeatGain = encounterMeatGain;
+        this.otherMeatGain = otherMeatGain;
+        this.meatSpent = meatSpent;
+        this.meatGain = null;
+    }
+
+    /**
+     * @param encounterMeatGain
+     *            The encounter meat gain to set.
+     */
+    public void setEncounterMeatGain(final int encounterMeatGain) {
+        this.setMeatData(encounterMeatGain, this.otherMeatGain,
+                this.meatSpent);
+    }
+
+    /**
+     * @param otherMeatGain
+     *            The other meat gain to set.
+     */
+    public void setOtherMeatGain(final int otherMeatGain) {
+        this.setMeatData(this.encounterMeatGain, otherMeatGain,
+                this.meatSpent);
+    }
+
+    /**
+     * @param meatSpent
+     *            The meat spent to set.
+     */
+    public void setMeatSpent(final int meatSpent) {
+        this.setMeatData(this.encounterMeatGain, this.otherMeatGain,
+                meatSpent);
+    }
+
+    /**
+     * @param encounterMeatGain
+     *            The encounter meat gain to add.
+     * @param otherMeatGain
+     *            The other meat gain to add.
+     * @param meatSpent
+     *            The meat spent to add.
+     */
+    public void addMeatData(final int encounterMeatGain,
+            final int otherMeatGain, final int meatSpent) {
+        this.setMeatData(this.encounterMeatGain + encounterMeatGain,
+                this.otherMeatGain + otherMeatGain, this.meatSpent + meatSpent);
+    }
+
+    /**
+     * @param meatData
+     *            The meat data to add.
+     */
+    public void addMeatData(final MeatGain meatData) {
+        this.addMeatData(meatData.encounterMeatGain, meatData.otherMeatGain,
+                meatData.meatSpent);
+    }
+
+    /**
+     * @param meatData
+     *            The meat data to add.
+     */
+    public void addMeatData(final MeatGainAccumulator meatData) {
+        this.addMeatData(meatData.encounterMeatGain, meatData.otherMeatGain,
+                meatData.meatSpent);
+    }
+
+    /**
+     * @param encounterMeatGain
+     *            The encounter meat gain to add.
+     */
+    public void addEncounterMeatGain(final int encounterMeatGain) {
+        this.addMeatData(encounterMeatGain, 0, 0);
+    }
+
+    /**
+     * @param otherMeatGain
+     *            The other meat gain to add.
+     */
+    public void addOtherMeatGain(final int otherMeatGain) {
+        this.addMeatData(0, otherMeatGain, 0);
+    }
+
+    /**
+     * @param meatSpent
+     *            The meat spent to add.
+     */
+    public void addMeatSpent(final int meatSpent) {
+        this.addMeatData(0, 0, meatSpent);
+    }
+
+    /**
+     * @return The meat gained from inside encounters.
+     */
+    public int getEncounterMeatGain() {
+        return this.encounterMeatGain;
+    }
+
+    /**
+     * @return The meat gained from outside encounters.
+     */
+    public int getOtherMeatGain() {
+        return this.otherMeatGain;
+    }
+
+    /**
+     * @return The meat spent.
+     */
+    public int getMeatSpent() {
+        return this.meatSpent;
+    }
+
+    /**
+     * @return True if both meat gained and spent are zero, otherwise false.
+     */
+    public boolean isMeatGainSpentZero() {
+        return (this.encounterMeatGain == 0) && (this.otherMeatGain == 0)
+                && (this.meatSpent == 0);
+    }
+
+    /**
+     * @return The current meat data as an immutable MeatGain.
+     */
+    public MeatGain toMeatGain() {
+        if (this.meatGain == null) {
+            this.meatGain = new MeatGain(this.encounterMeatGain,
+                    this.otherMeatGain, this.meatSpent);
+        }
+        return this.meatGain;
+    }
+}
@@ -27,6 +27,7 @@ import com.googlecode.logVisualizer.parser.UsefulPatterns;
 import com.googlecode.logVisualizer.util.AbstractCountable;
 import com.googlecode.logVisualizer.util.Countable;
 import com.googlecode.logVisualizer.util.DataTablesHandler;
+import com.googlecode.logVisualizer.util.SymbolTable;
 
 /**
  * This class is a representation of a skill. It is intended to be used where
@@ -59,7 +60,7 @@ public final class Skill extends AbstractCountable<Skill> {
         if (name == null) {
             throw new NullPointerException("Skill name must not be null.");
         }
-        this.name = name;
+        this.name = SymbolTable.intern(name);
         this.setAmount(amountOfCasts);
     }
 
@@ -0,0 +1,173 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.logData;
+
+/**
+ * A mutable counterpart to {@link Statgain}, meant for summing up stat gains
+ * without creating a new Statgain object on every addition.
+ * <p>
+ * The immutable Statgain of the current values is only created when it is
+ * asked for through {@link #toStatgain()} and is then reused until the values
+ * change again.
+ * <p>
+ * All methods in this class throw a {@link NullPointerException} if a null
+ * object reference is passed in any parameter.
+ */
+public final class StatgainAccumulator {
+    private int mus;
+    private int myst;
+    private int mox;
+    private Statgain statgain;
+
+    /**
+     * Constructs the accumulator with a value of 0 for all three stats.
+     */
+    public StatgainAccumulator() {
+    }
+
+    /**
+     * @param stats
+     *            The stat gains to start with.
+     */
+    public StatgainAccumulator(final Statgain stats) {
+        this.setStats(stats.mus, stats.myst, stats.mox);
+    }
+
+    /**
+     * @param mus
+     *            The muscle stats to set.
+     * @param myst
+     *            The myst stats to set.
+     * @param mox
+     *            The moxie stats to set.
+     */
+    public void setStats(final int mus, final int myst, final int mox) {
+        this.mus = mus;
+        this.myst = myst;
+        this.mox = mox;
+        this.statgain = null;
+    }
+
+    /**
+     * @param mus
+     *            The muscle stats to set.
+     */
+    public void setMuscle(final int mus) {
+        this.setStats(mus, this.myst, this.mox);
+    }
+
+    /**
+     * @param myst
+     *            The myst stats to set.
+     */
+    public void setMyst(final int myst) {
+        this.setStats(this.mus, myst, this.mox);
+    }
+
+    /**
+     * @param mox
+     *            The moxie stats to set.
+     */
+    public void setMoxie(final int mox) {
+        this.setStats(this.mus, this.myst, mox);
+    }
+
+    /**
+     * @param mus
+     *            The muscle stat gain to add.
+     * @param myst
+     *            The mysticality stat gain to add.
+     * @param mox
+     *            The moxie stat gain to add.
+     */
+    public void addStats(final int mus, final int myst, final int mox) {
+        this.setStats(this.mus + mus, this.myst + myst, this.mox + mox);
+    }
+
+    /**
+     * @param stats
+     *            The stat gains to add.
+     */
+    public void addStats(final Statgain stats) {
+        this.addStats(stats.mus, stats.myst, stats.mox);
+    }
+
+    /**
+     * @param stats
+     *            The stat gains to add.
+     */
+    public void addStats(final StatgainAccumulator stats) {
+        this.addStats(stats.mus, stats.myst, stats.mox);
+    }
+
+    /**
+     * @return The muscle stat gain.
+     */
+    public int getMuscle() {
+        return this.mus;
+    }
+
+    /**
+     * @return The mysticality stat gain.
+     */
+    public int getMyst() {
+        return this.myst;
+    }
+
+    /**
+     * @return The moxie stat gain.
+     */
+    public int getMoxie() {
+        return this.mox;
+    }
+
+    /**
+     * @return True if all stats are zero, otherwise false.
+     */
+    public boolean isAllStatsZero() {
+        return (this.mus == 0) && (this.myst == 0) && (this.mox == 0);
+    }
+
+    /**
+     * @return The total stat gain.
+     */
+    public int getTotalStatgain() {
+        return this.mus + this.myst + this.mox;
+    }
+
+    /**
+     * @return The current stat gains as an immutable Statgain.
+     */
+    public Statgain toStatgain() {
+        if (this.statgain == null) {
+            this.statgain = new Statgain(this.mus, this.myst, this.mox);
+        }
+        return this.statgain;
+    }
+
+    @Override
+    public String toString() {
+        return this.toStatgain().toString();
+    }
+}
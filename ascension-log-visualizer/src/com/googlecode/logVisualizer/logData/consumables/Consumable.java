@@ -26,6 +26,7 @@ package com.googlecode.logVisualizer.logData.consumables;
 import com.googlecode.logVisualizer.logData.Statgain;
 import com.googlecode.logVisualizer.util.AbstractCountable;
 import com.googlecode.logVisualizer.util.Countable;
+import com.googlecode.logVisualizer.util.SymbolTable;
 
 /**
  * A representation of a consumable item. This class should be used whenever an
@@ -72,7 +73,7 @@ public abstract class Consumable extends AbstractCountable<Consumable> {
         if (amountUsed < 1) {
             throw new IllegalArgumentException("Amount used below 1.");
         }
-        this.name = name;
+        this.name = SymbolTable.intern(name);
         this.adventureGain = adventureGain;
     }
 
@@ -398,6 +399,25 @@ public abstract class Consumable extends AbstractCountable<Consumable> {
             return tmp != 0 ? tmp : Consumable.this.dayNumberOfUsage
                     - o.getDayNumber();
         }
+
+        @Override
+        public boolean equals(final Object o) {
+            if ((o != null) && (o instanceof ConsumableComparator)) {
+                final ConsumableComparator other = (ConsumableComparator) o;
+                return (Consumable.this.dayNumberOfUsage == other
+                        .getDayNumber())
+                        && Consumable.this.name.equals(other.getName());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 73;
+            result = (31 * result) + Consumable.this.dayNumberOfUsage;
+            result = (31 * result) + Consumable.this.name.hashCode();
+            return result;
+        }
     }
 
     /**
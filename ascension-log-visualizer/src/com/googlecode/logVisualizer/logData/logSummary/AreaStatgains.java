@@ -28,12 +28,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import com.googlecode.logVisualizer.logData.Statgain;
+import com.googlecode.logVisualizer.logData.StatgainAccumulator;
 import com.googlecode.logVisualizer.logData.consumables.Consumable;
 import com.googlecode.logVisualizer.logData.turn.TurnInterval;
 import com.googlecode.logVisualizer.util.Pair;
@@ -98,33 +97,60 @@ public final class AreaStatgains {
     public static List<AreaStatgains> getSortedAreaStatgains(
             final Collection<TurnInterval> turns,
             final Comparator<AreaStatgains> comparator) {
-        final int initialHashCapacity = (int) (turns.size() * 0.75) + 1;
-        final Set<String> areas = new HashSet<>(initialHashCapacity);
-        final Map<String, Statgain> areaStatgains = new HashMap<>(
-                initialHashCapacity);
-        Statgain consumablesStatgain = new Statgain();
+        final Map<String, StatgainAccumulator> areaStatgains = AreaStatgains
+                .newAreaStatgainsMap(turns.size());
+        final StatgainAccumulator consumablesStatgain = new StatgainAccumulator();
         // Count the statgains.
         for (final TurnInterval ti : turns) {
-            final Statgain previousStats;
-            if (areas.contains(ti.getAreaName())) {
-                previousStats = areaStatgains.get(ti.getAreaName());
-            } else {
-                previousStats = new Statgain();
-                areas.add(ti.getAreaName());
+            StatgainAccumulator stats = areaStatgains.get(ti.getAreaName());
+            if (stats == null) {
+                stats = new StatgainAccumulator();
+                areaStatgains.put(ti.getAreaName(), stats);
             }
-            areaStatgains.put(ti.getAreaName(),
-                    previousStats.addStats(ti.getStatGain()));
+            stats.addStats(ti.getStatGain());
             // Add consumable statgains.
             for (final Consumable c : ti.getConsumablesUsed()) {
-                consumablesStatgain = consumablesStatgain.addStats(c
-                        .getStatGain());
+                consumablesStatgain.addStats(c.getStatGain());
             }
         }
+        return AreaStatgains.createSortedAreaStatgains(areaStatgains,
+                consumablesStatgain.toStatgain(), comparator);
+    }
+
+    /**
+     * @param numberOfTurnIntervals
+     *            The number of turn intervals in the turn rundown.
+     * @return An empty map to count the statgains of the areas of a turn
+     *         rundown in, sized for the given number of turn intervals.
+     */
+    static Map<String, StatgainAccumulator> newAreaStatgainsMap(
+            final int numberOfTurnIntervals) {
+        return new HashMap<>((int) (numberOfTurnIntervals * 0.75) + 1);
+    }
+
+    /**
+     * @param areaStatgains
+     *            The statgains of all areas, as counted in a map created by
+     *            {@link #newAreaStatgainsMap(int)}.
+     * @param consumablesStatgain
+     *            The statgains from consumables.
+     * @param comparator
+     *            The comparator used to sort the returned list.
+     * @return A sorted list of the given area statgains, which also contains
+     *         the given stat gains from consumables as one of the list
+     *         elements.
+     */
+    static List<AreaStatgains> createSortedAreaStatgains(
+            final Map<String, StatgainAccumulator> areaStatgains,
+            final Statgain consumablesStatgain,
+            final Comparator<AreaStatgains> comparator) {
         // Create area statgain list.
         final List<AreaStatgains> areaStatgainsList = new ArrayList<>(
-                areas.size() + 1);
-        for (final String s : areas) {
-            areaStatgainsList.add(new AreaStatgains(s, areaStatgains.get(s)));
+                areaStatgains.size() + 1);
+        for (final Map.Entry<String, StatgainAccumulator> entry : areaStatgains
+                .entrySet()) {
+            areaStatgainsList.add(new AreaStatgains(entry.getKey(), entry
+                    .getValue().toStatgain()));
         }
         // Add consumable statgains as its own area.
         areaStatgainsList.add(new AreaStatgains("From consumables",
@@ -29,6 +29,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 
 import com.googlecode.logVisualizer.logData.Statgain;
+import com.googlecode.logVisualizer.logData.StatgainAccumulator;
 import com.googlecode.logVisualizer.logData.consumables.Consumable;
 import com.googlecode.logVisualizer.logData.turn.turnAction.DayChange;
 import com.googlecode.logVisualizer.util.CountableSet;
@@ -109,11 +110,11 @@ public final class ConsumptionSummary {
      *         ascension.
      */
     public Statgain getFoodConsumablesStatgains() {
-        Statgain stats = new Statgain();
+        final StatgainAccumulator stats = new StatgainAccumulator();
         for (final ConsumptionDayStats cds : this.dayStatistics) {
-            stats = stats.addStats(cds.getFoodConsumablesStatgains());
+            stats.addStats(cds.foodConsumablesStatgains);
         }
-        return stats;
+        return stats.toStatgain();
     }
 
     /**
@@ -121,11 +122,11 @@ public final class ConsumptionSummary {
      *         ascension.
      */
     public Statgain getBoozeConsumablesStatgains() {
-        Statgain stats = new Statgain();
+        final StatgainAccumulator stats = new StatgainAccumulator();
         for (final ConsumptionDayStats cds : this.dayStatistics) {
-            stats = stats.addStats(cds.getBoozeConsumablesStatgains());
+            stats.addStats(cds.boozeConsumablesStatgains);
         }
-        return stats;
+        return stats.toStatgain();
     }
 
     /**
@@ -133,11 +134,11 @@ public final class ConsumptionSummary {
      *         during an ascension.
      */
     public Statgain getUsedConsumablesStatgains() {
-        Statgain stats = new Statgain();
+        final StatgainAccumulator stats = new StatgainAccumulator();
         for (final ConsumptionDayStats cds : this.dayStatistics) {
-            stats = stats.addStats(cds.getUsedConsumablesStatgains());
+            stats.addStats(cds.usedConsumablesStatgains);
         }
-        return stats;
+        return stats.toStatgain();
     }
 
     /**
@@ -145,11 +146,11 @@ public final class ConsumptionSummary {
      *         collected during an ascension.
      */
     public Statgain getTotalConsumablesStatgains() {
-        Statgain stats = new Statgain();
+        final StatgainAccumulator stats = new StatgainAccumulator();
         for (final ConsumptionDayStats cds : this.dayStatistics) {
-            stats = stats.addStats(cds.getTotalConsumablesStatgains());
+            stats.addStats(cds.totalConsumablesStatgains);
         }
-        return stats;
+        return stats.toStatgain();
     }
 
     /**
@@ -166,10 +167,10 @@ public final class ConsumptionSummary {
         private int totalFullnessHit;
         private int totalDrunkennessHit;
         private int totalSpleenHit;
-        private Statgain foodConsumablesStatgains = new Statgain();
-        private Statgain boozeConsumablesStatgains = new Statgain();
-        private Statgain usedConsumablesStatgains = new Statgain();
-        private Statgain totalConsumablesStatgains = new Statgain();
+        private final StatgainAccumulator foodConsumablesStatgains = new StatgainAccumulator();
+        private final StatgainAccumulator boozeConsumablesStatgains = new StatgainAccumulator();
+        private final StatgainAccumulator usedConsumablesStatgains = new StatgainAccumulator();
+        private final StatgainAccumulator totalConsumablesStatgains = new StatgainAccumulator();
 
         ConsumptionDayStats(final int dayNumber) {
             this.dayNumber = dayNumber;
@@ -177,29 +178,25 @@ public final class ConsumptionSummary {
 
         void addConsumable(final Consumable c) {
             this.consumablesUsed.addElement(c);
-            this.totalConsumablesStatgains = this.totalConsumablesStatgains
-                    .addStats(c.getStatGain());
+            this.totalConsumablesStatgains.addStats(c.getStatGain());
             switch (c.getConsumableVersion()) {
             case FOOD:
                 this.totalTurnsFromFood += c.getAdventureGain();
                 this.totalFullnessHit += DataTablesHandler.getFullnessHit(c
                         .getName()) * c.getAmount();
-                this.foodConsumablesStatgains = this.foodConsumablesStatgains
-                        .addStats(c.getStatGain());
+                this.foodConsumablesStatgains.addStats(c.getStatGain());
                 break;
             case BOOZE:
                 this.totalTurnsFromBooze += c.getAdventureGain();
                 this.totalDrunkennessHit += DataTablesHandler
                         .getDrunkennessHit(c.getName()) * c.getAmount();
-                this.boozeConsumablesStatgains = this.boozeConsumablesStatgains
-                        .addStats(c.getStatGain());
+                this.boozeConsumablesStatgains.addStats(c.getStatGain());
                 break;
             default:
                 this.totalTurnsFromOther += c.getAdventureGain();
                 this.totalSpleenHit += DataTablesHandler.getSpleenHit(c
                         .getName()) * c.getAmount();
-                this.usedConsumablesStatgains = this.usedConsumablesStatgains
-                        .addStats(c.getStatGain());
+                this.usedConsumablesStatgains.addStats(c.getStatGain());
             }
         }
 
@@ -264,7 +261,7 @@ public final class ConsumptionSummary {
          *         ascension day.
          */
         public Statgain getFoodConsumablesStatgains() {
-            return this.foodConsumablesStatgains;
+            return this.foodConsumablesStatgains.toStatgain();
         }
 
         /**
@@ -272,7 +269,7 @@ public final class ConsumptionSummary {
          *         ascension day.
          */
         public Statgain getBoozeConsumablesStatgains() {
-            return this.boozeConsumablesStatgains;
+            return this.boozeConsumablesStatgains.toStatgain();
         }
 
         /**
@@ -280,7 +277,7 @@ public final class ConsumptionSummary {
          *         during an ascension day.
          */
         public Statgain getUsedConsumablesStatgains() {
-            return this.usedConsumablesStatgains;
+            return this.usedConsumablesStatgains.toStatgain();
         }
 
         /**
@@ -288,7 +285,7 @@ public final class ConsumptionSummary {
          *         collected during an ascension day.
          */
         public Statgain getTotalConsumablesStatgains() {
-            return this.totalConsumablesStatgains;
+            return this.totalConsumablesStatgains.toStatgain();
         }
 
         /**
@@ -24,10 +24,15 @@
 package com.googlecode.logVisualizer.logData.logSummary;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
+import com.googlecode.logVisualizer.Settings;
 import com.googlecode.logVisualizer.logData.Item;
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 import com.googlecode.logVisualizer.logData.MPGain;
@@ -48,45 +53,250 @@ import com.googlecode.logVisualizer.util.DataNumberPair;
  * capture all the possible data or none at all. For these cases this class
  * makes it possible to set the summaries manually.
  * <p>
+ * Every summary is calculated when it is accessed for the first time and then
+ * kept. Only a few summaries which are cheap to calculate, like the meat
+ * summary, are calculated along with the accessed one, so any other summary
+ * which is never used is never calculated. Each summary is calculated only
+ * once, even if it is accessed from several threads at the same time.
+ * <p>
+ * If the {@code "Parallel log summary calculation"} setting is turned on, all
+ * summaries are instead calculated in parallel when the log summary is
+ * created. The calculated summaries are the same either way.
+ * <p>
  * All methods in this class throw a {@link NullPointerException} if a null
  * object reference is passed in any parameter.
  */
 public class LogSummaryData {
-    private final List<Consumable> consumablesUsed;
-    private final List<Item> droppedItems;
-    private final List<Skill> skillsCast;
-    private final List<AreaStatgains> areasStatgains;
-    private final List<DataNumberPair<String>> turnsPerArea;
+    private final SummaryDataCalculator data;
+    private final SummarySection<List<Consumable>> consumablesUsed = new SummarySection<List<Consumable>>() {
+        @Override
+        protected List<Consumable> calculate() {
+            final List<Consumable> consumablesUsed = new ArrayList<>(
+                    LogSummaryData.this.data.getConsumablesUsed());
+            Collections.sort(consumablesUsed, new Comparator<Consumable>() {
+                @Override
+                public int compare(final Consumable o1, final Consumable o2) {
+                    // Reverse order, so that the list starts with the highest
+                    // element.
+                    return o2.compareTo(o1);
+                }
+            });
+            return consumablesUsed;
+        }
+    };
+    private final SummarySection<List<Item>> droppedItems = new SummarySection<List<Item>>() {
+        @Override
+        protected List<Item> calculate() {
+            final List<Item> droppedItems = new ArrayList<>(
+                    LogSummaryData.this.data.getDroppedItems());
+            Collections.sort(droppedItems, new Comparator<Item>() {
+                @Override
+                public int compare(final Item o1, final Item o2) {
+                    // Reverse order, so that the list starts with the highest
+                    // element.
+                    return o2.getAmount() - o1.getAmount();
+                }
+            });
+            return droppedItems;
+        }
+    };
+    private final SummarySection<List<Skill>> skillsCast = new SummarySection<List<Skill>>() {
+        @Override
+        protected List<Skill> calculate() {
+            final List<Skill> skillsCast = new ArrayList<>(
+                    LogSummaryData.this.data.getSkillsCast());
+            Collections.sort(skillsCast, new Comparator<Skill>() {
+                @Override
+                public int compare(final Skill o1, final Skill o2) {
+                    // Reverse order, so that the list starts with the highest
+                    // element.
+                    return o2.compareTo(o1);
+                }
+            });
+            return skillsCast;
+        }
+    };
+    private final SummarySection<List<AreaStatgains>> areasStatgains = new SummarySection<List<AreaStatgains>>() {
+        @Override
+        protected List<AreaStatgains> calculate() {
+            return LogSummaryData.this.data
+                    .getAreasStatgains(new Comparator<AreaStatgains>() {
+                        @Override
+                        public int compare(final AreaStatgains o1,
+                                final AreaStatgains o2) {
+                            return o2.getStatgain().getTotalStatgain()
+                                    - o1.getStatgain().getTotalStatgain();
+                        }
+                    });
+        }
+    };
+    private final SummarySection<List<DataNumberPair<String>>> turnsPerArea = new SummarySection<List<DataNumberPair<String>>>() {
+        @Override
+        protected List<DataNumberPair<String>> calculate() {
+            return LogSummaryData.this.data.getTurnsPerArea();
+        }
+    };
     private final List<LevelData> levels;
-    private List<DataNumberPair<String>> familiarUsage;
-    private List<DataNumberPair<String>> huntedCombats;
-    private List<DataNumberPair<String>> disintegratedCombats;
-    private List<DataNumberPair<String>> semirares;
-    private List<DataNumberPair<String>> badmoonAdventures;
-    private final ConsumptionSummary consumptionSummary;
-    private final FreeRunaways freeRunaways;
-    private final Sewer sewer;
-    private final Goatlet goatlet;
-    private final InexplicableDoor nesRealm;
-    private final QuestTurncounts questTurncounts;
-    private Statgain totalStatgains;
-    private Statgain combatsStatgains;
-    private Statgain noncombatsStatgains;
-    private Statgain othersStatgains;
-    private final MPGain mpGains = new MPGain();
-    private final MeatSummary meatSummary;
-    private int totalAmountSkillCasts;
-    private int totalMPUsed;
-    private int totalMeatGain;
-    private int totalMeatSpent;
-    private int totalTurnsFromRollover;
-    private int totalTurnsCombat;
-    private int totalTurnsNoncombat;
-    private int totalTurnsOther;
+    private final SummarySection<List<DataNumberPair<String>>> familiarUsage = new SummarySection<List<DataNumberPair<String>>>() {
+        @Override
+        protected List<DataNumberPair<String>> calculate() {
+            return LogSummaryData.this.data.getFamiliarUsage();
+        }
+    };
+    private final SummarySection<List<DataNumberPair<String>>> huntedCombats = new SummarySection<List<DataNumberPair<String>>>() {
+        @Override
+        protected List<DataNumberPair<String>> calculate() {
+            return LogSummaryData.this.data.getHuntedCombats();
+        }
+    };
+    private final SummarySection<List<DataNumberPair<String>>> disintegratedCombats = new SummarySection<List<DataNumberPair<String>>>() {
+        @Override
+        protected List<DataNumberPair<String>> calculate() {
+            return LogSummaryData.this.data.getDisintegratedCombats();
+        }
+    };
+    private final SummarySection<List<DataNumberPair<String>>> semirares = new SummarySection<List<DataNumberPair<String>>>() {
+        @Override
+        protected List<DataNumberPair<String>> calculate() {
+            return LogSummaryData.this.data.getSemirares();
+        }
+    };
+    private final SummarySection<List<DataNumberPair<String>>> badmoonAdventures = new SummarySection<List<DataNumberPair<String>>>() {
+        @Override
+        protected List<DataNumberPair<String>> calculate() {
+            return LogSummaryData.this.data.getBadmoonAdventures();
+        }
+    };
+    private final SummarySection<ConsumptionSummary> consumptionSummary = new SummarySection<ConsumptionSummary>() {
+        @Override
+        protected ConsumptionSummary calculate() {
+            return LogSummaryData.this.data.getConsumptionSummary();
+        }
+    };
+    private final SummarySection<FreeRunaways> freeRunaways = new SummarySection<FreeRunaways>() {
+        @Override
+        protected FreeRunaways calculate() {
+            return LogSummaryData.this.data.getFreeRunaways();
+        }
+    };
+    private final SummarySection<Sewer> sewer = new SummarySection<Sewer>() {
+        @Override
+        protected Sewer calculate() {
+            return LogSummaryData.this.data.getSewer();
+        }
+    };
+    private final SummarySection<Goatlet> goatlet = new SummarySection<Goatlet>() {
+        @Override
+        protected Goatlet calculate() {
+            return LogSummaryData.this.data.getGoatlet();
+        }
+    };
+    private final SummarySection<InexplicableDoor> nesRealm = new SummarySection<InexplicableDoor>() {
+        @Override
+        protected InexplicableDoor calculate() {
+            return LogSummaryData.this.data.get8BitRealm();
+        }
+    };
+    private final SummarySection<QuestTurncounts> questTurncounts = new SummarySection<QuestTurncounts>() {
+        @Override
+        protected QuestTurncounts calculate() {
+            return LogSummaryData.this.data.getQuestTurncounts();
+        }
+    };
+    private final SummarySection<Statgain> totalStatgains = new SummarySection<Statgain>() {
+        @Override
+        protected Statgain calculate() {
+            return LogSummaryData.this.data.getTotalStatgains();
+        }
+    };
+    private final SummarySection<Statgain> combatsStatgains = new SummarySection<Statgain>() {
+        @Override
+        protected Statgain calculate() {
+            return LogSummaryData.this.data.getCombatsStatgains();
+        }
+    };
+    private final SummarySection<Statgain> noncombatsStatgains = new SummarySection<Statgain>() {
+        @Override
+        protected Statgain calculate() {
+            return LogSummaryData.this.data.getNoncombatsStatgains();
+        }
+    };
+    private final SummarySection<Statgain> othersStatgains = new SummarySection<Statgain>() {
+        @Override
+        protected Statgain calculate() {
+            return LogSummaryData.this.data.getOthersStatgains();
+        }
+    };
+    private final SummarySection<MPGain> mpGains = new SummarySection<MPGain>() {
+        @Override
+        protected MPGain calculate() {
+            final MPGain mpGains = new MPGain();
+            mpGains.setMPGains(LogSummaryData.this.data.getMPGains());
+            return mpGains;
+        }
+    };
+    private final SummarySection<MeatSummary> meatSummary = new SummarySection<MeatSummary>() {
+        @Override
+        protected MeatSummary calculate() {
+            return LogSummaryData.this.data.getMeatSummary();
+        }
+    };
+    private final SummarySection<Integer> totalAmountSkillCasts = new SummarySection<Integer>() {
+        @Override
+        protected Integer calculate() {
+            return Integer.valueOf(LogSummaryData.this.data.getTotalAmountSkillCasts());
+        }
+    };
+    private final SummarySection<Integer> totalMPUsed = new SummarySection<Integer>() {
+        @Override
+        protected Integer calculate() {
+            return Integer.valueOf(LogSummaryData.this.data.getTotalMPUsed());
+        }
+    };
+    private final SummarySection<Integer> totalMeatGain = new SummarySection<Integer>() {
+        @Override
+        protected Integer calculate() {
+            return Integer.valueOf(LogSummaryData.this.data.getTotalMeatGain());
+        }
+    };
+    private final SummarySection<Integer> totalMeatSpent = new SummarySection<Integer>() {
+        @Override
+        protected Integer calculate() {
+            return Integer.valueOf(LogSummaryData.this.data.getTotalMeatSpent());
+        }
+    };
+    private final SummarySection<Integer> totalTurnsFromRollover = new SummarySection<Integer>() {
+        @Override
+        protected Integer calculate() {
+            return Integer.valueOf(LogSummaryData.this.data.getTotalTurnsFromRollover());
+        }
+    };
+    private final SummarySection<Integer> totalTurnsCombat = new SummarySection<Integer>() {
+        @Override
+        protected Integer calculate() {
+            return Integer.valueOf(LogSummaryData.this.data.getTotalTurnsCombat());
+        }
+    };
+    private final SummarySection<Integer> totalTurnsNoncombat = new SummarySection<Integer>() {
+        @Override
+        protected Integer calculate() {
+            return Integer.valueOf(LogSummaryData.this.data.getTotalTurnsNoncombat());
+        }
+    };
+    private final SummarySection<Integer> totalTurnsOther = new SummarySection<Integer>() {
+        @Override
+        protected Integer calculate() {
+            return Integer.valueOf(LogSummaryData.this.data.getTotalTurnsOther());
+        }
+    };
 
     /**
      * Constructs an ascension log summary. A summaries will be calculated as
      * good as possible from the given data.
+     * <p>
+     * Apart from the level data, every summary is only calculated when it is
+     * accessed for the first time, from the data the given log holds at that
+     * time.
      *
      * @param logData
      *            The ascension log.
@@ -95,97 +305,52 @@ public class LogSummaryData {
         if (logData == null) {
             throw new NullPointerException("Log data holder must not be null.");
         }
-        final SummaryDataCalculator data = new SummaryDataCalculator(logData);
-        this.areasStatgains = AreaStatgains.getSortedAreaStatgains(
-                logData.getTurnsSpent(), new Comparator<AreaStatgains>() {
-                    @Override
-                    public int compare(final AreaStatgains o1,
-                            final AreaStatgains o2) {
-                        return o2.getStatgain().getTotalStatgain()
-                                - o1.getStatgain().getTotalStatgain();
-                    }
-                });
-        this.turnsPerArea = data.getTurnsPerArea();
-        Collections.sort(this.turnsPerArea,
-                new Comparator<DataNumberPair<String>>() {
-                    @Override
-                    public int compare(final DataNumberPair<String> o1,
-                            final DataNumberPair<String> o2) {
-                        // Reverse order, so that the list starts with the
-                        // highest
-                        // element. Also, in case of a tie, sort alphabetically.
-                        int diff = o2.compareTo(o1);
-                        if (diff == 0) {
-                            diff = o1.getData().compareToIgnoreCase(
-                                    o2.getData());
-                        }
-                        return diff;
-                    }
-                });
-        this.consumablesUsed = new ArrayList<>(data.getConsumablesUsed());
-        Collections.sort(this.consumablesUsed, new Comparator<Consumable>() {
-            @Override
-            public int compare(final Consumable o1, final Consumable o2) {
-                // Reverse order, so that the list starts with the highest
-                // element.
-                return o2.compareTo(o1);
-            }
-        });
-        this.droppedItems = new ArrayList<>(data.getDroppedItems());
-        Collections.sort(this.droppedItems, new Comparator<Item>() {
-            @Override
-            public int compare(final Item o1, final Item o2) {
-                // Reverse order, so that the list starts with the highest
-                // element.
-                return o2.getAmount() - o1.getAmount();
-            }
-        });
-        this.skillsCast = new ArrayList<>(data.getSkillsCast());
-        Collections.sort(this.skillsCast, new Comparator<Skill>() {
+        this.data = new SummaryDataCalculator(logData);
+        this.levels = this.data.getLevelData();
+        if (Settings.getSettingBoolean("Parallel log summary calculation")) {
+            this.calculateInParallel();
+        }
+    }
+
+    /**
+     * Calculates all summaries right away on the common {@link ForkJoinPool}.
+     * The data of the summaries is first collected by walking the turn
+     * rundown in parallel, see
+     * {@link SummaryDataCalculator#calculatePendingSectionsInParallel()}.
+     * Afterwards every summary is sorted or otherwise completed by its own
+     * task.
+     * <p>
+     * This method only returns after all summaries have been calculated.
+     */
+    private void calculateInParallel() {
+        this.data.calculatePendingSectionsInParallel();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (final SummarySection<?> s : Arrays.asList(this.consumablesUsed,
+                this.droppedItems, this.skillsCast, this.areasStatgains,
+                this.turnsPerArea, this.familiarUsage, this.huntedCombats,
+                this.disintegratedCombats, this.semirares,
+                this.badmoonAdventures, this.consumptionSummary,
+                this.freeRunaways, this.sewer, this.goatlet, this.nesRealm,
+                this.questTurncounts, this.totalStatgains,
+                this.combatsStatgains, this.noncombatsStatgains,
+                this.othersStatgains, this.mpGains, this.meatSummary,
+                this.totalAmountSkillCasts, this.totalMPUsed,
+                this.totalMeatGain, this.totalMeatSpent,
+                this.totalTurnsFromRollover, this.totalTurnsCombat,
+                this.totalTurnsNoncombat, this.totalTurnsOther)) {
+            tasks.add(ForkJoinTask.adapt(new Runnable() {
+                @Override
+                public void run() {
+                    s.get();
+                }
+            }));
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
             @Override
-            public int compare(final Skill o1, final Skill o2) {
-                // Reverse order, so that the list starts with the highest
-                // element.
-                return o2.compareTo(o1);
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
             }
         });
-        this.familiarUsage = data.getFamiliarUsage();
-        Collections.sort(this.familiarUsage,
-                new Comparator<DataNumberPair<?>>() {
-                    @Override
-                    public int compare(final DataNumberPair<?> o1,
-                            final DataNumberPair<?> o2) {
-                        // Reverse order, so that the list starts with the
-                        // highest
-                        // element.
-                        return o2.compareTo(o1);
-                    }
-                });
-        this.levels = data.getLevelData();
-        this.huntedCombats = data.getHuntedCombats();
-        this.disintegratedCombats = data.getDisintegratedCombats();
-        this.semirares = data.getSemirares();
-        this.badmoonAdventures = data.getBadmoonAdventures();
-        this.consumptionSummary = data.getConsumptionSummary();
-        this.freeRunaways = data.getFreeRunaways();
-        this.sewer = data.getSewer();
-        this.goatlet = data.getGoatlet();
-        this.nesRealm = data.get8BitRealm();
-        this.questTurncounts = data.getQuestTurncounts();
-        this.totalStatgains = data.getTotalStatgains();
-        this.combatsStatgains = data.getCombatsStatgains();
-        this.noncombatsStatgains = data.getNoncombatsStatgains();
-        this.othersStatgains = data.getOthersStatgains();
-        this.mpGains.setMPGains(data.getMPGains());
-        this.meatSummary = data.getMeatSummary();
-        this.totalAmountSkillCasts = data.getTotalAmountSkillCasts();
-        this.totalMPUsed = data.getTotalMPUsed();
-        this.totalMeatGain = data.getTotalMeatGain();
-        this.totalMeatSpent = data.getTotalMeatSpent();
-        this.totalTurnsFromRollover = data.getTotalTurnsFromRollover();
-        this.totalTurnsCombat = data.getTotalTurnsCombat();
-        this.totalTurnsNoncombat = data.getTotalTurnsNoncombat();
-        this.totalTurnsOther = data.getTotalTurnsOther();
     }
 
     /**
@@ -193,7 +358,7 @@ public class LogSummaryData {
      *         starts with the area that has the highest amount turns.
      */
     public List<DataNumberPair<String>> getTurnsPerArea() {
-        return this.turnsPerArea;
+        return this.turnsPerArea.get();
     }
 
     /**
@@ -201,7 +366,7 @@ public class LogSummaryData {
      *         consumable that was used the most.
      */
     public List<Consumable> getAllConsumablesUsed() {
-        return this.consumablesUsed;
+        return this.consumablesUsed.get();
     }
 
     /**
@@ -210,8 +375,8 @@ public class LogSummaryData {
      */
     public List<Consumable> getFoodConsumablesUsed() {
         final List<Consumable> consumables = new ArrayList<>(
-                this.consumablesUsed.size());
-        for (final Consumable c : this.consumablesUsed) {
+                this.consumablesUsed.get().size());
+        for (final Consumable c : this.consumablesUsed.get()) {
             if (c.getConsumableVersion() == ConsumableVersion.FOOD) {
                 consumables.add(c);
             }
@@ -225,8 +390,8 @@ public class LogSummaryData {
      */
     public List<Consumable> getBoozeConsumablesUsed() {
         final List<Consumable> consumables = new ArrayList<>(
-                this.consumablesUsed.size());
-        for (final Consumable c : this.consumablesUsed) {
+                this.consumablesUsed.get().size());
+        for (final Consumable c : this.consumablesUsed.get()) {
             if (c.getConsumableVersion() == ConsumableVersion.BOOZE) {
                 consumables.add(c);
             }
@@ -240,8 +405,8 @@ public class LogSummaryData {
      */
     public List<Consumable> getSpleenConsumablesUsed() {
         final List<Consumable> consumables = new ArrayList<>(
-                this.consumablesUsed.size());
-        for (final Consumable c : this.consumablesUsed) {
+                this.consumablesUsed.get().size());
+        for (final Consumable c : this.consumablesUsed.get()) {
             if (c.getConsumableVersion() == ConsumableVersion.SPLEEN) {
                 consumables.add(c);
             }
@@ -255,8 +420,8 @@ public class LogSummaryData {
      */
     public List<Consumable> getOtherConsumablesUsed() {
         final List<Consumable> consumables = new ArrayList<>(
-                this.consumablesUsed.size());
-        for (final Consumable c : this.consumablesUsed) {
+                this.consumablesUsed.get().size());
+        for (final Consumable c : this.consumablesUsed.get()) {
             if (c.getConsumableVersion() == ConsumableVersion.OTHER) {
                 consumables.add(c);
             }
@@ -269,7 +434,7 @@ public class LogSummaryData {
      *         list starts with the item that dropped the most.
      */
     public List<Item> getDroppedItems() {
-        return this.droppedItems;
+        return this.droppedItems.get();
     }
 
     /**
@@ -277,7 +442,7 @@ public class LogSummaryData {
      *         starts with the skill that was cast the most.
      */
     public List<Skill> getSkillsCast() {
-        return this.skillsCast;
+        return this.skillsCast.get();
     }
 
     /**
@@ -286,7 +451,7 @@ public class LogSummaryData {
      *         statgains.
      */
     public List<AreaStatgains> getAreasStatgains() {
-        return this.areasStatgains;
+        return this.areasStatgains.get();
     }
 
     /**
@@ -307,7 +472,7 @@ public class LogSummaryData {
             throw new NullPointerException(
                     "Familiar usage list must not be null.");
         }
-        this.familiarUsage = familiarUsage;
+        this.familiarUsage.set(familiarUsage);
     }
 
     /**
@@ -315,7 +480,7 @@ public class LogSummaryData {
      *         This list starts with the familiar that was used the most.
      */
     public List<DataNumberPair<String>> getFamiliarUsage() {
-        return this.familiarUsage;
+        return this.familiarUsage.get();
     }
 
     /**
@@ -328,7 +493,7 @@ public class LogSummaryData {
             throw new NullPointerException(
                     "Hunted combats list must not be null.");
         }
-        this.huntedCombats = huntedCombats;
+        this.huntedCombats.set(huntedCombats);
     }
 
     /**
@@ -336,7 +501,7 @@ public class LogSummaryData {
      *         with the hunt that was started the earliest.
      */
     public List<DataNumberPair<String>> getHuntedCombats() {
-        return this.huntedCombats;
+        return this.huntedCombats.get();
     }
 
     /**
@@ -349,7 +514,7 @@ public class LogSummaryData {
             throw new NullPointerException(
                     "Disintegrated combats list must not be null.");
         }
-        this.disintegratedCombats = disintegratedCombats;
+        this.disintegratedCombats.set(disintegratedCombats);
     }
 
     /**
@@ -357,7 +522,7 @@ public class LogSummaryData {
      *         the earliest disintegrated combat.
      */
     public List<DataNumberPair<String>> getDisintegratedCombats() {
-        return this.disintegratedCombats;
+        return this.disintegratedCombats.get();
     }
 
     /**
@@ -368,7 +533,7 @@ public class LogSummaryData {
         if (semirares == null) {
             throw new NullPointerException("Semirares list must not be null.");
         }
-        this.semirares = semirares;
+        this.semirares.set(semirares);
     }
 
     /**
@@ -376,7 +541,7 @@ public class LogSummaryData {
      *         the semirare that was encountered the earliest.
      */
     public List<DataNumberPair<String>> getSemirares() {
-        return this.semirares;
+        return this.semirares.get();
     }
 
     /**
@@ -389,70 +554,70 @@ public class LogSummaryData {
             throw new NullPointerException(
                     "Bad Moon adventures list must not be null.");
         }
-        this.badmoonAdventures = badmoonAdventures;
+        this.badmoonAdventures.set(badmoonAdventures);
     }
 
     /**
      * @return A list of all Bad Moon adventures.
      */
     public List<DataNumberPair<String>> getBadmoonAdventures() {
-        return this.badmoonAdventures;
+        return this.badmoonAdventures.get();
     }
 
     /**
      * @return A summary on consumables used during the ascension.
      */
     public ConsumptionSummary getConsumptionSummary() {
-        return this.consumptionSummary;
+        return this.consumptionSummary.get();
     }
 
     /**
      * @return The free runaways over the whole ascension.
      */
     public FreeRunaways getFreeRunaways() {
-        return this.freeRunaways;
+        return this.freeRunaways.get();
     }
 
     /**
      * @return The RNG data of the sewer.
      */
     public Sewer getSewer() {
-        return this.sewer;
+        return this.sewer.get();
     }
 
     /**
      * @return The RNG data of the Goatlet.
      */
     public Goatlet getGoatlet() {
-        return this.goatlet;
+        return this.goatlet.get();
     }
 
     /**
      * @return The RNG data of the 8-Bit Realm.
      */
     public InexplicableDoor get8BitRealm() {
-        return this.nesRealm;
+        return this.nesRealm.get();
     }
 
     /**
      * @return The quest turncounts.
      */
     public QuestTurncounts getQuestTurncounts() {
-        return this.questTurncounts;
+        return this.questTurncounts.get();
     }
 
     /**
      * @return The total mp gains collected during this ascension.
      */
     public MPGain getMPGains() {
-        return this.mpGains;
+        return this.mpGains.get();
     }
 
     /**
      * @return The meat per level summary.
      */
     public MeatSummary getMeatSummary() {
-        return this.meatSummary;
+        return this.meatSummary.get();
     }
 
     /**
@@ -460,14 +625,14 @@ public class LogSummaryData {
      *            The total amount of statgains to set.
      */
     public void setTotalStatgains(final Statgain stats) {
-        this.totalStatgains = stats;
+        this.totalStatgains.set(stats);
     }
 
     /**
      * @return The total amount of substats collected during this ascension.
      */
     public Statgain getTotalStatgains() {
-        return this.totalStatgains;
+        return this.totalStatgains.get();
     }
 
     /**
@@ -475,7 +640,7 @@ public class LogSummaryData {
      *            The amount of combat statgains to set.
      */
     public void setCombatsStatgains(final Statgain stats) {
-        this.combatsStatgains = stats;
+        this.combatsStatgains.set(stats);
     }
 
     /**
@@ -483,7 +648,7 @@ public class LogSummaryData {
      *         ascension.
      */
     public Statgain getCombatsStatgains() {
-        return this.combatsStatgains;
+        return this.combatsStatgains.get();
     }
 
     /**
@@ -491,7 +656,7 @@ public class LogSummaryData {
      *            The amount of noncombat statgains to set.
      */
     public void setNoncombatsStatgains(final Statgain stats) {
-        this.noncombatsStatgains = stats;
+        this.noncombatsStatgains.set(stats);
     }
 
     /**
@@ -499,7 +664,7 @@ public class LogSummaryData {
      *         this ascension.
      */
     public Statgain getNoncombatsStatgains() {
-        return this.noncombatsStatgains;
+        return this.noncombatsStatgains.get();
     }
 
     /**
@@ -507,7 +672,7 @@ public class LogSummaryData {
      *            The amount of other statgains to set.
      */
     public void setOthersStatgains(final Statgain stats) {
-        this.othersStatgains = stats;
+        this.othersStatgains.set(stats);
     }
 
     /**
@@ -515,7 +680,7 @@ public class LogSummaryData {
      *         during this ascension.
      */
     public Statgain getOthersStatgains() {
-        return this.othersStatgains;
+        return this.othersStatgains.get();
     }
 
     /**
@@ -523,7 +688,7 @@ public class LogSummaryData {
      *         ascension.
      */
     public Statgain getFoodConsumablesStatgains() {
-        return this.consumptionSummary.getFoodConsumablesStatgains();
+        return this.consumptionSummary.get().getFoodConsumablesStatgains();
     }
 
     /**
@@ -531,7 +696,7 @@ public class LogSummaryData {
      *         ascension.
      */
     public Statgain getBoozeConsumablesStatgains() {
-        return this.consumptionSummary.getBoozeConsumablesStatgains();
+        return this.consumptionSummary.get().getBoozeConsumablesStatgains();
     }
 
     /**
@@ -539,7 +704,7 @@ public class LogSummaryData {
      *         during this ascension.
      */
     public Statgain getUsedConsumablesStatgains() {
-        return this.consumptionSummary.getUsedConsumablesStatgains();
+        return this.consumptionSummary.get().getUsedConsumablesStatgains();
     }
 
     /**
@@ -552,14 +717,14 @@ public class LogSummaryData {
         if (totalAmountSkillCasts < 0) {
             throw new IllegalArgumentException("Amount must not be below 0.");
         }
-        this.totalAmountSkillCasts = totalAmountSkillCasts;
+        this.totalAmountSkillCasts.set(totalAmountSkillCasts);
     }
 
     /**
      * @return The total amount of skill casts.
      */
     public int getTotalAmountSkillCasts() {
-        return this.totalAmountSkillCasts;
+        return this.totalAmountSkillCasts.get();
     }
 
     /**
@@ -572,14 +737,14 @@ public class LogSummaryData {
         if (totalMPUsed < 0) {
             throw new IllegalArgumentException("MP used must not be below 0.");
         }
-        this.totalMPUsed = totalMPUsed;
+        this.totalMPUsed.set(totalMPUsed);
     }
 
     /**
      * @return The total amount of MP spent on skills.
      */
     public int getTotalMPUsed() {
-        return this.totalMPUsed;
+        return this.totalMPUsed.get();
     }
 
     /**
@@ -592,14 +757,14 @@ public class LogSummaryData {
         if (totalMeatGain < 0) {
             throw new IllegalArgumentException("Meat gain must not be below 0.");
         }
-        this.totalMeatGain = totalMeatGain;
+        this.totalMeatGain.set(totalMeatGain);
     }
 
     /**
      * @return The total amount of meat gathered.
      */
     public int getTotalMeatGain() {
-        return this.totalMeatGain;
+        return this.totalMeatGain.get();
     }
 
     /**
@@ -613,35 +778,35 @@ public class LogSummaryData {
             throw new IllegalArgumentException(
                     "Meat spent must not be below 0.");
         }
-        this.totalMeatSpent = totalMeatSpent;
+        this.totalMeatSpent.set(totalMeatSpent);
     }
 
     /**
      * @return The total amount of meat spent.
      */
     public int getTotalMeatSpent() {
-        return this.totalMeatSpent;
+        return this.totalMeatSpent.get();
     }
 
     /**
      * @return The total amount of turns gained from food.
      */
     public int getTotalTurnsFromFood() {
-        return this.consumptionSummary.getTotalTurnsFromFood();
+        return this.consumptionSummary.get().getTotalTurnsFromFood();
     }
 
     /**
      * @return The total amount of turns gained from booze.
      */
     public int getTotalTurnsFromBooze() {
-        return this.consumptionSummary.getTotalTurnsFromBooze();
+        return this.consumptionSummary.get().getTotalTurnsFromBooze();
     }
 
     /**
      * @return The total amount of turns gained from spleen and other sources.
      */
     public int getTotalTurnsFromOther() {
-        return this.consumptionSummary.getTotalTurnsFromOther();
+        return this.consumptionSummary.get().getTotalTurnsFromOther();
     }
 
     /**
@@ -654,14 +819,14 @@ public class LogSummaryData {
         if (totalTurnsFromRollover < 0) {
             throw new IllegalArgumentException("Turn gain must not be below 0.");
         }
-        this.totalTurnsFromRollover = totalTurnsFromRollover;
+        this.totalTurnsFromRollover.set(totalTurnsFromRollover);
     }
 
     /**
      * @return The total amount of turns gained from rollover.
      */
     public int getTotalTurnsFromRollover() {
-        return this.totalTurnsFromRollover;
+        return this.totalTurnsFromRollover.get();
     }
 
     /**
@@ -675,14 +840,14 @@ public class LogSummaryData {
             throw new IllegalArgumentException(
                     "Turn spent must not be below 0.");
         }
-        this.totalTurnsCombat = totalTurnsCombat;
+        this.totalTurnsCombat.set(totalTurnsCombat);
     }
 
     /**
      * @return The total amount of combat turns.
      */
     public int getTotalTurnsCombat() {
-        return this.totalTurnsCombat;
+        return this.totalTurnsCombat.get();
     }
 
     /**
@@ -696,14 +861,14 @@ public class LogSummaryData {
             throw new IllegalArgumentException(
                     "Turn spent must not be below 0.");
         }
-        this.totalTurnsNoncombat = totalTurnsNoncombat;
+        this.totalTurnsNoncombat.set(totalTurnsNoncombat);
     }
 
     /**
      * @return The total amount of noncombat turns.
      */
     public int getTotalTurnsNoncombat() {
-        return this.totalTurnsNoncombat;
+        return this.totalTurnsNoncombat.get();
     }
 
     /**
@@ -718,7 +883,7 @@ public class LogSummaryData {
             throw new IllegalArgumentException(
                     "Turn spent must not be below 0.");
         }
-        this.totalTurnsOther = totalTurnsOther;
+        this.totalTurnsOther.set(totalTurnsOther);
     }
 
     /**
@@ -726,6 +891,6 @@ public class LogSummaryData {
      *         turns.
      */
     public int getTotalTurnsOther() {
-        return this.totalTurnsOther;
+        return this.totalTurnsOther.get();
     }
 }
@@ -30,13 +30,14 @@ import java.util.List;
 import java.util.Map;
 
 import com.googlecode.logVisualizer.logData.MeatGain;
+import com.googlecode.logVisualizer.logData.MeatGainAccumulator;
 import com.googlecode.logVisualizer.util.DataNumberPair;
 
 /**
  * Data class for meat data summaries by level.
  */
 public final class MeatSummary {
-    private final Map<Integer, MeatGain> levelMeatData = new HashMap<>();
+    private final Map<Integer, MeatGainAccumulator> levelMeatData = new HashMap<>();
 
     /**
      * Adds the given meat data to the given level.
@@ -48,13 +49,12 @@ public final class MeatSummary {
      */
     public void addLevelMeatData(final int levelNumber, final MeatGain meatData) {
         final Integer lvl = Integer.valueOf(levelNumber);
-        if (this.levelMeatData.containsKey(lvl)) {
-            final MeatGain newMeatData = this.levelMeatData.get(lvl)
-                    .addMeatData(meatData);
-            this.levelMeatData.put(lvl, newMeatData);
-        } else {
-            this.levelMeatData.put(lvl, meatData);
+        MeatGainAccumulator levelMeat = this.levelMeatData.get(lvl);
+        if (levelMeat == null) {
+            levelMeat = new MeatGainAccumulator();
+            this.levelMeatData.put(lvl, levelMeat);
         }
+        levelMeat.addMeatData(meatData);
     }
 
     /**
@@ -63,7 +63,9 @@ public final class MeatSummary {
      * @return The meat data of the given level.
      */
     public MeatGain getLevelMeatData(final int levelNumber) {
-        return this.levelMeatData.get(levelNumber);
+        final MeatGainAccumulator levelMeat = this.levelMeatData
+                .get(levelNumber);
+        return levelMeat != null ? levelMeat.toMeatGain() : null;
     }
 
     /**
@@ -73,7 +75,8 @@ public final class MeatSummary {
         final List<DataNumberPair<MeatGain>> result = new ArrayList<>(
                 this.levelMeatData.size());
         for (final Integer i : this.levelMeatData.keySet()) {
-            result.add(DataNumberPair.of(this.levelMeatData.get(i), i));
+            result.add(DataNumberPair.of(this.levelMeatData.get(i)
+                    .toMeatGain(), i));
         }
         Collections.sort(result);
         return result;
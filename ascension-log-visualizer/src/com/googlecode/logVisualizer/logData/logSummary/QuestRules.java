@@ -0,0 +1,387 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.logData.logSummary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import net.java.dev.spellcast.utilities.DataUtilities;
+import net.java.dev.spellcast.utilities.UtilityConstants;
+
+import com.googlecode.logVisualizer.logData.Item;
+import com.googlecode.logVisualizer.logData.turn.TurnInterval;
+import com.googlecode.logVisualizer.util.DataNumberPair;
+
+/**
+ * The quest turncount rules of the {@code questTurncounts.txt} data file.
+ * <p>
+ * The rules are compiled once when this class is loaded. Every rule is filed
+ * under the area whose turns it counts and every area opening and item drop
+ * the rules depend on gets a slot in the state of an {@link Automaton}. Thus,
+ * an automaton only has to look at every turn interval and dropped item once
+ * to update all quest turncounts, no matter how many quests are defined.
+ */
+final class QuestRules {
+    private static final String FILE_NAME = "questTurncounts.txt";
+    private static final String SPLIT_PATTERN = "\\s*\\|\\s*";
+    private static final QuestRules QUEST_RULES;
+    static {
+        QUEST_RULES = new QuestRules(DataUtilities.getReader(
+                UtilityConstants.KOL_DATA_DIRECTORY, QuestRules.FILE_NAME));
+    }
+
+    private final List<String> questNames;
+    private final Map<String, Rule[]> areaRules;
+    private final Map<String, Integer> areaOpeningSlots = new HashMap<>(50);
+    private final Map<String, Integer> itemSlots = new HashMap<>(50);
+    private final int numberOfRules;
+
+    /**
+     * Reads and compiles the quest rules from the given reader. Lines which
+     * do not describe a valid rule are skipped and reported together with
+     * their line number. If the data file could not be read or contains no
+     * rules at all, the failure is reported and all quest turncounts will be
+     * zero.
+     *
+     * @param br
+     *            The reader of the quest rules data file.
+     */
+    private QuestRules(final BufferedReader br) {
+        final Map<String, Integer> questIndices = new LinkedHashMap<>(50);
+        final Map<String, List<Rule>> tmpAreaRules = new HashMap<>(200);
+        int ruleIndex = 0;
+        int lineNumber = 0;
+        String tmpLine;
+        try {
+            while ((tmpLine = br.readLine()) != null) {
+                lineNumber++;
+                // Ignore empty lines and comments
+                if ((tmpLine.length() == 0) || tmpLine.startsWith("//")
+                        || tmpLine.startsWith("#")) {
+                    continue;
+                }
+
+                final String[] result = tmpLine.trim().split(
+                        QuestRules.SPLIT_PATTERN);
+                if ((result.length < 3) || (result[0].length() == 0)
+                        || (result[2].length() == 0)) {
+                    QuestRules.reportInvalidLine(lineNumber,
+                            "expected quest name | rule | area name", tmpLine);
+                    continue;
+                }
+                final RuleType type = RuleType.fromString(result[1]);
+                if (type == null) {
+                    QuestRules.reportInvalidLine(lineNumber, "unknown rule \""
+                            + result[1] + "\"", tmpLine);
+                    continue;
+                }
+                if (!type.isValidArgumentCount(result.length - 3)) {
+                    QuestRules.reportInvalidLine(lineNumber,
+                            "wrong number of arguments for rule \"" + type
+                                    + "\"", tmpLine);
+                    continue;
+                }
+
+                Integer questIndex = questIndices.get(result[0]);
+                if (questIndex == null) {
+                    questIndex = Integer.valueOf(questIndices.size());
+                    questIndices.put(result[0], questIndex);
+                }
+                final Rule rule = this.compileRule(type, ruleIndex++,
+                        questIndex.intValue(),
+                        Arrays.copyOfRange(result, 3, result.length));
+
+                List<Rule> rules = tmpAreaRules.get(result[2]);
+                if (rules == null) {
+                    rules = new ArrayList<>(2);
+                    tmpAreaRules.put(result[2], rules);
+                }
+                rules.add(rule);
+            }
+            br.close();
+            if (ruleIndex == 0) {
+                throw new IOException("The data file " + QuestRules.FILE_NAME
+                        + " is missing or contains no quest rules.");
+            }
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+
+        this.questNames = Collections.unmodifiableList(new ArrayList<>(
+                questIndices.keySet()));
+        this.areaRules = new HashMap<>(tmpAreaRules.size() * 2);
+        for (final Entry<String, List<Rule>> e : tmpAreaRules.entrySet()) {
+            this.areaRules.put(e.getKey(),
+                    e.getValue().toArray(new Rule[e.getValue().size()]));
+        }
+        this.numberOfRules = ruleIndex;
+    }
+
+    private static void reportInvalidLine(final int lineNumber,
+            final String problem, final String line) {
+        System.err.println("Skipped line " + lineNumber + " of "
+                + QuestRules.FILE_NAME + ", " + problem + ": " + line);
+    }
+
+    /**
+     * @return A new rule of the given type, with all its area and item
+     *         arguments resolved to their slots.
+     */
+    private Rule compileRule(final RuleType type, final int ruleIndex,
+            final int questIndex, final String[] arguments) {
+        if (type == RuleType.UNTIL_ITEMS_FOUND) {
+            final int[] items = new int[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                items[i] = QuestRules.getSlot(arguments[i], this.itemSlots);
+            }
+            return new Rule(type, ruleIndex, questIndex, -1, items);
+        } else if (type == RuleType.TURNS_IN_AREA) {
+            return new Rule(type, ruleIndex, questIndex, -1, new int[0]);
+        }
+        return new Rule(type, ruleIndex, questIndex, QuestRules.getSlot(
+                arguments[0], this.areaOpeningSlots), new int[0]);
+    }
+
+    private static int getSlot(final String name,
+            final Map<String, Integer> slots) {
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            slot = Integer.valueOf(slots.size());
+            slots.put(name, slot);
+        }
+        return slot.intValue();
+    }
+
+    /**
+     * @return A new automaton for the quest rules of the data file.
+     */
+    static Automaton newAutomaton() {
+        return new Automaton(QuestRules.QUEST_RULES);
+    }
+
+    /**
+     * Calculates the quest turncounts of one ascension.
+     * <p>
+     * All item drops which happened before a turn interval have to be added
+     * before the turn interval itself is added, and the turn intervals have
+     * to be added in the order of the turn rundown. Item drops of a turn
+     * interval may be added directly before it.
+     */
+    static final class Automaton {
+        private final QuestRules rules;
+        private final int[] itemFoundOnTurns;
+        private final boolean[] areasOpened;
+        private final int[] ruleTurns;
+        private final int[] ruleTurnsBeforeOpening;
+        private final boolean[] rulesFinished;
+
+        private Automaton(final QuestRules rules) {
+            this.rules = rules;
+            this.itemFoundOnTurns = new int[rules.itemSlots.size()];
+            Arrays.fill(this.itemFoundOnTurns, Integer.MAX_VALUE);
+            this.areasOpened = new boolean[rules.areaOpeningSlots.size()];
+            this.ruleTurns = new int[rules.numberOfRules];
+            this.ruleTurnsBeforeOpening = new int[rules.numberOfRules];
+            this.rulesFinished = new boolean[rules.numberOfRules];
+        }
+
+        /**
+         * @param item
+         *            A dropped item.
+         */
+        void addItemDrop(final Item item) {
+            final Integer slot = this.rules.itemSlots.get(item.getName());
+            if ((slot != null)
+                    && (item.getFoundOnTurn() < this.itemFoundOnTurns[slot
+                            .intValue()])) {
+                this.itemFoundOnTurns[slot.intValue()] = item.getFoundOnTurn();
+            }
+        }
+
+        /**
+         * @param turnInterval
+         *            The next turn interval of the turn rundown.
+         */
+        void addTurnInterval(final TurnInterval turnInterval) {
+            // The area has to be marked as open first, so a rule counting the
+            // turns until or after the opening of its own area works.
+            final Integer openingSlot = this.rules.areaOpeningSlots
+                    .get(turnInterval.getAreaName());
+            if (openingSlot != null) {
+                this.areasOpened[openingSlot.intValue()] = true;
+            }
+
+            final Rule[] areaRules = this.rules.areaRules.get(turnInterval
+                    .getAreaName());
+            if (areaRules == null) {
+                return;
+            }
+            for (final Rule r : areaRules) {
+                switch (r.type) {
+                case TURNS_IN_AREA:
+                    this.ruleTurns[r.index] += turnInterval.getTotalTurns();
+                    break;
+                case UNTIL_ITEMS_FOUND:
+                    this.addTurnsUntilItemsFound(r, turnInterval);
+                    break;
+                case UNTIL_AREA_OPEN:
+                    if (!this.areasOpened[r.areaOpeningSlot]) {
+                        this.ruleTurns[r.index] += turnInterval.getTotalTurns();
+                    }
+                    break;
+                case AFTER_AREA_OPEN:
+                    if (!this.areasOpened[r.areaOpeningSlot]) {
+                        this.ruleTurnsBeforeOpening[r.index] += turnInterval
+                                .getTotalTurns();
+                    }
+                    this.ruleTurns[r.index] += turnInterval.getTotalTurns();
+                    break;
+                }
+            }
+        }
+
+        private void addTurnsUntilItemsFound(final Rule r,
+                final TurnInterval turnInterval) {
+            if (this.rulesFinished[r.index]) {
+                return;
+            }
+            int finishedOnTurn = Integer.MIN_VALUE;
+            for (final int slot : r.itemSlots) {
+                if (this.itemFoundOnTurns[slot] > finishedOnTurn) {
+                    finishedOnTurn = this.itemFoundOnTurns[slot];
+                }
+            }
+            if (turnInterval.getEndTurn() <= finishedOnTurn) {
+                this.ruleTurns[r.index] += turnInterval.getTotalTurns();
+            } else {
+                if (turnInterval.getStartTurn() <= finishedOnTurn) {
+                    this.ruleTurns[r.index] += finishedOnTurn
+                            - turnInterval.getStartTurn();
+                }
+                this.rulesFinished[r.index] = true;
+            }
+        }
+
+        /**
+         * @return The quest turncounts in the order of the quest rules data
+         *         file.
+         */
+        List<DataNumberPair<String>> getQuestTurncounts() {
+            final int[] questTurns = new int[this.rules.questNames.size()];
+            for (final Rule[] areaRules : this.rules.areaRules.values()) {
+                for (final Rule r : areaRules) {
+                    int turns = this.ruleTurns[r.index];
+                    // If the area was never opened, all turns count.
+                    if ((r.type == RuleType.AFTER_AREA_OPEN)
+                            && this.areasOpened[r.areaOpeningSlot]) {
+                        turns -= this.ruleTurnsBeforeOpening[r.index];
+                    }
+                    questTurns[r.questIndex] += turns;
+                }
+            }
+
+            final List<DataNumberPair<String>> questTurncounts = new ArrayList<>(
+                    questTurns.length);
+            for (int i = 0; i < questTurns.length; i++) {
+                questTurncounts.add(DataNumberPair.of(
+                        this.rules.questNames.get(i), questTurns[i]));
+            }
+            return questTurncounts;
+        }
+    }
+
+    /**
+     * A compiled quest rule.
+     */
+    private static final class Rule {
+        final RuleType type;
+        final int index;
+        final int questIndex;
+        final int areaOpeningSlot;
+        final int[] itemSlots;
+
+        Rule(final RuleType type, final int index, final int questIndex,
+                final int areaOpeningSlot, final int[] itemSlots) {
+            this.type = type;
+            this.index = index;
+            this.questIndex = questIndex;
+            this.areaOpeningSlot = areaOpeningSlot;
+            this.itemSlots = itemSlots;
+        }
+    }
+
+    /**
+     * All types of quest rules with their names in the data file.
+     */
+    private static enum RuleType {
+        TURNS_IN_AREA("in", 0, 0),
+        UNTIL_ITEMS_FOUND("item", 1, Integer.MAX_VALUE),
+        UNTIL_AREA_OPEN("until", 1, 1),
+        AFTER_AREA_OPEN("after", 1, 1);
+
+        private static final Map<String, RuleType> stringToEnum = new HashMap<>();
+        static {
+            for (final RuleType op : RuleType.values()) {
+                RuleType.stringToEnum.put(op.toString(), op);
+            }
+        }
+        private final String ruleName;
+        private final int minArguments;
+        private final int maxArguments;
+
+        RuleType(final String ruleName, final int minArguments,
+                final int maxArguments) {
+            this.ruleName = ruleName;
+            this.minArguments = minArguments;
+            this.maxArguments = maxArguments;
+        }
+
+        boolean isValidArgumentCount(final int arguments) {
+            return (arguments >= this.minArguments)
+                    && (arguments <= this.maxArguments);
+        }
+
+        @Override
+        public String toString() {
+            return this.ruleName;
+        }
+
+        /**
+         * @return The enum whose toString method returns a string which is
+         *         equal to the given string. If no match is found this method
+         *         will return {@code null}.
+         */
+        static RuleType fromString(final String ruleName) {
+            return RuleType.stringToEnum.get(ruleName);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.logData.logSummary;
+
+import com.googlecode.logVisualizer.logData.LogDataHolder;
+import com.googlecode.logVisualizer.logData.turn.SingleTurn;
+import com.googlecode.logVisualizer.logData.turn.TurnInterval;
+
+/**
+ * A section of the log summary which collects its data from the turn rundown.
+ * <p>
+ * The {@link SummaryDataCalculator} walks the turn rundown and hands every
+ * turn interval to the aggregators, directly followed by the single turns of
+ * that interval. Once the whole turn rundown has been walked,
+ * {@link #finish(LogDataHolder)} is called on the aggregators in the order in
+ * which they were handed over, so an aggregator may use the results of the
+ * ones before it.
+ * <p>
+ * All methods of this class do nothing, so subclasses only have to override
+ * the ones they need.
+ */
+abstract class SummaryAggregator {
+    /**
+     * @param turnInterval
+     *            The next turn interval of the turn rundown.
+     */
+    void addTurnInterval(final TurnInterval turnInterval) {
+    }
+
+    /**
+     * @param turn
+     *            The next single turn of the turn interval last handed to
+     *            {@link #addTurnInterval(TurnInterval)}.
+     */
+    void addSingleTurn(final SingleTurn turn) {
+    }
+
+    /**
+     * Completes the summary section after the whole turn rundown has been
+     * handed to this aggregator.
+     *
+     * @param logData
+     *            The ascension log.
+     */
+    void finish(final LogDataHolder logData) {
+    }
+}
@@ -25,20 +25,27 @@ package com.googlecode.logVisualizer.logData.logSummary;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import com.googlecode.logVisualizer.logData.Item;
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 import com.googlecode.logVisualizer.logData.LogDataHolder.CharacterClass;
 import com.googlecode.logVisualizer.logData.LogDataHolder.ParsedLogClass;
 import com.googlecode.logVisualizer.logData.MPGain;
+import com.googlecode.logVisualizer.logData.MeatGain;
 import com.googlecode.logVisualizer.logData.Skill;
 import com.googlecode.logVisualizer.logData.Statgain;
+import com.googlecode.logVisualizer.logData.StatgainAccumulator;
 import com.googlecode.logVisualizer.logData.consumables.Consumable;
 import com.googlecode.logVisualizer.logData.turn.SingleTurn;
 import com.googlecode.logVisualizer.logData.turn.SingleTurn.TurnVersion;
@@ -62,6 +69,14 @@ import com.googlecode.logVisualizer.util.LookAheadIterator;
  * the turn interval does not contain a record of every single turn, it cannot
  * make calculations which are based on such data.
  * <p>
+ * Every summary section is calculated by its own {@link SummaryAggregator}.
+ * Only the level data is calculated right away. Every other summary section
+ * is calculated the first time it is accessed. Sections which only sum up a
+ * few numbers per turn interval are cheap enough to be calculated in the same
+ * walk over the turn rundown as the accessed section, all other sections are
+ * never calculated if they are never accessed. To add a new summary section,
+ * add a new aggregator section to the fields of this class.
+ * <p>
  * Note that this class is immutable, while some of its members may be mutable.
  * This has to be taken into account while using this class.
  */
@@ -89,490 +104,269 @@ final class SummaryDataCalculator {
         SummaryDataCalculator.ODOR_EXTRACTOR
                 .setDayNumberOfUsage(Integer.MAX_VALUE);
     }
-    private final CountableSet<Consumable> consumablesUsed = new CountableSet<>();
-    private final CountableSet<Item> droppedItems = new CountableSet<>();
-    private final CountableSet<Skill> skillsCast = new CountableSet<>();
-    private final DataCounter<String> turnsPerArea = new DataCounter<>(200);
-    private final DataCounter<String> familiarUsage = new DataCounter<>();
-    private final List<LevelData> levels = new ArrayList<>(15);
-    private final List<DataNumberPair<String>> huntedCombats = new ArrayList<>();
-    private final List<DataNumberPair<String>> disintegratedCombats = new ArrayList<>();
-    private final List<DataNumberPair<String>> semirares = new ArrayList<>();
-    private final List<DataNumberPair<String>> badmoonAdventures = new ArrayList<>();
-    private final ConsumptionSummary consumptionSummary;
-    private final FreeRunaways freeRunaways;
-    private final Sewer sewer = new Sewer();
-    private final Goatlet goatlet = new Goatlet();
-    private final InexplicableDoor nesRealm = new InexplicableDoor();
-    private final QuestTurncounts questTurncounts;
-    private Statgain totalStatgains = new Statgain();
-    private Statgain combatsStatgains = new Statgain();
-    private Statgain noncombatsStatgains = new Statgain();
-    private Statgain othersStatgains = new Statgain();
-    private final MPGain mpGains = new MPGain();
-    private final MeatSummary meatSummary = new MeatSummary();
-    private final int totalAmountSkillCasts;
-    private final int totalMPUsed;
-    private final int totalMeatGain;
-    private final int totalMeatSpent;
-    private final int totalTurnsFromRollover;
-    private final int totalTurnsCombat;
-    private final int totalTurnsNoncombat;
-    private final int totalTurnsOther;
+    private final LogDataHolder logData;
+    private final List<AggregatorSection<?>> sections = new ArrayList<>(13);
+    private final AggregatorSection<ConsumablesAggregator> consumables = new AggregatorSection<ConsumablesAggregator>(false) {
+        @Override
+        ConsumablesAggregator newAggregator() {
+            return new ConsumablesAggregator();
+        }
+    };
+    private final AggregatorSection<ItemsAggregator> items = new AggregatorSection<ItemsAggregator>(false) {
+        @Override
+        ItemsAggregator newAggregator() {
+            return new ItemsAggregator();
+        }
+    };
+    private final AggregatorSection<SkillsAggregator> skills = new AggregatorSection<SkillsAggregator>(false) {
+        @Override
+        SkillsAggregator newAggregator() {
+            return new SkillsAggregator();
+        }
+    };
+    private final AggregatorSection<AreasAggregator> areas = new AggregatorSection<AreasAggregator>(false) {
+        @Override
+        AreasAggregator newAggregator() {
+            return new AreasAggregator(SummaryDataCalculator.this.logData
+                    .getTurnsSpent().size());
+        }
+    };
+    private final AggregatorSection<FamiliarsAggregator> familiars = new AggregatorSection<FamiliarsAggregator>(false) {
+        @Override
+        FamiliarsAggregator newAggregator() {
+            return new FamiliarsAggregator(
+                    SummaryDataCalculator.this.logData.getFamiliarChanges());
+        }
+    };
+    private final AggregatorSection<EncountersAggregator> encounters = new AggregatorSection<EncountersAggregator>(false) {
+        @Override
+        EncountersAggregator newAggregator() {
+            return new EncountersAggregator();
+        }
+    };
+    private final AggregatorSection<FreeRunawaysAggregator> freeRunaways = new AggregatorSection<FreeRunawaysAggregator>(true) {
+        @Override
+        FreeRunawaysAggregator newAggregator() {
+            return new FreeRunawaysAggregator();
+        }
+    };
+    private final AggregatorSection<SewerAggregator> sewer = new AggregatorSection<SewerAggregator>(true) {
+        @Override
+        SewerAggregator newAggregator() {
+            return new SewerAggregator();
+        }
+    };
+    private final AggregatorSection<GoatletAggregator> goatlet = new AggregatorSection<GoatletAggregator>(true) {
+        @Override
+        GoatletAggregator newAggregator() {
+            return new GoatletAggregator();
+        }
+    };
+    private final AggregatorSection<NesRealmAggregator> nesRealm = new AggregatorSection<NesRealmAggregator>(true) {
+        @Override
+        NesRealmAggregator newAggregator() {
+            return new NesRealmAggregator();
+        }
+    };
+    private final AggregatorSection<MeatAggregator> meat = new AggregatorSection<MeatAggregator>(true) {
+        @Override
+        MeatAggregator newAggregator() {
+            return new MeatAggregator();
+        }
+    };
+    private final AggregatorSection<QuestTurncountsAggregator> questTurncounts = new AggregatorSection<QuestTurncountsAggregator>(false) {
+        @Override
+        QuestTurncountsAggregator newAggregator() {
+            return new QuestTurncountsAggregator();
+        }
+    };
+    private final AggregatorSection<TurnsAggregator> turns = new AggregatorSection<TurnsAggregator>(false) {
+        @Override
+        TurnsAggregator newAggregator() {
+            return new TurnsAggregator();
+        }
+    };
+    private final List<LevelData> levels;
 
+    /**
+     * Calculates the level data right away, because it is added to the given
+     * log and the character class of the log is guessed along the way if it
+     * isn't known yet. All other summary sections are only calculated once
+     * they are accessed for the first time.
+     *
+     * @param logData
+     *            The ascension log.
+     */
     SummaryDataCalculator(final LogDataHolder logData) {
         if (logData == null) {
             throw new NullPointerException("Log data holder must not be null.");
         }
-        final List<Consumable> consumables = new ArrayList<>(100);
-        // Objects needed for familiar usage summary.
-        final LookAheadIterator<FamiliarChange> index = new LookAheadIterator<>(
-                logData.getFamiliarChanges().iterator());
-        FamiliarChange currentFamiliar = index.hasNext() ? index.next() : null;
-        int totalFreeRunawaysTries = 0;
-        int successfulFreeRunaways = 0;
-        int totalTurnsCombat = 0;
-        int totalTurnsNoncombat = 0;
-        int totalTurnsOther = 0;
-        int totalMeatGain = 0;
-        int totalMeatSpent = 0;
-        for (final TurnInterval ti : logData.getTurnsSpent()) {
-            // Consumables summary, day of usage is only a hindrance here.
-            for (final Consumable c : ti.getConsumablesUsed()) {
-                this.totalStatgains = this.totalStatgains.addStats(c
-                        .getStatGain());
-                final Consumable tmp = c.newInstance();
-                tmp.setDayNumberOfUsage(Integer.MAX_VALUE);
-                this.consumablesUsed.addElement(tmp);
-            }
-            consumables.addAll(ti.getConsumablesUsed());
-            // Item summary
-            for (final Item i : ti.getDroppedItems()) {
-                this.droppedItems.addElement(i);
-            }
-            // Skill summary
-            for (final Skill s : ti.getSkillsCast()) {
-                this.skillsCast.addElement(s);
-            }
-            // MP summary
-            this.mpGains.addMPGains(ti.getMPGain());
-            // Turns per area summary
-            if (ti.getTotalTurns() > 0) {
-                this.turnsPerArea.addDataElement(ti.getAreaName(),
-                        ti.getTotalTurns());
-            }
-            for (final SingleTurn st : ti.getTurns()) {
-                // Total turncounts and stats of different turn versions.
-                this.totalStatgains = this.totalStatgains.addStats(st
-                        .getStatGain());
-                switch (st.getTurnVersion()) {
-                case COMBAT:
-                    totalTurnsCombat++;
-                    this.combatsStatgains = this.combatsStatgains.addStats(st
-                            .getStatGain());
-                    break;
-                case NONCOMBAT:
-                    totalTurnsNoncombat++;
-                    this.noncombatsStatgains = this.noncombatsStatgains
-                            .addStats(st.getStatGain());
-                    break;
-                case OTHER:
-                    totalTurnsOther++;
-                    this.othersStatgains = this.othersStatgains.addStats(st
-                            .getStatGain());
-                    break;
-                default:
-                    break;
-                }
-                // Familiar usage summary
-                if ((st.getTurnVersion() == TurnVersion.COMBAT)
-                        && (currentFamiliar != null)) {
-                    while (index.hasNext()
-                            && (st.getTurnNumber() > index.peek()
-                                    .getTurnNumber())) {
-                        currentFamiliar = index.next();
-                    }
-                    if (currentFamiliar != null) {
-                        this.familiarUsage.addDataElement(currentFamiliar
-                                .getFamiliarName());
-                    }
-                }
-                // Hunted combats summary
-                if ((st.getTurnVersion() == TurnVersion.COMBAT)
-                        && (st.isSkillCast(SummaryDataCalculator.OLFACTION) || st
-                                .isConsumableUsed(SummaryDataCalculator.ODOR_EXTRACTOR))) {
-                    this.huntedCombats.add(DataNumberPair.of(
-                            st.getEncounterName(), st.getTurnNumber()));
-                }
-                // Disintegrated combats summary
-                if (st.isDisintegrated()) {
-                    this.disintegratedCombats.add(DataNumberPair.of(
-                            st.getEncounterName(), st.getTurnNumber()));
-                }
-                // Semirare summary
-                if (DataTablesHandler.isSemirareEncounter(st)) {
-                    this.semirares.add(DataNumberPair.of(st.getEncounterName(),
-                            st.getTurnNumber()));
-                }
-                // Bad Moon summary
-                if (DataTablesHandler.isBadMoonEncounter(st)) {
-                    this.badmoonAdventures.add(DataNumberPair.of(
-                            st.getEncounterName(), st.getTurnNumber()));
-                }
-            }
-            // Free runaways summary
-            totalFreeRunawaysTries += ti.getFreeRunaways()
-                    .getNumberOfAttemptedRunaways();
-            successfulFreeRunaways += ti.getFreeRunaways()
-                    .getNumberOfSuccessfulRunaways();
-            // Sewer summary
-            if (ti.getAreaName().equals("Unlucky Sewer")
-                    || ti.getAreaName().equals("Sewer With Clovers")) {
-                this.sewer.setTurnsSpent(this.sewer.getTurnsSpent()
-                        + ti.getTotalTurns());
-                // If there is a single turn list, look through it for the turn
-                // numbers.
-                if (!ti.getTurns().isEmpty()) {
-                    for (final SingleTurn st : ti.getTurns()) {
-                        for (final Item i : st.getDroppedItems()) {
-                            if (i.getName().startsWith("worthless")) {
-                                this.sewer.setTrinketsFound(this.sewer
-                                        .getTrinketsFound() + 1);
-                                this.sewer.addTrinketsTurnNumber(st
-                                        .getTurnNumber());
-                            }
-                        }
-                    }
-                } else {
-                    for (final Item i : ti.getDroppedItems()) {
-                        if (i.getName().startsWith("worthless")) {
-                            this.sewer.setTrinketsFound(this.sewer
-                                    .getTrinketsFound() + i.getAmount());
-                            // Not really correct but has to do for now.
-                            this.sewer.addTrinketsTurnNumber(ti.getEndTurn());
-                        }
-                    }
-                }
+        this.logData = logData;
+        // The character class is guessed from the total statgains, so the
+        // turns summary is calculated along with the levels.
+        final TurnsAggregator turnsAggregator = new TurnsAggregator();
+        final LevelsAggregator levelsAggregator = new LevelsAggregator(
+                logData, turnsAggregator);
+        this.walkTurnRundown(turnsAggregator, levelsAggregator);
+        this.turns.aggregator = turnsAggregator;
+        this.levels = levelsAggregator.levels;
+    }
+
+    /**
+     * Calculates the given summary section together with all cheap summary
+     * sections which haven't been calculated yet in one walk over the turn
+     * rundown.
+     *
+     * @param section
+     *            The summary section to calculate.
+     */
+    private synchronized void calculateSection(
+            final AggregatorSection<?> section) {
+        if (section.aggregator != null) {
+            return;
+        }
+        final List<AggregatorSection<?>> pending = new ArrayList<>();
+        pending.add(section);
+        for (final AggregatorSection<?> s : this.getPendingSections()) {
+            if (s.isCheap && (s != section)) {
+                pending.add(s);
             }
-            // Goatlet summary
-            if (ti.getAreaName().equals("Goatlet")) {
-                this.goatlet.setTurnsSpent(this.goatlet.getTurnsSpent()
-                        + ti.getTotalTurns());
-                for (final SingleTurn st : ti.getTurns()) {
-                    if (st.getEncounterName().equals("dairy goat")) {
-                        this.goatlet.setDairyGoatsFound(this.goatlet
-                                .getDairyGoatsFound() + 1);
-                    }
-                }
-                for (final Item i : ti.getDroppedItems()) {
-                    if (i.getName().equals("goat cheese")) {
-                        this.goatlet.setCheeseFound(this.goatlet
-                                .getCheeseFound() + i.getAmount());
-                    } else if (i.getName().equals("glass of goat's milk")) {
-                        this.goatlet.setMilkFound(this.goatlet.getMilkFound()
-                                + i.getAmount());
-                    }
-                }
+        }
+        final SummaryAggregator[] aggregators = new SummaryAggregator[pending
+                .size()];
+        for (int i = 0; i < aggregators.length; i++) {
+            aggregators[i] = pending.get(i).newPendingAggregator();
+        }
+        this.walkTurnRundown(aggregators);
+        for (final AggregatorSection<?> s : pending) {
+            s.publishPendingAggregator();
+        }
+    }
+
+    /**
+     * Calculates all summary sections which haven't been calculated yet on the
+     * common {@link ForkJoinPool}. The pending sections are split into one
+     * group per worker of the pool and every group walks the turn rundown
+     * once, so the sections are still calculated exactly once each and the
+     * results are the same as if every section was accessed on its own.
+     * <p>
+     * This method only returns after all sections have been calculated.
+     */
+    synchronized void calculatePendingSectionsInParallel() {
+        final List<AggregatorSection<?>> pending = this.getPendingSections();
+        if (pending.isEmpty()) {
+            return;
+        }
+        final int groupCount = Math.min(pending.size(), ForkJoinPool
+                .commonPool().getParallelism());
+        final List<ForkJoinTask<?>> walks = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            final SummaryAggregator[] aggregators = new SummaryAggregator[(pending
+                    .size() - i + groupCount - 1) / groupCount];
+            for (int j = 0; j < aggregators.length; j++) {
+                aggregators[j] = pending.get(i + j * groupCount)
+                        .newPendingAggregator();
             }
-            // 8-Bit Realm summary
-            if (ti.getAreaName().equals("8-Bit Realm")) {
-                this.nesRealm.setTurnsSpent(this.nesRealm.getTurnsSpent()
-                        + ti.getTotalTurns());
-                for (final SingleTurn st : ti.getTurns()) {
-                    if (st.getEncounterName().equals("Bullet Bill")) {
-                        this.nesRealm.setBulletsFound(this.nesRealm
-                                .getBulletsFound() + 1);
-                    } else if (st.getEncounterName().equals("Blooper")) {
-                        this.nesRealm.setBloopersFound(this.nesRealm
-                                .getBloopersFound() + 1);
-                    }
+            walks.add(ForkJoinTask.adapt(new Runnable() {
+                @Override
+                public void run() {
+                    SummaryDataCalculator.this.walkTurnRundown(aggregators);
                 }
+            }));
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(walks);
             }
-            // Meat gain/spent
-            // Nuns encounter meat ignored here.
-            if (!ti.getAreaName().equals("Themthar Hills")) {
-                totalMeatGain += ti.getEncounterMeatGain();
-            }
-            totalMeatGain += ti.getOtherMeatGain();
-            totalMeatSpent += ti.getMeatSpent();
-        }
-        this.freeRunaways = new FreeRunaways(totalFreeRunawaysTries,
-                successfulFreeRunaways);
-        this.totalTurnsCombat = totalTurnsCombat;
-        this.totalTurnsNoncombat = totalTurnsNoncombat;
-        this.totalTurnsOther = totalTurnsOther;
-        // Consumption summary
-        this.consumptionSummary = new ConsumptionSummary(consumables,
-                logData.getDayChanges());
-        final int tempRolloverTurns = logData.getTurnsSpent().last()
-                .getEndTurn()
-                - this.consumptionSummary.getTotalTurnsFromFood()
-                - this.consumptionSummary.getTotalTurnsFromBooze()
-                - this.consumptionSummary.getTotalTurnsFromOther();
-        this.totalTurnsFromRollover = tempRolloverTurns < 0 ? 0
-                : tempRolloverTurns;
-        // Total meat gain/spent
-        this.totalMeatGain = totalMeatGain;
-        this.totalMeatSpent = totalMeatSpent;
-        // Total amount of skill casts and total MP used
-        int totalAmountSkillCasts = 0;
-        int totalMPUsed = 0;
-        for (final Skill s : this.skillsCast.getElements()) {
-            totalAmountSkillCasts += s.getAmount();
-            totalMPUsed += s.getMpCost();
-        }
-        this.totalAmountSkillCasts = totalAmountSkillCasts;
-        this.totalMPUsed = totalMPUsed;
-        // Level data summary
-        this.createLevelSummaryData(logData);
-        // Meat per level summary
-        for (final TurnInterval ti : logData.getTurnsSpent()) {
-            for (final SingleTurn st : ti.getTurns()) {
-                if (!st.getMeat().isMeatGainSpentZero()) {
-                    this.meatSummary.addLevelMeatData(
-                            logData.getCurrentLevel(st.getTurnNumber())
-                                    .getLevelNumber(), st.getMeat());
-                }
+        });
+        for (final AggregatorSection<?> s : pending) {
+            s.publishPendingAggregator();
+        }
+    }
+
+    /**
+     * @return The summary sections which haven't been calculated yet, in the
+     *         order of their declaration.
+     */
+    private List<AggregatorSection<?>> getPendingSections() {
+        final List<AggregatorSection<?>> pending = new ArrayList<>(
+                this.sections.size());
+        for (final AggregatorSection<?> s : this.sections) {
+            if (s.aggregator == null) {
+                pending.add(s);
             }
         }
-        // Quest turncount summary
-        this.questTurncounts = new QuestTurncounts(logData.getTurnsSpent(),
-                this.droppedItems.getElements());
+        return pending;
     }
 
     /**
-     * Automatically creates the level summary from the turn rundown of the
-     * ascension log.
+     * Walks the turn rundown once and hands all turn intervals and single
+     * turns to the given aggregators. Afterwards, the aggregators are
+     * finished in the given order.
+     *
+     * @param aggregators
+     *            The aggregators of the summary sections to calculate.
      */
-    private void createLevelSummaryData(final LogDataHolder logData) {
-        final Iterator<PlayerSnapshot> plSsIter = logData.getPlayerSnapshots()
-                .iterator();
-        PlayerSnapshot currentPlayerSnapshot = plSsIter.hasNext() ? plSsIter
-                .next() : null;
-        int currentStatBoarder = SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
-                .get(2);
-        Statgain stats = new Statgain();
-        int combatTurns = 0;
-        int noncombatTurns = 0;
-        int otherTurns = 0;
-        // Try to guess the character class if it isn't set yet.
-        if (logData.getCharacterClass() == CharacterClass.NOT_DEFINED) {
-            final Set<String> guildItems = new HashSet<>(5);
-            for (final TurnInterval ti : logData.getTurnsSpent()) {
-                if (ti.getAreaName().equals(
-                        SummaryDataCalculator.GUILD_CHALLENGE)) {
-                    for (final Item i : ti.getDroppedItems()) {
-                        if (i.getName().equals(
-                                SummaryDataCalculator.ENCHANTED_BARBELL)
-                                || i.getName()
-                                        .equals(SummaryDataCalculator.CONCENTRATED_MAGICALNESS_PILL)
-                                || i.getName().equals(
-                                        SummaryDataCalculator.GIANT_MOXIE_WEED)) {
-                            guildItems.add(i.getName());
-                        }
-                    }
-                }
+    private void walkTurnRundown(final SummaryAggregator... aggregators) {
+        for (final TurnInterval ti : this.logData.getTurnsSpent()) {
+            for (final SummaryAggregator sa : aggregators) {
+                sa.addTurnInterval(ti);
             }
-            if ((this.totalStatgains.mus > this.totalStatgains.myst)
-                    && (this.totalStatgains.mus > this.totalStatgains.myst)) {
-                if (guildItems.contains(SummaryDataCalculator.GIANT_MOXIE_WEED)) {
-                    logData.setCharacterClass("Seal Clubber");
-                } else {
-                    logData.setCharacterClass("Turtle Tamer");
-                }
-            } else if ((this.totalStatgains.myst > this.totalStatgains.mus)
-                    && (this.totalStatgains.myst > this.totalStatgains.mox)) {
-                if (guildItems.contains(SummaryDataCalculator.GIANT_MOXIE_WEED)) {
-                    logData.setCharacterClass("Sauceror");
-                } else {
-                    logData.setCharacterClass("Pastamancer");
-                }
-            } else if (guildItems
-                    .contains(SummaryDataCalculator.CONCENTRATED_MAGICALNESS_PILL)) {
-                logData.setCharacterClass("Accordion Thief");
-            } else {
-                logData.setCharacterClass("Disco Bandit");
-            }
-        }
-        // Substats at the start of an ascension.
-        switch (logData.getCharacterClass()) {
-        case SEAL_CLUBBER:
-            stats = new Statgain(15, 5, 10);
-            break;
-        case TURTLE_TAMER:
-            stats = new Statgain(15, 10, 5);
-            break;
-        case PASTAMANCER:
-            stats = new Statgain(10, 15, 5);
-            break;
-        case SAUCEROR:
-            stats = new Statgain(5, 15, 10);
-            break;
-        case DISCO_BANDIT:
-            stats = new Statgain(10, 5, 15);
-            break;
-        case ACCORDION_THIEF:
-            stats = new Statgain(5, 10, 15);
-            break;
-        case NOT_DEFINED:
-            break;
-        default:
-            break;
-        }
-        // Set level 1.
-        this.levels.add(new LevelData(1, 0));
-        this.levels.get(0).setStatsAtLevelReached(stats);
-        for (final TurnInterval ti : logData.getTurnsSpent()) {
             for (final SingleTurn st : ti.getTurns()) {
-                // Add stats to the stat counter.
-                stats = stats.addStats(st.getStatGain());
-                for (final Consumable c : st.getConsumablesUsed()) {
-                    stats = stats.addStats(c.getStatGain());
-                }
-                if ((currentPlayerSnapshot != null)
-                        && (currentPlayerSnapshot.getTurnNumber() <= st
-                                .getTurnNumber())) {
-                    final int playerMus = currentPlayerSnapshot
-                            .getMuscleStats()
-                            * currentPlayerSnapshot.getMuscleStats();
-                    final int playerMyst = currentPlayerSnapshot.getMystStats()
-                            * currentPlayerSnapshot.getMystStats();
-                    final int playerMox = currentPlayerSnapshot.getMoxieStats()
-                            * currentPlayerSnapshot.getMoxieStats();
-                    // Player snapshot is always right, so if it says the player
-                    // stats are higher, set them to that value.
-                    if (playerMus > stats.mus) {
-                        stats = stats.setMuscle(playerMus);
-                    }
-                    if (playerMyst > stats.myst) {
-                        stats = stats.setMyst(playerMyst);
-                    }
-                    if (playerMox > stats.mox) {
-                        stats = stats.setMoxie(playerMox);
-                    }
-                    currentPlayerSnapshot = plSsIter.hasNext() ? plSsIter
-                            .next() : null;
-                }
-                // Increment the correct turn counter.
-                switch (st.getTurnVersion()) {
-                case COMBAT:
-                    combatTurns++;
-                    break;
-                case NONCOMBAT:
-                    noncombatTurns++;
-                    break;
-                case OTHER:
-                    otherTurns++;
-                    break;
-                case NOT_DEFINED:
-                    break;
-                default:
-                    break;
-                }
-                // Check whether a new level is reached and act accordingly.
-                while (SummaryDataCalculator.isNewLevelReached(logData,
-                        currentStatBoarder, stats)) {
-                    final LevelData newLevel = this.computeNewLevelReached(
-                            st.getTurnNumber(), stats, combatTurns,
-                            noncombatTurns, otherTurns);
-                    this.levels.add(newLevel);
-                    currentStatBoarder = SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
-                            .get(newLevel.getLevelNumber() + 1);
-                    combatTurns = 0;
-                    noncombatTurns = 0;
-                    otherTurns = 0;
+                for (final SummaryAggregator sa : aggregators) {
+                    sa.addSingleTurn(st);
                 }
             }
         }
-        // Add level data to the LogDataHolder if it isn't created from a
-        // pre-parsed ascension log.
-        if (logData.getParsedLogCreator() == ParsedLogClass.NOT_DEFINED) {
-            for (final LevelData lvl : this.levels) {
-                logData.addLevel(lvl);
-            }
-        }
-    }
-
-    private static boolean isNewLevelReached(final LogDataHolder logData,
-            final int currentStatBoarder, final Statgain stats) {
-        boolean isNewLevelReached = false;
-        switch (logData.getCharacterClass().getStatClass()) {
-        case MUSCLE:
-            isNewLevelReached = currentStatBoarder <= Math.sqrt(stats.mus);
-            break;
-        case MYSTICALITY:
-            isNewLevelReached = currentStatBoarder <= Math.sqrt(stats.myst);
-            break;
-        case MOXIE:
-            isNewLevelReached = currentStatBoarder <= Math.sqrt(stats.mox);
-            break;
-        default:
-            break;
-        }
-        return isNewLevelReached;
-    }
-
-    /**
-     * Adds the still missing data to the current level and returns the next
-     * level.
-     */
-    private LevelData computeNewLevelReached(final int currentTurnNumber,
-            final Statgain currentStats, final int combatTurns,
-            final int noncombatTurns, final int otherTurns) {
-        final LevelData currentLevel = this.levels.get(this.levels.size() - 1);
-        final LevelData newLevel = new LevelData(
-                currentLevel.getLevelNumber() + 1, currentTurnNumber);
-        final int turnDifference = currentTurnNumber
-                - currentLevel.getLevelReachedOnTurn();
-        final int substatAmountCurrentLevel = SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
-                .get(currentLevel.getLevelNumber())
-                * SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
-                        .get(currentLevel.getLevelNumber());
-        final int substatAmountNewLevel = SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
-                .get(newLevel.getLevelNumber())
-                * SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP.get(newLevel
-                        .getLevelNumber());
-        currentLevel.setCombatTurns(combatTurns);
-        currentLevel.setNoncombatTurns(noncombatTurns);
-        currentLevel.setOtherTurns(otherTurns);
-        if (turnDifference > 0) {
-            currentLevel
-                    .setStatGainPerTurn(((substatAmountNewLevel - substatAmountCurrentLevel) * 1.0)
-                            / turnDifference);
-        } else {
-            currentLevel.setStatGainPerTurn(substatAmountNewLevel
-                    - substatAmountCurrentLevel);
-        }
-        newLevel.setStatsAtLevelReached(currentStats);
-        return newLevel;
-    }
-
-    /**
-     * @return A list of areas and the turns spent in them.
+        for (final SummaryAggregator sa : aggregators) {
+            sa.finish(this.logData);
+        }
+    }
+
+    /**
+     * @return A list of areas and the turns spent in them, sorted from the
+     *         highest to the lowest turn count. Areas with the same turn count
+     *         are sorted alphabetically.
      */
     List<DataNumberPair<String>> getTurnsPerArea() {
-        return this.turnsPerArea.getCountedData();
+        return this.areas.get().turnsPerArea
+                .getCountedDataSortedByCount(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    /**
+     * @param comparator
+     *            The comparator used to sort the returned list.
+     * @return A sorted list of the statgains of all areas. The stat gains from
+     *         consumables are one of the list elements.
+     * @see AreaStatgains#getSortedAreaStatgains(Collection, Comparator)
+     */
+    List<AreaStatgains> getAreasStatgains(
+            final Comparator<AreaStatgains> comparator) {
+        return AreaStatgains.createSortedAreaStatgains(
+                this.areas.get().areaStatgains,
+                this.areas.get().consumablesStatgain.toStatgain(), comparator);
     }
 
     /**
      * @return A list of all consumables used.
      */
     Collection<Consumable> getConsumablesUsed() {
-        return this.consumablesUsed.getElements();
+        return this.consumables.get().consumablesUsed.getElements();
     }
 
     /**
      * @return A list of all items dropped.
      */
     Collection<Item> getDroppedItems() {
-        return this.droppedItems.getElements();
+        return this.items.get().droppedItems.getElements();
     }
 
     /**
      * @return A list of all skills cast.
      */
     Collection<Skill> getSkillsCast() {
-        return this.skillsCast.getElements();
+        return this.skills.get().skillsCast.getElements();
     }
 
     /**
@@ -583,101 +377,102 @@ final class SummaryDataCalculator {
     }
 
     /**
-     * @return A list of all used familiars and how often they were used.
+     * @return A list of all used familiars and how often they were used,
+     *         sorted from the most to the least used familiar.
      */
     List<DataNumberPair<String>> getFamiliarUsage() {
-        return this.familiarUsage.getCountedData();
+        return this.familiars.get().familiarUsage.getCountedDataSortedByCount();
     }
 
     /**
      * @return A list of all started hunts on combats.
      */
     List<DataNumberPair<String>> getHuntedCombats() {
-        return this.huntedCombats;
+        return this.encounters.get().huntedCombats;
     }
 
     /**
      * @return A list of all disintegrated combats.
      */
     List<DataNumberPair<String>> getDisintegratedCombats() {
-        return this.disintegratedCombats;
+        return this.encounters.get().disintegratedCombats;
     }
 
     /**
      * @return A list of all semirares.
      */
     List<DataNumberPair<String>> getSemirares() {
-        return this.semirares;
+        return this.encounters.get().semirares;
     }
 
     /**
      * @return A list of all Bad Moon adventures.
      */
     List<DataNumberPair<String>> getBadmoonAdventures() {
-        return this.badmoonAdventures;
+        return this.encounters.get().badmoonAdventures;
     }
 
     /**
      * @return A summary on consumables used during the ascension.
      */
     ConsumptionSummary getConsumptionSummary() {
-        return this.consumptionSummary;
+        return this.consumables.get().consumptionSummary;
     }
 
     /**
      * @return The free runaways over the whole ascension.
      */
     public FreeRunaways getFreeRunaways() {
-        return this.freeRunaways;
+        return this.freeRunaways.get().freeRunaways;
     }
 
     /**
      * @return The RNG data of the Sewer.
      */
     Sewer getSewer() {
-        return this.sewer;
+        return this.sewer.get().sewer;
     }
 
     /**
      * @return The RNG data of the Goatlet.
      */
     Goatlet getGoatlet() {
-        return this.goatlet;
+        return this.goatlet.get().goatlet;
     }
 
     /**
      * @return The RNG data of the 8-Bit Realm.
      */
     InexplicableDoor get8BitRealm() {
-        return this.nesRealm;
+        return this.nesRealm.get().nesRealm;
     }
 
     /**
      * @return The quest turncounts.
      */
     QuestTurncounts getQuestTurncounts() {
-        return this.questTurncounts;
+        return this.questTurncounts.get().questTurncounts;
     }
 
     /**
      * @return The total mp gains collected during this ascension.
      */
     MPGain getMPGains() {
-        return this.mpGains;
+        return this.turns.get().mpGains;
     }
 
     /**
      * @return The meat per level summary.
      */
     MeatSummary getMeatSummary() {
-        return this.meatSummary;
+        return this.meat.get().meatSummary;
     }
 
     /**
      * @return The total amount of substats collected during this ascension.
      */
     Statgain getTotalStatgains() {
-        return this.totalStatgains;
+        return this.turns.get().totalStatgains.toStatgain();
     }
 
     /**
@@ -685,7 +480,7 @@ final class SummaryDataCalculator {
      *         ascension.
      */
     Statgain getCombatsStatgains() {
-        return this.combatsStatgains;
+        return this.turns.get().combatsStatgains.toStatgain();
     }
 
     /**
@@ -693,7 +488,7 @@ final class SummaryDataCalculator {
      *         this ascension.
      */
     Statgain getNoncombatsStatgains() {
-        return this.noncombatsStatgains;
+        return this.turns.get().noncombatsStatgains.toStatgain();
     }
 
     /**
@@ -701,56 +496,56 @@ final class SummaryDataCalculator {
      *         during this ascension.
      */
     Statgain getOthersStatgains() {
-        return this.othersStatgains;
+        return this.turns.get().othersStatgains.toStatgain();
     }
 
     /**
      * @return The total amount of skill casts.
      */
     int getTotalAmountSkillCasts() {
-        return this.totalAmountSkillCasts;
+        return this.skills.get().totalAmountSkillCasts;
     }
 
     /**
      * @return The total amount of MP spent on skills.
      */
     int getTotalMPUsed() {
-        return this.totalMPUsed;
+        return this.skills.get().totalMPUsed;
     }
 
     /**
      * @return The total amount of meat gathered.
      */
     int getTotalMeatGain() {
-        return this.totalMeatGain;
+        return this.meat.get().totalMeatGain;
     }
 
     /**
      * @return The total amount of meat spent.
      */
     int getTotalMeatSpent() {
-        return this.totalMeatSpent;
+        return this.meat.get().totalMeatSpent;
     }
 
     /**
      * @return The total amount of turns gained from rollover.
      */
     int getTotalTurnsFromRollover() {
-        return this.totalTurnsFromRollover;
+        return this.consumables.get().totalTurnsFromRollover;
     }
 
     /**
      * @return The total amount of combat turns.
      */
     int getTotalTurnsCombat() {
-        return this.totalTurnsCombat;
+        return this.turns.get().totalTurnsCombat;
     }
 
     /**
      * @return The total amount of noncombat turns.
      */
     int getTotalTurnsNoncombat() {
-        return this.totalTurnsNoncombat;
+        return this.turns.get().totalTurnsNoncombat;
     }
 
     /**
@@ -758,6 +553,752 @@ final class SummaryDataCalculator {
      *         turns.
      */
     int getTotalTurnsOther() {
-        return this.totalTurnsOther;
+        return this.turns.get().totalTurnsOther;
+    }
+
+    /**
+     * A summary section which is calculated by its own aggregator. The
+     * aggregator is created and handed the turn rundown the first time this
+     * section is accessed, or together with any other section if this section
+     * is cheap to calculate.
+     */
+    private abstract class AggregatorSection<A extends SummaryAggregator> {
+        final boolean isCheap;
+        volatile A aggregator;
+        private A pendingAggregator;
+
+        /**
+         * @param isCheap
+         *            {@code true} if the aggregator of this section only does
+         *            a small, constant amount of work per turn interval and
+         *            may therefore be calculated along with other sections,
+         *            otherwise {@code false}.
+         */
+        AggregatorSection(final boolean isCheap) {
+            this.isCheap = isCheap;
+            SummaryDataCalculator.this.sections.add(this);
+        }
+
+        /**
+         * @return The aggregator of this summary section after it has been
+         *         handed the whole turn rundown.
+         */
+        A get() {
+            A result = this.aggregator;
+            if (result == null) {
+                SummaryDataCalculator.this.calculateSection(this);
+                result = this.aggregator;
+            }
+            return result;
+        }
+
+        /**
+         * @return A new aggregator for this summary section, which is kept
+         *         until {@link #publishPendingAggregator()} is called.
+         */
+        A newPendingAggregator() {
+            this.pendingAggregator = this.newAggregator();
+            return this.pendingAggregator;
+        }
+
+        /**
+         * Makes the aggregator created by {@link #newPendingAggregator()}
+         * the one of this summary section.
+         */
+        void publishPendingAggregator() {
+            this.aggregator = this.pendingAggregator;
+            this.pendingAggregator = null;
+        }
+
+        /**
+         * @return A new aggregator of this summary section.
+         */
+        abstract A newAggregator();
+    }
+
+    /**
+     * Consumables summary and consumption summary.
+     */
+    private static final class ConsumablesAggregator extends SummaryAggregator {
+        final CountableSet<Consumable> consumablesUsed = new CountableSet<>();
+        private final List<Consumable> consumables = new ArrayList<>(100);
+        ConsumptionSummary consumptionSummary;
+        int totalTurnsFromRollover;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            // Day of usage is only a hindrance here.
+            for (final Consumable c : turnInterval.getConsumablesUsed()) {
+                final Consumable tmp = c.newInstance();
+                tmp.setDayNumberOfUsage(Integer.MAX_VALUE);
+                this.consumablesUsed.addElementWithoutCopy(tmp);
+            }
+            this.consumables.addAll(turnInterval.getConsumablesUsed());
+        }
+
+        @Override
+        void finish(final LogDataHolder logData) {
+            this.consumptionSummary = new ConsumptionSummary(this.consumables,
+                    logData.getDayChanges());
+            final int tempRolloverTurns = logData.getTurnsSpent().last()
+                    .getEndTurn()
+                    - this.consumptionSummary.getTotalTurnsFromFood()
+                    - this.consumptionSummary.getTotalTurnsFromBooze()
+                    - this.consumptionSummary.getTotalTurnsFromOther();
+            this.totalTurnsFromRollover = tempRolloverTurns < 0 ? 0
+                    : tempRolloverTurns;
+        }
+    }
+
+    /**
+     * Item summary.
+     */
+    private static final class ItemsAggregator extends SummaryAggregator {
+        final CountableSet<Item> droppedItems = new CountableSet<>();
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            for (final Item i : turnInterval.getDroppedItems()) {
+                this.droppedItems.addElement(i);
+            }
+        }
+    }
+
+    /**
+     * Skill summary, total amount of skill casts and total MP used.
+     */
+    private static final class SkillsAggregator extends SummaryAggregator {
+        final CountableSet<Skill> skillsCast = new CountableSet<>();
+        int totalAmountSkillCasts;
+        int totalMPUsed;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            for (final Skill s : turnInterval.getSkillsCast()) {
+                this.skillsCast.addElement(s);
+            }
+        }
+
+        @Override
+        void finish(final LogDataHolder logData) {
+            for (final Skill s : this.skillsCast.getElements()) {
+                this.totalAmountSkillCasts += s.getAmount();
+                this.totalMPUsed += s.getMpCost();
+            }
+        }
+    }
+
+    /**
+     * Turns per area summary and area statgains.
+     */
+    private static final class AreasAggregator extends SummaryAggregator {
+        final DataCounter<String> turnsPerArea = new DataCounter<>(200);
+        final Map<String, StatgainAccumulator> areaStatgains;
+        final StatgainAccumulator consumablesStatgain = new StatgainAccumulator();
+
+        AreasAggregator(final int numberOfTurnIntervals) {
+            this.areaStatgains = AreaStatgains
+                    .newAreaStatgainsMap(numberOfTurnIntervals);
+        }
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            if (turnInterval.getTotalTurns() > 0) {
+                this.turnsPerArea.addDataElement(turnInterval.getAreaName(),
+                        turnInterval.getTotalTurns());
+            }
+            StatgainAccumulator stats = this.areaStatgains.get(turnInterval
+                    .getAreaName());
+            if (stats == null) {
+                stats = new StatgainAccumulator();
+                this.areaStatgains.put(turnInterval.getAreaName(), stats);
+            }
+            stats.addStats(turnInterval.getStatGain());
+            for (final Consumable c : turnInterval.getConsumablesUsed()) {
+                this.consumablesStatgain.addStats(c.getStatGain());
+            }
+        }
+    }
+
+    /**
+     * Total turncounts and stats of different turn versions and the MP
+     * summary.
+     */
+    private static final class TurnsAggregator extends SummaryAggregator {
+        final StatgainAccumulator totalStatgains = new StatgainAccumulator();
+        final StatgainAccumulator combatsStatgains = new StatgainAccumulator();
+        final StatgainAccumulator noncombatsStatgains = new StatgainAccumulator();
+        final StatgainAccumulator othersStatgains = new StatgainAccumulator();
+        final MPGain mpGains = new MPGain();
+        int totalTurnsCombat;
+        int totalTurnsNoncombat;
+        int totalTurnsOther;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            for (final Consumable c : turnInterval.getConsumablesUsed()) {
+                this.totalStatgains.addStats(c.getStatGain());
+            }
+            this.mpGains.addMPGains(turnInterval.getMPGain());
+        }
+
+        @Override
+        void addSingleTurn(final SingleTurn turn) {
+            final Statgain stats = turn.getStatGain();
+            this.totalStatgains.addStats(stats);
+            switch (turn.getTurnVersion()) {
+            case COMBAT:
+                this.totalTurnsCombat++;
+                this.combatsStatgains.addStats(stats);
+                break;
+            case NONCOMBAT:
+                this.totalTurnsNoncombat++;
+                this.noncombatsStatgains.addStats(stats);
+                break;
+            case OTHER:
+                this.totalTurnsOther++;
+                this.othersStatgains.addStats(stats);
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    /**
+     * Familiar usage summary.
+     */
+    private static final class FamiliarsAggregator extends SummaryAggregator {
+        final DataCounter<String> familiarUsage = new DataCounter<>();
+        private final LookAheadIterator<FamiliarChange> index;
+        private FamiliarChange currentFamiliar;
+
+        FamiliarsAggregator(final Collection<FamiliarChange> familiarChanges) {
+            this.index = new LookAheadIterator<>(familiarChanges.iterator());
+            this.currentFamiliar = this.index.hasNext() ? this.index.next()
+                    : null;
+        }
+
+        @Override
+        void addSingleTurn(final SingleTurn turn) {
+            if ((turn.getTurnVersion() == TurnVersion.COMBAT)
+                    && (this.currentFamiliar != null)) {
+                while (this.index.hasNext()
+                        && (turn.getTurnNumber() > this.index.peek()
+                                .getTurnNumber())) {
+                    this.currentFamiliar = this.index.next();
+                }
+                this.familiarUsage.addDataElement(this.currentFamiliar
+                        .getFamiliarName());
+            }
+        }
+    }
+
+    /**
+     * Hunted combats, disintegrated combats, semirares and Bad Moon summaries.
+     */
+    private static final class EncountersAggregator extends SummaryAggregator {
+        final List<DataNumberPair<String>> huntedCombats = new ArrayList<>();
+        final List<DataNumberPair<String>> disintegratedCombats = new ArrayList<>();
+        final List<DataNumberPair<String>> semirares = new ArrayList<>();
+        final List<DataNumberPair<String>> badmoonAdventures = new ArrayList<>();
+
+        @Override
+        void addSingleTurn(final SingleTurn turn) {
+            if ((turn.getTurnVersion() == TurnVersion.COMBAT)
+                    && (turn.isSkillCast(SummaryDataCalculator.OLFACTION) || turn
+                            .isConsumableUsed(SummaryDataCalculator.ODOR_EXTRACTOR))) {
+                this.huntedCombats.add(DataNumberPair.of(
+                        turn.getEncounterName(), turn.getTurnNumber()));
+            }
+            if (turn.isDisintegrated()) {
+                this.disintegratedCombats.add(DataNumberPair.of(
+                        turn.getEncounterName(), turn.getTurnNumber()));
+            }
+            if (DataTablesHandler.isSemirareEncounter(turn)) {
+                this.semirares.add(DataNumberPair.of(turn.getEncounterName(),
+                        turn.getTurnNumber()));
+            }
+            if (DataTablesHandler.isBadMoonEncounter(turn)) {
+                this.badmoonAdventures.add(DataNumberPair.of(
+                        turn.getEncounterName(), turn.getTurnNumber()));
+            }
+        }
+    }
+
+    /**
+     * Free runaways summary.
+     */
+    private static final class FreeRunawaysAggregator extends
+            SummaryAggregator {
+        private int totalFreeRunawaysTries;
+        private int successfulFreeRunaways;
+        FreeRunaways freeRunaways;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            this.totalFreeRunawaysTries += turnInterval.getFreeRunaways()
+                    .getNumberOfAttemptedRunaways();
+            this.successfulFreeRunaways += turnInterval.getFreeRunaways()
+                    .getNumberOfSuccessfulRunaways();
+        }
+
+        @Override
+        void finish(final LogDataHolder logData) {
+            this.freeRunaways = new FreeRunaways(this.totalFreeRunawaysTries,
+                    this.successfulFreeRunaways);
+        }
+    }
+
+    /**
+     * Sewer summary.
+     */
+    private static final class SewerAggregator extends SummaryAggregator {
+        final Sewer sewer = new Sewer();
+        private boolean isInSewer;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            this.isInSewer = turnInterval.getAreaName().equals("Unlucky Sewer")
+                    || turnInterval.getAreaName().equals("Sewer With Clovers");
+            if (!this.isInSewer) {
+                return;
+            }
+            this.sewer.setTurnsSpent(this.sewer.getTurnsSpent()
+                    + turnInterval.getTotalTurns());
+            // If there is a single turn list, the single turns are looked
+            // through for the turn numbers.
+            if (turnInterval.getTurns().isEmpty()) {
+                for (final Item i : turnInterval.getDroppedItems()) {
+                    if (i.getName().startsWith("worthless")) {
+                        this.sewer.setTrinketsFound(this.sewer
+                                .getTrinketsFound() + i.getAmount());
+                        // Not really correct but has to do for now.
+                        this.sewer.addTrinketsTurnNumber(turnInterval
+                                .getEndTurn());
+                    }
+                }
+            }
+        }
+
+        @Override
+        void addSingleTurn(final SingleTurn turn) {
+            if (this.isInSewer) {
+                for (final Item i : turn.getDroppedItems()) {
+                    if (i.getName().startsWith("worthless")) {
+                        this.sewer
+                                .setTrinketsFound(this.sewer.getTrinketsFound() + 1);
+                        this.sewer.addTrinketsTurnNumber(turn.getTurnNumber());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Goatlet summary.
+     */
+    private static final class GoatletAggregator extends SummaryAggregator {
+        final Goatlet goatlet = new Goatlet();
+        private boolean isInGoatlet;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            this.isInGoatlet = turnInterval.getAreaName().equals("Goatlet");
+            if (!this.isInGoatlet) {
+                return;
+            }
+            this.goatlet.setTurnsSpent(this.goatlet.getTurnsSpent()
+                    + turnInterval.getTotalTurns());
+            for (final Item i : turnInterval.getDroppedItems()) {
+                if (i.getName().equals("goat cheese")) {
+                    this.goatlet.setCheeseFound(this.goatlet.getCheeseFound()
+                            + i.getAmount());
+                } else if (i.getName().equals("glass of goat's milk")) {
+                    this.goatlet.setMilkFound(this.goatlet.getMilkFound()
+                            + i.getAmount());
+                }
+            }
+        }
+
+        @Override
+        void addSingleTurn(final SingleTurn turn) {
+            if (this.isInGoatlet
+                    && turn.getEncounterName().equals("dairy goat")) {
+                this.goatlet
+                        .setDairyGoatsFound(this.goatlet.getDairyGoatsFound() + 1);
+            }
+        }
+    }
+
+    /**
+     * 8-Bit Realm summary.
+     */
+    private static final class NesRealmAggregator extends SummaryAggregator {
+        final InexplicableDoor nesRealm = new InexplicableDoor();
+        private boolean isInNesRealm;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            this.isInNesRealm = turnInterval.getAreaName().equals("8-Bit Realm");
+            if (this.isInNesRealm) {
+                this.nesRealm.setTurnsSpent(this.nesRealm.getTurnsSpent()
+                        + turnInterval.getTotalTurns());
+            }
+        }
+
+        @Override
+        void addSingleTurn(final SingleTurn turn) {
+            if (!this.isInNesRealm) {
+                return;
+            }
+            if (turn.getEncounterName().equals("Bullet Bill")) {
+                this.nesRealm.setBulletsFound(this.nesRealm.getBulletsFound() + 1);
+            } else if (turn.getEncounterName().equals("Blooper")) {
+                this.nesRealm
+                        .setBloopersFound(this.nesRealm.getBloopersFound() + 1);
+            }
+        }
+    }
+
+    /**
+     * Level data summary.
+     * <p>
+     * If the character class isn't known yet, it is guessed from the total
+     * statgains, which are only known once the whole turn rundown has been
+     * walked. Since the levels depend on the character class, they are tracked
+     * for every possible character class at the same time and only those of
+     * the guessed class are used in the end.
+     */
+    private static final class LevelsAggregator extends SummaryAggregator {
+        private final TurnsAggregator turns;
+        private final Set<String> guildItems = new HashSet<>(5);
+        private final Map<CharacterClass, LevelTracker> levelTrackers = new HashMap<>();
+        private final LevelTracker[] levelTrackersArray;
+        private boolean isInGuildChallenge;
+        List<LevelData> levels;
+
+        LevelsAggregator(final LogDataHolder logData,
+                final TurnsAggregator turns) {
+            this.turns = turns;
+            if (logData.getCharacterClass() == CharacterClass.NOT_DEFINED) {
+                for (final CharacterClass cc : CharacterClass.values()) {
+                    if (cc != CharacterClass.NOT_DEFINED) {
+                        this.levelTrackers.put(cc, new LevelTracker(logData,
+                                cc));
+                    }
+                }
+            } else {
+                this.levelTrackers.put(logData.getCharacterClass(),
+                        new LevelTracker(logData, logData.getCharacterClass()));
+            }
+            this.levelTrackersArray = this.levelTrackers.values().toArray(
+                    new LevelTracker[this.levelTrackers.size()]);
+        }
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            this.isInGuildChallenge = turnInterval.getAreaName().equals(
+                    SummaryDataCalculator.GUILD_CHALLENGE);
+            if (this.isInGuildChallenge && (this.levelTrackersArray.length > 1)) {
+                for (final Item i : turnInterval.getDroppedItems()) {
+                    if (i.getName().equals(
+                            SummaryDataCalculator.ENCHANTED_BARBELL)
+                            || i.getName()
+                                    .equals(SummaryDataCalculator.CONCENTRATED_MAGICALNESS_PILL)
+                            || i.getName().equals(
+                                    SummaryDataCalculator.GIANT_MOXIE_WEED)) {
+                        this.guildItems.add(i.getName());
+                    }
+                }
+            }
+        }
+
+        @Override
+        void addSingleTurn(final SingleTurn turn) {
+            for (final LevelTracker lt : this.levelTrackersArray) {
+                lt.addTurn(turn);
+            }
+        }
+
+        @Override
+        void finish(final LogDataHolder logData) {
+            // Guess the character class if it isn't set yet.
+            if (logData.getCharacterClass() == CharacterClass.NOT_DEFINED) {
+                logData.setCharacterClass(this.guessCharacterClass()
+                        .toString());
+            }
+            this.levels = this.levelTrackers.get(logData.getCharacterClass()).levels;
+            // Add level data to the LogDataHolder if it isn't created from a
+            // pre-parsed ascension log.
+            if (logData.getParsedLogCreator() == ParsedLogClass.NOT_DEFINED) {
+                for (final LevelData lvl : this.levels) {
+                    logData.addLevel(lvl);
+                }
+            }
+        }
+
+        private CharacterClass guessCharacterClass() {
+            final Statgain totalStatgains = this.turns.totalStatgains
+                    .toStatgain();
+            if ((totalStatgains.mus > totalStatgains.myst)
+                    && (totalStatgains.mus > totalStatgains.myst)) {
+                if (this.guildItems
+                        .contains(SummaryDataCalculator.GIANT_MOXIE_WEED)) {
+                    return CharacterClass.SEAL_CLUBBER;
+                }
+                return CharacterClass.TURTLE_TAMER;
+            } else if ((totalStatgains.myst > totalStatgains.mus)
+                    && (totalStatgains.myst > totalStatgains.mox)) {
+                if (this.guildItems
+                        .contains(SummaryDataCalculator.GIANT_MOXIE_WEED)) {
+                    return CharacterClass.SAUCEROR;
+                }
+                return CharacterClass.PASTAMANCER;
+            } else if (this.guildItems
+                    .contains(SummaryDataCalculator.CONCENTRATED_MAGICALNESS_PILL)) {
+                return CharacterClass.ACCORDION_THIEF;
+            }
+            return CharacterClass.DISCO_BANDIT;
+        }
+    }
+
+    /**
+     * Computes the levels reached from the single turns for one character
+     * class.
+     */
+    private static final class LevelTracker {
+        private final CharacterClass characterClass;
+        private final Iterator<PlayerSnapshot> plSsIter;
+        private PlayerSnapshot currentPlayerSnapshot;
+        private int currentStatBoarder = SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
+                .get(2);
+        private final StatgainAccumulator stats = new StatgainAccumulator();
+        private int combatTurns;
+        private int noncombatTurns;
+        private int otherTurns;
+        final List<LevelData> levels = new ArrayList<>(15);
+
+        LevelTracker(final LogDataHolder logData,
+                final CharacterClass characterClass) {
+            this.characterClass = characterClass;
+            this.plSsIter = logData.getPlayerSnapshots().iterator();
+            this.currentPlayerSnapshot = this.plSsIter.hasNext() ? this.plSsIter
+                    .next() : null;
+            // Substats at the start of an ascension.
+            switch (characterClass) {
+            case SEAL_CLUBBER:
+                this.stats.setStats(15, 5, 10);
+                break;
+            case TURTLE_TAMER:
+                this.stats.setStats(15, 10, 5);
+                break;
+            case PASTAMANCER:
+                this.stats.setStats(10, 15, 5);
+                break;
+            case SAUCEROR:
+                this.stats.setStats(5, 15, 10);
+                break;
+            case DISCO_BANDIT:
+                this.stats.setStats(10, 5, 15);
+                break;
+            case ACCORDION_THIEF:
+                this.stats.setStats(5, 10, 15);
+                break;
+            case NOT_DEFINED:
+                break;
+            default:
+                break;
+            }
+            // Set level 1.
+            this.levels.add(new LevelData(1, 0));
+            this.levels.get(0).setStatsAtLevelReached(this.stats.toStatgain());
+        }
+
+        void addTurn(final SingleTurn st) {
+            // Add stats to the stat counter.
+            this.stats.addStats(st.getStatGain());
+            for (final Consumable c : st.getConsumablesUsed()) {
+                this.stats.addStats(c.getStatGain());
+            }
+            if ((this.currentPlayerSnapshot != null)
+                    && (this.currentPlayerSnapshot.getTurnNumber() <= st
+                            .getTurnNumber())) {
+                final int playerMus = this.currentPlayerSnapshot
+                        .getMuscleStats()
+                        * this.currentPlayerSnapshot.getMuscleStats();
+                final int playerMyst = this.currentPlayerSnapshot
+                        .getMystStats()
+                        * this.currentPlayerSnapshot.getMystStats();
+                final int playerMox = this.currentPlayerSnapshot
+                        .getMoxieStats()
+                        * this.currentPlayerSnapshot.getMoxieStats();
+                // Player snapshot is always right, so if it says the player
+                // stats are higher, set them to that value.
+                if (playerMus > this.stats.getMuscle()) {
+                    this.stats.setMuscle(playerMus);
+                }
+                if (playerMyst > this.stats.getMyst()) {
+                    this.stats.setMyst(playerMyst);
+                }
+                if (playerMox > this.stats.getMoxie()) {
+                    this.stats.setMoxie(playerMox);
+                }
+                this.currentPlayerSnapshot = this.plSsIter.hasNext() ? this.plSsIter
+                        .next() : null;
+            }
+            // Increment the correct turn counter.
+            switch (st.getTurnVersion()) {
+            case COMBAT:
+                this.combatTurns++;
+                break;
+            case NONCOMBAT:
+                this.noncombatTurns++;
+                break;
+            case OTHER:
+                this.otherTurns++;
+                break;
+            case NOT_DEFINED:
+                break;
+            default:
+                break;
+            }
+            // Check whether a new level is reached and act accordingly.
+            while (this.isNewLevelReached()) {
+                final LevelData newLevel = this.computeNewLevelReached(
+                        st.getTurnNumber(), this.stats.toStatgain());
+                this.levels.add(newLevel);
+                this.currentStatBoarder = SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
+                        .get(newLevel.getLevelNumber() + 1);
+                this.combatTurns = 0;
+                this.noncombatTurns = 0;
+                this.otherTurns = 0;
+            }
+        }
+
+        private boolean isNewLevelReached() {
+            boolean isNewLevelReached = false;
+            switch (this.characterClass.getStatClass()) {
+            case MUSCLE:
+                isNewLevelReached = this.currentStatBoarder <= Math
+                        .sqrt(this.stats.getMuscle());
+                break;
+            case MYSTICALITY:
+                isNewLevelReached = this.currentStatBoarder <= Math
+                        .sqrt(this.stats.getMyst());
+                break;
+            case MOXIE:
+                isNewLevelReached = this.currentStatBoarder <= Math
+                        .sqrt(this.stats.getMoxie());
+                break;
+            default:
+                break;
+            }
+            return isNewLevelReached;
+        }
+
+        /**
+         * Adds the still missing data to the current level and returns the
+         * next level.
+         */
+        private LevelData computeNewLevelReached(final int currentTurnNumber,
+                final Statgain currentStats) {
+            final LevelData currentLevel = this.levels
+                    .get(this.levels.size() - 1);
+            final LevelData newLevel = new LevelData(
+                    currentLevel.getLevelNumber() + 1, currentTurnNumber);
+            final int turnDifference = currentTurnNumber
+                    - currentLevel.getLevelReachedOnTurn();
+            final int substatAmountCurrentLevel = SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
+                    .get(currentLevel.getLevelNumber())
+                    * SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
+                            .get(currentLevel.getLevelNumber());
+            final int substatAmountNewLevel = SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
+                    .get(newLevel.getLevelNumber())
+                    * SummaryDataCalculator.LEVEL_STAT_BOARDERS_MAP
+                            .get(newLevel.getLevelNumber());
+            currentLevel.setCombatTurns(this.combatTurns);
+            currentLevel.setNoncombatTurns(this.noncombatTurns);
+            currentLevel.setOtherTurns(this.otherTurns);
+            if (turnDifference > 0) {
+                currentLevel
+                        .setStatGainPerTurn(((substatAmountNewLevel - substatAmountCurrentLevel) * 1.0)
+                                / turnDifference);
+            } else {
+                currentLevel.setStatGainPerTurn(substatAmountNewLevel
+                        - substatAmountCurrentLevel);
+            }
+            newLevel.setStatsAtLevelReached(currentStats);
+            return newLevel;
+        }
+    }
+
+    /**
+     * Total meat gain and spent and the meat per level summary.
+     */
+    private static final class MeatAggregator extends SummaryAggregator {
+        final MeatSummary meatSummary = new MeatSummary();
+        int totalMeatGain;
+        int totalMeatSpent;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            // Nuns encounter meat ignored here.
+            if (!turnInterval.getAreaName().equals("Themthar Hills")) {
+                this.totalMeatGain += turnInterval.getEncounterMeatGain();
+            }
+            this.totalMeatGain += turnInterval.getOtherMeatGain();
+            this.totalMeatSpent += turnInterval.getMeatSpent();
+        }
+
+        /**
+         * Adds the meat data of every level to the meat summary. The current
+         * level only changes on the turns on which a level was reached, so
+         * the meat data of each level is summed up over the turn intervals
+         * between those turns.
+         */
+        @Override
+        void finish(final LogDataHolder logData) {
+            final Set<Integer> levelTurns = new TreeSet<>();
+            levelTurns.add(0);
+            for (final LevelData ld : logData.getLevels()) {
+                levelTurns.add(Math.max(ld.getLevelReachedOnTurn(), 0));
+            }
+            final Integer[] startTurns = levelTurns
+                    .toArray(new Integer[levelTurns.size()]);
+            for (int i = 0; i < startTurns.length; i++) {
+                final int startTurn = startTurns[i].intValue();
+                final int endTurn = i + 1 < startTurns.length ? startTurns[i + 1]
+                        .intValue() - 1 : Integer.MAX_VALUE;
+                final MeatGain meat = logData.getMeatGain(startTurn, endTurn);
+                if (!meat.isMeatGainSpentZero()) {
+                    this.meatSummary.addLevelMeatData(logData
+                            .getCurrentLevel(startTurn).getLevelNumber(), meat);
+                }
+            }
+        }
+    }
+
+    /**
+     * Quest turncount summary.
+     */
+    private static final class QuestTurncountsAggregator extends
+            SummaryAggregator {
+        private final QuestRules.Automaton automaton = QuestRules
+                .newAutomaton();
+        QuestTurncounts questTurncounts;
+
+        @Override
+        void addTurnInterval(final TurnInterval turnInterval) {
+            for (final Item i : turnInterval.getDroppedItems()) {
+                this.automaton.addItemDrop(i);
+            }
+            this.automaton.addTurnInterval(turnInterval);
+        }
+
+        @Override
+        void finish(final LogDataHolder logData) {
+            this.questTurncounts = new QuestTurncounts(this.automaton);
+        }
     }
 }
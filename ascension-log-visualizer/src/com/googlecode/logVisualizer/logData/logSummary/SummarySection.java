@@ -0,0 +1,76 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.logData.logSummary;
+
+/**
+ * A section of the log summary which is only calculated when it is accessed
+ * for the first time. The calculated value is kept, so every later access
+ * returns the same object.
+ * <p>
+ * The value is calculated at most once, even if several threads access it at
+ * the same time. A value set through {@link #set(Object)} replaces the
+ * calculated one, or makes the calculation unnecessary if it wasn't done yet.
+ *
+ * @param <T>
+ *            The type of the value of this section.
+ */
+abstract class SummarySection<T> {
+    private volatile T value;
+
+    /**
+     * @return The value of this section. It is calculated if this is the
+     *         first access and no value has been set yet.
+     */
+    T get() {
+        T result = this.value;
+        if (result == null) {
+            synchronized (this) {
+                result = this.value;
+                if (result == null) {
+                    result = this.calculate();
+                    this.value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param value
+     *            The value of this section to set.
+     * @throws NullPointerException
+     *             if value is {@code null}
+     */
+    synchronized void set(final T value) {
+        if (value == null) {
+            throw new NullPointerException("Value must not be null.");
+        }
+        this.value = value;
+    }
+
+    /**
+     * @return The calculated value of this section. Must not be {@code null}.
+     */
+    protected abstract T calculate();
+}
@@ -24,15 +24,18 @@
 package com.googlecode.logVisualizer.logData.turn;
 
 import java.util.Collection;
+import java.util.Collections;
 
 import com.googlecode.logVisualizer.logData.Item;
 import com.googlecode.logVisualizer.logData.MPGain;
 import com.googlecode.logVisualizer.logData.MeatGain;
 import com.googlecode.logVisualizer.logData.Skill;
 import com.googlecode.logVisualizer.logData.Statgain;
+import com.googlecode.logVisualizer.logData.StatgainAccumulator;
 import com.googlecode.logVisualizer.logData.consumables.Consumable;
 import com.googlecode.logVisualizer.util.Countable;
 import com.googlecode.logVisualizer.util.CountableSet;
+import com.googlecode.logVisualizer.util.SymbolTable;
 
 /**
  * This class handles all the data which a turn/turns can collect. An actual
@@ -49,13 +52,29 @@ import com.googlecode.logVisualizer.util.CountableSet;
  * object reference is passed in any parameter.
  */
 public abstract class AbstractTurn {
+    private static final MeatGain NO_MEAT = new MeatGain();
+    private static final Statgain NO_STATS = new Statgain();
     private final String areaName;
-    private MeatGain meat = new MeatGain();
+    // Meat and stat gains are added up line by line while parsing, so they
+    // are kept as plain values. The immutable MeatGain and Statgain objects
+    // are only created when they are asked for and then kept until the values
+    // change again. They are set to null whenever the values change and start
+    // out as the shared objects for no meat and no stats.
+    private int encounterMeatGain;
+    private int otherMeatGain;
+    private int meatSpent;
+    private MeatGain meat = AbstractTurn.NO_MEAT;
+    private int mus;
+    private int myst;
+    private int mox;
+    private Statgain statGain = AbstractTurn.NO_STATS;
     private final MPGain mpGain = new MPGain();
-    private Statgain statGain = new Statgain();
-    private final CountableSet<Item> droppedItems = new CountableSet<>();
-    private final CountableSet<Skill> skillsCast = new CountableSet<>();
-    private final CountableSet<Consumable> consumablesUsed = new CountableSet<>();
+    // Most turns neither drop items nor have skills cast or consumables used
+    // on them, so the collections for these are only created once they are
+    // actually needed. Until then, they are null.
+    private CountableSet<Item> droppedItems;
+    private CountableSet<Skill> skillsCast;
+    private CountableSet<Consumable> consumablesUsed;
 
     /**
      * @param areaName
@@ -65,7 +84,7 @@ public abstract class AbstractTurn {
         if (areaName == null) {
             throw new NullPointerException("Area name must not be null.");
         }
-        this.areaName = areaName;
+        this.areaName = SymbolTable.intern(areaName);
     }
 
     /**
@@ -84,7 +103,7 @@ public abstract class AbstractTurn {
      *            The moxie stats to add.
      */
     public void addStatGain(final int mus, final int myst, final int mox) {
-        this.statGain = this.statGain.addStats(mus, myst, mox);
+        this.setStatData(this.mus + mus, this.myst + myst, this.mox + mox);
     }
 
     /**
@@ -96,7 +115,7 @@ public abstract class AbstractTurn {
      *            The moxie stats to set.
      */
     public void setStatGain(final int mus, final int myst, final int mox) {
-        this.statGain = new Statgain(mus, myst, mox);
+        this.setStatData(mus, myst, mox);
     }
 
     /**
@@ -104,6 +123,9 @@ public abstract class AbstractTurn {
      *         consumables used during this turn.
      */
     public Statgain getStatGain() {
+        if (this.statGain == null) {
+            this.statGain = new Statgain(this.mus, this.myst, this.mox);
+        }
         return this.statGain;
     }
 
@@ -111,11 +133,15 @@ public abstract class AbstractTurn {
      * @return The stat gain from this turn including those from consumables.
      */
     public Statgain getTotalStatGain() {
-        Statgain totalStatgain = this.statGain;
+        if (this.consumablesUsed == null) {
+            return this.getStatGain();
+        }
+        final StatgainAccumulator totalStatgain = new StatgainAccumulator();
+        totalStatgain.addStats(this.mus, this.myst, this.mox);
         for (final Consumable c : this.consumablesUsed.getElements()) {
-            totalStatgain = totalStatgain.addStats(c.getStatGain());
+            totalStatgain.addStats(c.getStatGain());
         }
-        return totalStatgain;
+        return totalStatgain.toStatgain();
     }
 
     /**
@@ -130,7 +156,8 @@ public abstract class AbstractTurn {
      *            The meat data to set.
      */
     public void setMeat(final MeatGain meat) {
-        this.meat = meat;
+        this.setMeatData(meat.encounterMeatGain, meat.otherMeatGain,
+                meat.meatSpent);
     }
 
     /**
@@ -138,13 +165,19 @@ public abstract class AbstractTurn {
      *            The meat data to add.
      */
     public void addMeat(final MeatGain meat) {
-        this.meat = this.meat.addMeatData(meat);
+        this.setMeatData(this.encounterMeatGain + meat.encounterMeatGain,
+                this.otherMeatGain + meat.otherMeatGain, this.meatSpent
+                        + meat.meatSpent);
     }
 
     /**
      * @return The meat data object.
      */
     public MeatGain getMeat() {
+        if (this.meat == null) {
+            this.meat = new MeatGain(this.encounterMeatGain,
+                    this.otherMeatGain, this.meatSpent);
+        }
         return this.meat;
     }
 
@@ -153,7 +186,7 @@ public abstract class AbstractTurn {
      *            The meat gain from inside the encounter to set.
      */
     public void setEncounterMeatGain(final int encounterMeatGain) {
-        this.meat = this.meat.setEncounterMeatGain(encounterMeatGain);
+        this.setMeatData(encounterMeatGain, this.otherMeatGain, this.meatSpent);
     }
 
     /**
@@ -161,14 +194,15 @@ public abstract class AbstractTurn {
      *            The meat gain from inside the encounter to add.
      */
     public void addEncounterMeatGain(final int encounterMeatGain) {
-        this.meat = this.meat.addEncounterMeatGain(encounterMeatGain);
+        this.setMeatData(this.encounterMeatGain + encounterMeatGain,
+                this.otherMeatGain, this.meatSpent);
     }
 
     /**
      * @return The meat gained from inside the encounter of this turn.
      */
     public int getEncounterMeatGain() {
-        return this.meat.encounterMeatGain;
+        return this.encounterMeatGain;
     }
 
     /**
@@ -176,7 +210,7 @@ public abstract class AbstractTurn {
      *            The meat gain from outside the encounter to set.
      */
     public void setOtherMeatGain(final int otherMeatGain) {
-        this.meat = this.meat.setOtherMeatGain(otherMeatGain);
+        this.setMeatData(this.encounterMeatGain, otherMeatGain, this.meatSpent);
     }
 
     /**
@@ -184,14 +218,15 @@ public abstract class AbstractTurn {
      *            The meat gain from outside the encounter to add.
      */
     public void addOtherMeatGain(final int otherMeatGain) {
-        this.meat = this.meat.addOtherMeatGain(otherMeatGain);
+        this.setMeatData(this.encounterMeatGain, this.otherMeatGain
+                + otherMeatGain, this.meatSpent);
     }
 
     /**
      * @return The meat gained from outside the encounter of this turn.
      */
     public int getOtherMeatGain() {
-        return this.meat.otherMeatGain;
+        return this.otherMeatGain;
     }
 
     /**
@@ -199,7 +234,7 @@ public abstract class AbstractTurn {
      *            The meat spent to set.
      */
     public void setMeatSpent(final int meatSpent) {
-        this.meat = this.meat.setMeatSpent(meatSpent);
+        this.setMeatData(this.encounterMeatGain, this.otherMeatGain, meatSpent);
     }
 
     /**
@@ -207,14 +242,15 @@ public abstract class AbstractTurn {
      *            The meat spent to add.
      */
     public void addMeatSpent(final int meatSpent) {
-        this.meat = this.meat.addMeatSpent(meatSpent);
+        this.setMeatData(this.encounterMeatGain, this.otherMeatGain,
+                this.meatSpent + meatSpent);
     }
 
     /**
      * @return The meat spent on this turn.
      */
     public int getMeatSpent() {
-        return this.meat.meatSpent;
+        return this.meatSpent;
     }
 
     /**
@@ -222,6 +258,9 @@ public abstract class AbstractTurn {
      *            The item to add.
      */
     public void addDroppedItem(final Item droppedItem) {
+        if (this.droppedItems == null) {
+            this.droppedItems = new CountableSet<>();
+        }
         this.droppedItems.addElement(droppedItem);
     }
 
@@ -230,6 +269,9 @@ public abstract class AbstractTurn {
      *            The dropped items to set.
      */
     public void setDroppedItems(final Collection<Item> droppedItems) {
+        if (this.droppedItems == null) {
+            this.droppedItems = new CountableSet<>();
+        }
         this.droppedItems.setElements(droppedItems);
     }
 
@@ -237,7 +279,7 @@ public abstract class AbstractTurn {
      * @return The dropped items from this turn.
      */
     public Collection<Item> getDroppedItems() {
-        return this.droppedItems.getElements();
+        return AbstractTurn.getElements(this.droppedItems);
     }
 
     /**
@@ -246,7 +288,10 @@ public abstract class AbstractTurn {
      *         {@link Item#getComparator()} and nothing else.
      */
     public boolean isItemDropped(final Item i) {
-        return this.droppedItems.contains(i);
+        if (i == null) {
+            throw new NullPointerException("Item must not be null.");
+        }
+        return (this.droppedItems != null) && this.droppedItems.contains(i);
     }
 
     /**
@@ -254,6 +299,9 @@ public abstract class AbstractTurn {
      *            The skill to add.
      */
     public void addSkillCast(final Skill skill) {
+        if (this.skillsCast == null) {
+            this.skillsCast = new CountableSet<>();
+        }
         this.skillsCast.addElement(skill);
     }
 
@@ -262,6 +310,9 @@ public abstract class AbstractTurn {
      *            The skills cast to set.
      */
     public void setSkillsCast(final Collection<Skill> skillsCast) {
+        if (this.skillsCast == null) {
+            this.skillsCast = new CountableSet<>();
+        }
         this.skillsCast.setElements(skillsCast);
     }
 
@@ -269,7 +320,7 @@ public abstract class AbstractTurn {
      * @return The skills cast this turn.
      */
     public Collection<Skill> getSkillsCast() {
-        return this.skillsCast.getElements();
+        return AbstractTurn.getElements(this.skillsCast);
     }
 
     /**
@@ -278,7 +329,10 @@ public abstract class AbstractTurn {
      *         {@link Skill#getComparator()} and nothing else.
      */
     public boolean isSkillCast(final Skill s) {
-        return this.skillsCast.contains(s);
+        if (s == null) {
+            throw new NullPointerException("Skill must not be null.");
+        }
+        return (this.skillsCast != null) && this.skillsCast.contains(s);
     }
 
     /**
@@ -286,6 +340,9 @@ public abstract class AbstractTurn {
      *            The consumable to add.
      */
     public void addConsumableUsed(final Consumable consumable) {
+        if (this.consumablesUsed == null) {
+            this.consumablesUsed = new CountableSet<>();
+        }
         this.consumablesUsed.addElement(consumable);
     }
 
@@ -294,6 +351,9 @@ public abstract class AbstractTurn {
      *            The consumables used to set.
      */
     public void setConsumablesUsed(final Collection<Consumable> consumablesUsed) {
+        if (this.consumablesUsed == null) {
+            this.consumablesUsed = new CountableSet<>();
+        }
         this.consumablesUsed.setElements(consumablesUsed);
     }
 
@@ -301,7 +361,7 @@ public abstract class AbstractTurn {
      * @return The consumables used this turn.
      */
     public Collection<Consumable> getConsumablesUsed() {
-        return this.consumablesUsed.getElements();
+        return AbstractTurn.getElements(this.consumablesUsed);
     }
 
     /**
@@ -310,7 +370,11 @@ public abstract class AbstractTurn {
      *         {@link Consumable#getComparator()} and nothing else.
      */
     public boolean isConsumableUsed(final Consumable c) {
-        return this.consumablesUsed.contains(c);
+        if (c == null) {
+            throw new NullPointerException("Consumable must not be null.");
+        }
+        return (this.consumablesUsed != null)
+                && this.consumablesUsed.contains(c);
     }
 
     /**
@@ -321,8 +385,7 @@ public abstract class AbstractTurn {
         if (turn == null) {
             throw new NullPointerException("Turn must not be null.");
         }
-        this.meat = this.getMeat().addMeatData(turn.getMeat());
-        this.statGain = this.getStatGain().addStats(turn.getStatGain());
+        this.addMeatAndStatGain(turn);
         this.getMPGain().addMPGains(turn.getMPGain());
         for (final Item i : turn.getDroppedItems()) {
             this.addDroppedItem(i);
@@ -335,10 +398,57 @@ public abstract class AbstractTurn {
         }
     }
 
+    /**
+     * Adds the meat data and stat gains of the given turn to this turn. In
+     * contrast to {@link #addMeat(MeatGain)} and
+     * {@link #addStatGain(int, int, int)}, this method cannot be overridden and
+     * thus only ever changes this turn.
+     *
+     * @param turn
+     *            The turn whose meat data and stat gains will be added to
+     *            this turn.
+     */
+    protected final void addMeatAndStatGain(final AbstractTurn turn) {
+        this.setMeatData(this.encounterMeatGain + turn.encounterMeatGain,
+                this.otherMeatGain + turn.otherMeatGain, this.meatSpent
+                        + turn.meatSpent);
+        this.setStatData(this.mus + turn.mus, this.myst + turn.myst, this.mox
+                + turn.mox);
+    }
+
+    private void setStatData(final int mus, final int myst, final int mox) {
+        this.mus = mus;
+        this.myst = myst;
+        this.mox = mox;
+        this.statGain = null;
+    }
+
+    /**
+     * The values are checked the same way as by the MeatGain constructor, so
+     * that this turn never holds meat data which couldn't be handed out.
+     */
+    private void setMeatData(final int encounterMeatGain,
+            final int otherMeatGain, final int meatSpent) {
+        MeatGain.checkValues(encounterMeatGain, otherMeatGain, meatSpent);
+        this.encounterMeatGain = encounterMeatGain;
+        this.otherMeatGain = otherMeatGain;
+        this.meatSpent = meatSpent;
+        this.meat = null;
+    }
+
     protected void clearAllTurnDataCollections() {
-        this.droppedItems.clear();
-        this.skillsCast.clear();
-        this.consumablesUsed.clear();
+        this.droppedItems = null;
+        this.skillsCast = null;
+        this.consumablesUsed = null;
+    }
+
+    /**
+     * @return The elements of the given set or an empty collection if the set
+     *         hasn't been created yet.
+     */
+    private static <T extends Countable<T>> Collection<T> getElements(
+            final CountableSet<T> set) {
+        return set != null ? set.getElements() : Collections.<T> emptyList();
     }
 
     @Override
@@ -346,15 +456,13 @@ public abstract class AbstractTurn {
         if (o != null) {
             if (o instanceof AbstractTurn) {
                 final AbstractTurn at = (AbstractTurn) o;
-                return this.meat.equals(at.getMeat())
+                return this.getMeat().equals(at.getMeat())
                         && this.mpGain.equals(at.getMPGain())
-                        && this.statGain.equals(at.getStatGain())
+                        && this.getStatGain().equals(at.getStatGain())
                         && this.areaName.equals(at.getAreaName())
-                        && this.droppedItems.getElements().equals(
-                                at.getDroppedItems())
-                        && this.skillsCast.getElements().equals(
-                                at.getSkillsCast())
-                        && this.consumablesUsed.getElements().equals(
+                        && this.getDroppedItems().equals(at.getDroppedItems())
+                        && this.getSkillsCast().equals(at.getSkillsCast())
+                        && this.getConsumablesUsed().equals(
                                 at.getConsumablesUsed());
             }
         }
@@ -364,13 +472,13 @@ public abstract class AbstractTurn {
     @Override
     public int hashCode() {
         int result = 48;
-        result = (31 * result) + this.meat.hashCode();
+        result = (31 * result) + this.getMeat().hashCode();
         result = (31 * result) + this.mpGain.hashCode();
-        result = (31 * result) + this.statGain.hashCode();
+        result = (31 * result) + this.getStatGain().hashCode();
         result = (31 * result) + this.areaName.hashCode();
-        result = (31 * result) + this.droppedItems.hashCode();
-        result = (31 * result) + this.skillsCast.hashCode();
-        result = (31 * result) + this.consumablesUsed.hashCode();
+        result = (31 * result) + this.getDroppedItems().hashCode();
+        result = (31 * result) + this.getSkillsCast().hashCode();
+        result = (31 * result) + this.getConsumablesUsed().hashCode();
         return result;
     }
 }
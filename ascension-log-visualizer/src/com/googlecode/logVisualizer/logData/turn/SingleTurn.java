@@ -30,6 +30,7 @@ import com.googlecode.logVisualizer.logData.Skill;
 import com.googlecode.logVisualizer.logData.turn.turnAction.EquipmentChange;
 import com.googlecode.logVisualizer.logData.turn.turnAction.FamiliarChange;
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
+import com.googlecode.logVisualizer.util.SymbolTable;
 
 /**
  * An implementation of a single turn. It uses the services of the
@@ -44,7 +45,8 @@ import com.googlecode.logVisualizer.parser.UsefulPatterns;
 public final class SingleTurn extends AbstractTurn implements
         Comparable<SingleTurn> {
     private static final String DELIMITER_STRING = "--";
-    private static final String NAVEL_RING_OF_NAVEL_GAZING = "navel ring of navel gazing";
+    private static final int NAVEL_RING_OF_NAVEL_GAZING_ID = EquipmentChange
+            .getEquipmentId("navel ring of navel gazing");
     private static final Skill RUN = new Skill("return", 1);
     private final String encounterName;
     private final int turnNumber;
@@ -81,7 +83,7 @@ public final class SingleTurn extends AbstractTurn implements
         if (turnNumber < 0) {
             throw new IllegalArgumentException("Turn number below 0.");
         }
-        this.encounterName = encounterName;
+        this.encounterName = SymbolTable.intern(encounterName);
         this.usedFamiliar = usedFamiliar;
         this.turnNumber = turnNumber;
         this.usedEquipment = usedEquipment;
@@ -143,7 +145,7 @@ public final class SingleTurn extends AbstractTurn implements
      */
     public boolean isNavelRingEquipped() {
         return this.usedEquipment
-                .isEquiped(SingleTurn.NAVEL_RING_OF_NAVEL_GAZING);
+                .isEquiped(SingleTurn.NAVEL_RING_OF_NAVEL_GAZING_ID);
     }
 
     /**
@@ -26,14 +26,13 @@ package com.googlecode.logVisualizer.logData.turn;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.SortedSet;
-import java.util.TreeSet;
 
 import com.googlecode.logVisualizer.logData.Item;
 import com.googlecode.logVisualizer.logData.MeatGain;
 import com.googlecode.logVisualizer.logData.Skill;
-import com.googlecode.logVisualizer.logData.Statgain;
 import com.googlecode.logVisualizer.logData.consumables.Consumable;
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
+import com.googlecode.logVisualizer.util.SortedArraySet;
 
 /**
  * An implementation for a turn interval. It can either consist of single turns
@@ -49,7 +48,7 @@ public final class TurnInterval extends AbstractTurn implements
         Comparable<TurnInterval> {
     private int startTurn;
     private int endTurn;
-    private SortedSet<SingleTurn> turns = new TreeSet<>();
+    private SortedSet<SingleTurn> turns = new SortedArraySet<>();
     private int successfulFreeRunaways;
     private String notes = UsefulPatterns.EMPTY_STRING;
 
@@ -379,9 +378,7 @@ public final class TurnInterval extends AbstractTurn implements
         if (turn == null) {
             throw new NullPointerException("Turn must not be null.");
         }
-        final Statgain turnStats = turn.getStatGain();
-        super.addMeat(turn.getMeat());
-        super.addStatGain(turnStats.mus, turnStats.myst, turnStats.mox);
+        this.addMeatAndStatGain(turn);
         this.getMPGain().addMPGains(turn.getMPGain());
         for (final Item i : turn.getDroppedItems()) {
             super.addDroppedItem(i);
@@ -538,6 +535,22 @@ public final class TurnInterval extends AbstractTurn implements
         return turn;
     }
 
+    /**
+     * Sets the single turns of this turn interval to the given ones. Unlike
+     * {@link #setTurns(Collection)}, neither the turn range nor the data of
+     * this turn interval are changed, so they should already include the
+     * given turns.
+     * <p>
+     * This is meant for restoring a turn interval which has been saved
+     * together with its single turns.
+     *
+     * @param turns
+     *            The single turns to set.
+     */
+    public void restoreTurns(final Collection<SingleTurn> turns) {
+        this.turns = new SortedArraySet<>(turns);
+    }
+
     /**
      * @param turns
      *            The single turns to set.
@@ -549,7 +562,7 @@ public final class TurnInterval extends AbstractTurn implements
             throw new IllegalArgumentException(
                     "Turn collection must not be empty.");
         }
-        this.turns = new TreeSet<>(turns);
+        this.turns = new SortedArraySet<>(turns);
         this.setStartEndInterval();
         this.clearAllTurnDataCollections();
         this.setStatGain(0, 0, 0);
@@ -23,6 +23,18 @@
  */
 package com.googlecode.logVisualizer.logData.turn.turnAction;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import com.googlecode.logVisualizer.util.SymbolTable;
+
 /**
  * This immutable class is a representation of an equipment change. It holds the
  * turn number of when the change occurred and the names of all the equipment
@@ -31,19 +43,42 @@ package com.googlecode.logVisualizer.logData.turn.turnAction;
  * If no equipment was worn in a particular slot, that slot will return
  * {@link #NO_EQUIPMENT_STRING}.
  * <p>
+ * The equipment itself is held by a shared setup object, so equipment changes
+ * that lead to the same equipment (for example when switching back and forth
+ * between two outfits) only keep one copy of it in memory. Every equipment
+ * name also gets a small int ID (see {@link #getEquipmentId(String)}), which
+ * makes checking whether a piece of equipment is worn a simple bit test.
+ * <p>
+ * Setups and IDs are only kept for as long as they are used, so parsing many
+ * logs doesn't make them pile up. The ID of an equipment name which isn't
+ * worn in any kept setup and wasn't asked for through
+ * {@link #getEquipmentId(String)} is given to the next new name.
+ * <p>
  * Note: This class has a natural ordering that is inconsistent with equals.
  */
 public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
     public static final String NO_EQUIPMENT_STRING = "none";
-    private final String hat;
-    private final String weapon;
-    private final String offhand;
-    private final String shirt;
-    private final String pants;
-    private final String acc1;
-    private final String acc2;
-    private final String acc3;
-    private final String famEquip;
+    private static final int HAT = 0;
+    private static final int WEAPON = 1;
+    private static final int OFFHAND = 2;
+    private static final int SHIRT = 3;
+    private static final int PANTS = 4;
+    private static final int ACC1 = 5;
+    private static final int ACC2 = 6;
+    private static final int ACC3 = 7;
+    private static final int FAM_EQUIP = 8;
+    // The names are weakly referenced, so names which aren't used anymore
+    // drop out and their IDs are put back through unusedNames. The
+    // names whose IDs have been handed out are kept for good. All four are
+    // only accessed while holding the lock of equipmentIds.
+    private static final Map<String, NameReference> equipmentIds = new WeakHashMap<>(
+            500);
+    private static final ReferenceQueue<String> unusedNames = new ReferenceQueue<>();
+    private static final BitSet usedIds = new BitSet(500);
+    private static final Set<String> handedOutNames = new HashSet<>();
+    private static final Map<EquipmentSetup, WeakReference<EquipmentSetup>> equipmentSetups = new WeakHashMap<>(
+            500);
+    private final EquipmentSetup equipment;
 
     /**
      * Constructs a new equipment change object.
@@ -67,6 +102,25 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
                 EquipmentChange.NO_EQUIPMENT_STRING);
     }
 
+    /**
+     * Constructs a new equipment change object which uses the same equipment
+     * as the given equipment change.
+     *
+     * @param turnNumber
+     *            The turn number of this equipment change to set.
+     * @param equipment
+     *            The equipment change whose equipment should be used.
+     * @throws IllegalArgumentException
+     *             if turnNumber is below 0
+     * @throws NullPointerException
+     *             if equipment is {@code null}
+     */
+    public EquipmentChange(final int turnNumber,
+            final EquipmentChange equipment) {
+        super(turnNumber);
+        this.equipment = equipment.equipment;
+    }
+
     /**
      * Constructs a new equipment change object.
      * <p>
@@ -110,15 +164,86 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
             throw new NullPointerException(
                     "No null objects allowed as parameters.");
         }
-        this.hat = hat;
-        this.weapon = weapon;
-        this.offhand = offhand;
-        this.shirt = shirt;
-        this.pants = pants;
-        this.acc1 = acc1;
-        this.acc2 = acc2;
-        this.acc3 = acc3;
-        this.famEquip = famEquip;
+        this.equipment = EquipmentChange.getEquipmentSetup(new String[] { hat,
+                weapon, offhand, shirt, pants, acc1, acc2, acc3, famEquip });
+    }
+
+    /**
+     * Returns the ID of the given equipment name. IDs are small, starting from
+     * 0, and the ID returned by this method stays the same for as long as the
+     * program runs. Checking for equipment by its ID through
+     * {@link #isEquiped(int)} and {@link #getNumberOfEquips(int)} avoids any
+     * string comparisons.
+     *
+     * @param equipment
+     *            The name of the equipment whose ID should be returned.
+     * @return The ID of the given equipment name.
+     * @throws NullPointerException
+     *             if equipment is {@code null}
+     */
+    public static int getEquipmentId(final String equipment) {
+        if (equipment == null) {
+            throw new NullPointerException("Equipment must not be null.");
+        }
+
+        final String name = SymbolTable.intern(equipment);
+        synchronized (EquipmentChange.equipmentIds) {
+            EquipmentChange.handedOutNames.add(name);
+            return EquipmentChange.registerEquipmentId(name);
+        }
+    }
+
+    /**
+     * @return The ID of the given equipment name, or -1 if the name doesn't
+     *         have an ID, which means that it isn't worn in any equipment
+     *         setup.
+     */
+    private static int lookUpEquipmentId(final String equipment) {
+        synchronized (EquipmentChange.equipmentIds) {
+            final NameReference ref = EquipmentChange.equipmentIds
+                    .get(equipment);
+            return ref != null ? ref.id : -1;
+        }
+    }
+
+    /**
+     * Must only be called while holding the lock of equipmentIds.
+     *
+     * @param name
+     *            The canonical instance of the equipment name.
+     * @return The ID of the given equipment name.
+     */
+    private static int registerEquipmentId(final String name) {
+        final NameReference ref = EquipmentChange.equipmentIds.get(name);
+        if (ref != null) {
+            return ref.id;
+        }
+
+        // Give the IDs of names which aren't used anymore to new names.
+        Reference<? extends String> unused;
+        while ((unused = EquipmentChange.unusedNames.poll()) != null) {
+            EquipmentChange.usedIds.clear(((NameReference) unused).id);
+        }
+        final int id = EquipmentChange.usedIds.nextClearBit(0);
+        EquipmentChange.usedIds.set(id);
+        EquipmentChange.equipmentIds.put(name, new NameReference(name, id,
+                EquipmentChange.unusedNames));
+        return id;
+    }
+
+    private static EquipmentSetup getEquipmentSetup(final String[] slots) {
+        final EquipmentSetup setup = new EquipmentSetup(slots);
+        synchronized (EquipmentChange.equipmentSetups) {
+            final WeakReference<EquipmentSetup> ref = EquipmentChange.equipmentSetups
+                    .get(setup);
+            final EquipmentSetup sharedSetup = ref != null ? ref.get() : null;
+            if (sharedSetup != null) {
+                return sharedSetup;
+            }
+            EquipmentChange.equipmentSetups.put(setup,
+                    new WeakReference<>(setup));
+            return setup;
+        }
     }
 
     /**
@@ -128,12 +253,25 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         name equal to the given one, otherwise {@code false}.
      */
     public boolean isEquiped(final String equipment) {
-        return this.hat.equals(equipment) || this.weapon.equals(equipment)
-                || this.offhand.equals(equipment)
-                || this.shirt.equals(equipment) || this.pants.equals(equipment)
-                || this.acc1.equals(equipment) || this.acc2.equals(equipment)
-                || this.acc3.equals(equipment)
-                || this.famEquip.equals(equipment);
+        if (equipment == null) {
+            return false;
+        }
+        final int id = EquipmentChange.lookUpEquipmentId(equipment);
+        return (id >= 0) && this.isEquiped(id);
+    }
+
+    /**
+     * @param equipmentId
+     *            The ID of the equipment which is looked for.
+     * @return {@code true} if one of the equipment slots has equipment with
+     *         the given ID, otherwise {@code false}.
+     * @see #getEquipmentId(String)
+     */
+    public boolean isEquiped(final int equipmentId) {
+        final long[] equipped = this.equipment.equipped;
+        final int index = equipmentId >>> 6;
+        return (equipmentId >= 0) && (index < equipped.length)
+                && ((equipped[index] & (1L << equipmentId)) != 0);
     }
 
     /**
@@ -143,28 +281,48 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         slots.
      */
     public int getNumberOfEquips(final String equipment) {
+        if (equipment == null) {
+            return 0;
+        }
+        final int id = EquipmentChange.lookUpEquipmentId(equipment);
+        return id >= 0 ? this.getNumberOfEquips(id) : 0;
+    }
+
+    /**
+     * @param equipmentId
+     *            The ID of the equipment which is looked for.
+     * @return The amount of times the equipment with the given ID is used in
+     *         any equipment slots.
+     * @see #getEquipmentId(String)
+     */
+    public int getNumberOfEquips(final int equipmentId) {
+        if (!this.isEquiped(equipmentId)) {
+            return 0;
+        }
+        final int[] ids = this.equipment.ids;
         // Equipment that can only appear once.
-        if (this.hat.equals(equipment) || this.shirt.equals(equipment)
-                || this.famEquip.equals(equipment)
-                || this.pants.equals(equipment)) {
+        if ((ids[EquipmentChange.HAT] == equipmentId)
+                || (ids[EquipmentChange.SHIRT] == equipmentId)
+                || (ids[EquipmentChange.FAM_EQUIP] == equipmentId)
+                || (ids[EquipmentChange.PANTS] == equipmentId)) {
             return 1;
         }
         // Weapons can appear once or twice.
-        if (this.weapon.equals(equipment)) {
-            return this.offhand.equals(equipment) ? 2 : 1;
+        if (ids[EquipmentChange.WEAPON] == equipmentId) {
+            return ids[EquipmentChange.OFFHAND] == equipmentId ? 2 : 1;
         }
-        if (this.offhand.equals(equipment)) {
+        if (ids[EquipmentChange.OFFHAND] == equipmentId) {
             return 1;
         }
         // Accessories can appear multiple times without certain order.
         int number = 0;
-        if (this.acc1.equals(equipment)) {
+        if (ids[EquipmentChange.ACC1] == equipmentId) {
             number++;
         }
-        if (this.acc2.equals(equipment)) {
+        if (ids[EquipmentChange.ACC2] == equipmentId) {
             number++;
         }
-        if (this.acc3.equals(equipment)) {
+        if (ids[EquipmentChange.ACC3] == equipmentId) {
             number++;
         }
         return number;
@@ -175,7 +333,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         if no equipment is used.
      */
     public String getHat() {
-        return this.hat;
+        return this.equipment.slots[EquipmentChange.HAT];
     }
 
     /**
@@ -183,7 +341,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         {@link #NO_EQUIPMENT_STRING} if no equipment is used.
      */
     public String getWeapon() {
-        return this.weapon;
+        return this.equipment.slots[EquipmentChange.WEAPON];
     }
 
     /**
@@ -191,7 +349,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         {@link #NO_EQUIPMENT_STRING} if no equipment is used.
      */
     public String getOffhand() {
-        return this.offhand;
+        return this.equipment.slots[EquipmentChange.OFFHAND];
     }
 
     /**
@@ -199,7 +357,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         {@link #NO_EQUIPMENT_STRING} if no equipment is used.
      */
     public String getShirt() {
-        return this.shirt;
+        return this.equipment.slots[EquipmentChange.SHIRT];
     }
 
     /**
@@ -207,7 +365,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         {@link #NO_EQUIPMENT_STRING} if no equipment is used.
      */
     public String getPants() {
-        return this.pants;
+        return this.equipment.slots[EquipmentChange.PANTS];
     }
 
     /**
@@ -215,7 +373,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         if no equipment is used.
      */
     public String getAcc1() {
-        return this.acc1;
+        return this.equipment.slots[EquipmentChange.ACC1];
     }
 
     /**
@@ -223,7 +381,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         if no equipment is used.
      */
     public String getAcc2() {
-        return this.acc2;
+        return this.equipment.slots[EquipmentChange.ACC2];
     }
 
     /**
@@ -231,7 +389,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         if no equipment is used.
      */
     public String getAcc3() {
-        return this.acc3;
+        return this.equipment.slots[EquipmentChange.ACC3];
     }
 
     /**
@@ -239,7 +397,7 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
      *         {@link #NO_EQUIPMENT_STRING} if no equipment is used.
      */
     public String getFamEquip() {
-        return this.famEquip;
+        return this.equipment.slots[EquipmentChange.FAM_EQUIP];
     }
 
     @Override
@@ -250,47 +408,40 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
         str.append(this.getTurnNumber());
         str.append(newLine);
         str.append("Hat: ");
-        str.append(this.hat);
+        str.append(this.getHat());
         str.append(newLine);
         str.append("Weapon: ");
-        str.append(this.weapon);
+        str.append(this.getWeapon());
         str.append(newLine);
         str.append("Offhand: ");
-        str.append(this.offhand);
+        str.append(this.getOffhand());
         str.append(newLine);
         str.append("Shirt: ");
-        str.append(this.shirt);
+        str.append(this.getShirt());
         str.append(newLine);
         str.append("Pants: ");
-        str.append(this.pants);
+        str.append(this.getPants());
         str.append(newLine);
         str.append("Acc1: ");
-        str.append(this.acc1);
+        str.append(this.getAcc1());
         str.append(newLine);
         str.append("Acc2: ");
-        str.append(this.acc2);
+        str.append(this.getAcc2());
         str.append(newLine);
         str.append("Acc3: ");
-        str.append(this.acc3);
+        str.append(this.getAcc3());
         str.append(newLine);
         str.append("Fam. equipment: ");
-        str.append(this.famEquip);
+        str.append(this.getFamEquip());
         return str.toString();
     }
 
     @Override
     public boolean equals(final Object o) {
         if (super.equals(o) && (o instanceof EquipmentChange)) {
-            return this.hat.equals(((EquipmentChange) o).getHat())
-                    && this.weapon.equals(((EquipmentChange) o).getWeapon())
-                    && this.offhand.equals(((EquipmentChange) o).getOffhand())
-                    && this.shirt.equals(((EquipmentChange) o).getShirt())
-                    && this.pants.equals(((EquipmentChange) o).getPants())
-                    && this.acc1.equals(((EquipmentChange) o).getAcc1())
-                    && this.acc2.equals(((EquipmentChange) o).getAcc2())
-                    && this.acc3.equals(((EquipmentChange) o).getAcc3())
-                    && this.famEquip
-                            .equals(((EquipmentChange) o).getFamEquip());
+            // Equipment setups are shared, so equal setups are the same
+            // object.
+            return this.equipment == ((EquipmentChange) o).equipment;
         }
         return false;
     }
@@ -299,15 +450,69 @@ public final class EquipmentChange extends AbstractTurnAction<EquipmentChange> {
     public int hashCode() {
         int result = 2935;
         result = (result * 31) + super.hashCode();
-        result = (result * 31) + this.hat.hashCode();
-        result = (result * 31) + this.weapon.hashCode();
-        result = (result * 31) + this.offhand.hashCode();
-        result = (result * 31) + this.shirt.hashCode();
-        result = (result * 31) + this.pants.hashCode();
-        result = (result * 31) + this.acc1.hashCode();
-        result = (result * 31) + this.acc2.hashCode();
-        result = (result * 31) + this.acc3.hashCode();
-        result = (result * 31) + this.famEquip.hashCode();
+        result = (result * 31) + this.equipment.hashCode();
         return result;
     }
+
+    /**
+     * The equipment worn in all slots. Instances are shared between all
+     * equipment changes with the same equipment, see
+     * {@link EquipmentChange#getEquipmentSetup(String[])}.
+     */
+    private static final class EquipmentSetup {
+        final String[] slots;
+        final int[] ids;
+        // Bit set of the IDs of all worn equipment.
+        final long[] equipped;
+        private final int hashCode;
+
+        EquipmentSetup(final String[] slots) {
+            this.slots = slots;
+            this.ids = new int[slots.length];
+            int maxId = 0;
+            synchronized (EquipmentChange.equipmentIds) {
+                for (int i = 0; i < slots.length; i++) {
+                    slots[i] = SymbolTable.intern(slots[i]);
+                    this.ids[i] = EquipmentChange.registerEquipmentId(slots[i]);
+                    maxId = Math.max(maxId, this.ids[i]);
+                }
+            }
+            this.equipped = new long[(maxId >>> 6) + 1];
+            for (final int id : this.ids) {
+                this.equipped[id >>> 6] |= 1L << id;
+            }
+            this.hashCode = Arrays.hashCode(slots);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o instanceof EquipmentSetup) {
+                return Arrays.equals(this.slots, ((EquipmentSetup) o).slots);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    /**
+     * A weak reference to an equipment name which remembers the ID of the
+     * name, so the ID can be given to a new name once the name isn't used
+     * anymore.
+     */
+    private static final class NameReference extends WeakReference<String> {
+        final int id;
+
+        NameReference(final String name, final int id,
+                final ReferenceQueue<String> queue) {
+            super(name, queue);
+            this.id = id;
+        }
+    }
 }
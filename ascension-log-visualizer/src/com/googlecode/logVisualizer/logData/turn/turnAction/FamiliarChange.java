@@ -24,6 +24,7 @@
 package com.googlecode.logVisualizer.logData.turn.turnAction;
 
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
+import com.googlecode.logVisualizer.util.SymbolTable;
 
 /**
  * This immutable class is a representation of a familiar change. It holds the
@@ -50,7 +51,7 @@ public final class FamiliarChange extends AbstractTurnAction<FamiliarChange> {
         if (familiarName == null) {
             throw new NullPointerException("Familiar name must not be null.");
         }
-        this.familiarName = familiarName;
+        this.familiarName = SymbolTable.intern(familiarName);
     }
 
     /**
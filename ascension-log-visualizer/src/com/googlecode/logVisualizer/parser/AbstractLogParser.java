@@ -42,6 +42,7 @@ public abstract class AbstractLogParser implements LogParser {
     private final LogDataHolder logData;
     private final List<LineParser> lineParsers = new ArrayList<>();
     private final List<BlockParser> blockParsers = new ArrayList<>();
+    private LineParserDispatcher lineParserDispatcher;
 
     /**
      * @param logData
@@ -62,23 +63,23 @@ public abstract class AbstractLogParser implements LogParser {
      * This should always be the method of choice to parse lines in actual
      * implementations of this class.
      * <p>
-     * This implementation iterates over the internal line parser list and lets
-     * all line parsers try to parse data out of the given line. If one of the
-     * line parsers was able to parse the line, the loop is ended without
-     * checking another parser. Thus the line parser list shouldn't contain
-     * parsers which are able to parse the same line.
+     * This implementation lets the line parsers of the internal line parser
+     * list try to parse data out of the given line in the order in which they
+     * were added, skipping all parsers whose line prefixes don't fit the line.
+     * If one of the line parsers was able to parse the line, no further parser
+     * is checked. Thus the line parser list shouldn't contain parsers which
+     * are able to parse the same line.
      *
      * @param line
      *            The line to be parsed.
+     * @see LineParserDispatcher
      */
     protected void parseLine(final String line) {
-        for (final LineParser lp : this.lineParsers) {
-            // If the parser can parse the line, this method also returns true.
-            // This is used to cut back on the amount of loops.
-            if (lp.parseLine(line, this.logData)) {
-                break;
-            }
+        if (this.lineParserDispatcher == null) {
+            this.lineParserDispatcher = new LineParserDispatcher(
+                    this.lineParsers);
         }
+        this.lineParserDispatcher.parseLine(line, this.logData);
     }
 
     /**
@@ -131,6 +132,8 @@ public abstract class AbstractLogParser implements LogParser {
      */
     protected void addLineParser(final LineParser lineParser) {
         this.lineParsers.add(lineParser);
+        // The dispatch table has to be rebuilt.
+        this.lineParserDispatcher = null;
     }
 
     /**
@@ -0,0 +1,322 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import net.java.dev.spellcast.utilities.UtilityConstants;
+
+import com.googlecode.logVisualizer.Settings;
+import com.googlecode.logVisualizer.logData.LogDataHolder;
+import com.googlecode.logVisualizer.logData.LogDataSerializer;
+
+/**
+ * A log parser which keeps the parsing results of another log parser in a
+ * cache on disk, so that opening an unchanged log again doesn't mean parsing
+ * it again.
+ * <p>
+ * The cached logs are saved with {@link LogDataSerializer} in the data
+ * directory of the Ascension Log Visualizer. They are keyed by a hash of the
+ * content of the log file, its size, the used parser, the settings which
+ * influence the parsing results, the program version and the content of the
+ * KoL data files, so a changed log, changed settings, a new program version or
+ * changed data files will never lead to outdated data being used.
+ * <p>
+ * The size of the cache is limited by the {@code "Parsed log cache size"}
+ * setting, given in megabytes. If the cache grows beyond that, the least
+ * recently used entries are deleted. Cache files which are still being
+ * written don't count towards the size of the cache and are never deleted.
+ * <p>
+ * Only logs whose log summary can be fully created from the log data are
+ * cached, that is logs of parsers whose {@link #isDetailedLogData()} method
+ * returns true. The summaries of other logs also hold data read directly from
+ * the log, which isn't saved.
+ */
+public final class CachingLogParser implements LogParser {
+    private static final File CACHE_LOCATION = new File(
+            UtilityConstants.DATA_LOCATION, "parsedLogCache");
+    private static final String CACHE_FILE_EXTENSION = ".alvc";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final Comparator<File> LEAST_RECENTLY_USED_FIRST = new Comparator<File>() {
+        @Override
+        public int compare(final File o1, final File o2) {
+            return Long.compare(o1.lastModified(), o2.lastModified());
+        }
+    };
+    private static final FileFilter CACHE_FILES = new FileFilter() {
+        @Override
+        public boolean accept(final File pathname) {
+            return pathname.isFile()
+                    && pathname.getName().endsWith(
+                            CachingLogParser.CACHE_FILE_EXTENSION);
+        }
+    };
+    private final File log;
+    private final LogParser parser;
+    private LogDataHolder cachedLogData;
+
+    /**
+     * @param log
+     *            The log which the given parser was created for.
+     * @param parser
+     *            The parser used if the log isn't in the cache yet.
+     * @throws NullPointerException
+     *             if log or parser is {@code null}
+     */
+    public CachingLogParser(final File log, final LogParser parser) {
+        if (log == null) {
+            throw new NullPointerException("Log must not be null.");
+        }
+        if (parser == null) {
+            throw new NullPointerException("Parser must not be null.");
+        }
+        this.log = log;
+        this.parser = parser;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the log is in the cache, it is read from there. Otherwise, it is
+     * parsed by the parser given to the constructor and then added to the
+     * cache. Problems with the cache itself never stop the log from being
+     * parsed.
+     */
+    @Override
+    public void parse() throws IOException {
+        if (!this.parser.isDetailedLogData()
+                || (ProgramDataHash.HASH == null)) {
+            this.parser.parse();
+            return;
+        }
+        final File cacheFile = new File(CachingLogParser.CACHE_LOCATION,
+                this.computeCacheKey() + CachingLogParser.CACHE_FILE_EXTENSION);
+        if (cacheFile.exists()) {
+            this.cachedLogData = CachingLogParser.readCacheFile(cacheFile,
+                    this.log.length());
+            if (this.cachedLogData != null) {
+                this.cachedLogData.createLogSummary();
+                // The modification date is used to find the least recently
+                // used cache files.
+                cacheFile.setLastModified(System.currentTimeMillis());
+                return;
+            }
+            cacheFile.delete();
+        }
+        this.parser.parse();
+        CachingLogParser.writeCacheFile(cacheFile, this.log.length(),
+                this.parser.getLogData());
+    }
+
+    /**
+     * @return The key of the log in the cache.
+     */
+    private String computeCacheKey() throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (final NoSuchAlgorithmException e) {
+            // Every Java platform has to support MD5.
+            throw new IllegalStateException(e);
+        }
+        try (final InputStream in = new FileInputStream(this.log)) {
+            final byte[] buffer = new byte[65536];
+            int length;
+            while ((length = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        final StringBuilder parsingOptions = new StringBuilder(100);
+        parsingOptions.append(this.log.length());
+        parsingOptions.append(this.parser.getClass().getName());
+        parsingOptions.append(Settings
+                .getSettingBoolean("Using old ascension counting"));
+        parsingOptions.append(Settings
+                .getSettingBoolean("Include mafia log notes"));
+        parsingOptions.append(LogDataSerializer.FORMAT_VERSION);
+        digest.update(parsingOptions.toString().getBytes());
+        digest.update(ProgramDataHash.HASH);
+        final byte[] hash = digest.digest();
+        final char[] key = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            key[2 * i] = CachingLogParser.HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            key[(2 * i) + 1] = CachingLogParser.HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new String(key);
+    }
+
+    /**
+     * @return The log data saved in the given cache file, or {@code null} if it
+     *         couldn't be read or doesn't belong to a log of the given size.
+     */
+    private static LogDataHolder readCacheFile(final File cacheFile,
+            final long logSize) {
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readLong() != logSize) {
+                return null;
+            }
+            return LogDataSerializer.readLogData(in);
+        } catch (final IOException | RuntimeException e) {
+            // A broken cache file is simply replaced.
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Saves the given log data in the given cache file and afterwards makes
+     * sure that the cache doesn't exceed its size limit.
+     */
+    private static void writeCacheFile(final File cacheFile,
+            final long logSize, final LogDataHolder logData) {
+        if (!CachingLogParser.CACHE_LOCATION.exists()) {
+            CachingLogParser.CACHE_LOCATION.mkdirs();
+        }
+        // Write to a temporary file first, so no other program instance can
+        // read a half written cache file.
+        final File tmpFile = new File(CachingLogParser.CACHE_LOCATION,
+                cacheFile.getName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            out.writeLong(logSize);
+            LogDataSerializer.writeLogData(logData, out);
+        } catch (final IOException e) {
+            e.printStackTrace();
+            tmpFile.delete();
+            return;
+        }
+        cacheFile.delete();
+        if (!tmpFile.renameTo(cacheFile)) {
+            tmpFile.delete();
+            return;
+        }
+        CachingLogParser.evictLeastRecentlyUsed();
+    }
+
+    /**
+     * Deletes the least recently used cache files until the cache doesn't
+     * exceed the size set by the {@code "Parsed log cache size"} setting.
+     */
+    private static void evictLeastRecentlyUsed() {
+        long maxCacheSize;
+        try {
+            maxCacheSize = Long.parseLong(Settings
+                    .getSettingString("Parsed log cache size")) * 1024 * 1024;
+        } catch (final NumberFormatException e) {
+            maxCacheSize = 0;
+        }
+        // Temporary files may still be written to by another program instance.
+        final File[] cacheFiles = CachingLogParser.CACHE_LOCATION
+                .listFiles(CachingLogParser.CACHE_FILES);
+        if (cacheFiles == null) {
+            return;
+        }
+        long cacheSize = 0;
+        for (final File f : cacheFiles) {
+            cacheSize += f.length();
+        }
+        Arrays.sort(cacheFiles, CachingLogParser.LEAST_RECENTLY_USED_FIRST);
+        for (int i = 0; (i < cacheFiles.length) && (cacheSize > maxCacheSize); i++) {
+            cacheSize -= cacheFiles[i].length();
+            cacheFiles[i].delete();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LogDataHolder getLogData() {
+        return this.cachedLogData != null ? this.cachedLogData : this.parser
+                .getLogData();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDetailedLogData() {
+        return this.parser.isDetailedLogData();
+    }
+
+    /**
+     * Holds a hash of the program version and the content of the KoL data
+     * files. Both influence the parsing results, but neither changes while
+     * the program is running, because the data files are only read once at
+     * startup. The hash is {@code null} if the data files couldn't be read, in
+     * which case logs aren't cached.
+     */
+    private static final class ProgramDataHash {
+        static final byte[] HASH = ProgramDataHash.computeHash();
+
+        private static byte[] computeHash() {
+            final MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("MD5");
+            } catch (final NoSuchAlgorithmException e) {
+                // Every Java platform has to support MD5.
+                throw new IllegalStateException(e);
+            }
+            digest.update(Settings.getSettingString("Version").getBytes());
+            // Data files which aren't on the file system are read from the
+            // program itself, so they are covered by the version.
+            final File[] dataFiles = UtilityConstants.KOL_DATA_LOCATION
+                    .listFiles();
+            if (dataFiles != null) {
+                Arrays.sort(dataFiles);
+                final byte[] buffer = new byte[65536];
+                for (final File f : dataFiles) {
+                    if (!f.isFile()) {
+                        continue;
+                    }
+                    digest.update(f.getName().getBytes());
+                    try (final InputStream in = new FileInputStream(f)) {
+                        int length;
+                        while ((length = in.read(buffer)) > 0) {
+                            digest.update(buffer, 0, length);
+                        }
+                    } catch (final IOException e) {
+                        e.printStackTrace();
+                        return null;
+                    }
+                }
+            }
+            return digest.digest();
+        }
+    }
+}
@@ -23,6 +23,8 @@
  */
 package com.googlecode.logVisualizer.parser;
 
+import java.util.Collection;
+
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 
 /**
@@ -42,4 +44,21 @@ public interface LineParser {
      *         parsed.
      */
     public boolean parseLine(String line, LogDataHolder logData);
+
+    /**
+     * Returns the literal prefixes of all lines this parser is able to parse.
+     * Leading white space of a line is not part of the prefix and the prefixes
+     * are compared without regard to case. A line which doesn't start with
+     * one of these prefixes must never be parsable by this parser.
+     * <p>
+     * If the lines this parser can handle cannot be narrowed down by a
+     * prefix, an empty collection should be returned, which means that every
+     * line may be parsable.
+     * <p>
+     * The prefixes are used by {@link LineParserDispatcher} to only hand
+     * lines to the parsers which could possibly parse them.
+     *
+     * @return The line prefixes of this parser.
+     */
+    public Collection<String> getLinePrefixes();
 }
@@ -0,0 +1,164 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.parser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.googlecode.logVisualizer.logData.LogDataHolder;
+
+/**
+ * This class hands lines to a list of line parsers, but only to those which
+ * could possibly parse the line according to their
+ * {@link LineParser#getLinePrefixes()}.
+ * <p>
+ * The parsers are sorted into a dispatch table based on the first character of
+ * their prefixes, so that looking up the candidates for a line is a single
+ * array access. The candidates of a line are tried in the same order as in the
+ * list given to the constructor and as soon as one of them is able to parse
+ * the line, the remaining ones are skipped. Thus, the result is the same as
+ * trying every parser of the list in order.
+ * <p>
+ * Note that this class is not thread-safe, because line parsers generally
+ * aren't either.
+ */
+public final class LineParserDispatcher {
+    // Bucket for lines that are empty or only consist of white space.
+    private static final int BLANK_LINE_BUCKET = 128;
+    // Bucket for lines starting with a non-ASCII character.
+    private static final int OTHER_CHARACTER_BUCKET = 129;
+    private final LineParser[] lineParsers;
+    private final String[][] linePrefixes;
+    private final int[][] dispatchTable = new int[130][];
+
+    /**
+     * @param lineParsers
+     *            The line parsers to dispatch to, in the order in which they
+     *            should be tried.
+     * @throws NullPointerException
+     *             if lineParsers is {@code null}
+     */
+    public LineParserDispatcher(final List<? extends LineParser> lineParsers) {
+        if (lineParsers == null) {
+            throw new NullPointerException(
+                    "The line parser list must not be null.");
+        }
+        this.lineParsers = lineParsers.toArray(new LineParser[lineParsers
+                .size()]);
+        this.linePrefixes = new String[this.lineParsers.length][];
+        for (int i = 0; i < this.lineParsers.length; i++) {
+            final Collection<String> prefixes = this.lineParsers[i]
+                    .getLinePrefixes();
+            this.linePrefixes[i] = prefixes.toArray(new String[prefixes
+                    .size()]);
+        }
+        for (int bucket = 0; bucket < this.dispatchTable.length; bucket++) {
+            final List<Integer> candidates = new ArrayList<>();
+            for (int i = 0; i < this.lineParsers.length; i++) {
+                if (this.isCandidateForBucket(i, bucket)) {
+                    candidates.add(i);
+                }
+            }
+            this.dispatchTable[bucket] = new int[candidates.size()];
+            for (int i = 0; i < candidates.size(); i++) {
+                this.dispatchTable[bucket][i] = candidates.get(i);
+            }
+        }
+    }
+
+    private boolean isCandidateForBucket(final int parserIndex,
+            final int bucket) {
+        final String[] prefixes = this.linePrefixes[parserIndex];
+        if (prefixes.length == 0) {
+            return true;
+        }
+        for (final String prefix : prefixes) {
+            final int start = LineParserDispatcher.skipWhiteSpace(prefix);
+            if (start == prefix.length()) {
+                // A blank prefix could fit any line.
+                return true;
+            }
+            if (LineParserDispatcher.getBucket(prefix.charAt(start)) == bucket) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lets the first line parser which is able to parse the given line do so.
+     *
+     * @param line
+     *            The line to be parsed.
+     * @param logData
+     *            The log data instance in which the parsing results should be
+     *            saved in.
+     * @return True if one of the line parsers was able to parse the line.
+     */
+    public boolean parseLine(final String line, final LogDataHolder logData) {
+        final int start = LineParserDispatcher.skipWhiteSpace(line);
+        final int bucket = start < line.length() ? LineParserDispatcher
+                .getBucket(line.charAt(start))
+                : LineParserDispatcher.BLANK_LINE_BUCKET;
+        for (final int i : this.dispatchTable[bucket]) {
+            if (this.isPrefixMatching(i, line, start)
+                    && this.lineParsers[i].parseLine(line, logData)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isPrefixMatching(final int parserIndex, final String line,
+            final int lineStart) {
+        final String[] prefixes = this.linePrefixes[parserIndex];
+        if (prefixes.length == 0) {
+            return true;
+        }
+        for (final String prefix : prefixes) {
+            final int prefixStart = LineParserDispatcher.skipWhiteSpace(prefix);
+            if (line.regionMatches(true, lineStart, prefix, prefixStart,
+                    prefix.length() - prefixStart)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int getBucket(final char c) {
+        if (c >= 128) {
+            return LineParserDispatcher.OTHER_CHARACTER_BUCKET;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static int skipWhiteSpace(final String s) {
+        int i = 0;
+        while ((i < s.length()) && (s.charAt(i) <= ' ')) {
+            i++;
+        }
+        return i;
+    }
+}
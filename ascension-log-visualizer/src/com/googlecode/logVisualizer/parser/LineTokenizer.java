@@ -0,0 +1,227 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.parser;
+
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+
+/**
+ * This utility class holds static methods to pull numbers and names out of
+ * lines of ascension logs.
+ * <p>
+ * All methods work directly on the given character sequences, so apart from
+ * the returned strings no objects are created. They are meant to replace
+ * {@link java.util.Scanner} instances which are created for a single line,
+ * each of which allocates its own buffer and matchers.
+ */
+public final class LineTokenizer {
+    // This class is not to be instanced.
+    private LineTokenizer() {
+    }
+
+    /**
+     * Parses an integer which may contain commas as grouping separators, such
+     * as {@code 1,234}, from the given part of the character sequence.
+     *
+     * @param s
+     *            The character sequence holding the integer.
+     * @param start
+     *            The index of the first character of the integer.
+     * @param end
+     *            The index after the last character of the integer.
+     * @return The parsed integer.
+     * @throws NumberFormatException
+     *             if the given part of the character sequence isn't a valid
+     *             integer
+     * @throws NullPointerException
+     *             if s is {@code null}
+     */
+    public static int parseGroupedInt(final CharSequence s, final int start,
+            final int end) {
+        int i = start;
+        boolean isNegative = false;
+        if ((i < end) && (s.charAt(i) == '-')) {
+            isNegative = true;
+            i++;
+        }
+        long result = 0;
+        boolean isDigitFound = false;
+        for (; i < end; i++) {
+            final char c = s.charAt(i);
+            if (LineTokenizer.isDigit(c)) {
+                result = (result * 10) + (c - '0');
+                if (result > (Integer.MAX_VALUE + 1L)) {
+                    throw LineTokenizer.numberFormatException(s, start, end);
+                }
+                isDigitFound = true;
+            } else if (c != ',') {
+                throw LineTokenizer.numberFormatException(s, start, end);
+            }
+        }
+        if (!isDigitFound
+                || (!isNegative && (result > Integer.MAX_VALUE))) {
+            throw LineTokenizer.numberFormatException(s, start, end);
+        }
+        return (int) (isNegative ? -result : result);
+    }
+
+    /**
+     * Parses an integer which may contain commas as grouping separators, such
+     * as {@code 1,234}.
+     *
+     * @param s
+     *            The character sequence holding only the integer.
+     * @return The parsed integer.
+     * @throws NumberFormatException
+     *             if the character sequence isn't a valid integer
+     * @throws NullPointerException
+     *             if s is {@code null}
+     */
+    public static int parseGroupedInt(final CharSequence s) {
+        return LineTokenizer.parseGroupedInt(s, 0, s.length());
+    }
+
+    /**
+     * Parses the given capturing group of the last match of the given matcher
+     * as an integer which may contain commas as grouping separators.
+     *
+     * @param matcher
+     *            The matcher of which the last match holds the integer.
+     * @param group
+     *            The index of the capturing group holding the integer.
+     * @param s
+     *            The character sequence the matcher was used on.
+     * @return The parsed integer.
+     * @throws NumberFormatException
+     *             if the capturing group isn't a valid integer
+     * @throws IllegalStateException
+     *             if the matcher hasn't matched anything yet
+     */
+    public static int parseGroupedInt(final Matcher matcher, final int group,
+            final CharSequence s) {
+        return LineTokenizer.parseGroupedInt(s, matcher.start(group),
+                matcher.end(group));
+    }
+
+    /**
+     * Returns the first number in the given character sequence. Everything
+     * which isn't a digit is treated as a separator between numbers, so a
+     * minus sign is not part of the number.
+     *
+     * @param s
+     *            The character sequence holding the number.
+     * @return The first number in the given character sequence.
+     * @throws NoSuchElementException
+     *             if the character sequence doesn't contain a number
+     * @throws NumberFormatException
+     *             if the number is too big to be an integer
+     * @throws NullPointerException
+     *             if s is {@code null}
+     */
+    public static int firstInt(final CharSequence s) {
+        final int length = s.length();
+        int start = 0;
+        while ((start < length) && !LineTokenizer.isDigit(s.charAt(start))) {
+            start++;
+        }
+        if (start == length) {
+            throw new NoSuchElementException("No number found in: " + s);
+        }
+        int end = start + 1;
+        while ((end < length) && LineTokenizer.isDigit(s.charAt(end))) {
+            end++;
+        }
+        return LineTokenizer.parseGroupedInt(s, start, end);
+    }
+
+    /**
+     * Returns the last number in the given character sequence. Everything
+     * which isn't a digit is treated as a separator between numbers, so a
+     * minus sign is not part of the number.
+     *
+     * @param s
+     *            The character sequence holding the number.
+     * @return The last number in the given character sequence.
+     * @throws NoSuchElementException
+     *             if the character sequence doesn't contain a number
+     * @throws NumberFormatException
+     *             if the number is too big to be an integer
+     * @throws NullPointerException
+     *             if s is {@code null}
+     */
+    public static int lastInt(final CharSequence s) {
+        int end = s.length();
+        while ((end > 0) && !LineTokenizer.isDigit(s.charAt(end - 1))) {
+            end--;
+        }
+        if (end == 0) {
+            throw new NoSuchElementException("No number found in: " + s);
+        }
+        int start = end - 1;
+        while ((start > 0) && LineTokenizer.isDigit(s.charAt(start - 1))) {
+            start--;
+        }
+        return LineTokenizer.parseGroupedInt(s, start, end);
+    }
+
+    /**
+     * Returns the part of the given line after the last occurrence of the
+     * given marker, without leading white space. If the marker isn't part of
+     * the line, the whole line is returned.
+     * <p>
+     * For example, the name part of {@code #> [123] Semirare: Lunchboxing}
+     * can be extracted with the marker {@code ":"}.
+     *
+     * @param line
+     *            The line from which the text should be extracted.
+     * @param marker
+     *            The text after which the wanted text starts.
+     * @return The text after the last occurrence of the marker. This may be
+     *         an empty string.
+     * @throws NullPointerException
+     *             if line is {@code null}; if marker is {@code null}
+     */
+    public static String textAfterLast(final String line, final String marker) {
+        final int markerIndex = line.lastIndexOf(marker);
+        if (markerIndex < 0) {
+            return line;
+        }
+        int start = markerIndex + marker.length();
+        while ((start < line.length())
+                && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        return line.substring(start);
+    }
+
+    private static boolean isDigit(final char c) {
+        return (c >= '0') && (c <= '9');
+    }
+
+    private static NumberFormatException numberFormatException(
+            final CharSequence s, final int start, final int end) {
+        return new NumberFormatException("For input string: \""
+                + s.subSequence(start, end) + "\"");
+    }
+}
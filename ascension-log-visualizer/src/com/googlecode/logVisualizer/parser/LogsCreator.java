@@ -24,19 +24,27 @@
 package com.googlecode.logVisualizer.parser;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -104,6 +112,9 @@ public final class LogsCreator {
      */
     public static final File[] createCondensedMafiaLogs(final File[] mafiaLogs)
             throws IOException {
+        if (Settings.getSettingBoolean("Parallel log condensation")) {
+            return CondensedMafiaLogsCreator.parseInParallel(mafiaLogs);
+        }
         return new CondensedMafiaLogsCreator(mafiaLogs).parse();
     }
 
@@ -115,6 +126,10 @@ public final class LogsCreator {
      * The file names of the created logs have the format
      * {@code USERNAME_ascendYYYYMMDD.txt}, where Y is the year, M is the month
      * and D is the day of the first day of that ascension.
+     * <p>
+     * The mafia logs are condensed in memory and each condensed ascension is
+     * handed to the parser as soon as it is complete, so no temporary files
+     * are created and several calls of this method can run at the same time.
      *
      * @param mafiaLogs
      *            The mafia logs which should be turned into parsed ascension
@@ -141,6 +156,49 @@ public final class LogsCreator {
     public static final List<DataNumberPair<String>> createParsedLogs(
             final File[] mafiaLogs, final File savingDestDir,
             final TextualLogVersion logVersion) throws IOException {
+        return LogsCreator.createParsedLogs(mafiaLogs, savingDestDir,
+                logVersion, null);
+    }
+
+    /**
+     * Creates and saves parsed ascension logs the same way as
+     * {@link #createParsedLogs(File[], File, TextualLogVersion)}, but also
+     * informs the given listener about every handled log as soon as it is
+     * done.
+     * <p>
+     * The logs are parsed by a work-stealing pool with one thread per
+     * processor, so the given listener may be called by several threads at the
+     * same time and has to be thread-safe.
+     *
+     * @param mafiaLogs
+     *            The mafia logs which should be turned into parsed ascension
+     *            logs.
+     * @param savingDestDir
+     *            The directory inside which the parsed ascension logs should be
+     *            saved in.
+     * @param listener
+     *            The listener to inform about the progress. May be
+     *            {@code null}.
+     * @return A DataNumberPair list containing pairs with filenames and turn
+     *         numbers of logs files that were attempted to be created, but had
+     *         an exception thrown during the parsing process. The turn number
+     *         denotes the turn after which the exception occurred. This list
+     *         will be empty if all files were correctly parsed.
+     * @throws IOException
+     *             if there was a problem while accessing or writing files
+     *             handled by this method
+     * @throws NullPointerException
+     *             if mafiaLogs is {@code null}; if savingDestDir is
+     *             {@code null}
+     * @throws IllegalArgumentException
+     *             if mafiaLogs does not contain any elements; if the directory
+     *             savingDestDir does not exist; if savingDestDir is not a
+     *             directory
+     */
+    public static final List<DataNumberPair<String>> createParsedLogs(
+            final File[] mafiaLogs, final File savingDestDir,
+            final TextualLogVersion logVersion,
+            final ParsingProgressListener listener) throws IOException {
         if (!savingDestDir.exists()) {
             throw new IllegalArgumentException("The directory doesn't exist.");
         }
@@ -148,47 +206,45 @@ public final class LogsCreator {
             throw new IllegalArgumentException(
                     "The given file is not a directory.");
         }
-        final List<DataNumberPair<String>> errorFileList = new ArrayList<>();
-        final File[] condensedMafiaLogs = LogsCreator
-                .createCondensedMafiaLogs(mafiaLogs);
-        // 4 Threads should be a high enough number to not slow the computation
-        // too much down by scheduler overhead while still making use of
-        // threaded computing.
-        final ExecutorService executor = Executors.newFixedThreadPool(Runtime
-                .getRuntime().availableProcessors() * 4);
-        for (final File f : condensedMafiaLogs) {
-            executor.execute(new Runnable() {
-                @Override
-                public void run() {
-                    final MafiaLogParser parser = new MafiaLogParser(
-                            f,
-                            Settings.getSettingBoolean("Include mafia log notes"));
-                    try {
-                        parser.parse();
-                        final File parsedLog = new File(
-                                savingDestDir,
-                                LogsCreator
-                                        .getParsedLogNameFromCondensedMafiaLog(f
-                                                .getName()));
-                        if (parsedLog.exists()) {
-                            parsedLog.delete();
+        // The logs are parsed by several threads at once, so the errors have
+        // to be collected in a synchronized list.
+        final List<DataNumberPair<String>> errorFileList = Collections
+                .synchronizedList(new ArrayList<DataNumberPair<String>>());
+        final boolean isIncludeMafiaLogNotes = Settings
+                .getSettingBoolean("Include mafia log notes");
+        // Parsing is CPU bound, so one thread per processor is enough. Idle
+        // threads of the work-stealing pool take over queued logs from busy
+        // ones, so a few huge ascensions don't hold up the rest. The number of
+        // logs waiting to be parsed is bounded, so the condensation waits
+        // instead of holding ever more condensed logs in memory when the
+        // parsing can't keep up.
+        final int threadCount = Runtime.getRuntime().availableProcessors();
+        final ForkJoinPool executor = new ForkJoinPool(threadCount);
+        final Semaphore pendingLogs = new Semaphore(threadCount * 2);
+        final CondensedMafiaLogHandler logHandler = new CondensedMafiaLogHandler() {
+            @Override
+            public void handleCondensedMafiaLog(final String logName,
+                    final ByteBuffer log) {
+                pendingLogs.acquireUninterruptibly();
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            LogsCreator.createParsedLog(logName, log,
+                                    savingDestDir, logVersion,
+                                    isIncludeMafiaLogNotes, errorFileList,
+                                    listener);
+                        } finally {
+                            pendingLogs.release();
                         }
-                        parsedLog.createNewFile();
-                        TextLogCreator.saveTextualLogToFile(
-                                parser.getLogData(), parsedLog, logVersion);
-                    } catch (final IOException e) {
-                        // Add the erroneous log to the error file list.
-                        errorFileList.add(DataNumberPair.of(LogsCreator
-                                .getParsedLogNameFromCondensedMafiaLog(f
-                                        .getName()), parser.getLogData()
-                                .getTurnsSpent().last().getEndTurn()));
-                        // Print stack trace and the file name of the file in
-                        // which the error happened.
-                        System.err.println(f.getName());
-                        e.printStackTrace();
                     }
-                }
-            });
+                });
+            }
+        };
+        if (Settings.getSettingBoolean("Parallel log condensation")) {
+            CondensedMafiaLogsCreator.parseInParallel(mafiaLogs, logHandler);
+        } else {
+            new CondensedMafiaLogsCreator(mafiaLogs).parse(logHandler);
         }
         // Wait for all threads to finish.
         executor.shutdown();
@@ -197,14 +253,65 @@ public final class LogsCreator {
         } catch (final InterruptedException e) {
             e.printStackTrace();
         }
-        // Temporary files should be deleted after use. Possible subdirectories
-        // are ignored here.
-        for (final File f : UtilityConstants.TEMP_LOCATION.listFiles()) {
-            if (!f.isDirectory()) {
-                f.delete();
+        synchronized (errorFileList) {
+            return new ArrayList<>(errorFileList);
+        }
+    }
+
+    /**
+     * Parses the given condensed mafia log and saves the result as a parsed
+     * ascension log in the given directory.
+     */
+    private static void createParsedLog(final String logName,
+            final ByteBuffer log, final File savingDestDir,
+            final TextualLogVersion logVersion,
+            final boolean isIncludeMafiaLogNotes,
+            final List<DataNumberPair<String>> errorFileList,
+            final ParsingProgressListener listener) {
+        final MafiaLogParser parser = new MafiaLogParser(logName, log,
+                isIncludeMafiaLogNotes);
+        final String parsedLogName = LogsCreator
+                .getParsedLogNameFromCondensedMafiaLog(logName + ".txt");
+        // Counting the lines is only needed for the progress listener.
+        final int lineCount = listener != null ? LogsCreator
+                .countLines(log) : 0;
+        boolean isParsingSuccessful = false;
+        try {
+            parser.parse();
+            final File parsedLog = new File(savingDestDir, parsedLogName);
+            if (parsedLog.exists()) {
+                parsedLog.delete();
+            }
+            parsedLog.createNewFile();
+            TextLogCreator.saveTextualLogToFile(parser.getLogData(),
+                    parsedLog, logVersion);
+            isParsingSuccessful = true;
+        } catch (final IOException | RuntimeException e) {
+            // A broken log can make the parser fail with any exception, which
+            // has to be reported like other parsing problems instead of
+            // getting lost in the pool. Add the erroneous log to the error
+            // file list.
+            errorFileList.add(DataNumberPair.of(parsedLogName, parser
+                    .getLogData().getTurnsSpent().last().getEndTurn()));
+            // Print stack trace and the name of the log in which the error
+            // happened.
+            System.err.println(logName);
+            e.printStackTrace();
+        }
+        if (listener != null) {
+            listener.logHandled(parsedLogName, lineCount,
+                    isParsingSuccessful);
+        }
+    }
+
+    private static int countLines(final ByteBuffer log) {
+        int lineCount = 0;
+        for (int i = log.position(); i < log.limit(); i++) {
+            if (log.get(i) == '\n') {
+                lineCount++;
             }
         }
-        return errorFileList;
+        return lineCount;
     }
 
     /**
@@ -227,6 +334,50 @@ public final class LogsCreator {
                 userName.length()).replace("-", "_ascend"));
     }
 
+    /**
+     * Is informed about the progress of
+     * {@link LogsCreator#createParsedLogs(File[], File, TextualLogVersion, ParsingProgressListener)}
+     * .
+     */
+    public static interface ParsingProgressListener {
+        /**
+         * Called once for every handled log, as soon as its parsed ascension
+         * log is saved or its parsing failed. This method may be called by
+         * several threads at the same time.
+         *
+         * @param parsedLogName
+         *            The file name of the parsed ascension log.
+         * @param lineCount
+         *            The number of lines of the condensed mafia log which was
+         *            parsed.
+         * @param isParsingSuccessful
+         *            True if the parsed ascension log was saved, false if there
+         *            was an error.
+         */
+        void logHandled(String parsedLogName, int lineCount,
+                boolean isParsingSuccessful);
+    }
+
+    /**
+     * Receives the condensed mafia logs a {@link CondensedMafiaLogsCreator}
+     * creates in memory.
+     */
+    private static interface CondensedMafiaLogHandler {
+        /**
+         * Called once for every condensed mafia log, in the order in which the
+         * ascensions of a user appear in the mafia logs. If the mafia logs of
+         * different users are condensed in parallel, this method may be called
+         * by several threads at the same time.
+         *
+         * @param logName
+         *            The name of the condensed mafia log, which is the file
+         *            name it would have without the file extension.
+         * @param log
+         *            The content of the condensed mafia log.
+         */
+        void handleCondensedMafiaLog(String logName, ByteBuffer log);
+    }
+
     /**
      * A helper class to condense mafia logs into holding a single ascension per
      * file.
@@ -249,10 +400,22 @@ public final class LogsCreator {
                 return this.mafiaLogMatcher.reset(name).matches();
             }
         };
+        private static final Comparator<File> FILE_NAME_COMPARATOR = new Comparator<File>() {
+            @Override
+            public int compare(final File o1, final File o2) {
+                return o1.getName().compareToIgnoreCase(o2.getName());
+            }
+        };
         private final Matcher ascendedMatcher = CondensedMafiaLogsCreator.ASCENDED_PATTERN
                 .matcher("");
         private final File[] mafiaLogs;
         private PrintWriter currentWritingFile;
+        // Only used if the condensed mafia logs are kept in memory.
+        private CondensedMafiaLogHandler logHandler;
+        private ByteArrayOutputStream currentLogContent;
+        private String currentLogName;
+        private ByteBuffer pendingLog;
+        private String pendingLogName;
 
         /**
          * @param mafiaLogs
@@ -274,12 +437,8 @@ public final class LogsCreator {
             }
             // Sort array in case it isn't already in the proper order, which is
             // oldest mafia log first.
-            Arrays.sort(mafiaLogs, new Comparator<File>() {
-                @Override
-                public int compare(final File o1, final File o2) {
-                    return o1.getName().compareToIgnoreCase(o2.getName());
-                }
-            });
+            Arrays.sort(mafiaLogs,
+                    CondensedMafiaLogsCreator.FILE_NAME_COMPARATOR);
             this.mafiaLogs = mafiaLogs;
         }
 
@@ -312,18 +471,206 @@ public final class LogsCreator {
          *             logs or writing the condensed ones
          */
         File[] parse() throws IOException {
-            String userName = this.mafiaLogs[0].getName()
-                    .substring(0, this.mafiaLogs[0].getName().lastIndexOf("_"))
+            this.condense();
+            return CondensedMafiaLogsCreator.listCondensedMafiaLogs();
+        }
+
+        /**
+         * Creates condensed mafia logs the same way as {@link #parse()}, but
+         * condenses the mafia logs of different users in parallel.
+         * <p>
+         * The state used while condensing (day number, log dates and the
+         * current condensed mafia log) is reset whenever the user changes, so
+         * every run of mafia logs belonging to a single user can be condensed
+         * on its own and the resulting files are identical to the ones
+         * {@link #parse()} creates.
+         *
+         * @param mafiaLogs
+         *            The mafia logs which should be condensed.
+         * @return The condensed mafia logs.
+         * @throws IOException
+         *             if there was a problem while accessing the given mafia
+         *             logs or writing the condensed ones
+         * @throws NullPointerException
+         *             if mafiaLogs is {@code null}
+         * @throws IllegalArgumentException
+         *             if mafiaLogs does not contain any elements
+         */
+        static File[] parseInParallel(final File[] mafiaLogs)
+                throws IOException {
+            CondensedMafiaLogsCreator.condenseInParallel(mafiaLogs, null);
+            return CondensedMafiaLogsCreator.listCondensedMafiaLogs();
+        }
+
+        /**
+         * Creates condensed mafia logs the same way as
+         * {@link #parse(CondensedMafiaLogHandler)}, but condenses the mafia
+         * logs of different users in parallel. The given handler therefore
+         * has to be thread-safe.
+         *
+         * @param mafiaLogs
+         *            The mafia logs which should be condensed.
+         * @param logHandler
+         *            The handler receiving the condensed mafia logs.
+         * @throws IOException
+         *             if there was a problem while accessing the given mafia
+         *             logs
+         * @throws NullPointerException
+         *             if mafiaLogs is {@code null}
+         * @throws IllegalArgumentException
+         *             if mafiaLogs does not contain any elements
+         */
+        static void parseInParallel(final File[] mafiaLogs,
+                final CondensedMafiaLogHandler logHandler) throws IOException {
+            CondensedMafiaLogsCreator.condenseInParallel(mafiaLogs, logHandler);
+        }
+
+        /**
+         * Splits the given mafia logs into runs of mafia logs of the same user
+         * and condenses each run on its own thread. If logHandler is
+         * {@code null}, the condensed mafia logs are written to files.
+         */
+        private static void condenseInParallel(final File[] mafiaLogs,
+                final CondensedMafiaLogHandler logHandler) throws IOException {
+            final List<File[]> userLogs = CondensedMafiaLogsCreator
+                    .splitByUser(mafiaLogs);
+            final ExecutorService executor = Executors.newFixedThreadPool(Math
+                    .min(userLogs.size(), Runtime.getRuntime()
+                            .availableProcessors()));
+            final List<Future<Void>> results = new ArrayList<>(userLogs.size());
+            for (final File[] logs : userLogs) {
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException {
+                        final CondensedMafiaLogsCreator creator = new CondensedMafiaLogsCreator(
+                                logs);
+                        if (logHandler != null) {
+                            creator.parse(logHandler);
+                        } else {
+                            creator.condense();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            executor.shutdown();
+            try {
+                for (final Future<Void> f : results) {
+                    f.get();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Splits the given mafia logs into runs of consecutive (in name order)
+         * mafia logs which belong to the same user. These are exactly the
+         * parts after which {@link #condense()} starts over.
+         */
+        private static List<File[]> splitByUser(final File[] mafiaLogs) {
+            if (mafiaLogs == null) {
+                throw new NullPointerException(
+                        "The File array mafiaLogs must not be null.");
+            }
+            if (mafiaLogs.length == 0) {
+                throw new IllegalArgumentException(
+                        "The File array mafiaLogs must not be empty.");
+            }
+            final File[] sortedLogs = mafiaLogs.clone();
+            Arrays.sort(sortedLogs,
+                    CondensedMafiaLogsCreator.FILE_NAME_COMPARATOR);
+            final List<File[]> userLogs = new ArrayList<>();
+            int runStart = 0;
+            for (int i = 1; i <= sortedLogs.length; i++) {
+                if ((i == sortedLogs.length)
+                        || !CondensedMafiaLogsCreator.getUserName(
+                                sortedLogs[i]).equals(
+                                CondensedMafiaLogsCreator
+                                        .getUserName(sortedLogs[runStart]))) {
+                    userLogs.add(Arrays.copyOfRange(sortedLogs, runStart, i));
+                    runStart = i;
+                }
+            }
+            return userLogs;
+        }
+
+        /**
+         * @return The lower case user name of the given mafia log.
+         */
+        private static String getUserName(final File mafiaLog) {
+            return mafiaLog.getName()
+                    .substring(0, mafiaLog.getName().lastIndexOf("_"))
                     .toLowerCase();
+        }
+
+        /**
+         * @return The condensed mafia logs inside the directory for temporal
+         *         data, oldest first.
+         */
+        private static File[] listCondensedMafiaLogs() {
+            final File[] condensedMafiaLogs = UtilityConstants.TEMP_LOCATION
+                    .listFiles(CondensedMafiaLogsCreator.CONDENSED_MAFIA_LOG_FILTER);
+            // Sort array in case it isn't already in the proper order, which is
+            // oldest mafia log first.
+            Arrays.sort(condensedMafiaLogs,
+                    CondensedMafiaLogsCreator.FILE_NAME_COMPARATOR);
+            return condensedMafiaLogs;
+        }
+
+        /**
+         * Creates condensed mafia logs the same way as {@link #parse()}, but
+         * keeps them in memory and hands each of them to the given handler as
+         * soon as it is complete instead of writing them to files.
+         * <p>
+         * If several condensed mafia logs end up with the same name, only the
+         * last of them is handed over, just like only the last one would be
+         * left over when writing them to files.
+         *
+         * @param logHandler
+         *            The handler receiving the condensed mafia logs.
+         * @throws IOException
+         *             if there was a problem while accessing the given mafia
+         *             logs
+         */
+        void parse(final CondensedMafiaLogHandler logHandler)
+                throws IOException {
+            this.logHandler = logHandler;
+            this.condense();
+            if (this.pendingLog != null) {
+                logHandler.handleCondensedMafiaLog(this.pendingLogName,
+                        this.pendingLog);
+                this.pendingLog = null;
+            }
+        }
+
+        /**
+         * Writes the condensed mafia logs to the current writing destination.
+         */
+        private void condense() throws IOException {
+            String userName = CondensedMafiaLogsCreator
+                    .getUserName(this.mafiaLogs[0]);
             String lastKolDate = null;
             int dayNumber = 1;
             Calendar lastLogDate = UsefulPatterns
                     .getMafiaLogCalendarDate(this.mafiaLogs[0]);
             this.openNextWritingFile(this.mafiaLogs[0].getName());
             for (final File f : this.mafiaLogs) {
-                final String currentLogUserName = f.getName()
-                        .substring(0, f.getName().lastIndexOf("_"))
-                        .toLowerCase();
+                final String currentLogUserName = CondensedMafiaLogsCreator
+                        .getUserName(f);
                 if (!userName.equals(currentLogUserName)) {
                     this.openNextWritingFile(f.getName());
                     dayNumber = 1;
@@ -382,24 +729,35 @@ public final class LogsCreator {
                 }
             }
             // Close print-stream after the last log was read.
-            if (this.currentWritingFile != null) {
-                this.currentWritingFile.close();
+            this.closeCurrentWritingFile();
+        }
+
+        /**
+         * Closes the current PrintWriter if one is present. If the condensed
+         * mafia logs are kept in memory, the log written before the one just
+         * closed is handed to the log handler, unless both have the same name.
+         */
+        private void closeCurrentWritingFile() {
+            if (this.currentWritingFile == null) {
+                return;
             }
-            final File[] condensedMafiaLogs = UtilityConstants.TEMP_LOCATION
-                    .listFiles(CondensedMafiaLogsCreator.CONDENSED_MAFIA_LOG_FILTER);
-            // Sort array in case it isn't already in the proper order, which is
-            // oldest mafia log first.
-            Arrays.sort(condensedMafiaLogs, new Comparator<File>() {
-                @Override
-                public int compare(final File o1, final File o2) {
-                    return o1.getName().compareToIgnoreCase(o2.getName());
+            this.currentWritingFile.close();
+            this.currentWritingFile = null;
+            if (this.logHandler != null) {
+                if ((this.pendingLog != null)
+                        && !this.pendingLogName.equals(this.currentLogName)) {
+                    this.logHandler.handleCondensedMafiaLog(
+                            this.pendingLogName, this.pendingLog);
                 }
-            });
-            return condensedMafiaLogs;
+                this.pendingLog = ByteBuffer.wrap(this.currentLogContent
+                        .toByteArray());
+                this.pendingLogName = this.currentLogName;
+                this.currentLogContent = null;
+            }
         }
 
         /**
-         * Closes the current PrintWriter if one is present starts a new
+         * Closes the current PrintWriter if one is present and starts a new
          * condensed mafia log with a file name based on the current mafia log.
          * <p>
          * The file name will use the format {@code USERNAME-YYYYMMDD.txt},
@@ -412,18 +770,24 @@ public final class LogsCreator {
          */
         private void openNextWritingFile(final String currentMafiaLogFileName)
                 throws IOException {
-            if (this.currentWritingFile != null) {
-                this.currentWritingFile.close();
-            }
+            this.closeCurrentWritingFile();
             try (final Scanner scanner = new Scanner(currentMafiaLogFileName)) {
                 scanner.useDelimiter(CondensedMafiaLogsCreator.NOT_USER_NAME_PATTERN);
                 final String fileName = scanner.next().replace("_", " ") + "-"
                         + UsefulPatterns.getLogDate(currentMafiaLogFileName)
                         + ".txt";
                 scanner.close();
-                this.currentWritingFile = new PrintWriter(
-                        new File(UtilityConstants.TEMP_LOCATION, fileName)
-                                .getAbsolutePath());
+                if (this.logHandler != null) {
+                    this.currentLogName = fileName.replace(".txt",
+                            UsefulPatterns.EMPTY_STRING);
+                    this.currentLogContent = new ByteArrayOutputStream();
+                    this.currentWritingFile = new PrintWriter(
+                            this.currentLogContent);
+                } else {
+                    this.currentWritingFile = new PrintWriter(new File(
+                            UtilityConstants.TEMP_LOCATION, fileName)
+                            .getAbsolutePath());
+                }
             }
         }
     }
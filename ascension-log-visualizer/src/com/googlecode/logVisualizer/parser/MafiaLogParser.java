@@ -25,13 +25,25 @@ package com.googlecode.logVisualizer.parser;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.googlecode.logVisualizer.Settings;
 import com.googlecode.logVisualizer.logData.LogDataHolder;
+import com.googlecode.logVisualizer.logData.turn.turnAction.DayChange;
+import com.googlecode.logVisualizer.logData.turn.turnAction.EquipmentChange;
+import com.googlecode.logVisualizer.logData.turn.turnAction.FamiliarChange;
 import com.googlecode.logVisualizer.parser.MafiaSessionLogReader.LogBlock;
 import com.googlecode.logVisualizer.parser.MafiaSessionLogReader.LogBlockType;
 import com.googlecode.logVisualizer.parser.lineParsers.DayChangeLineParser;
@@ -55,12 +67,20 @@ public final class MafiaLogParser implements LogParser {
     private static final Pattern THREE_FIGURE_STATGAIN = Pattern
             .compile("You gain \\d{3} [\\w\\s]+");
     private static final String NAUGHTY_SORCERESS_FIGHT_STRING = " The Naughty Sorceress' Chamber";
-    private final LogDataHolder logData = new LogDataHolder();
+    private static final int BLOCK_BATCH_SIZE = 256;
+    private static final int BLOCK_QUEUE_CAPACITY = 16;
+    private static final List<LogBlock> END_OF_LOG = Collections.emptyList();
+    private final LogDataHolder logData;
     private final File log;
+    private final ByteBuffer logContent;
+    private final boolean isIncludeMafiaLogNotes;
     private final EncounterBlockParser encounterParser = new EncounterBlockParser();
     private final ConsumableBlockParser consumableParser = new ConsumableBlockParser();
     private final PlayerSnapshotBlockParser playerSnapshotParser = new PlayerSnapshotBlockParser();
-    private final List<LineParser> lineParsers = new ArrayList<>();
+    private final LineParserDispatcher lineParsers;
+    // Only used by parseAppendedBlocks().
+    private long parsedLogLength;
+    private boolean isLogFinished;
 
     /**
      * @param log
@@ -69,78 +89,447 @@ public final class MafiaLogParser implements LogParser {
      *             if log is {@code null}
      */
     public MafiaLogParser(final File log, final boolean isIncludeMafiaLogNotes) {
-        this.log = log;
+        this(new LogDataHolder(), log, null, isIncludeMafiaLogNotes);
         // Set the log name
         this.getLogData().setLogName(
                 log.getName().replace(".txt", UsefulPatterns.EMPTY_STRING));
-        this.lineParsers.add(new ItemAcquisitionLineParser());
-        this.lineParsers.add(new SkillCastLineParser());
-        this.lineParsers.add(new MafiaFamiliarChangeLineParser());
-        this.lineParsers.add(new MeatLineParser(MeatGainType.OTHER));
-        this.lineParsers.add(new MeatSpentLineParser());
-        this.lineParsers.add(new StatLineParser());
-        this.lineParsers.add(new MPGainLineParser(MPGainType.NOT_ENCOUNTER));
-        this.lineParsers.add(new EquipmentLineParser());
-        this.lineParsers.add(new MafiaPullLineParser());
-        this.lineParsers.add(new DayChangeLineParser());
+    }
+
+    /**
+     * Creates a parser for a condensed mafia log which is already held in
+     * memory, so it doesn't have to be written to a file first. The content
+     * has to be encoded in the default charset of the platform, the same way
+     * condensed mafia logs written to files are.
+     *
+     * @param logName
+     *            The name of the log, usually the file name the log would have
+     *            without the file extension.
+     * @param log
+     *            The content of the mafia ascension log which is intended to
+     *            be parsed. Only the bytes between the current position and the
+     *            limit of the buffer are read.
+     * @throws NullPointerException
+     *             if logName is {@code null}; if log is {@code null}
+     */
+    public MafiaLogParser(final String logName, final ByteBuffer log,
+            final boolean isIncludeMafiaLogNotes) {
+        this(new LogDataHolder(), null, log, isIncludeMafiaLogNotes);
+        if (log == null) {
+            throw new NullPointerException("Log buffer must not be null.");
+        }
+        this.getLogData().setLogName(logName);
+    }
+
+    /**
+     * Creates a parser which adds the parsed data to the given LogDataHolder.
+     * The log is read from the file, or if that is {@code null}, the buffer.
+     */
+    private MafiaLogParser(final LogDataHolder logData, final File log,
+            final ByteBuffer logContent, final boolean isIncludeMafiaLogNotes) {
+        this.log = log;
+        this.logContent = logContent;
+        this.logData = logData;
+        this.isIncludeMafiaLogNotes = isIncludeMafiaLogNotes;
+        final List<LineParser> lineParsers = new ArrayList<>();
+        lineParsers.add(new ItemAcquisitionLineParser());
+        lineParsers.add(new SkillCastLineParser());
+        lineParsers.add(new MafiaFamiliarChangeLineParser());
+        lineParsers.add(new MeatLineParser(MeatGainType.OTHER));
+        lineParsers.add(new MeatSpentLineParser());
+        lineParsers.add(new StatLineParser());
+        lineParsers.add(new MPGainLineParser(MPGainType.NOT_ENCOUNTER));
+        lineParsers.add(new EquipmentLineParser());
+        lineParsers.add(new MafiaPullLineParser());
+        lineParsers.add(new DayChangeLineParser());
         if (isIncludeMafiaLogNotes) {
-            this.lineParsers.add(new NotesLineParser());
+            lineParsers.add(new NotesLineParser());
         }
+        this.lineParsers = new LineParserDispatcher(lineParsers);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If the {@code "Parallel day parsing"} setting is turned on, the days of
+     * the log are parsed in parallel. Otherwise, if the
+     * {@code "Pipelined log parsing"} setting is turned on, reading and
+     * classifying the log blocks is done on a separate thread while the blocks
+     * read so far are being parsed.
      */
     @Override
     public void parse() throws IOException {
-        final MafiaSessionLogReader reader = new MafiaSessionLogReader(this.log);
         final boolean isOldAscensionCounting = Settings
                 .getSettingBoolean("Using old ascension counting");
-        boolean nsFightWon = false;
-        while (reader.hasNext() && !nsFightWon) {
+        if (Settings.getSettingBoolean("Parallel day parsing")) {
+            this.parseDaysInParallel(isOldAscensionCounting);
+        } else if (Settings.getSettingBoolean("Pipelined log parsing")) {
+            this.parsePipelined(isOldAscensionCounting);
+        } else {
+            final MafiaSessionLogReader reader = this.createReader();
+            boolean nsFightWon = false;
+            while (reader.hasNext() && !nsFightWon) {
+                final LogBlock block = reader.next();
+                nsFightWon = MafiaLogParser.isLastBlock(block,
+                        isOldAscensionCounting);
+                this.parseBlock(block);
+            }
+            reader.close();
+        }
+        this.getLogData().createLogSummary();
+    }
+
+    /**
+     * Parses the blocks which have been appended to the log file since the
+     * last call of this method. The first call parses the whole log. This
+     * makes it possible to follow a mafia session log while KoLmafia is still
+     * writing to it.
+     * <p>
+     * Because KoLmafia might still be in the middle of writing it, only
+     * complete lines are read and the last block of the log is only parsed
+     * once the empty line ending it has been written. Once the Naughty
+     * Sorceress has been beaten, no more blocks are parsed.
+     * <p>
+     * If new blocks were parsed, the log summary of the log data is created
+     * anew, as a preliminary one until the log is finished, see
+     * {@link LogDataHolder#createPreliminaryLogSummary()}.
+     *
+     * @return True if new blocks have been parsed, otherwise false.
+     * @throws IOException
+     *             if there was a problem while reading the log
+     * @throws IllegalStateException
+     *             if this parser was created for a log held in memory
+     */
+    public boolean parseAppendedBlocks() throws IOException {
+        if (this.log == null) {
+            throw new IllegalStateException(
+                    "Only logs read from files can be followed.");
+        }
+        if (this.isLogFinished || (this.log.length() <= this.parsedLogLength)) {
+            return false;
+        }
+        final boolean isOldAscensionCounting = Settings
+                .getSettingBoolean("Using old ascension counting");
+        final long offset = this.parsedLogLength;
+        final MafiaSessionLogReader reader = new MafiaSessionLogReader(
+                this.log, offset);
+        boolean isBlockParsed = false;
+        while (reader.hasNext() && !this.isLogFinished) {
             final LogBlock block = reader.next();
-            // In case old ascension turn counting is turned off and the current
-            // block is an encounter block, we need to check whether the Naughty
-            // Sorceress was beaten in it.
-            if (!isOldAscensionCounting
-                    && (block.getBlockType() == LogBlockType.ENCOUNTER_BLOCK)) {
-                final String tmp = block.getBlockLines().get(0);
-                if (tmp.endsWith(MafiaLogParser.NAUGHTY_SORCERESS_FIGHT_STRING)) {
-                    nsFightWon = MafiaLogParser.isNaughtySorceressBeaten(block);
+            // The last block might not be completely written yet.
+            if (!reader.isBlockTerminated()) {
+                break;
+            }
+            if (!isBlockParsed) {
+                this.logData.revertPreliminaryLogSummary();
+            }
+            this.isLogFinished = MafiaLogParser.isLastBlock(block,
+                    isOldAscensionCounting);
+            this.parseBlock(block);
+            this.parsedLogLength = offset + reader.getPosition();
+            isBlockParsed = true;
+        }
+        reader.close();
+        if (this.isLogFinished) {
+            this.logData.createLogSummary();
+        } else if (isBlockParsed) {
+            this.logData.createPreliminaryLogSummary();
+        }
+        return isBlockParsed;
+    }
+
+    /**
+     * @return A new reader of the log this parser was created for.
+     * @throws IOException
+     *             if there were issues with accessing the log
+     */
+    private MafiaSessionLogReader createReader() throws IOException {
+        return this.log != null ? new MafiaSessionLogReader(this.log)
+                : new MafiaSessionLogReader(this.logContent,
+                        Charset.defaultCharset());
+    }
+
+    /**
+     * Parses the log with two stages running in parallel. The first stage
+     * splits the log into blocks and decodes their lines on a separate thread.
+     * It hands the blocks over in batches of {@link #BLOCK_BATCH_SIZE} blocks
+     * through a bounded queue. The second stage, running on the calling
+     * thread, parses these blocks in the order in which they appear in the
+     * log. Should the first stage fail, its exception is rethrown by the
+     * second stage once all blocks read before the failure have been parsed.
+     *
+     * @param isOldAscensionCounting
+     *            True if old ascension counting is used, otherwise false.
+     * @throws IOException
+     *             if there was a problem while reading the log
+     */
+    private void parsePipelined(final boolean isOldAscensionCounting)
+            throws IOException {
+        final MafiaSessionLogReader reader = this.createReader();
+        final BlockingQueue<List<LogBlock>> queue = new ArrayBlockingQueue<>(
+                MafiaLogParser.BLOCK_QUEUE_CAPACITY);
+        final AtomicReference<Throwable> readerFailure = new AtomicReference<>();
+        final Thread readerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                boolean isAborted = false;
+                try {
+                    List<LogBlock> batch = new ArrayList<>(
+                            MafiaLogParser.BLOCK_BATCH_SIZE);
+                    boolean nsFightWon = false;
+                    while (reader.hasNext() && !nsFightWon) {
+                        final LogBlock block = reader.next();
+                        nsFightWon = MafiaLogParser.isLastBlock(block,
+                                isOldAscensionCounting);
+                        // Decode the block lines here, so the parsing stage
+                        // doesn't have to.
+                        block.decodeBlockLines();
+                        batch.add(block);
+                        if (batch.size() == MafiaLogParser.BLOCK_BATCH_SIZE) {
+                            queue.put(batch);
+                            batch = new ArrayList<>(
+                                    MafiaLogParser.BLOCK_BATCH_SIZE);
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        queue.put(batch);
+                    }
+                } catch (final InterruptedException e) {
+                    // The parsing stage has been aborted, nothing more to do.
+                    isAborted = true;
+                } catch (final Throwable t) {
+                    readerFailure.set(t);
+                } finally {
+                    reader.close();
+                    // The parsing stage has to be told that the log has
+                    // ended, even if reading it failed.
+                    if (!isAborted) {
+                        try {
+                            queue.put(MafiaLogParser.END_OF_LOG);
+                        } catch (final InterruptedException e) {
+                            // The parsing stage has been aborted, nothing more
+                            // to do.
+                        }
+                    }
                 }
             }
-            // Now, we do the actual parsing.
-            switch (block.getBlockType()) {
-            case ENCOUNTER_BLOCK:
-                this.encounterParser.parseBlock(block.getBlockLines(),
-                        this.logData);
-                break;
-            case CONSUMABLE_BLOCK:
-                this.consumableParser.parseBlock(block.getBlockLines(),
-                        this.logData);
-                break;
-            case PLAYER_SNAPSHOT_BLOCK:
-                this.playerSnapshotParser.parseBlock(block.getBlockLines(),
-                        this.logData);
-                break;
-            case OTHER_BLOCK:
-                for (final String line : block.getBlockLines()) {
-                    for (final LineParser lp : this.lineParsers) {
-                        // If the line parser can parse the line, this
-                        // method also returns true. This is used to cut
-                        // back on the amount of loops.
-                        if (lp.parseLine(line, this.logData)) {
+        }, "Mafia log reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        try {
+            List<LogBlock> batch = queue.take();
+            while (batch != MafiaLogParser.END_OF_LOG) {
+                for (final LogBlock block : batch) {
+                    this.parseBlock(block);
+                }
+                batch = queue.take();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Parsing of the log "
+                    + this.logData.getLogName() + " was interrupted.", e);
+        } finally {
+            readerThread.interrupt();
+        }
+
+        // Rethrow the failure of the reading stage on the calling thread.
+        final Throwable failure = readerFailure.get();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new IOException("Reading the log "
+                    + this.logData.getLogName() + " failed.", failure);
+        }
+    }
+
+    /**
+     * Parses the log by splitting it into parts at the day change markers
+     * ({@code ===Day _dayNumber_===}) of condensed mafia logs, parsing each
+     * part into its own LogDataHolder on a separate thread and then adding
+     * these parts to the log data of this parser in log order.
+     * <p>
+     * A part starts with the first encounter of its day, so everything logged
+     * between the day change and that encounter is parsed together with the
+     * day before, the same way it would have been when parsing sequentially.
+     * The log is read only once. While reading, a {@link PartStartTracker}
+     * follows the last turn, equipment, familiar and day the next part will
+     * start with, and every part is handed to its thread as soon as its last block
+     * has been read. Thus, parsing the parts overlaps with reading the rest of
+     * the log.
+     * <p>
+     * Should parsing a part on its own fail, that part and all following ones
+     * are parsed sequentially instead.
+     *
+     * @param isOldAscensionCounting
+     *            True if old ascension counting is used, otherwise false.
+     * @throws IOException
+     *             if there was a problem while reading the log
+     */
+    private void parseDaysInParallel(final boolean isOldAscensionCounting)
+            throws IOException {
+        final List<List<LogBlock>> parts = new ArrayList<>();
+        final List<LogDataHolder> partsLogData = new ArrayList<>();
+        final List<Future<?>> results = new ArrayList<>();
+        try {
+            final MafiaSessionLogReader reader = this.createReader();
+            final PartStartTracker partStart = new PartStartTracker();
+            List<LogBlock> currentPart = new ArrayList<>();
+            LogDataHolder currentPartLogData = this.logData;
+            boolean isDayChanged = false;
+            boolean nsFightWon = false;
+            while (reader.hasNext() && !nsFightWon) {
+                final LogBlock block = reader.next();
+                nsFightWon = MafiaLogParser.isLastBlock(block,
+                        isOldAscensionCounting);
+                if (block.getBlockType() == LogBlockType.OTHER_BLOCK) {
+                    for (final String line : block.getBlockLines()) {
+                        if (UsefulPatterns.DAY_CHANGE.matcher(line).matches()) {
+                            isDayChanged = true;
                             break;
                         }
                     }
+                } else if (isDayChanged
+                        && (block.getBlockType() == LogBlockType.ENCOUNTER_BLOCK)) {
+                    isDayChanged = false;
+                    if (partStart.isPartStart(block)) {
+                        results.add(this.submitPart(currentPart,
+                                currentPartLogData));
+                        parts.add(currentPart);
+                        partsLogData.add(currentPartLogData);
+                        currentPart = new ArrayList<>();
+                        currentPartLogData = partStart.createContinuation();
+                    }
                 }
-                break;
-            default:
-                break;
+                currentPart.add(block);
+                partStart.addBlock(block);
+            }
+            reader.close();
+            results.add(this.submitPart(currentPart, currentPartLogData));
+            parts.add(currentPart);
+            partsLogData.add(currentPartLogData);
+
+            results.get(0).get();
+            for (int i = 1; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (final ExecutionException e) {
+                    if (!(e.getCause() instanceof RuntimeException)) {
+                        throw e;
+                    }
+                    MafiaLogParser.cancel(results);
+                    for (final List<LogBlock> part : parts.subList(i,
+                            parts.size())) {
+                        for (final LogBlock block : part) {
+                            this.parseBlock(block);
+                        }
+                    }
+                    break;
+                }
+                this.logData.appendContinuation(partsLogData.get(i));
             }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Parsing of the log "
+                    + this.logData.getLogName() + " was interrupted.", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Parsing of the log "
+                    + this.logData.getLogName() + " failed.", e.getCause());
+        } finally {
+            MafiaLogParser.cancel(results);
+        }
+    }
+
+    /**
+     * Parses the given part of the log into the given LogDataHolder on the
+     * common {@link ForkJoinPool}, which is shared by all logs parsed at the
+     * same time. The first part is parsed by this parser, all others by
+     * parsers of their own.
+     *
+     * @return The result of parsing the part.
+     */
+    private Future<?> submitPart(final List<LogBlock> part,
+            final LogDataHolder partLogData) {
+        final MafiaLogParser parser = partLogData == this.logData ? this
+                : new MafiaLogParser(partLogData, null, null,
+                        this.isIncludeMafiaLogNotes);
+        return ForkJoinPool.commonPool().submit(new Runnable() {
+            @Override
+            public void run() {
+                for (final LogBlock block : part) {
+                    parser.parseBlock(block);
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancels parsing the parts whose results haven't been used, so they
+     * don't keep threads of the common pool busy.
+     */
+    private static void cancel(final List<Future<?>> results) {
+        for (final Future<?> result : results) {
+            result.cancel(false);
+        }
+    }
+
+    /**
+     * In case old ascension turn counting is turned off and the given block is
+     * an encounter block, this method checks whether the Naughty Sorceress was
+     * beaten in it, which means that no further blocks should be parsed.
+     *
+     * @param block
+     *            The log block to check.
+     * @param isOldAscensionCounting
+     *            True if old ascension counting is used, otherwise false.
+     * @return True if the given block is the last one that should be parsed,
+     *         otherwise false.
+     */
+    private static boolean isLastBlock(final LogBlock block,
+            final boolean isOldAscensionCounting) {
+        if (!isOldAscensionCounting
+                && (block.getBlockType() == LogBlockType.ENCOUNTER_BLOCK)) {
+            final String tmp = block.getBlockLines().get(0);
+            if (tmp.endsWith(MafiaLogParser.NAUGHTY_SORCERESS_FIGHT_STRING)) {
+                return MafiaLogParser.isNaughtySorceressBeaten(block);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses the given block with the parser fitting its block type.
+     *
+     * @param block
+     *            The log block to parse.
+     */
+    private void parseBlock(final LogBlock block) {
+        switch (block.getBlockType()) {
+        case ENCOUNTER_BLOCK:
+            this.encounterParser.parseBlock(block.getBlockLines(), this.logData);
+            break;
+        case CONSUMABLE_BLOCK:
+            this.consumableParser
+                    .parseBlock(block.getBlockLines(), this.logData);
+            break;
+        case PLAYER_SNAPSHOT_BLOCK:
+            this.playerSnapshotParser.parseBlock(block.getBlockLines(),
+                    this.logData);
+            break;
+        case OTHER_BLOCK:
+            for (final String line : block.getBlockLines()) {
+                // Only the line parsers whose line prefixes fit the line are
+                // tried.
+                this.lineParsers.parseLine(line, this.logData);
+            }
+            break;
+        default:
+            break;
         }
-        reader.close();
-        this.getLogData().createLogSummary();
     }
 
     /**
@@ -156,18 +545,16 @@ public final class MafiaLogParser implements LogParser {
             // while winning against the NS will give these amounts, so if there
             // is such a line, it means the fight has been won.
             if (MafiaLogParser.THREE_FIGURE_STATGAIN.matcher(line).matches()) {
-                try (final Scanner scanner = new Scanner(line)) {
-                    scanner.findInLine(UsefulPatterns.GAIN_LOSE_CAPTURE_PATTERN);
-                    final String substatName = scanner.match().group(2);
-                    scanner.close();
-                    if (UsefulPatterns.MUSCLE_SUBSTAT_NAMES
-                            .contains(substatName)
-                            || UsefulPatterns.MYST_SUBSTAT_NAMES
-                                    .contains(substatName)
-                            || UsefulPatterns.MOXIE_SUBSTAT_NAMES
-                                    .contains(substatName)) {
-                        return true;
-                    }
+                final Matcher gainMatcher = UsefulPatterns.GAIN_LOSE_CAPTURE_PATTERN
+                        .matcher(line);
+                gainMatcher.find();
+                final String substatName = gainMatcher.group(2);
+                if (UsefulPatterns.MUSCLE_SUBSTAT_NAMES.contains(substatName)
+                        || UsefulPatterns.MYST_SUBSTAT_NAMES
+                                .contains(substatName)
+                        || UsefulPatterns.MOXIE_SUBSTAT_NAMES
+                                .contains(substatName)) {
+                    return true;
                 }
             }
         }
@@ -189,4 +576,191 @@ public final class MafiaLogParser implements LogParser {
     public boolean isDetailedLogData() {
         return true;
     }
+
+    /**
+     * Follows the state a part of a log starts with while the blocks before
+     * it are read, for {@link MafiaLogParser#parseDaysInParallel(boolean)}.
+     * <p>
+     * Only the number and area of the last turn spent as well as the current
+     * equipment, familiar and day are kept. Turn numbers are taken from the
+     * turn spent lines as they are, without the corrections the
+     * {@link EncounterBlockParser} applies to some encounters. The exact turn
+     * numbers are not needed though, as a new part only starts with a turn
+     * spent after all turns before it.
+     */
+    private static final class PartStartTracker {
+        private final EquipmentLineParser equipmentParser = new EquipmentLineParser();
+        private String lastAreaName = UsefulPatterns.EMPTY_STRING;
+        private int lastTurnNumber;
+        private EquipmentChange equipment = new EquipmentChange(0);
+        private FamiliarChange previousFamiliar = new FamiliarChange("none", 0);
+        private FamiliarChange familiar = this.previousFamiliar;
+        private DayChange day = new DayChange(1, 0);
+
+        /**
+         * @param block
+         *            The next block of the log.
+         */
+        void addBlock(final LogBlock block) {
+            switch (block.getBlockType()) {
+            case ENCOUNTER_BLOCK:
+                this.addEncounterBlock(block.getBlockLines());
+                break;
+            case PLAYER_SNAPSHOT_BLOCK:
+                this.addPlayerSnapshotBlock(block.getBlockLines());
+                break;
+            case OTHER_BLOCK:
+                for (final String line : block.getBlockLines()) {
+                    final String familiarName = MafiaFamiliarChangeLineParser
+                            .parseFamiliarName(line);
+                    if (familiarName != null) {
+                        this.setFamiliar(familiarName);
+                    } else if (UsefulPatterns.DAY_CHANGE.matcher(line)
+                            .matches()) {
+                        this.setDay(LineTokenizer.firstInt(line));
+                    } else {
+                        this.addEquipmentLine(line);
+                    }
+                }
+                break;
+            default:
+                break;
+            }
+        }
+
+        private void addEncounterBlock(final List<String> block) {
+            final String turnSpentLine = PartStartTracker
+                    .getTurnSpentLine(block);
+            final int turnNumber = PartStartTracker
+                    .parseTurnNumber(turnSpentLine);
+            if (turnNumber >= 0) {
+                this.lastTurnNumber = turnNumber;
+                this.lastAreaName = turnSpentLine.substring(turnSpentLine
+                        .indexOf(UsefulPatterns.SQUARE_BRACKET_CLOSE) + 2);
+            } else {
+                // Turns of areas with broken turn spent strings are counted on
+                // from the last turn.
+                this.lastTurnNumber++;
+                this.lastAreaName = turnSpentLine;
+            }
+            for (final String line : block) {
+                this.addEquipmentLine(line);
+            }
+        }
+
+        private void addPlayerSnapshotBlock(final List<String> block) {
+            final String familiarName = PlayerSnapshotBlockParser
+                    .parseFamiliarName(block);
+            if (familiarName != null) {
+                this.setFamiliar(familiarName);
+            }
+            this.setEquipment(PlayerSnapshotBlockParser.parseEquipment(block,
+                    this.lastTurnNumber));
+            for (final String line : block) {
+                if (PlayerSnapshotBlockParser.isDayChangeLine(line)) {
+                    this.setDay(this.day.getDayNumber() + 1);
+                }
+            }
+        }
+
+        /**
+         * The same as {@link LogDataHolder#addEquipmentChange(EquipmentChange)}
+         * the equipment change of the latest turn counts.
+         */
+        private void setEquipment(final EquipmentChange equipmentChange) {
+            if (equipmentChange.getTurnNumber() >= this.equipment
+                    .getTurnNumber()) {
+                this.equipment = equipmentChange;
+            }
+        }
+
+        private void addEquipmentLine(final String line) {
+            final EquipmentChange equipmentChange = this.equipmentParser
+                    .parseEquipmentChange(line, this.equipment,
+                            this.lastTurnNumber);
+            if (equipmentChange != null) {
+                this.setEquipment(equipmentChange);
+            }
+        }
+
+        /**
+         * The same as {@link LogDataHolder#addFamiliarChange(FamiliarChange)}
+         * only the last familiar change of a turn counts and changes to the
+         * familiar already used are skipped.
+         */
+        private void setFamiliar(final String familiarName) {
+            if (this.lastTurnNumber < this.familiar.getTurnNumber()) {
+                return;
+            }
+            if (this.lastTurnNumber == this.familiar.getTurnNumber()) {
+                this.familiar = this.previousFamiliar;
+            }
+            if (!this.familiar.getFamiliarName().equals(familiarName)) {
+                this.previousFamiliar = this.familiar;
+                this.familiar = new FamiliarChange(familiarName,
+                        this.lastTurnNumber);
+            }
+        }
+
+        /**
+         * The same as {@link LogDataHolder#getLastDayChange()} the day with the
+         * highest number counts.
+         */
+        private void setDay(final int dayNumber) {
+            if (dayNumber >= this.day.getDayNumber()) {
+                this.day = new DayChange(dayNumber, this.lastTurnNumber);
+            }
+        }
+
+        /**
+         * Mafia logs sometimes start counting turns anew, for example after
+         * an ascension. A part can only be parsed on its own if its turns
+         * follow the ones before it, otherwise the turns at the seam would
+         * not be added the same way they are when parsing sequentially.
+         *
+         * @param block
+         *            The first encounter block after a day change.
+         * @return True if a new part can start with the given block,
+         *         otherwise false.
+         */
+        boolean isPartStart(final LogBlock block) {
+            final int turnNumber = PartStartTracker
+                    .parseTurnNumber(PartStartTracker.getTurnSpentLine(block
+                            .getBlockLines()));
+            return turnNumber > this.lastTurnNumber;
+        }
+
+        /**
+         * @return The LogDataHolder the part starting after the blocks added
+         *         so far should be parsed into.
+         */
+        LogDataHolder createContinuation() {
+            return LogDataHolder.createContinuation(this.lastAreaName,
+                    this.lastTurnNumber, this.equipment, this.familiar,
+                    this.day);
+        }
+
+        private static String getTurnSpentLine(final List<String> lines) {
+            return lines.get(0).startsWith(UsefulPatterns.SQUARE_BRACKET_OPEN)
+                    || (lines.size() < 2) ? lines.get(0) : lines.get(1);
+        }
+
+        /**
+         * @return The turn number of the given turn spent line. Returns -1 if
+         *         the line doesn't start with a turn number, which is the case
+         *         for areas with broken turn spent strings.
+         */
+        private static int parseTurnNumber(final String turnSpentLine) {
+            if (!turnSpentLine.startsWith(UsefulPatterns.SQUARE_BRACKET_OPEN)) {
+                return -1;
+            }
+            try {
+                return Integer.parseInt(turnSpentLine.substring(1,
+                        turnSpentLine
+                                .indexOf(UsefulPatterns.SQUARE_BRACKET_CLOSE)));
+            } catch (final NumberFormatException | IndexOutOfBoundsException e) {
+                return -1;
+            }
+        }
+    }
 }
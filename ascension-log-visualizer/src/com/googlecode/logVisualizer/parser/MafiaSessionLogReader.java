@@ -23,21 +23,30 @@
  */
 package com.googlecode.logVisualizer.parser;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
-import java.util.ArrayList;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Matcher;
 
 /**
  * This class can read mafia session logs and return them to the caller in nice
  * and easier to handle chunks.
+ * <p>
+ * The session log is memory-mapped and scanned byte by byte. Lines are never
+ * copied while the blocks are split and classified; the returned
+ * {@link LogBlock}s only hold the line boundaries inside the mapped buffer and
+ * decode their lines on demand. Because of this, there is no limit on how far
+ * ahead the reader can look or on how long a single line may be.
  */
 public final class MafiaSessionLogReader {
     public static final Set<String> BROKEN_AREAS_ENCOUNTER_SET = Collections
@@ -55,8 +64,23 @@ public final class MafiaSessionLogReader {
     private static final String BUY_STRING = "Buy";
     private static final String SNAPSHOT_START_END = "=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=-=";
     private static final String LEVEL_12_QUEST_BOSSFIGHT_BEGINNING_STRING = "bigisland.php?";
-    private final BufferedReader log;
-    private boolean hasNext = true;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private final ByteBuffer log;
+    private final Charset charset;
+    private final int limit;
+    private final Matcher turnsUsedMatcher = UsefulPatterns.TURNS_USED
+            .matcher(UsefulPatterns.EMPTY_STRING);
+    private final Matcher consumableUsedMatcher = UsefulPatterns.CONSUMABLE_USED
+            .matcher(UsefulPatterns.EMPTY_STRING);
+    private int position;
+    // Boundaries of the line last read by readLine().
+    private int lineStart;
+    private int lineEnd;
+    private boolean hasNext;
+    // Whether the block last returned by next() was ended by the line which
+    // terminates it, instead of by the end of the read part of the log.
+    private boolean isBlockTerminated;
 
     /**
      * @param log
@@ -65,6 +89,61 @@ public final class MafiaSessionLogReader {
      *             if there were issues with accessing the log
      */
     MafiaSessionLogReader(final File log) throws IOException {
+        this(MafiaSessionLogReader.mapLog(log, 0), Charset.defaultCharset());
+    }
+
+    /**
+     * Creates a reader for a log which might still be written to. Reading
+     * starts at the given byte offset of the log, skipping everything before
+     * it, and ends after the last complete line, so a line which is only
+     * partly written is never read.
+     * <p>
+     * The offset should be the beginning of a block, usually one returned by
+     * {@link #getPosition()} of an earlier reader of the same log.
+     *
+     * @param log
+     *            The mafia session log that is supposed to be parsed.
+     * @param offset
+     *            The byte offset at which reading should start.
+     * @throws IOException
+     *             if there were issues with accessing the log
+     */
+    MafiaSessionLogReader(final File log, final long offset)
+            throws IOException {
+        this(MafiaSessionLogReader.toCompleteLines(MafiaSessionLogReader
+                .mapLog(log, offset)), Charset.defaultCharset());
+    }
+
+    /**
+     * @param log
+     *            The content of the condensed mafia session log that is
+     *            supposed to be parsed. Only the bytes between the current
+     *            position and the limit of the buffer are read; the position
+     *            of the given buffer is not changed by this reader.
+     * @param charset
+     *            The charset used to decode the lines of the log.
+     * @throws NullPointerException
+     *             if log is {@code null}; if charset is {@code null}
+     */
+    MafiaSessionLogReader(final ByteBuffer log, final Charset charset) {
+        if (log == null) {
+            throw new NullPointerException("Log buffer must not be null.");
+        }
+        if (charset == null) {
+            throw new NullPointerException("Charset must not be null.");
+        }
+        this.log = log.slice();
+        this.charset = charset;
+        this.limit = this.log.limit();
+        this.hasNext = this.limit > 0;
+    }
+
+    /**
+     * Maps the given file read-only into memory, starting at the given byte
+     * offset.
+     */
+    private static ByteBuffer mapLog(final File log, final long offset)
+            throws IOException {
         if (!log.exists()) {
             throw new IllegalArgumentException("Log file must exist.");
         }
@@ -72,7 +151,31 @@ public final class MafiaSessionLogReader {
             throw new IllegalArgumentException(
                     "Log file has to be a file, not a directory.");
         }
-        this.log = new BufferedReader(new FileReader(log));
+        try (final RandomAccessFile file = new RandomAccessFile(log, "r");
+                final FileChannel channel = file.getChannel()) {
+            final long size = Math.max(channel.size() - offset, 0);
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The log " + log.getName()
+                        + " is too large to be mapped into memory.");
+            }
+            // The mapping stays valid after the channel has been closed.
+            return channel.map(MapMode.READ_ONLY, offset, size);
+        }
+    }
+
+    /**
+     * Limits the given buffer to the bytes up to and including the last line
+     * terminator.
+     */
+    private static ByteBuffer toCompleteLines(final ByteBuffer log) {
+        int end = log.limit();
+        while ((end > 0)
+                && (log.get(end - 1) != MafiaSessionLogReader.LINE_FEED)
+                && (log.get(end - 1) != MafiaSessionLogReader.CARRIAGE_RETURN)) {
+            end--;
+        }
+        log.limit(end);
+        return log;
     }
 
     /**
@@ -87,59 +190,71 @@ public final class MafiaSessionLogReader {
      * categories)</li>
      *
      * @return The parsed out text block from the session log.
-     * @throws IOException
-     *             if there were issues with reading the log; in certain
-     *             circumstances, if the was a line with more than 500
-     *             characters
      * @throws IllegalStateException
      *             if there is no more block to parse in the session log
      */
-    LogBlock next() throws IOException {
-        final LogBlock block;
-        this.log.mark(500);
-        String line = this.log.readLine();
-        String line2 = this.log.readLine();
-        this.log.reset();
-        if (line == null) {
+    LogBlock next() {
+        // Peek at the first two lines of the block without consuming them.
+        final int blockStart = this.position;
+        if (!this.readLine()) {
             throw new IllegalStateException(
                     "There are no more blocks to be read.");
         }
-        if (line2 == null) {
-            line2 = UsefulPatterns.EMPTY_STRING;
-        }
-        if ((line.startsWith(UsefulPatterns.SQUARE_BRACKET_OPEN) && UsefulPatterns.TURNS_USED
-                .matcher(line).matches())
-                || (line2
-                        .startsWith(MafiaSessionLogReader.ENCOUNTER_START_STRING) && MafiaSessionLogReader.BROKEN_AREAS_ENCOUNTER_SET
-                        .contains(line2))) {
-            block = new EncounterLogBlock(this.parseEncounterBlock());
-        } else if ((line.startsWith(MafiaSessionLogReader.USE_STRING)
-                || line.startsWith(MafiaSessionLogReader.EAT_STRING)
-                || line.startsWith(MafiaSessionLogReader.DRINK_STRING) || line
-                    .startsWith(MafiaSessionLogReader.BUY_STRING))
-                && UsefulPatterns.CONSUMABLE_USED.matcher(line).matches()) {
-            block = new ConsumableLogBlock(this.parseNormalBlock());
-        } else if (line.equals(MafiaSessionLogReader.SNAPSHOT_START_END)) {
-            block = new PlayerSnapshotLogBlock(this.parsePlayerSnapshotBlock());
+        final int firstStart = this.lineStart;
+        final int firstEnd = this.lineEnd;
+        this.isBlockTerminated = false;
+        final int secondStart;
+        final int secondEnd;
+        if (this.readLine()) {
+            secondStart = this.lineStart;
+            secondEnd = this.lineEnd;
         } else {
-            block = new OtherLogBlock(this.parseNormalBlock());
+            secondStart = this.limit;
+            secondEnd = this.limit;
         }
-        // Skip empty lines and decide at the end whether the log is finished.
-        do {
-            this.log.mark(500);
-        } while (((line = this.log.readLine()) != null) && (line.length() <= 0));
-        if (line == null) {
-            this.hasNext = false;
+        this.position = blockStart;
+        final LogBlock block;
+        if ((this.startsWith(firstStart, firstEnd,
+                UsefulPatterns.SQUARE_BRACKET_OPEN) && this.turnsUsedMatcher
+                .reset(MafiaSessionLogReader.decode(this.log, firstStart,
+                        firstEnd, this.charset)).matches())
+                || (this.startsWith(secondStart, secondEnd,
+                        MafiaSessionLogReader.ENCOUNTER_START_STRING) && MafiaSessionLogReader.BROKEN_AREAS_ENCOUNTER_SET
+                        .contains(MafiaSessionLogReader.decode(this.log,
+                                secondStart, secondEnd, this.charset)))) {
+            block = new EncounterLogBlock(this.log, this.charset,
+                    this.parseEncounterBlock());
+        } else if ((this.startsWith(firstStart, firstEnd,
+                MafiaSessionLogReader.USE_STRING)
+                || this.startsWith(firstStart, firstEnd,
+                        MafiaSessionLogReader.EAT_STRING)
+                || this.startsWith(firstStart, firstEnd,
+                        MafiaSessionLogReader.DRINK_STRING) || this
+                    .startsWith(firstStart, firstEnd,
+                            MafiaSessionLogReader.BUY_STRING))
+                && this.consumableUsedMatcher.reset(
+                        MafiaSessionLogReader.decode(this.log, firstStart,
+                                firstEnd, this.charset)).matches()) {
+            block = new ConsumableLogBlock(this.log, this.charset,
+                    this.parseNormalBlock());
+        } else if (this.isEqual(firstStart, firstEnd,
+                MafiaSessionLogReader.SNAPSHOT_START_END)) {
+            block = new PlayerSnapshotLogBlock(this.log, this.charset,
+                    this.parsePlayerSnapshotBlock());
         } else {
-            this.log.reset();
+            block = new OtherLogBlock(this.log, this.charset,
+                    this.parseNormalBlock());
         }
+        // Skip empty lines and decide at the end whether the log is finished.
+        this.hasNext = this.skipEmptyLines();
         return block;
     }
 
-    private List<String> parseEncounterBlock() throws IOException {
-        final List<String> result = new ArrayList<>();
-        String line;
-        while ((line = this.log.readLine()) != null) {
+    private LineBounds parseEncounterBlock() {
+        final LineBounds result = new LineBounds();
+        while (this.readLine()) {
+            int start = this.lineStart;
+            int end = this.lineEnd;
             /**
              * Mafia saves a familiar pound gain this way in older versions:
              *
@@ -154,21 +269,22 @@ public final class MafiaSessionLogReader {
              * even though the combat rundown isn't over. Thus we attempt to
              * skip the above mentioned lines.
              */
-            if (line.endsWith(MafiaSessionLogReader.FAMILIAR_POUND_GAIN_END_STRING)) {
+            if (this.endsWith(start, end,
+                    MafiaSessionLogReader.FAMILIAR_POUND_GAIN_END_STRING)) {
                 // Remember current position.
-                this.log.mark(500);
+                final int mark = this.position;
                 // Check next line, if it is empty, the problematic logging is
                 // occurring, otherwise reset back to the original position.
-                final String tmpLine = this.log.readLine();
-                if (tmpLine.length() <= 0) {
-                    this.log.readLine();
-                    this.log.readLine();
-                    line = this.log.readLine();
-                    if (line == null) {
+                if (this.readLine() && (this.lineStart == this.lineEnd)) {
+                    this.readLine();
+                    this.readLine();
+                    if (!this.readLine()) {
                         break;
                     }
+                    start = this.lineStart;
+                    end = this.lineEnd;
                 } else {
-                    this.log.reset();
+                    this.position = mark;
                 }
             }
             // If there is an empty line, it means the encounter is over. There
@@ -176,74 +292,192 @@ public final class MafiaSessionLogReader {
             // sometimes mafia puts empty lines in which aren't actually
             // supposed to be there. Such "false" empty lines should be
             // attempted to be recognised and skipped.
-            if (line.length() <= 0) {
+            if (start == end) {
                 // Remember current position.
-                this.log.mark(600);
+                final int mark = this.position;
                 // Look-ahead of three lines to try and see whether the combat
                 // is actually continued.
                 boolean isFightContinued = false;
                 for (int i = 0; i < 3; i++) {
-                    final String tmpLine = this.log.readLine();
                     // A square bracket means that a new turn was started. Extra
                     // check for the level 12 quest bossfight.
-                    if ((tmpLine == null)
-                            || tmpLine
-                                    .startsWith(UsefulPatterns.SQUARE_BRACKET_OPEN)
-                            || tmpLine
-                                    .startsWith(MafiaSessionLogReader.LEVEL_12_QUEST_BOSSFIGHT_BEGINNING_STRING)) {
+                    if (!this.readLine()
+                            || this.startsWith(this.lineStart, this.lineEnd,
+                                    UsefulPatterns.SQUARE_BRACKET_OPEN)
+                            || this.startsWith(
+                                    this.lineStart,
+                                    this.lineEnd,
+                                    MafiaSessionLogReader.LEVEL_12_QUEST_BOSSFIGHT_BEGINNING_STRING)) {
                         break;
-                    } else if (tmpLine
-                            .startsWith(UsefulPatterns.COMBAT_ROUND_LINE_BEGINNING_STRING)) {
+                    } else if (this.startsWith(this.lineStart, this.lineEnd,
+                            UsefulPatterns.COMBAT_ROUND_LINE_BEGINNING_STRING)) {
                         isFightContinued = true;
-                        line = tmpLine;
+                        start = this.lineStart;
+                        end = this.lineEnd;
                         break;
                     }
                 }
                 // If the fight has ended, set the reader back to the original
                 // position and stop the while loop.
                 if (!isFightContinued) {
-                    this.log.reset();
+                    this.position = mark;
+                    this.isBlockTerminated = true;
                     break;
                 }
             }
-            result.add(line);
-        }
-        if (line == null) {
-            this.hasNext = false;
+            result.add(start, end);
         }
         return result;
     }
 
-    private List<String> parsePlayerSnapshotBlock() throws IOException {
-        final List<String> result = new ArrayList<>();
-        String line;
+    private LineBounds parsePlayerSnapshotBlock() {
+        final LineBounds result = new LineBounds();
         // Add first three lines of the snapshot without check, so that the end
         // of the snapshot is not prematurely recognised.
-        result.add(this.log.readLine());
-        result.add(this.log.readLine());
-        result.add(this.log.readLine());
-        while (((line = this.log.readLine()) != null)
-                && !line.equals(MafiaSessionLogReader.SNAPSHOT_START_END)) {
-            result.add(line);
+        for (int i = 0; (i < 3) && this.readLine(); i++) {
+            result.add(this.lineStart, this.lineEnd);
         }
-        if (line == null) {
-            this.hasNext = false;
+        while (this.readLine()) {
+            if (this.isEqual(this.lineStart, this.lineEnd,
+                    MafiaSessionLogReader.SNAPSHOT_START_END)) {
+                this.isBlockTerminated = true;
+                break;
+            }
+            result.add(this.lineStart, this.lineEnd);
         }
         return result;
     }
 
-    private List<String> parseNormalBlock() throws IOException {
-        final List<String> result = new ArrayList<>();
-        String line;
-        while (((line = this.log.readLine()) != null) && (line.length() > 0)) {
-            result.add(line);
-        }
-        if (line == null) {
-            this.hasNext = false;
+    private LineBounds parseNormalBlock() {
+        final LineBounds result = new LineBounds();
+        while (this.readLine()) {
+            if (this.lineEnd == this.lineStart) {
+                this.isBlockTerminated = true;
+                break;
+            }
+            result.add(this.lineStart, this.lineEnd);
         }
         return result;
     }
 
+    /**
+     * Moves the current position past all empty lines.
+     *
+     * @return True if there is a non-empty line left in the log.
+     */
+    private boolean skipEmptyLines() {
+        while (this.position < this.limit) {
+            final int lineBeginning = this.position;
+            this.readLine();
+            if (this.lineEnd > this.lineStart) {
+                this.position = lineBeginning;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the line starting at the current position, saves its boundaries in
+     * {@code lineStart} and {@code lineEnd} and moves the current position to
+     * the beginning of the next line. Line feeds, carriage returns and
+     * carriage returns directly followed by line feeds all terminate a line.
+     *
+     * @return False if the end of the log has been reached and no line could
+     *         be read, otherwise true.
+     */
+    private boolean readLine() {
+        if (this.position >= this.limit) {
+            return false;
+        }
+        int index = this.position;
+        byte b = 0;
+        while ((index < this.limit)
+                && ((b = this.log.get(index)) != MafiaSessionLogReader.LINE_FEED)
+                && (b != MafiaSessionLogReader.CARRIAGE_RETURN)) {
+            index++;
+        }
+        this.lineStart = this.position;
+        this.lineEnd = index;
+        if (index < this.limit) {
+            index++;
+            if ((b == MafiaSessionLogReader.CARRIAGE_RETURN)
+                    && (index < this.limit)
+                    && (this.log.get(index) == MafiaSessionLogReader.LINE_FEED)) {
+                index++;
+            }
+        }
+        this.position = index;
+        return true;
+    }
+
+    /**
+     * Compares the raw bytes of the log with the given prefix, so the prefix
+     * has to consist of ASCII characters only. Lines which need to be matched
+     * beyond such a prefix have to be decoded first.
+     */
+    private boolean startsWith(final int start, final int end,
+            final String prefix) {
+        final int length = prefix.length();
+        if ((end - start) < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.log.get(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean endsWith(final int start, final int end,
+            final String suffix) {
+        final int length = suffix.length();
+        return ((end - start) >= length)
+                && this.startsWith(end - length, end, suffix);
+    }
+
+    private boolean isEqual(final int start, final int end, final String s) {
+        return ((end - start) == s.length()) && this.startsWith(start, end, s);
+    }
+
+    /**
+     * Decodes the given region of the buffer into a string.
+     */
+    private static String decode(final ByteBuffer data, final int start,
+            final int end, final Charset charset) {
+        final byte[] bytes = new byte[end - start];
+        final ByteBuffer view = data.duplicate();
+        view.position(start);
+        view.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    /**
+     * Returns the byte offset of the block which will be returned by the next
+     * call of {@link #next()}, relative to the beginning of the read part of
+     * the log. If all blocks have been read, this is the length of that part.
+     *
+     * @return The position of the next block.
+     */
+    int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Checks whether the block last returned by {@link #next()} has been
+     * completely written. This is the case once the empty line ending it, or
+     * for player snapshots their closing line, has been read. Blocks which
+     * instead end because the end of the read part of the log has been
+     * reached might still be continued.
+     *
+     * @return True if the last block read was ended by its terminating line,
+     *         otherwise false.
+     */
+    boolean isBlockTerminated() {
+        return this.isBlockTerminated;
+    }
+
     /**
      * Use this method to check whether {@link #next()} is still able to return
      * another {@link LogBlock}.
@@ -255,16 +489,12 @@ public final class MafiaSessionLogReader {
     }
 
     /**
-     * Closes the {@link Reader} used to read the session log.
+     * Marks this reader as finished. The mapped session log itself is released
+     * as soon as neither this reader nor any of the blocks it returned are
+     * referenced anymore.
      */
     void close() {
-        // Calling close() on a reader should not actually throw an exception,
-        // so we'll just catch it in here.
-        try {
-            this.log.close();
-        } catch (final IOException e) {
-            e.printStackTrace();
-        }
+        this.hasNext = false;
     }
 
     /**
@@ -281,27 +511,103 @@ public final class MafiaSessionLogReader {
      * with a certain version of {@link LogBlockType}.
      */
     static interface LogBlock {
+        /**
+         * @return The lines of this block. Each line is decoded the first time
+         *         it is accessed.
+         */
         List<String> getBlockLines();
 
+        /**
+         * Decodes all lines of this block right away, so that later calls of
+         * {@link #getBlockLines()} don't have to.
+         */
+        void decodeBlockLines();
+
         LogBlockType getBlockType();
     }
 
+    /**
+     * A growable list of line boundaries inside the session log.
+     */
+    private static final class LineBounds {
+        private int[] bounds = new int[32];
+        private int size;
+
+        void add(final int start, final int end) {
+            if ((this.size * 2) == this.bounds.length) {
+                this.bounds = Arrays.copyOf(this.bounds, this.bounds.length * 2);
+            }
+            this.bounds[this.size * 2] = start;
+            this.bounds[(this.size * 2) + 1] = end;
+            this.size++;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        int getStart(final int index) {
+            return this.bounds[index * 2];
+        }
+
+        int getEnd(final int index) {
+            return this.bounds[(index * 2) + 1];
+        }
+    }
+
     private static abstract class AbstractLogBlock implements LogBlock {
-        private final List<String> blockLines;
+        private final ByteBuffer data;
+        private final Charset charset;
+        private final LineBounds lineBounds;
+        private final String[] decodedLines;
 
-        AbstractLogBlock(final List<String> blockLines) {
-            this.blockLines = blockLines;
+        AbstractLogBlock(final ByteBuffer data, final Charset charset,
+                final LineBounds lineBounds) {
+            this.data = data;
+            this.charset = charset;
+            this.lineBounds = lineBounds;
+            this.decodedLines = new String[lineBounds.size()];
         }
 
         @Override
         public List<String> getBlockLines() {
-            return Collections.unmodifiableList(this.blockLines);
+            return new AbstractList<String>() {
+                @Override
+                public String get(final int index) {
+                    final AbstractLogBlock block = AbstractLogBlock.this;
+                    String line = block.decodedLines[index];
+                    if (line == null) {
+                        line = MafiaSessionLogReader.decode(block.data,
+                                block.lineBounds.getStart(index),
+                                block.lineBounds.getEnd(index), block.charset);
+                        block.decodedLines[index] = line;
+                    }
+                    return line;
+                }
+
+                @Override
+                public int size() {
+                    return AbstractLogBlock.this.lineBounds.size();
+                }
+            };
+        }
+
+        @Override
+        public void decodeBlockLines() {
+            for (int i = 0; i < this.decodedLines.length; i++) {
+                if (this.decodedLines[i] == null) {
+                    this.decodedLines[i] = MafiaSessionLogReader.decode(
+                            this.data, this.lineBounds.getStart(i),
+                            this.lineBounds.getEnd(i), this.charset);
+                }
+            }
         }
     }
 
     private static final class EncounterLogBlock extends AbstractLogBlock {
-        EncounterLogBlock(final List<String> blockLines) {
-            super(blockLines);
+        EncounterLogBlock(final ByteBuffer data, final Charset charset,
+                final LineBounds lineBounds) {
+            super(data, charset, lineBounds);
         }
 
         @Override
@@ -311,8 +617,9 @@ public final class MafiaSessionLogReader {
     }
 
     private static final class ConsumableLogBlock extends AbstractLogBlock {
-        ConsumableLogBlock(final List<String> blockLines) {
-            super(blockLines);
+        ConsumableLogBlock(final ByteBuffer data, final Charset charset,
+                final LineBounds lineBounds) {
+            super(data, charset, lineBounds);
         }
 
         @Override
@@ -322,8 +629,9 @@ public final class MafiaSessionLogReader {
     }
 
     private static final class PlayerSnapshotLogBlock extends AbstractLogBlock {
-        PlayerSnapshotLogBlock(final List<String> blockLines) {
-            super(blockLines);
+        PlayerSnapshotLogBlock(final ByteBuffer data, final Charset charset,
+                final LineBounds lineBounds) {
+            super(data, charset, lineBounds);
         }
 
         @Override
@@ -333,8 +641,9 @@ public final class MafiaSessionLogReader {
     }
 
     private static final class OtherLogBlock extends AbstractLogBlock {
-        OtherLogBlock(final List<String> blockLines) {
-            super(blockLines);
+        OtherLogBlock(final ByteBuffer data, final Charset charset,
+                final LineBounds lineBounds) {
+            super(data, charset, lineBounds);
         }
 
         @Override
@@ -28,10 +28,11 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 import com.googlecode.logVisualizer.logData.logSummary.LogSummaryData;
@@ -143,20 +144,18 @@ public final class PreparsedLogParser extends AbstractLogParser {
             protected void doParsing(final String line,
                     final LogDataHolder logData) {
                 // Parse the turn number
-                try (Scanner scanner = new Scanner(line)) {
-                    scanner.useDelimiter(UsefulPatterns.NOT_A_NUMBER);
-                    final int turnNumber = scanner.nextInt();
-                    scanner.close();
-                    // Parse semirare name
-                    try (Scanner scanner2 = new Scanner(line)) {
-                        scanner2.useDelimiter(UsefulPatterns.ALL_BEFORE_COLON);
-                        final String semirareName = scanner2.next();
-                        scanner2.close();
-                        // Add semirare
-                        PreparsedLogParser.this.semirares.add(DataNumberPair
-                                .of(semirareName, turnNumber));
-                    }
-                }
+                final int turnNumber = LineTokenizer.firstInt(line);
+                // Parse semirare name
+                final String semirareName = LineTokenizer.textAfterLast(line,
+                        UsefulPatterns.COLON);
+                // Add semirare
+                PreparsedLogParser.this.semirares.add(DataNumberPair.of(
+                        semirareName, turnNumber));
+            }
+
+            @Override
+            public Collection<String> getLinePrefixes() {
+                return Collections.singletonList("#>");
             }
 
             @Override
@@ -173,21 +172,18 @@ public final class PreparsedLogParser extends AbstractLogParser {
             protected void doParsing(final String line,
                     final LogDataHolder logData) {
                 // Parse the turn number
-                try (Scanner scanner = new Scanner(line)) {
-                    scanner.useDelimiter(UsefulPatterns.NOT_A_NUMBER);
-                    final int turnNumber = scanner.nextInt();
-                    scanner.close();
-                    // Parse adventure name
-                    try (Scanner scanner2 = new Scanner(line)) {
-                        scanner2.useDelimiter(UsefulPatterns.ALL_BEFORE_COLON);
-                        final String badMoonAdventureName = scanner2.next();
-                        scanner2.close();
-                        // Add Bad Moon adventure
-                        PreparsedLogParser.this.badMoonAdventures
-                                .add(DataNumberPair.of(badMoonAdventureName,
-                                        turnNumber));
-                    }
-                }
+                final int turnNumber = LineTokenizer.firstInt(line);
+                // Parse adventure name
+                final String badMoonAdventureName = LineTokenizer
+                        .textAfterLast(line, UsefulPatterns.COLON);
+                // Add Bad Moon adventure
+                PreparsedLogParser.this.badMoonAdventures.add(DataNumberPair
+                        .of(badMoonAdventureName, turnNumber));
+            }
+
+            @Override
+            public Collection<String> getLinePrefixes() {
+                return Collections.singletonList("%>");
             }
 
             @Override
@@ -199,32 +195,27 @@ public final class PreparsedLogParser extends AbstractLogParser {
         this.addLineParser(new AbstractLineParser() {
             private final Matcher huntedCombatMatcher = UsefulPatterns.HUNTED_COMBAT
                     .matcher("");
-            private final Pattern notCombatName = Pattern
-                    .compile("^.*Started hunting\\s+");
 
             @Override
             protected void doParsing(final String line,
                     final LogDataHolder logData) {
                 // Parse the turn number
-                try (Scanner scanner = new Scanner(line)) {
-                    scanner.useDelimiter(UsefulPatterns.NOT_A_NUMBER);
-                    final int turnNumber = scanner.nextInt();
-                    scanner.close();
-                    // Parse the combat name
-                    try (Scanner scanner2 = new Scanner(line)) {
-                        scanner2.useDelimiter(this.notCombatName);
-                        if (scanner2.hasNext()) {
-                            final String combatName = scanner2.next();
-                            // Add hunted combat
-                            PreparsedLogParser.this.huntedCombats
-                                    .add(DataNumberPair.of(combatName,
-                                            turnNumber));
-                        }
-                        scanner2.close();
-                    }
+                final int turnNumber = LineTokenizer.firstInt(line);
+                // Parse the combat name
+                final String combatName = LineTokenizer.textAfterLast(line,
+                        "Started hunting");
+                if (combatName.length() > 0) {
+                    // Add hunted combat
+                    PreparsedLogParser.this.huntedCombats.add(DataNumberPair.of(
+                            combatName, turnNumber));
                 }
             }
 
+            @Override
+            public Collection<String> getLinePrefixes() {
+                return Collections.singletonList("*>");
+            }
+
             @Override
             protected boolean isCompatibleLine(final String line) {
                 return this.huntedCombatMatcher.reset(line).matches();
@@ -234,32 +225,27 @@ public final class PreparsedLogParser extends AbstractLogParser {
         this.addLineParser(new AbstractLineParser() {
             private final Matcher disintegrateMatcher = UsefulPatterns.DISINTEGRATED_COMBAT
                     .matcher(UsefulPatterns.EMPTY_STRING);
-            private final Pattern notCombatName = Pattern
-                    .compile("^.*Disintegrated\\s+");
 
             @Override
             protected void doParsing(final String line,
                     final LogDataHolder logData) {
                 // Parse the turn number
-                try (Scanner scanner = new Scanner(line)) {
-                    scanner.useDelimiter(UsefulPatterns.NOT_A_NUMBER);
-                    final int turnNumber = scanner.nextInt();
-                    scanner.close();
-                    // Parse the combat name
-                    try (Scanner scanner2 = new Scanner(line)) {
-                        scanner2.useDelimiter(this.notCombatName);
-                        if (scanner2.hasNext()) {
-                            final String combatName = scanner2.next();
-                            // Add disintegrated combat
-                            PreparsedLogParser.this.disintegratedCombats
-                                    .add(DataNumberPair.of(combatName,
-                                            turnNumber));
-                        }
-                        scanner2.close();
-                    }
+                final int turnNumber = LineTokenizer.firstInt(line);
+                // Parse the combat name
+                final String combatName = LineTokenizer.textAfterLast(line,
+                        "Disintegrated");
+                if (combatName.length() > 0) {
+                    // Add disintegrated combat
+                    PreparsedLogParser.this.disintegratedCombats.add(DataNumberPair.of(
+                            combatName, turnNumber));
                 }
             }
 
+            @Override
+            public Collection<String> getLinePrefixes() {
+                return Collections.singletonList("}>");
+            }
+
             @Override
             protected boolean isCompatibleLine(final String line) {
                 return this.disintegrateMatcher.reset(line).matches();
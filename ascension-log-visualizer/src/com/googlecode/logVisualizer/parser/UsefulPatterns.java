@@ -27,7 +27,6 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashSet;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -175,16 +174,8 @@ public final class UsefulPatterns {
         if (logName == null) {
             throw new NullPointerException("logName must not be null.");
         }
-        int ascensionDate;
-        try (final Scanner scanner = new Scanner(logName)) {
-            scanner.useDelimiter(UsefulPatterns.NOT_A_NUMBER);
-            // The last number in the file name is the date.
-            do {
-                ascensionDate = scanner.nextInt();
-            } while (scanner.hasNextInt());
-            scanner.close();
-            return ascensionDate;
-        }
+        // The last number in the file name is the date.
+        return LineTokenizer.lastInt(logName);
     }
 
     // This class is not to be instanced.
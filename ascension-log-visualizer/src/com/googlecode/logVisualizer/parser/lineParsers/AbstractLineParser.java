@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 import com.googlecode.logVisualizer.parser.LineParser;
 
@@ -59,6 +62,18 @@ public abstract class AbstractLineParser implements LineParser {
         return isParsable;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation returns an empty collection, which means that the
+     * parser may be able to parse any line. Subclasses should override this
+     * method if all their compatible lines start with a known prefix.
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return Collections.emptyList();
+    }
+
     /**
      * Checks whether the given line can be parsed by this parser.
      *
@@ -23,6 +23,10 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 import com.googlecode.logVisualizer.logData.turn.SingleTurn.TurnVersion;
 
@@ -35,6 +39,8 @@ import com.googlecode.logVisualizer.logData.turn.SingleTurn.TurnVersion;
  */
 public final class CombatRecognizerLineParser extends AbstractLineParser {
     private static final String FIRST_COMBAT_ROUND_LINE_BEGINNING_STRING = "Round 0: ";
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(CombatRecognizerLineParser.FIRST_COMBAT_ROUND_LINE_BEGINNING_STRING);
 
     /**
      * {@inheritDoc}
@@ -45,6 +51,14 @@ public final class CombatRecognizerLineParser extends AbstractLineParser {
                 .setTurnVersion(TurnVersion.COMBAT);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return CombatRecognizerLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
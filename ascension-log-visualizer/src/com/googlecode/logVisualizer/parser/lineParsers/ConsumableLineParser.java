@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
@@ -53,6 +56,8 @@ public final class ConsumableLineParser extends AbstractLineParser {
     private static final String ADVENTURE_GAINED_STRING = "adventures gained";
     private static final String ATE_STRING = "Ate";
     private static final String DRANK_STRING = "Drank";
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("o>");
     private final Matcher consumedMatcher = UsefulPatterns.CONSUMED
             .matcher(UsefulPatterns.EMPTY_STRING);
     private final Matcher consumableStatsMatcher = ConsumableLineParser.STATS_PATTERN
@@ -131,6 +136,14 @@ public final class ConsumableLineParser extends AbstractLineParser {
         lastInterval.addConsumableUsed(consumable);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return ConsumableLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
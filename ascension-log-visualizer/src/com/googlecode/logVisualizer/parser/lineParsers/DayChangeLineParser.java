@@ -23,11 +23,14 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
-import java.util.Scanner;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 import com.googlecode.logVisualizer.logData.turn.turnAction.DayChange;
+import com.googlecode.logVisualizer.parser.LineTokenizer;
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
 
 /**
@@ -39,6 +42,8 @@ import com.googlecode.logVisualizer.parser.UsefulPatterns;
  * {@code ===Day *dayNumber*===}
  */
 public final class DayChangeLineParser extends AbstractLineParser {
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("=");
     private final Matcher dayChangeMatcher = UsefulPatterns.DAY_CHANGE
             .matcher(UsefulPatterns.EMPTY_STRING);
 
@@ -48,15 +53,19 @@ public final class DayChangeLineParser extends AbstractLineParser {
     @Override
     protected void doParsing(final String line, final LogDataHolder logData) {
         // Parse day number
-        try (final Scanner scanner = new Scanner(line)) {
-            scanner.useDelimiter(UsefulPatterns.NOT_A_NUMBER);
-            final int dayNumber = scanner.nextInt();
-            scanner.close();
-            // Get turn number of last turn spent
-            final int turn = logData.getTurnsSpent().last().getEndTurn();
-            // Add day change
-            logData.addDayChange(new DayChange(dayNumber, turn));
-        }
+        final int dayNumber = LineTokenizer.firstInt(line);
+        // Get turn number of last turn spent
+        final int turn = logData.getTurnsSpent().last().getEndTurn();
+        // Add day change
+        logData.addDayChange(new DayChange(dayNumber, turn));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return DayChangeLineParser.LINE_PREFIXES;
     }
 
     /**
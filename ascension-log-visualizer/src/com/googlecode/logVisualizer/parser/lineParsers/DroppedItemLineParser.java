@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -45,6 +48,8 @@ public final class DroppedItemLineParser extends AbstractLineParser {
             .matcher(UsefulPatterns.EMPTY_STRING);
     private static final Pattern NOT_ITEM_NAME = Pattern
             .compile("^.*\\]\\s*Got\\s*|,\\s*");
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("+>");
 
     /**
      * {@inheritDoc}
@@ -67,6 +72,14 @@ public final class DroppedItemLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return DroppedItemLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -25,7 +25,11 @@ package com.googlecode.logVisualizer.parser.lineParsers;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -95,6 +99,12 @@ public final class EquipmentLineParser extends AbstractLineParser {
     private static final String UNEQUIP_STRING = "unequip";
     private static final String OUTFIT_STRING = "outfit";
     private static final String CUSTOM_OUTFIT_STRING = "custom outfit";
+    private static final List<String> LINE_PREFIXES = Collections
+            .unmodifiableList(Arrays.asList(
+                    EquipmentLineParser.EQUIP_STRING,
+                    EquipmentLineParser.UNEQUIP_STRING,
+                    EquipmentLineParser.OUTFIT_STRING,
+                    EquipmentLineParser.CUSTOM_OUTFIT_STRING));
     private EquipmentChange lastUsedEquipment = new EquipmentChange(0,
             EquipmentChange.NO_EQUIPMENT_STRING,
             EquipmentChange.NO_EQUIPMENT_STRING,
@@ -122,14 +132,44 @@ public final class EquipmentLineParser extends AbstractLineParser {
      */
     @Override
     protected void doParsing(final String line, final LogDataHolder logData) {
+        final EquipmentChange equipmentChange = this.createEquipmentChange(
+                line, logData.getLastEquipmentChange(), logData.getTurnsSpent()
+                        .last().getEndTurn());
+        if (equipmentChange != null) {
+            logData.addEquipmentChange(equipmentChange);
+        }
+    }
+
+    /**
+     * Parses the given line the same way
+     * {@link #parseLine(String, LogDataHolder)} does, but instead of adding
+     * the resulting equipment change to a log, it is returned.
+     *
+     * @param line
+     *            The line to parse.
+     * @param lastChange
+     *            The equipment worn before the given line.
+     * @param turnNumber
+     *            The turn number of the last turn spent.
+     * @return The equipment change of the given line. Returns {@code null} if
+     *         the line doesn't change the equipment.
+     */
+    public EquipmentChange parseEquipmentChange(final String line,
+            final EquipmentChange lastChange, final int turnNumber) {
+        final String lowerCaseLine = line.toLowerCase(Locale.ENGLISH);
+        return this.isCompatibleLine(lowerCaseLine) ? this
+                .createEquipmentChange(lowerCaseLine, lastChange, turnNumber)
+                : null;
+    }
+
+    private EquipmentChange createEquipmentChange(final String line,
+            final EquipmentChange lastChange, final int turnNumber) {
         // Outfit handling
         if (line.startsWith(EquipmentLineParser.OUTFIT_STRING)) {
             final EquipmentSetup outfit = EquipmentLineParser.outfitsMap
                     .get(line.substring(line
                             .indexOf(UsefulPatterns.WHITE_SPACE) + 1));
             if (outfit != null) {
-                final EquipmentChange lastChange = logData
-                        .getLastEquipmentChange();
                 this.lastUsedEquipment = lastChange;
                 final String hat = outfit.isHat() ? EquipmentChange.NO_EQUIPMENT_STRING
                         : lastChange.getHat();
@@ -147,37 +187,23 @@ public final class EquipmentLineParser extends AbstractLineParser {
                         : lastChange.getAcc2();
                 final String acc3 = outfit.isAcc3() ? EquipmentChange.NO_EQUIPMENT_STRING
                         : lastChange.getAcc3();
-                logData.addEquipmentChange(new EquipmentChange(logData
-                        .getTurnsSpent().last().getEndTurn(), hat, weapon,
-                        offhand, shirt, pants, acc1, acc2, acc3, lastChange
-                                .getFamEquip()));
+                return new EquipmentChange(turnNumber, hat, weapon, offhand,
+                        shirt, pants, acc1, acc2, acc3,
+                        lastChange.getFamEquip());
             }
-            return;
+            return null;
         } else if (line.startsWith(EquipmentLineParser.CUSTOM_OUTFIT_STRING)) {
             if (line.equals("custom outfit backup")
                     || line.equals("custom outfit your previous outfit")) {
                 // Those two custom outfits roll the equipment back to the last
                 // used one, so we do the same.
-                logData.addEquipmentChange(new EquipmentChange(logData
-                        .getTurnsSpent().last().getEndTurn(),
-                        this.lastUsedEquipment.getHat(), this.lastUsedEquipment
-                                .getWeapon(), this.lastUsedEquipment
-                                .getOffhand(), this.lastUsedEquipment
-                                .getShirt(), this.lastUsedEquipment.getPants(),
-                        this.lastUsedEquipment.getAcc1(),
-                        this.lastUsedEquipment.getAcc2(),
-                        this.lastUsedEquipment.getAcc3(),
-                        this.lastUsedEquipment.getFamEquip()));
+                return new EquipmentChange(turnNumber, this.lastUsedEquipment);
             } else {
                 // We cannot guarantee for anything as far as custom outfits are
                 // concerned, so the only sensible thing is to assume nothing in
                 // the way of character equipment.
-                final EquipmentChange lastChange = logData
-                        .getLastEquipmentChange();
                 this.lastUsedEquipment = lastChange;
-                logData.addEquipmentChange(new EquipmentChange(logData
-                        .getTurnsSpent().last().getEndTurn(),
-                        EquipmentChange.NO_EQUIPMENT_STRING,
+                return new EquipmentChange(turnNumber,     EquipmentChange.NO_EQUIPMENT_STRING,
                         EquipmentChange.NO_EQUIPMENT_STRING,
                         EquipmentChange.NO_EQUIPMENT_STRING,
                         EquipmentChange.NO_EQUIPMENT_STRING,
@@ -185,9 +211,8 @@ public final class EquipmentLineParser extends AbstractLineParser {
                         EquipmentChange.NO_EQUIPMENT_STRING,
                         EquipmentChange.NO_EQUIPMENT_STRING,
                         EquipmentChange.NO_EQUIPMENT_STRING, lastChange
-                                .getFamEquip()));
+                                .getFamEquip());
             }
-            return;
         }
         // Equip/Unequip handling
         final String tmp = line.substring(line
@@ -195,22 +220,22 @@ public final class EquipmentLineParser extends AbstractLineParser {
         final int whiteSpaceIndex = tmp.indexOf(UsefulPatterns.WHITE_SPACE);
         // Strings that don't fit the format should be ignored.
         if (whiteSpaceIndex < 0) {
-            return;
+            return null;
         }
         final String slotName = tmp.substring(0, whiteSpaceIndex);
         final String itemName = tmp.substring(whiteSpaceIndex + 1);
         // Act depending on equip or unequip.
         if (line.startsWith(EquipmentLineParser.EQUIP_STRING)) {
-            this.addEquipmentChange(slotName, itemName, logData);
-        } else {
-            this.addEquipmentChange(slotName,
-                    EquipmentChange.NO_EQUIPMENT_STRING, logData);
+            return this.createSlotChange(slotName, itemName, lastChange,
+                    turnNumber);
         }
+        return this.createSlotChange(slotName,
+                EquipmentChange.NO_EQUIPMENT_STRING, lastChange, turnNumber);
     }
 
-    private void addEquipmentChange(final String slotName,
-            final String itemName, final LogDataHolder logData) {
-        final EquipmentChange lastChange = logData.getLastEquipmentChange();
+    private EquipmentChange createSlotChange(final String slotName,
+            final String itemName, final EquipmentChange lastChange,
+            final int turnNumber) {
         this.lastUsedEquipment = lastChange;
         // Switch constructs are ugly, but there isn't really a better way to do
         // this since at some point which equipment slot is used has to be
@@ -218,85 +243,81 @@ public final class EquipmentLineParser extends AbstractLineParser {
         final EquipmentChange equipmentChange;
         switch (EquipmentSlot.fromString(slotName)) {
         case HAT:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), itemName, lastChange.getWeapon(),
-                    lastChange.getOffhand(), lastChange.getShirt(),
-                    lastChange.getPants(), lastChange.getAcc1(),
-                    lastChange.getAcc2(), lastChange.getAcc3(),
-                    lastChange.getFamEquip());
+            equipmentChange = new EquipmentChange(turnNumber, itemName,
+                    lastChange.getWeapon(), lastChange.getOffhand(),
+                    lastChange.getShirt(), lastChange.getPants(),
+                    lastChange.getAcc1(), lastChange.getAcc2(),
+                    lastChange.getAcc3(), lastChange.getFamEquip());
             break;
         case WEAPON:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), lastChange.getHat(), itemName,
-                    lastChange.getOffhand(), lastChange.getShirt(),
-                    lastChange.getPants(), lastChange.getAcc1(),
-                    lastChange.getAcc2(), lastChange.getAcc3(),
-                    lastChange.getFamEquip());
+            equipmentChange = new EquipmentChange(turnNumber,
+                    lastChange.getHat(), itemName, lastChange.getOffhand(),
+                    lastChange.getShirt(), lastChange.getPants(),
+                    lastChange.getAcc1(), lastChange.getAcc2(),
+                    lastChange.getAcc3(), lastChange.getFamEquip());
             break;
         case OFFHAND:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), lastChange.getHat(),
-                    lastChange.getWeapon(), itemName, lastChange.getShirt(),
-                    lastChange.getPants(), lastChange.getAcc1(),
-                    lastChange.getAcc2(), lastChange.getAcc3(),
-                    lastChange.getFamEquip());
+            equipmentChange = new EquipmentChange(turnNumber,
+                    lastChange.getHat(), lastChange.getWeapon(), itemName,
+                    lastChange.getShirt(), lastChange.getPants(),
+                    lastChange.getAcc1(), lastChange.getAcc2(),
+                    lastChange.getAcc3(), lastChange.getFamEquip());
             break;
         case SHIRT:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), lastChange.getHat(),
-                    lastChange.getWeapon(), lastChange.getOffhand(), itemName,
-                    lastChange.getPants(), lastChange.getAcc1(),
-                    lastChange.getAcc2(), lastChange.getAcc3(),
-                    lastChange.getFamEquip());
+            equipmentChange = new EquipmentChange(turnNumber,
+                    lastChange.getHat(), lastChange.getWeapon(),
+                    lastChange.getOffhand(), itemName, lastChange.getPants(),
+                    lastChange.getAcc1(), lastChange.getAcc2(),
+                    lastChange.getAcc3(), lastChange.getFamEquip());
             break;
         case PANTS:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), lastChange.getHat(),
-                    lastChange.getWeapon(), lastChange.getOffhand(),
-                    lastChange.getShirt(), itemName, lastChange.getAcc1(),
-                    lastChange.getAcc2(), lastChange.getAcc3(),
-                    lastChange.getFamEquip());
+            equipmentChange = new EquipmentChange(turnNumber,
+                    lastChange.getHat(), lastChange.getWeapon(),
+                    lastChange.getOffhand(), lastChange.getShirt(), itemName,
+                    lastChange.getAcc1(), lastChange.getAcc2(),
+                    lastChange.getAcc3(), lastChange.getFamEquip());
             break;
         case ACC1:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), lastChange.getHat(),
-                    lastChange.getWeapon(), lastChange.getOffhand(),
-                    lastChange.getShirt(), lastChange.getPants(), itemName,
-                    lastChange.getAcc2(), lastChange.getAcc3(),
-                    lastChange.getFamEquip());
+            equipmentChange = new EquipmentChange(turnNumber,
+                    lastChange.getHat(), lastChange.getWeapon(),
+                    lastChange.getOffhand(), lastChange.getShirt(),
+                    lastChange.getPants(), itemName, lastChange.getAcc2(),
+                    lastChange.getAcc3(), lastChange.getFamEquip());
             break;
         case ACC2:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), lastChange.getHat(),
-                    lastChange.getWeapon(), lastChange.getOffhand(),
-                    lastChange.getShirt(), lastChange.getPants(),
-                    lastChange.getAcc1(), itemName, lastChange.getAcc3(),
-                    lastChange.getFamEquip());
+            equipmentChange = new EquipmentChange(turnNumber,
+                    lastChange.getHat(), lastChange.getWeapon(),
+                    lastChange.getOffhand(), lastChange.getShirt(),
+                    lastChange.getPants(), lastChange.getAcc1(), itemName,
+                    lastChange.getAcc3(), lastChange.getFamEquip());
             break;
         case ACC3:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), lastChange.getHat(),
-                    lastChange.getWeapon(), lastChange.getOffhand(),
-                    lastChange.getShirt(), lastChange.getPants(),
-                    lastChange.getAcc1(), lastChange.getAcc2(), itemName,
-                    lastChange.getFamEquip());
+            equipmentChange = new EquipmentChange(turnNumber,
+                    lastChange.getHat(), lastChange.getWeapon(),
+                    lastChange.getOffhand(), lastChange.getShirt(),
+                    lastChange.getPants(), lastChange.getAcc1(),
+                    lastChange.getAcc2(), itemName, lastChange.getFamEquip());
             break;
         case FAM_EQUIP:
-            equipmentChange = new EquipmentChange(logData.getTurnsSpent()
-                    .last().getEndTurn(), lastChange.getHat(),
-                    lastChange.getWeapon(), lastChange.getOffhand(),
-                    lastChange.getShirt(), lastChange.getPants(),
-                    lastChange.getAcc1(), lastChange.getAcc2(),
-                    lastChange.getAcc3(), itemName);
+            equipmentChange = new EquipmentChange(turnNumber,
+                    lastChange.getHat(), lastChange.getWeapon(),
+                    lastChange.getOffhand(), lastChange.getShirt(),
+                    lastChange.getPants(), lastChange.getAcc1(),
+                    lastChange.getAcc2(), lastChange.getAcc3(), itemName);
             break;
         default:
             equipmentChange = null;
             break;
         }
-        // Add the equipment change.
-        if (equipmentChange != null) {
-            logData.addEquipmentChange(equipmentChange);
-        }
+        return equipmentChange;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return EquipmentLineParser.LINE_PREFIXES;
     }
 
     /**
@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -44,6 +47,8 @@ public final class FamiliarChangeLineParse extends AbstractLineParser {
             .matcher(UsefulPatterns.EMPTY_STRING);
     private static final Pattern NOT_FAMILIAR_NAME = Pattern
             .compile("^.*\\]\\s*|\\s*\\(.*\\)\\s*$");
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("->");
 
     /**
      * {@inheritDoc}
@@ -75,6 +80,14 @@ public final class FamiliarChangeLineParse extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return FamiliarChangeLineParse.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
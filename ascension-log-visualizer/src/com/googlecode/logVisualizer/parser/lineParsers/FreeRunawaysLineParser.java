@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 import java.util.regex.Matcher;
 
@@ -37,6 +40,8 @@ import com.googlecode.logVisualizer.parser.UsefulPatterns;
  * {@code &> _successfulAttempts_ / _totslAttempts_ free retreats}
  */
 public final class FreeRunawaysLineParser extends AbstractLineParser {
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("&>");
     private final Matcher freeRunawaysMatcher = UsefulPatterns.FREE_RUNAWAYS_USAGE
             .matcher(UsefulPatterns.EMPTY_STRING);
 
@@ -58,6 +63,14 @@ public final class FreeRunawaysLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return FreeRunawaysLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -23,14 +23,16 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
-import java.util.Scanner;
-import java.util.regex.MatchResult;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.googlecode.logVisualizer.logData.Item;
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 import com.googlecode.logVisualizer.logData.turn.TurnInterval;
+import com.googlecode.logVisualizer.parser.LineTokenizer;
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
 
 /**
@@ -59,10 +61,16 @@ public final class ItemAcquisitionLineParser extends AbstractLineParser {
             .compile("You acquire (.+) \\((\\d*,?\\d+)\\)");
     private static final String SINGLE_ITEM_STRING = "You acquire an item: ";
     private static final String ACQUIRE_STRING = "You acquire";
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(ItemAcquisitionLineParser.ACQUIRE_STRING);
     private final Matcher multipleItemsOldMatcher = ItemAcquisitionLineParser.MULTIPLE_ITEMS_OLD
             .matcher(UsefulPatterns.EMPTY_STRING);
     private final Matcher multipleItemsNewMatcher = ItemAcquisitionLineParser.MULTIPLE_ITEMS_NEW
             .matcher(UsefulPatterns.EMPTY_STRING);
+    private final Matcher multipleItemsOldCaptureMatcher = ItemAcquisitionLineParser.MULTIPLE_ITEMS_OLD_CAPTURE_PATTERN
+            .matcher(UsefulPatterns.EMPTY_STRING);
+    private final Matcher multipleItemsNewCaptureMatcher = ItemAcquisitionLineParser.MULTIPLE_ITEMS_NEW_CAPTURE_PATTERN
+            .matcher(UsefulPatterns.EMPTY_STRING);
 
     /**
      * {@inheritDoc}
@@ -78,37 +86,29 @@ public final class ItemAcquisitionLineParser extends AbstractLineParser {
                     .substring(ItemAcquisitionLineParser.SINGLE_ITEM_STRING
                             .length());
         } else if (this.multipleItemsOldMatcher.reset(line).matches()) {
-            try (final Scanner scanner = new Scanner(line)) {
-                scanner.findInLine(ItemAcquisitionLineParser.MULTIPLE_ITEMS_OLD_CAPTURE_PATTERN);
-                final MatchResult result = scanner.match();
-                if (result.group(1).contains(UsefulPatterns.COMMA)) {
-                    amount = Integer.parseInt(result.group(1).replace(
-                            UsefulPatterns.COMMA, UsefulPatterns.EMPTY_STRING));
-                } else {
-                    amount = Integer.parseInt(result.group(1));
-                }
-                itemName = result.group(2);
-                scanner.close();
-            }
+            this.multipleItemsOldCaptureMatcher.reset(line).find();
+            amount = LineTokenizer.parseGroupedInt(
+                    this.multipleItemsOldCaptureMatcher, 1, line);
+            itemName = this.multipleItemsOldCaptureMatcher.group(2);
         } else {
-            try (final Scanner scanner = new Scanner(line)) {
-                scanner.findInLine(ItemAcquisitionLineParser.MULTIPLE_ITEMS_NEW_CAPTURE_PATTERN);
-                final MatchResult result = scanner.match();
-                itemName = result.group(1);
-                if (result.group(2).contains(UsefulPatterns.COMMA)) {
-                    amount = Integer.parseInt(result.group(2).replace(
-                            UsefulPatterns.COMMA, UsefulPatterns.EMPTY_STRING));
-                } else {
-                    amount = Integer.parseInt(result.group(2));
-                }
-                scanner.close();
-            }
+            this.multipleItemsNewCaptureMatcher.reset(line).find();
+            itemName = this.multipleItemsNewCaptureMatcher.group(1);
+            amount = LineTokenizer.parseGroupedInt(
+                    this.multipleItemsNewCaptureMatcher, 2, line);
         }
         final TurnInterval currentInterval = logData.getTurnsSpent().last();
         currentInterval.addDroppedItem(new Item(itemName, amount,
                 currentInterval.getEndTurn()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return ItemAcquisitionLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 
 import com.googlecode.logVisualizer.logData.LogDataHolder;
@@ -38,6 +41,8 @@ public final class MPGainLineParser extends AbstractLineParser {
     private static final String LOSE_STRING = "You lose";
     // String lenght of "You gain " is 9.
     private static final int GAIN_START_STRING_LENGHT = 9;
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("You gain ");
     private final Matcher gainLoseMatcher = UsefulPatterns.GAIN_LOSE
             .matcher(UsefulPatterns.EMPTY_STRING);
     private final MPGainType mpGainType;
@@ -92,6 +97,14 @@ public final class MPGainLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return MPGainLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
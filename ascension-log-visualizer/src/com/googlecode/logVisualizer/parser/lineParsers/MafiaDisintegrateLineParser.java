@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,6 +45,8 @@ public final class MafiaDisintegrateLineParser extends AbstractLineParser {
                     + "|You flash your headlight. A sweet guitar riff plays as your opponent is vaporized."
                     + "|A blinding ball of lightning bursts in front of her. When your vision returns"
                     + "|Round \\d+: .+? casts OPEN A BIG YELLOW PRESENT!");
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(UsefulPatterns.COMBAT_ROUND_LINE_BEGINNING_STRING);
     private final Matcher majorYellowRayMatcher = MafiaDisintegrateLineParser.MAJOR_YELLOW_RAY
             .matcher(UsefulPatterns.EMPTY_STRING);
 
@@ -53,6 +58,14 @@ public final class MafiaDisintegrateLineParser extends AbstractLineParser {
         logData.getTurnsSpent().last().getTurns().last().setDisintegrated(true);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return MafiaDisintegrateLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
@@ -43,29 +46,52 @@ public final class MafiaFamiliarChangeLineParser extends AbstractLineParser {
     private static final String FAMILIAR_CHANGE_START_STRING = "familiar ";
     private static final String NO_FAMILIAR_STRING = "none";
     private static final String LOCK_STRING = "lock";
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(MafiaFamiliarChangeLineParser.FAMILIAR_CHANGE_START_STRING);
 
     /**
      * {@inheritDoc}
      */
     @Override
     protected void doParsing(final String line, final LogDataHolder logData) {
-        if (!line.endsWith(MafiaFamiliarChangeLineParser.LOCK_STRING)) {
-            final String familiarName;
-            if (!line
-                    .endsWith(MafiaFamiliarChangeLineParser.NO_FAMILIAR_STRING)) {
-                try (final Scanner scanner = new Scanner(line)) {
-                    scanner.findInLine(MafiaFamiliarChangeLineParser.FAMILIAR_CHANGE_CAPTURE_PATTERN);
-                    final MatchResult result = scanner.match();
-                    familiarName = result.group(1);
-                }
-            } else {
-                familiarName = MafiaFamiliarChangeLineParser.NO_FAMILIAR_STRING;
-            }
+        final String familiarName = MafiaFamiliarChangeLineParser
+                .parseFamiliarName(line);
+        if (familiarName != null) {
             logData.addFamiliarChange(new FamiliarChange(familiarName, logData
                     .getTurnsSpent().last().getEndTurn()));
         }
     }
 
+    /**
+     * @param line
+     *            The line to parse.
+     * @return The name of the familiar the given line changes to. Returns
+     *         {@code null} if the line doesn't change the familiar.
+     */
+    public static String parseFamiliarName(final String line) {
+        if (!line
+                .startsWith(MafiaFamiliarChangeLineParser.FAMILIAR_CHANGE_START_STRING)
+                || line.endsWith(MafiaFamiliarChangeLineParser.LOCK_STRING)) {
+            return null;
+        }
+        if (line.endsWith(MafiaFamiliarChangeLineParser.NO_FAMILIAR_STRING)) {
+            return MafiaFamiliarChangeLineParser.NO_FAMILIAR_STRING;
+        }
+        try (final Scanner scanner = new Scanner(line)) {
+            scanner.findInLine(MafiaFamiliarChangeLineParser.FAMILIAR_CHANGE_CAPTURE_PATTERN);
+            final MatchResult result = scanner.match();
+            return result.group(1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return MafiaFamiliarChangeLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -23,6 +23,10 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
 
@@ -31,6 +35,8 @@ public final class MafiaFreeRunawaysLineParser extends AbstractLineParser {
             + " tosses you onto his back, and flooms away,"
             + " weaving slightly and hiccelping fire.";
     private static final String POPPER_USAGE_END_STRING = " uses the divine champagne popper!";
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(UsefulPatterns.COMBAT_ROUND_LINE_BEGINNING_STRING);
 
     /**
      * {@inheritDoc}
@@ -40,6 +46,14 @@ public final class MafiaFreeRunawaysLineParser extends AbstractLineParser {
         logData.getTurnsSpent().last().incrementSuccessfulFreeRunaways(1);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return MafiaFreeRunawaysLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
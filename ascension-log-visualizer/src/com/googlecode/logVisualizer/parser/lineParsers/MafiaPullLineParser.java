@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,6 +46,8 @@ public final class MafiaPullLineParser extends AbstractLineParser {
             .compile("pull: \\d+ .+");
     private static final Pattern COMMA_WHITESPACE_PATTERN = Pattern
             .compile(", ");
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("pull:");
     private final Matcher pullMatcher = MafiaPullLineParser.PULL_PATTERN
             .matcher(UsefulPatterns.EMPTY_STRING);
 
@@ -67,6 +72,14 @@ public final class MafiaPullLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return MafiaPullLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,6 +44,8 @@ public final class MeatLineParser extends AbstractLineParser {
     private static final int GAIN_START_STRING_LENGHT = 9;
     private static final Pattern MEAT_GAIN = Pattern
             .compile("^You gain \\d*,?\\d+ Meat");
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("You gain ");
     private final Matcher meatGainMatcher = MeatLineParser.MEAT_GAIN
             .matcher(UsefulPatterns.EMPTY_STRING);
     private final MeatGainType meatGainType;
@@ -74,6 +79,14 @@ public final class MeatLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return MeatLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
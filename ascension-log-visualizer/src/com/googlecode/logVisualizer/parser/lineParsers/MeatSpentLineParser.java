@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,6 +44,8 @@ public final class MeatSpentLineParser extends AbstractLineParser {
     private static final int SPENT_START_STRING_LENGHT = 10;
     private static final Pattern MEAT_SPENT = Pattern
             .compile("^You spent \\d*,?\\d+ Meat");
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("You spent ");
     private final Matcher meatSpentMatcher = MeatSpentLineParser.MEAT_SPENT
             .matcher(UsefulPatterns.EMPTY_STRING);
 
@@ -60,6 +65,14 @@ public final class MeatSpentLineParser extends AbstractLineParser {
         logData.getTurnsSpent().last().addMeatSpent(amount);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return MeatSpentLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
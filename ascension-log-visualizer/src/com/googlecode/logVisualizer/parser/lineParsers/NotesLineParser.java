@@ -23,6 +23,10 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import com.googlecode.logVisualizer.logData.LogDataHolder;
 
 /**
@@ -34,6 +38,8 @@ import com.googlecode.logVisualizer.logData.LogDataHolder;
  */
 public final class NotesLineParser extends AbstractLineParser {
     private static final String NOTES_START_STRING = " > Note: ";
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(NotesLineParser.NOTES_START_STRING);
 
     /**
      * {@inheritDoc}
@@ -47,6 +53,14 @@ public final class NotesLineParser extends AbstractLineParser {
                                 .length()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return NotesLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
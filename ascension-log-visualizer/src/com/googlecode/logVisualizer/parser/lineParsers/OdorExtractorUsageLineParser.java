@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -45,6 +48,8 @@ import com.googlecode.logVisualizer.parser.UsefulPatterns;
 public final class OdorExtractorUsageLineParser extends AbstractLineParser {
     private static final Pattern ODOR_EXTRACTOR_USAGE_PATTERN = Pattern
             .compile("Round \\d+: .+ uses the odor extractor!");
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(UsefulPatterns.COMBAT_ROUND_LINE_BEGINNING_STRING);
     private final Matcher odorExtractorUsageMatcher = OdorExtractorUsageLineParser.ODOR_EXTRACTOR_USAGE_PATTERN
             .matcher(UsefulPatterns.EMPTY_STRING);
 
@@ -60,6 +65,14 @@ public final class OdorExtractorUsageLineParser extends AbstractLineParser {
         currentInterval.addConsumableUsed(odorExtractor);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return OdorExtractorUsageLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
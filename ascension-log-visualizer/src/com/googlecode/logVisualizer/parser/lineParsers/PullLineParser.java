@@ -24,6 +24,8 @@
 package com.googlecode.logVisualizer.parser.lineParsers;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 import java.util.regex.Matcher;
@@ -44,6 +46,8 @@ public final class PullLineParser extends AbstractLineParser {
     private static final Pattern NOT_PULL_STRING = Pattern
             .compile("^.*\\]\\s*pulled\\s*|,\\s*");
     private static final Pattern NOT_PULL_NAME = Pattern.compile("^\\d+\\s*");
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList("#>");
     private final Matcher pullMatcher = UsefulPatterns.PULL
             .matcher(UsefulPatterns.EMPTY_STRING);
 
@@ -90,6 +94,14 @@ public final class PullLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return PullLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 import java.util.regex.Pattern;
 
@@ -51,6 +54,8 @@ public final class StarfishMPGainLineParser extends AbstractLineParser {
     private static final Pattern SLIMELING_ATK = Pattern
             .compile("Round \\d+: .+ leaps on your opponent, sliming \\w+ for \\d+ damage.  It's inspiring!");
     private static final String OPPONENT_STRING = "opponent";
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(UsefulPatterns.COMBAT_ROUND_LINE_BEGINNING_STRING);
 
     /**
      * {@inheritDoc}
@@ -75,6 +80,14 @@ public final class StarfishMPGainLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return StarfishMPGainLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
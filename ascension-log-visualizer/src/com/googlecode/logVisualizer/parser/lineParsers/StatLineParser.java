@@ -23,6 +23,10 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 
 import com.googlecode.logVisualizer.logData.LogDataHolder;
@@ -43,6 +47,9 @@ public final class StatLineParser extends AbstractLineParser {
     private static final String LOSE_STRING = "You lose";
     // String lenght of "You gain " or "You lose " is 9.
     private static final int GAIN_LOSE_START_STRING_LENGHT = 9;
+    private static final List<String> LINE_PREFIXES = Collections
+            .unmodifiableList(Arrays.asList("You gain ",
+                    StatLineParser.LOSE_STRING));
     private final Matcher gainLoseMatcher = UsefulPatterns.GAIN_LOSE
             .matcher(UsefulPatterns.EMPTY_STRING);
 
@@ -81,6 +88,14 @@ public final class StatLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return StatLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
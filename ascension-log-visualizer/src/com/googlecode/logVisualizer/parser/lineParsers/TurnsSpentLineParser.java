@@ -23,6 +23,9 @@
  */
 package com.googlecode.logVisualizer.parser.lineParsers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 
 import com.googlecode.logVisualizer.logData.LogDataHolder;
@@ -43,6 +46,8 @@ import com.googlecode.logVisualizer.parser.UsefulPatterns;
  */
 public final class TurnsSpentLineParser extends AbstractLineParser {
     private static final String ASCENSION_START_STRING = "Ascension Start";
+    private static final List<String> LINE_PREFIXES = Collections
+            .singletonList(UsefulPatterns.SQUARE_BRACKET_OPEN);
     private final Matcher turnsUsedMatcher = UsefulPatterns.TURNS_USED
             .matcher(UsefulPatterns.EMPTY_STRING);
     private final Matcher areaStatgainMatcher = UsefulPatterns.AREA_STATGAIN
@@ -120,6 +125,14 @@ public final class TurnsSpentLineParser extends AbstractLineParser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getLinePrefixes() {
+        return TurnsSpentLineParser.LINE_PREFIXES;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -44,6 +44,7 @@ import com.googlecode.logVisualizer.logData.turn.SingleTurn.TurnVersion;
 import com.googlecode.logVisualizer.logData.turn.turnAction.EquipmentChange;
 import com.googlecode.logVisualizer.logData.turn.turnAction.FamiliarChange;
 import com.googlecode.logVisualizer.parser.LineParser;
+import com.googlecode.logVisualizer.parser.LineParserDispatcher;
 import com.googlecode.logVisualizer.parser.MafiaSessionLogReader;
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
 import com.googlecode.logVisualizer.parser.lineParsers.CombatRecognizerLineParser;
@@ -112,21 +113,35 @@ public final class EncounterBlockParser implements LogBlockParser {
     private static final String HP_LOSE_STRING_BEGINNING = "You lose ";
     private static final Pattern HP_LOSE_PATTERN = Pattern
             .compile("You lose \\d+ hit points");
-    private final List<LineParser> lineParsers = new ArrayList<>();
+    private final LineParserDispatcher lineParsers;
 
     public EncounterBlockParser() {
-        this.lineParsers.add(new ItemAcquisitionLineParser());
-        this.lineParsers.add(new MafiaDisintegrateLineParser());
-        this.lineParsers.add(new SkillCastLineParser());
-        this.lineParsers.add(new MeatLineParser(MeatGainType.ENCOUNTER));
-        this.lineParsers.add(new MeatSpentLineParser());
-        this.lineParsers.add(new StatLineParser());
-        this.lineParsers.add(new MPGainLineParser(MPGainType.ENCOUNTER));
-        this.lineParsers.add(new CombatRecognizerLineParser());
-        this.lineParsers.add(new EquipmentLineParser());
-        this.lineParsers.add(new MafiaFreeRunawaysLineParser());
-        this.lineParsers.add(new OdorExtractorUsageLineParser());
-        this.lineParsers.add(new StarfishMPGainLineParser());
+        final List<LineParser> lineParsers = new ArrayList<>();
+        lineParsers.add(new ItemAcquisitionLineParser());
+        lineParsers.add(new MafiaDisintegrateLineParser());
+        lineParsers.add(new SkillCastLineParser());
+        lineParsers.add(new MeatLineParser(MeatGainType.ENCOUNTER));
+        lineParsers.add(new MeatSpentLineParser());
+        lineParsers.add(new StatLineParser());
+        lineParsers.add(new MPGainLineParser(MPGainType.ENCOUNTER));
+        lineParsers.add(new CombatRecognizerLineParser());
+        lineParsers.add(new EquipmentLineParser());
+        lineParsers.add(new MafiaFreeRunawaysLineParser());
+        lineParsers.add(new OdorExtractorUsageLineParser());
+        lineParsers.add(new StarfishMPGainLineParser());
+        this.lineParsers = new LineParserDispatcher(lineParsers);
+    }
+
+    /**
+     * Creates an encounter block parser which uses the given line parsers on
+     * the lines of encounter blocks instead of the usual ones.
+     *
+     * @param lineParsers
+     *            The line parsers to use, in the order in which they should
+     *            be tried.
+     */
+    public EncounterBlockParser(final List<? extends LineParser> lineParsers) {
+        this.lineParsers = new LineParserDispatcher(lineParsers);
     }
 
     /**
@@ -252,14 +267,7 @@ public final class EncounterBlockParser implements LogBlockParser {
             logData.addTurnSpent(turn);
         }
         for (final String line : block) {
-            for (final LineParser lp : this.lineParsers) {
-                // If the line parser can parse the line, this method also
-                // returns true. This is used to cut back on the amount of
-                // loops.
-                if (lp.parseLine(line, logData)) {
-                    break;
-                }
-            }
+            this.lineParsers.parseLine(line, logData);
         }
         // Check whether the turn was a combat and whether it was lost. (If you
         // lose a combat the last line of the block is you losing HP.)
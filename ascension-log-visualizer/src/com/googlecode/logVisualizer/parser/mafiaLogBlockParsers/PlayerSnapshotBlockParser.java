@@ -25,7 +25,6 @@ package com.googlecode.logVisualizer.parser.mafiaLogBlockParsers;
 
 import java.util.List;
 import java.util.Locale;
-import java.util.Scanner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,8 +60,8 @@ public final class PlayerSnapshotBlockParser implements LogBlockParser {
             .compile("(?:Mus|Mys|Mox)\\: \\d+ \\(\\d+\\).*");
     private static final Pattern PLAYERSTATS_WOBUFFED_PATTERN = Pattern
             .compile("(?:Mus|Mys|Mox)\\: \\d+(?:$|, tnp =.*)");
-    private static final Pattern NOT_FAMILIAR_NAME_PATTERN = Pattern
-            .compile("Pet: | \\(\\d+ lbs\\)\\s*");
+    private static final Pattern FAMILIAR_WEIGHT_PATTERN = Pattern
+            .compile(" \\(\\d+ lbs\\)");
     private static final String CLASS_LINE_BEGINNING_STRING = "Class: ";
     private static final String FAMILIAR_LINE_BEGINNING_STRING = "Pet: ";
     private static final String ADVENTURES_LINE_BEGINNING_STRING = "Advs: ";
@@ -88,15 +87,6 @@ public final class PlayerSnapshotBlockParser implements LogBlockParser {
      */
     @Override
     public void parseBlock(final List<String> block, final LogDataHolder logData) {
-        String hat = EquipmentChange.NO_EQUIPMENT_STRING;
-        String weapon = EquipmentChange.NO_EQUIPMENT_STRING;
-        String offhand = EquipmentChange.NO_EQUIPMENT_STRING;
-        String shirt = EquipmentChange.NO_EQUIPMENT_STRING;
-        String pants = EquipmentChange.NO_EQUIPMENT_STRING;
-        String acc1 = EquipmentChange.NO_EQUIPMENT_STRING;
-        String acc2 = EquipmentChange.NO_EQUIPMENT_STRING;
-        String acc3 = EquipmentChange.NO_EQUIPMENT_STRING;
-        String famEquip = EquipmentChange.NO_EQUIPMENT_STRING;
         final int turnNumber = logData.getTurnsSpent().last().getEndTurn();
         int mus = -1;
         int myst = -1;
@@ -122,14 +112,6 @@ public final class PlayerSnapshotBlockParser implements LogBlockParser {
                     } else if (mox < 0) {
                         mox = PlayerSnapshotBlockParser.parseStatWOBuffed(line);
                     }
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.FAMILIAR_LINE_BEGINNING_STRING)) {
-                    try (final Scanner s = new Scanner(line)) {
-                        s.useDelimiter(PlayerSnapshotBlockParser.NOT_FAMILIAR_NAME_PATTERN);
-                        logData.addFamiliarChange(new FamiliarChange(s.next(),
-                                turnNumber));
-                        s.close();
-                    }
                 } else if (line
                         .startsWith(PlayerSnapshotBlockParser.ADVENTURES_LINE_BEGINNING_STRING)) {
                     adventuresLeft = Integer.parseInt(line.substring(line
@@ -140,36 +122,7 @@ public final class PlayerSnapshotBlockParser implements LogBlockParser {
                     meat = Integer.parseInt(line.substring(
                             line.indexOf(UsefulPatterns.COLON) + 2).replace(
                             UsefulPatterns.COMMA, UsefulPatterns.EMPTY_STRING));
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.HAT_BEGINNING_STRING)) {
-                    hat = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.WEAPON_BEGINNING_STRING)) {
-                    weapon = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.OFFHAND_BEGINNING_STRING)) {
-                    offhand = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.SHIRT_BEGINNING_STRING)) {
-                    shirt = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.PANTS_BEGINNING_STRING)) {
-                    pants = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.ACC1_BEGINNING_STRING)) {
-                    acc1 = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.ACC2_BEGINNING_STRING)) {
-                    acc2 = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.ACC3_BEGINNING_STRING)) {
-                    acc3 = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.FAM_EQUIP_BEGINNING_STRING)
-                        && !line.contains(UsefulPatterns.PERCENTAGE_SIGN)) {
-                    famEquip = PlayerSnapshotBlockParser.getEquipmentName(line);
-                } else if (line
-                        .startsWith(PlayerSnapshotBlockParser.DAY_CHANGE_STRING)) {
+                } else if (PlayerSnapshotBlockParser.isDayChangeLine(line)) {
                     // Get day number of last day change
                     final int dayNumber = logData.getLastDayChange()
                             .getDayNumber();
@@ -187,9 +140,15 @@ public final class PlayerSnapshotBlockParser implements LogBlockParser {
                 }
             }
         }
-        // Add the currently worn equipment.
-        logData.addEquipmentChange(new EquipmentChange(turnNumber, hat, weapon,
-                offhand, shirt, pants, acc1, acc2, acc3, famEquip));
+        // Add the current familiar and the currently worn equipment.
+        final String familiarName = PlayerSnapshotBlockParser
+                .parseFamiliarName(block);
+        if (familiarName != null) {
+            logData.addFamiliarChange(new FamiliarChange(familiarName,
+                    turnNumber));
+        }
+        logData.addEquipmentChange(PlayerSnapshotBlockParser.parseEquipment(
+                block, turnNumber));
         // A check to make sure the parsing worked, if it did, add the player
         // snapshot.
         if ((mus >= 0) && (myst >= 0) && (mox >= 0)) {
@@ -198,6 +157,90 @@ public final class PlayerSnapshotBlockParser implements LogBlockParser {
         }
     }
 
+    /**
+     * @param block
+     *            The player snapshot block to parse.
+     * @return The name of the familiar of the given player snapshot. Returns
+     *         {@code null} if the snapshot doesn't name a familiar.
+     */
+    public static String parseFamiliarName(final List<String> block) {
+        String familiarName = null;
+        for (final String line : block) {
+            if (line.startsWith(PlayerSnapshotBlockParser.FAMILIAR_LINE_BEGINNING_STRING)) {
+                final Matcher familiarWeight = PlayerSnapshotBlockParser.FAMILIAR_WEIGHT_PATTERN
+                        .matcher(line);
+                final int nameEnd = familiarWeight.find() ? familiarWeight
+                        .start() : line.length();
+                familiarName = line.substring(
+                        PlayerSnapshotBlockParser.FAMILIAR_LINE_BEGINNING_STRING
+                                .length(), nameEnd);
+            }
+        }
+        return familiarName;
+    }
+
+    /**
+     * @param block
+     *            The player snapshot block to parse.
+     * @param turnNumber
+     *            The turn number of the last turn spent.
+     * @return The equipment worn according to the given player snapshot.
+     */
+    public static EquipmentChange parseEquipment(final List<String> block,
+            final int turnNumber) {
+        String hat = EquipmentChange.NO_EQUIPMENT_STRING;
+        String weapon = EquipmentChange.NO_EQUIPMENT_STRING;
+        String offhand = EquipmentChange.NO_EQUIPMENT_STRING;
+        String shirt = EquipmentChange.NO_EQUIPMENT_STRING;
+        String pants = EquipmentChange.NO_EQUIPMENT_STRING;
+        String acc1 = EquipmentChange.NO_EQUIPMENT_STRING;
+        String acc2 = EquipmentChange.NO_EQUIPMENT_STRING;
+        String acc3 = EquipmentChange.NO_EQUIPMENT_STRING;
+        String famEquip = EquipmentChange.NO_EQUIPMENT_STRING;
+        for (final String line : block) {
+            if (line.startsWith(PlayerSnapshotBlockParser.HAT_BEGINNING_STRING)) {
+                hat = PlayerSnapshotBlockParser.getEquipmentName(line);
+            } else if (line
+                    .startsWith(PlayerSnapshotBlockParser.WEAPON_BEGINNING_STRING)) {
+                weapon = PlayerSnapshotBlockParser.getEquipmentName(line);
+            } else if (line
+                    .startsWith(PlayerSnapshotBlockParser.OFFHAND_BEGINNING_STRING)) {
+                offhand = PlayerSnapshotBlockParser.getEquipmentName(line);
+            } else if (line
+                    .startsWith(PlayerSnapshotBlockParser.SHIRT_BEGINNING_STRING)) {
+                shirt = PlayerSnapshotBlockParser.getEquipmentName(line);
+            } else if (line
+                    .startsWith(PlayerSnapshotBlockParser.PANTS_BEGINNING_STRING)) {
+                pants = PlayerSnapshotBlockParser.getEquipmentName(line);
+            } else if (line
+                    .startsWith(PlayerSnapshotBlockParser.ACC1_BEGINNING_STRING)) {
+                acc1 = PlayerSnapshotBlockParser.getEquipmentName(line);
+            } else if (line
+                    .startsWith(PlayerSnapshotBlockParser.ACC2_BEGINNING_STRING)) {
+                acc2 = PlayerSnapshotBlockParser.getEquipmentName(line);
+            } else if (line
+                    .startsWith(PlayerSnapshotBlockParser.ACC3_BEGINNING_STRING)) {
+                acc3 = PlayerSnapshotBlockParser.getEquipmentName(line);
+            } else if (line
+                    .startsWith(PlayerSnapshotBlockParser.FAM_EQUIP_BEGINNING_STRING)
+                    && !line.contains(UsefulPatterns.PERCENTAGE_SIGN)) {
+                famEquip = PlayerSnapshotBlockParser.getEquipmentName(line);
+            }
+        }
+        return new EquipmentChange(turnNumber, hat, weapon, offhand, shirt,
+                pants, acc1, acc2, acc3, famEquip);
+    }
+
+    /**
+     * @param line
+     *            A line of a player snapshot block.
+     * @return True if the given line tells that a day change occurred,
+     *         otherwise false.
+     */
+    public static boolean isDayChangeLine(final String line) {
+        return line.startsWith(PlayerSnapshotBlockParser.DAY_CHANGE_STRING);
+    }
+
     private static String getEquipmentName(final String line) {
         String itemName = line
                 .substring(line.indexOf(UsefulPatterns.COLON) + 2).toLowerCase(
@@ -23,13 +23,15 @@
  */
 package com.googlecode.logVisualizer.util;
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * This class is a container for a collection of {@link Countable} instances
@@ -44,17 +46,40 @@ import java.util.TreeMap;
  * but said interface is stricter than what is needed for this purpose here and
  * thus not used.
  * <p>
+ * Internally, the elements are kept in an open addressing hash table keyed by
+ * the objects returned by {@link Countable#getComparator()}, so these objects
+ * need to implement {@link Object#equals(Object)} and {@link Object#hashCode()}
+ * consistently with their natural ordering. The elements are only sorted by
+ * that ordering when they are actually asked for, and the sorted order is kept
+ * until a new element is added to the collection.
+ * <p>
+ * This class is not thread-safe, but it may be read from several threads at
+ * once as long as no thread modifies it.
+ * <p>
  * All methods in this class throw a {@link NullPointerException} if a null
  * object reference is passed in any parameter.
  *
  * @see Countable
  */
 public final class CountableSet<T extends Countable<T>> {
-    private final SortedMap<Comparable<?>, T> countablesMap;
-
-    public CountableSet() {
-        this.countablesMap = new TreeMap<>();
-    }
+    private static final Object[] EMPTY_ARRAY = {};
+    private static final int MIN_CAPACITY = 4;
+    private static final Comparator<Object> ORDER = new Comparator<Object>() {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @Override
+        public int compare(final Object o1, final Object o2) {
+            final Comparable c1 = ((Countable<?>) o1).getComparator();
+            return c1.compareTo(((Countable<?>) o2).getComparator());
+        }
+    };
+    // Length is always a power of two and kept at least twice as big as the
+    // number of elements, so probe sequences stay short.
+    private Object[] table = new Object[CountableSet.MIN_CAPACITY];
+    private int size;
+    // The elements sorted by their comparators, or null if the sorted order
+    // has to be built again.
+    private volatile Object[] sortedElements = CountableSet.EMPTY_ARRAY;
+    private final Collection<T> elements = new ElementsView();
 
     /**
      * Adds a deep copy of this element to the collection, but if the element
@@ -67,12 +92,34 @@ public final class CountableSet<T extends Countable<T>> {
      *            The element to add.
      */
     public void addElement(final T element) {
-        final T tmp = this.countablesMap.get(element.getComparator());
+        final int slot = this.findSlot(element.getComparator());
+        final T tmp = this.elementAt(slot);
         if (tmp != null) {
             tmp.merge(element);
         } else {
-            this.countablesMap.put(element.getComparator(),
-                    element.newInstance());
+            this.insert(slot, element.newInstance());
+        }
+    }
+
+    /**
+     * Works like {@link #addElement(Countable)}, but doesn't create a deep copy
+     * of the given element. Instead, this collection takes over the ownership
+     * of the element if no similar element was inside the collection yet.
+     * <p>
+     * This is meant for elements which were created only to be added to this
+     * collection. The caller must neither modify nor hand out the given
+     * element afterwards.
+     *
+     * @param element
+     *            The element to add.
+     */
+    public void addElementWithoutCopy(final T element) {
+        final int slot = this.findSlot(element.getComparator());
+        final T tmp = this.elementAt(slot);
+        if (tmp != null) {
+            tmp.merge(element);
+        } else {
+            this.insert(slot, element);
         }
     }
 
@@ -92,15 +139,19 @@ public final class CountableSet<T extends Countable<T>> {
         if (elements == null) {
             throw new NullPointerException("Collection must not be null.");
         }
-        this.countablesMap.clear();
-        for (final T t : elements) {
+        // The given collection might be a view of this collection.
+        final List<T> tmp = new ArrayList<>(elements);
+        this.clear();
+        for (final T t : tmp) {
             this.addElement(t);
         }
     }
 
     /**
      * This method returns a collection containing all {@link Countable}
-     * elements of this container class instance.
+     * elements of this container class instance. The elements are sorted by
+     * the natural ordering of the objects returned by
+     * {@link Countable#getComparator()}.
      * <p>
      * Note that the contents of this collection is directly backed by this
      * class, and thus one should be very careful when modifying its elements
@@ -112,7 +163,7 @@ public final class CountableSet<T extends Countable<T>> {
      * @return The elements.
      */
     public Collection<T> getElements() {
-        return Collections.unmodifiableCollection(this.countablesMap.values());
+        return this.elements;
     }
 
     /**
@@ -130,8 +181,8 @@ public final class CountableSet<T extends Countable<T>> {
      * @return The elements.
      */
     public List<T> getElementsDeepCopy() {
-        final List<T> listCopy = new ArrayList<>(this.countablesMap.size());
-        for (final T t : this.countablesMap.values()) {
+        final List<T> listCopy = new ArrayList<>(this.size);
+        for (final T t : this.elements) {
             listCopy.add(t.newInstance());
         }
         return listCopy;
@@ -141,14 +192,16 @@ public final class CountableSet<T extends Countable<T>> {
      * This method removes all elements from the internal collection.
      */
     public void clear() {
-        this.countablesMap.clear();
+        Arrays.fill(this.table, null);
+        this.size = 0;
+        this.sortedElements = CountableSet.EMPTY_ARRAY;
     }
 
     /**
      * @return The number of elements this container class holds.
      */
     public int size() {
-        return this.countablesMap.size();
+        return this.size;
     }
 
     /**
@@ -163,7 +216,60 @@ public final class CountableSet<T extends Countable<T>> {
      *         collection, otherwise {@code false}.
      */
     public boolean contains(final T t) {
-        return this.countablesMap.containsKey(t.getComparator());
+        return this.table[this.findSlot(t.getComparator())] != null;
+    }
+
+    /**
+     * @return The slot of the element with the given comparator, or the empty
+     *         slot in which such an element would have to be inserted.
+     */
+    private int findSlot(final Comparable<?> comparator) {
+        final int mask = this.table.length - 1;
+        final int hash = comparator.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while ((this.table[slot] != null)
+                && !comparator.equals(this.elementAt(slot).getComparator())) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(final int slot, final T element) {
+        this.table[slot] = element;
+        this.size++;
+        this.sortedElements = null;
+        if ((this.size * 2) > this.table.length) {
+            final Object[] oldTable = this.table;
+            this.table = new Object[oldTable.length * 2];
+            for (final Object o : oldTable) {
+                if (o != null) {
+                    @SuppressWarnings("unchecked")
+                    final T t = (T) o;
+                    this.table[this.findSlot(t.getComparator())] = t;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(final int slot) {
+        return (T) this.table[slot];
+    }
+
+    private Object[] getSortedElements() {
+        Object[] result = this.sortedElements;
+        if (result == null) {
+            result = new Object[this.size];
+            int i = 0;
+            for (final Object o : this.table) {
+                if (o != null) {
+                    result[i++] = o;
+                }
+            }
+            Arrays.sort(result, CountableSet.ORDER);
+            this.sortedElements = result;
+        }
+        return result;
     }
 
     @Override
@@ -181,4 +287,41 @@ public final class CountableSet<T extends Countable<T>> {
         result = (31 * result) + this.getElements().hashCode();
         return result;
     }
+
+    /**
+     * Read-only view of the sorted elements.
+     */
+    private final class ElementsView extends AbstractCollection<T> {
+        @Override
+        public Iterator<T> iterator() {
+            final Object[] sorted = CountableSet.this.getSortedElements();
+            return new Iterator<T>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < sorted.length;
+                }
+
+                @SuppressWarnings("unchecked")
+                @Override
+                public T next() {
+                    if (this.index >= sorted.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return (T) sorted[this.index++];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return CountableSet.this.size;
+        }
+    }
 }
@@ -24,48 +24,55 @@
 package com.googlecode.logVisualizer.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * This utility class counts how many times certain elements were added to it.
  * Note that while letting this class count big amounts of data shouldn't be a
  * problem, letting it count big amounts of different objects can be very memory
  * taxing and lessen the performance of this class.
+ * <p>
+ * Internally, the counted objects and their counts are kept in plain arrays in
+ * the order in which the objects were first added, together with an open
+ * addressing hash table to find them again. Thus, counting doesn't need to box
+ * the counts and the results are always returned in a deterministic order.
  */
 public final class DataCounter<E> {
-    private final Map<E, Integer> counterBucket;
-    private final Set<E> dataSet;
+    private Object[] elements;
+    private int[] counts;
+    // Holds the index of an element in the arrays above plus one, zero marks
+    // an empty slot. Its length is a power of two and at least twice the
+    // number of counted objects.
+    private int[] hashTable;
+    private int size;
 
     /**
-     * Constructs the DataCounter with an initial capacity for the internal hash
-     * data containers of 20. The load factor for the internal hash data
-     * containers is 0.75.
+     * Constructs the DataCounter with an initial capacity for 20 different
+     * objects.
      * <p>
      * This constructor should be used only if the number of different objects
      * to be counted is known to be pretty low.
      */
     public DataCounter() {
-        this.counterBucket = new HashMap<>(20);
-        this.dataSet = new HashSet<>(20);
+        this(20);
     }
 
     /**
-     * Constructs the DataCounter with the given initial capacity for the
-     * internal hash data containers. All reglementations of both
-     * {@link HashSet} and {@link HashMap} also come into action here. The load
-     * factor for the internal hash data containers is 0.75.
+     * Constructs the DataCounter with the given initial capacity of different
+     * objects. The internal data containers will grow as needed.
      *
      * @param intialHashCapacity
      *            The initial capacity of the internal hash data containers.
      */
     public DataCounter(final int intialHashCapacity) {
-        this.counterBucket = new HashMap<>(intialHashCapacity);
-        this.dataSet = new HashSet<>(intialHashCapacity);
+        final int capacity = Math.max(intialHashCapacity, 2);
+        this.elements = new Object[capacity];
+        this.counts = new int[capacity];
+        this.hashTable = new int[Integer.highestOneBit(capacity - 1) << 2];
     }
 
     /**
@@ -118,26 +125,142 @@ public final class DataCounter<E> {
             throw new NullPointerException(
                     "Element to be added must not be null.");
         }
-        if (!this.dataSet.contains(e)) {
-            this.dataSet.add(e);
-            this.counterBucket.put(e, amount);
+        final int slot = this.findSlot(e);
+        final int index = this.hashTable[slot] - 1;
+        if (index >= 0) {
+            this.counts[index] += amount;
         } else {
-            this.counterBucket.put(e, this.counterBucket.get(e) + amount);
+            this.insert(slot, e, amount);
         }
     }
 
     /**
-     * Returns an unsorted list of {@link DataNumber} objects, which hold the
-     * counted objects and how many times they appeared.
+     * Adds all objects counted by the given counter to this counter, as if
+     * they had been added to this counter the same amount of times.
+     *
+     * @param counter
+     *            The counter whose counted objects should be added.
+     * @throws NullPointerException
+     *             if counter is {@code null}
+     */
+    public void merge(final DataCounter<? extends E> counter) {
+        if (counter == null) {
+            throw new NullPointerException("Data counter must not be null.");
+        }
+        for (int i = 0; i < counter.size; i++) {
+            @SuppressWarnings("unchecked")
+            final E e = (E) counter.elements[i];
+            this.addDataElement(e, counter.counts[i]);
+        }
+    }
+
+    /**
+     * @param e
+     *            The object whose count should be returned.
+     * @return How many times the given object was counted, or 0 if it wasn't
+     *         counted at all.
+     * @throws NullPointerException
+     *             if e is {@code null}
+     */
+    public int getCount(final E e) {
+        if (e == null) {
+            throw new NullPointerException("Element must not be null.");
+        }
+        final int index = this.hashTable[this.findSlot(e)] - 1;
+        return index >= 0 ? this.counts[index] : 0;
+    }
+
+    /**
+     * Returns a list of {@link DataNumber} objects, which hold the counted
+     * objects and how many times they appeared. The list is ordered by when the
+     * objects were first added to this counter.
      *
      * @return The list of objects and how many times they were counted.
      */
     public List<DataNumberPair<E>> getCountedData() {
-        final List<DataNumberPair<E>> countedData = new ArrayList<>(
-                this.dataSet.size());
-        for (final E e : this.dataSet) {
-            countedData.add(DataNumberPair.of(e, this.counterBucket.get(e)));
+        final List<DataNumberPair<E>> countedData = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            @SuppressWarnings("unchecked")
+            final E e = (E) this.elements[i];
+            countedData.add(DataNumberPair.of(e, this.counts[i]));
         }
         return countedData;
     }
+
+    /**
+     * Returns a list of {@link DataNumber} objects, which hold the counted
+     * objects and how many times they appeared. The list is sorted from the
+     * highest to the lowest count. Objects with the same count are ordered by
+     * when they were first added to this counter.
+     *
+     * @return The sorted list of objects and how many times they were counted.
+     */
+    public List<DataNumberPair<E>> getCountedDataSortedByCount() {
+        return this.getCountedDataSortedByCount(null);
+    }
+
+    /**
+     * Returns a list of {@link DataNumber} objects, which hold the counted
+     * objects and how many times they appeared. The list is sorted from the
+     * highest to the lowest count. Objects with the same count are ordered by
+     * the given comparator.
+     *
+     * @param tieOrder
+     *            The comparator which decides the order of objects with the
+     *            same count. If it is {@code null}, these objects are ordered
+     *            by when they were first added to this counter.
+     * @return The sorted list of objects and how many times they were counted.
+     */
+    public List<DataNumberPair<E>> getCountedDataSortedByCount(
+            final Comparator<? super E> tieOrder) {
+        final List<DataNumberPair<E>> countedData = this.getCountedData();
+        Collections.sort(countedData, new Comparator<DataNumberPair<E>>() {
+            @Override
+            public int compare(final DataNumberPair<E> o1,
+                    final DataNumberPair<E> o2) {
+                // Reverse order, so that the list starts with the highest
+                // element.
+                int diff = o2.compareTo(o1);
+                if ((diff == 0) && (tieOrder != null)) {
+                    diff = tieOrder.compare(o1.getData(), o2.getData());
+                }
+                return diff;
+            }
+        });
+        return countedData;
+    }
+
+    /**
+     * @return The slot of the hash table which holds the given object, or the
+     *         empty slot in which it would have to be inserted.
+     */
+    private int findSlot(final Object e) {
+        final int mask = this.hashTable.length - 1;
+        final int hash = e.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        int index;
+        while (((index = this.hashTable[slot]) != 0)
+                && !e.equals(this.elements[index - 1])) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(final int slot, final E e, final int amount) {
+        if (this.size == this.elements.length) {
+            final int capacity = this.size + (this.size >> 1);
+            this.elements = Arrays.copyOf(this.elements, capacity);
+            this.counts = Arrays.copyOf(this.counts, capacity);
+        }
+        this.elements[this.size] = e;
+        this.counts[this.size] = amount;
+        this.size++;
+        this.hashTable[slot] = this.size;
+        if ((this.size * 2) > this.hashTable.length) {
+            this.hashTable = new int[this.hashTable.length * 2];
+            for (int i = 0; i < this.size; i++) {
+                this.hashTable[this.findSlot(this.elements[i])] = i + 1;
+            }
+        }
+    }
 }
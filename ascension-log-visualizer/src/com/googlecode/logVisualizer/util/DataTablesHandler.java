@@ -158,8 +158,8 @@ public final class DataTablesHandler {
      * @return The MP cost of the given skill.
      */
     public static int getSkillMPCost(final String skillName) {
-        final Integer mpCost = DataTablesHandler.skillMPCostMap.get(skillName
-                .toLowerCase(Locale.ENGLISH));
+        final Integer mpCost = DataTablesHandler.skillMPCostMap
+                .get(SymbolTable.toLowerCase(skillName));
         return mpCost != null ? mpCost.intValue() : 0;
     }
 
@@ -170,7 +170,7 @@ public final class DataTablesHandler {
      */
     public static int getFullnessHit(final String consumableName) {
         final Integer fullnessHit = DataTablesHandler.fullnessHitMap
-                .get(consumableName.toLowerCase(Locale.ENGLISH));
+                .get(SymbolTable.toLowerCase(consumableName));
         return fullnessHit != null ? fullnessHit.intValue() : 0;
     }
 
@@ -181,7 +181,7 @@ public final class DataTablesHandler {
      */
     public static int getDrunkennessHit(final String consumableName) {
         final Integer drunkennessHit = DataTablesHandler.drunkennessHitMap
-                .get(consumableName.toLowerCase(Locale.ENGLISH));
+                .get(SymbolTable.toLowerCase(consumableName));
         return drunkennessHit != null ? drunkennessHit.intValue() : 0;
     }
 
@@ -192,7 +192,7 @@ public final class DataTablesHandler {
      */
     public static int getSpleenHit(final String consumableName) {
         final Integer spleenHit = DataTablesHandler.spleenHitMap
-                .get(consumableName.toLowerCase(Locale.ENGLISH));
+                .get(SymbolTable.toLowerCase(consumableName));
         return spleenHit != null ? spleenHit.intValue() : 0;
     }
 
@@ -233,8 +233,8 @@ public final class DataTablesHandler {
      * @return True if the item is an important item, otherwise false.
      */
     public static boolean isImportantItem(final String itemName) {
-        return DataTablesHandler.importantItemsSet.contains(itemName
-                .toLowerCase(Locale.ENGLISH));
+        return DataTablesHandler.importantItemsSet.contains(SymbolTable
+                .toLowerCase(itemName));
     }
 
     /**
@@ -247,8 +247,8 @@ public final class DataTablesHandler {
      * @return True if the item is an one-time item, otherwise false.
      */
     public static boolean isOnetimeItem(final String itemName) {
-        return DataTablesHandler.onetimeItemsSet.contains(itemName
-                .toLowerCase(Locale.ENGLISH));
+        return DataTablesHandler.onetimeItemsSet.contains(SymbolTable
+                .toLowerCase(itemName));
     }
 
     /**
@@ -276,8 +276,8 @@ public final class DataTablesHandler {
      * @return True if the encounter is a semi-rare, otherwise false.
      */
     public static boolean isSemirareEncounter(final String encounterName) {
-        return DataTablesHandler.semirareSet.contains(encounterName
-                .toLowerCase(Locale.ENGLISH));
+        return DataTablesHandler.semirareSet.contains(SymbolTable
+                .toLowerCase(encounterName));
     }
 
     /**
@@ -298,7 +298,7 @@ public final class DataTablesHandler {
      * @return True if the encounter is a Bad Moon adventure, otherwise false.
      */
     public static boolean isBadMoonEncounter(final String encounterName) {
-        final String tmp = encounterName.toLowerCase(Locale.ENGLISH);
+        final String tmp = SymbolTable.toLowerCase(encounterName);
         return DataTablesHandler.badmoonSet.contains(tmp) ? true : tmp
                 .startsWith(DataTablesHandler.FLOWERS_FOR_BAD_MOON_ADVENUTRE);
     }
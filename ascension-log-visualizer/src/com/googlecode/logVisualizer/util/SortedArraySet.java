@@ -0,0 +1,465 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * A sorted set which holds its elements in an array, sorted by their natural
+ * ordering or by a given comparator.
+ * <p>
+ * It is meant for sets that are mostly filled in ascending order, like the turn
+ * rundown of an ascension. Adding an element that is greater than all elements
+ * in the set is a simple append and {@link #first()}, {@link #last()} and
+ * removing the last element take constant time. Other lookups are binary
+ * searches and other insertions or removals shift the elements behind them.
+ * Compared to a {@link java.util.TreeSet}, this needs a lot less memory and no
+ * allocations apart from growing the array.
+ * <p>
+ * The sets returned by {@link #headSet(Object)}, {@link #tailSet(Object)} and
+ * {@link #subSet(Object, Object)} are views backed by this set, just like the
+ * ones of a {@link java.util.TreeSet}. Their range inside the array is found
+ * again on each access.
+ * <p>
+ * This set doesn't permit {@code null} elements and is not thread-safe.
+ */
+public final class SortedArraySet<E> extends AbstractSet<E> implements
+        SortedSet<E> {
+    private static final Object[] EMPTY_ARRAY = {};
+    private static final int MIN_CAPACITY = 4;
+    private final Comparator<? super E> comparator;
+    private Object[] elements = SortedArraySet.EMPTY_ARRAY;
+    private int size;
+    private int modCount;
+
+    /**
+     * Creates an empty set sorted by the natural ordering of its elements.
+     */
+    public SortedArraySet() {
+        this.comparator = null;
+    }
+
+    /**
+     * Creates an empty set sorted by the given comparator.
+     *
+     * @param comparator
+     *            The comparator used to sort this set, or {@code null} to use
+     *            the natural ordering of the elements.
+     */
+    public SortedArraySet(final Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Creates a set with the given elements, sorted by their natural ordering,
+     * or if the given collection is a sorted set, by the same ordering as that
+     * set.
+     *
+     * @param elements
+     *            The elements of this set.
+     */
+    @SuppressWarnings("unchecked")
+    public SortedArraySet(final Collection<? extends E> elements) {
+        this.comparator = elements instanceof SortedSet ? ((SortedSet<E>) elements)
+                .comparator()
+                : null;
+        this.ensureCapacity(elements.size());
+        this.addAll(elements);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(final Object o1, final Object o2) {
+        return this.comparator != null ? this.comparator.compare((E) o1,
+                (E) o2) : ((Comparable<Object>) o1).compareTo(o2);
+    }
+
+    /**
+     * @return The index of the given element, or if it isn't in this set,
+     *         {@code -(insertion point) - 1}.
+     */
+    private int indexOf(final Object o) {
+        // Most lookups are for the last element.
+        if (this.size > 0) {
+            final int comparison = this.compare(this.elements[this.size - 1],
+                    o);
+            if (comparison == 0) {
+                return this.size - 1;
+            } else if (comparison < 0) {
+                return -this.size - 1;
+            }
+        }
+        int low = 0;
+        int high = this.size - 2;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = this.compare(this.elements[middle], o);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * @return The index of the first element which is not less than the given
+     *         one.
+     */
+    private int lowerBound(final Object o) {
+        final int index = this.indexOf(o);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > this.elements.length) {
+            this.elements = Arrays.copyOf(this.elements, Math.max(capacity,
+                    Math.max(SortedArraySet.MIN_CAPACITY,
+                            this.elements.length + (this.elements.length >> 1))));
+        }
+    }
+
+    private void removeAt(final int index) {
+        this.modCount++;
+        this.size--;
+        if (index < this.size) {
+            System.arraycopy(this.elements, index + 1, this.elements, index,
+                    this.size - index);
+        }
+        this.elements[this.size] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(final int index) {
+        return (E) this.elements[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final E e) {
+        if (e == null) {
+            throw new NullPointerException("Element must not be null.");
+        }
+        final int index = this.indexOf(e);
+        if (index >= 0) {
+            return false;
+        }
+        final int insertionPoint = -index - 1;
+        this.ensureCapacity(this.size + 1);
+        if (insertionPoint < this.size) {
+            System.arraycopy(this.elements, insertionPoint, this.elements,
+                    insertionPoint + 1, this.size - insertionPoint);
+        }
+        this.elements[insertionPoint] = e;
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return (o != null) && (this.indexOf(o) >= 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object o) {
+        if (o == null) {
+            return false;
+        }
+        final int index = this.indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        this.removeAt(index);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        this.modCount++;
+        Arrays.fill(this.elements, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new RangeIterator(0, this.size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Comparator<? super E> comparator() {
+        return this.comparator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E first() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The set is empty.");
+        }
+        return this.elementAt(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E last() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The set is empty.");
+        }
+        return this.elementAt(this.size - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SortedSet<E> headSet(final E toElement) {
+        return new SubSet(null, toElement);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SortedSet<E> tailSet(final E fromElement) {
+        return new SubSet(fromElement, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SortedSet<E> subSet(final E fromElement, final E toElement) {
+        return new SubSet(fromElement, toElement);
+    }
+
+    /**
+     * Iterates over the elements from the given start index up to, but not
+     * including, the given end index.
+     */
+    private final class RangeIterator implements Iterator<E> {
+        private int index;
+        private int end;
+        private int lastReturned = -1;
+        private int expectedModCount = SortedArraySet.this.modCount;
+
+        RangeIterator(final int start, final int end) {
+            this.index = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.end;
+        }
+
+        @Override
+        public E next() {
+            if (SortedArraySet.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.index >= this.end) {
+                throw new NoSuchElementException("There is no next element.");
+            }
+            this.lastReturned = this.index++;
+            return SortedArraySet.this.elementAt(this.lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (this.lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            if (SortedArraySet.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            SortedArraySet.this.removeAt(this.lastReturned);
+            this.index = this.lastReturned;
+            this.end--;
+            this.lastReturned = -1;
+            this.expectedModCount = SortedArraySet.this.modCount;
+        }
+    }
+
+    /**
+     * A view of the elements of the backing set which are not less than
+     * {@code fromElement} and less than {@code toElement}. A {@code null}
+     * bound means that the view is unbounded on that side.
+     */
+    private final class SubSet extends AbstractSet<E> implements SortedSet<E> {
+        private final E fromElement;
+        private final E toElement;
+
+        SubSet(final E fromElement, final E toElement) {
+            if ((fromElement != null) && (toElement != null)
+                    && (SortedArraySet.this.compare(fromElement, toElement) > 0)) {
+                throw new IllegalArgumentException(
+                        "The start of the range must not be greater than its end.");
+            }
+            this.fromElement = fromElement;
+            this.toElement = toElement;
+        }
+
+        private int getStart() {
+            return this.fromElement != null ? SortedArraySet.this
+                    .lowerBound(this.fromElement) : 0;
+        }
+
+        private int getEnd() {
+            return this.toElement != null ? SortedArraySet.this
+                    .lowerBound(this.toElement) : SortedArraySet.this.size;
+        }
+
+        private boolean isInRange(final Object o) {
+            return ((this.fromElement == null) || (SortedArraySet.this.compare(
+                    o, this.fromElement) >= 0))
+                    && ((this.toElement == null) || (SortedArraySet.this
+                            .compare(o, this.toElement) < 0));
+        }
+
+        private E checkRange(final E e) {
+            if (!this.isInRange(e)) {
+                throw new IllegalArgumentException("Element out of range.");
+            }
+            return e;
+        }
+
+        @Override
+        public boolean add(final E e) {
+            return SortedArraySet.this.add(this.checkRange(e));
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return (o != null) && this.isInRange(o)
+                    && SortedArraySet.this.contains(o);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return (o != null) && this.isInRange(o)
+                    && SortedArraySet.this.remove(o);
+        }
+
+        @Override
+        public int size() {
+            return Math.max(this.getEnd() - this.getStart(), 0);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new RangeIterator(this.getStart(), this.getEnd());
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return SortedArraySet.this.comparator;
+        }
+
+        @Override
+        public E first() {
+            final int start = this.getStart();
+            if (start >= this.getEnd()) {
+                throw new NoSuchElementException("The set is empty.");
+            }
+            return SortedArraySet.this.elementAt(start);
+        }
+
+        @Override
+        public E last() {
+            final int end = this.getEnd();
+            if (end <= this.getStart()) {
+                throw new NoSuchElementException("The set is empty.");
+            }
+            return SortedArraySet.this.elementAt(end - 1);
+        }
+
+        /**
+         * Unlike {@link #checkRange(Object)}, this also accepts the end of the
+         * range of this view, because it is a valid bound of a view inside this
+         * view.
+         */
+        private E checkBound(final E e) {
+            if ((this.toElement != null)
+                    && (SortedArraySet.this.compare(e, this.toElement) == 0)) {
+                return e;
+            }
+            return this.checkRange(e);
+        }
+
+        @Override
+        public SortedSet<E> headSet(final E toElement) {
+            return new SubSet(this.fromElement, this.checkBound(toElement));
+        }
+
+        @Override
+        public SortedSet<E> tailSet(final E fromElement) {
+            return new SubSet(this.checkBound(fromElement), this.toElement);
+        }
+
+        @Override
+        public SortedSet<E> subSet(final E fromElement, final E toElement) {
+            return new SubSet(this.checkBound(fromElement),
+                    this.checkBound(toElement));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/* Copyright (c) 2008-2010, developers of the Ascension Log Visualizer
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or
+ * sell copies of the Software, and to permit persons to whom
+ * the Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.googlecode.logVisualizer.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class is a centralised, thread-safe dictionary of all names used in the
+ * log data, such as area, encounter, item, skill, familiar and consumable
+ * names.
+ * <p>
+ * Objects holding names should always store the canonical {@link String}
+ * instance returned by {@link #intern(String)}, so that logs which contain the
+ * same name thousands of times only keep one copy of it in memory. This also
+ * means that equality checks of names are mostly decided through a cheap
+ * identity comparison.
+ * <p>
+ * Names are only weakly referenced by this class, so a name is dropped from it
+ * once no log data uses it anymore and parsing many logs doesn't make it grow
+ * without bounds. Lookups don't lock, so threads parsing different logs at the
+ * same time don't wait for each other.
+ * <p>
+ * All methods in this class throw a {@link NullPointerException} if a null
+ * object reference is passed in any parameter.
+ */
+public final class SymbolTable {
+    // Every symbol is both key and value of its entry. Symbols whose names
+    // were garbage collected are put into the queue and removed from the map
+    // on the next call to intern().
+    private static final ConcurrentMap<Object, Symbol> symbolsMap = new ConcurrentHashMap<>(
+            2000);
+    private static final ReferenceQueue<String> collectedNames = new ReferenceQueue<>();
+
+    /**
+     * @param name
+     *            The name whose canonical instance should be returned.
+     * @return The canonical instance of the given name.
+     */
+    public static String intern(final String name) {
+        if (name == null) {
+            throw new NullPointerException("Name must not be null.");
+        }
+
+        SymbolTable.removeCollectedNames();
+        final Symbol symbol = SymbolTable.symbolsMap.get(new Lookup(name));
+        if (symbol != null) {
+            final String canonicalName = symbol.get();
+            if (canonicalName != null) {
+                return canonicalName;
+            }
+        }
+        final Symbol newSymbol = new Symbol(name, SymbolTable.collectedNames);
+        while (true) {
+            final Symbol oldSymbol = SymbolTable.symbolsMap.putIfAbsent(
+                    newSymbol, newSymbol);
+            if (oldSymbol == null) {
+                return name;
+            }
+            // The old symbol can only be replaced once its name was collected,
+            // as it no longer equals the new symbol then.
+            final String canonicalName = oldSymbol.get();
+            if (canonicalName != null) {
+                return canonicalName;
+            }
+        }
+    }
+
+    /**
+     * Unlike {@link #intern(String)}, this method doesn't add the given name
+     * to this class, so it can be used for lookups with arbitrary strings.
+     *
+     * @param name
+     *            The name whose lower case version should be returned.
+     * @return The given name in lower case letters, as given by
+     *         {@code name.toLowerCase(Locale.ENGLISH)}. The result is only
+     *         computed once for interned names.
+     */
+    public static String toLowerCase(final String name) {
+        if (name == null) {
+            throw new NullPointerException("Name must not be null.");
+        }
+
+        final Symbol symbol = SymbolTable.symbolsMap.get(new Lookup(name));
+        if (symbol == null) {
+            return name.toLowerCase(Locale.ENGLISH);
+        }
+        return symbol.lowerCaseName != null ? symbol.lowerCaseName : name;
+    }
+
+    private static void removeCollectedNames() {
+        Reference<? extends String> collected;
+        while ((collected = SymbolTable.collectedNames.poll()) != null) {
+            SymbolTable.symbolsMap.remove(collected);
+        }
+    }
+
+    // This class is not to be instanced.
+    private SymbolTable() {
+    }
+
+    /**
+     * A weak reference to a canonical name which is equal to every other
+     * symbol or lookup of the same name for as long as the name is reachable.
+     */
+    private static final class Symbol extends WeakReference<String> {
+        private final int hashCode;
+        // Null if the name already is in lower case, so the symbol doesn't
+        // strongly reference its own name.
+        final String lowerCaseName;
+
+        Symbol(final String name, final ReferenceQueue<String> queue) {
+            super(name, queue);
+            this.hashCode = name.hashCode();
+            final String lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+            this.lowerCaseName = lowerCaseName.equals(name) ? null
+                    : lowerCaseName;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (o instanceof Symbol) {
+                final String name = this.get();
+                return (name != null) && name.equals(((Symbol) o).get());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    /**
+     * The key used to look up the symbol of a name, without having to create
+     * a weak reference for it.
+     */
+    private static final class Lookup {
+        private final String name;
+
+        Lookup(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return (o instanceof Symbol) && this.name.equals(((Symbol) o).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.name.hashCode();
+        }
+    }
+}
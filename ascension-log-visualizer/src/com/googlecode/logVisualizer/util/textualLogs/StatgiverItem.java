@@ -25,6 +25,7 @@ package com.googlecode.logVisualizer.util.textualLogs;
 
 import java.util.Locale;
 
+import com.googlecode.logVisualizer.logData.turn.turnAction.EquipmentChange;
 import com.googlecode.logVisualizer.parser.UsefulPatterns;
 
 /**
@@ -35,6 +36,7 @@ final class StatgiverItem {
     private static final String TAB = "\t";
     private final String itemName;
     private final String itemNameLower;
+    private final int equipmentId;
     private final double perTurnStatgain;
     private double lvl1Stats;
     private double lvl2Stats;
@@ -52,6 +54,7 @@ final class StatgiverItem {
     StatgiverItem(final String itemName, final double perTurnStatgain) {
         this.itemName = itemName;
         this.itemNameLower = itemName.toLowerCase(Locale.ENGLISH);
+        this.equipmentId = EquipmentChange.getEquipmentId(this.itemNameLower);
         this.perTurnStatgain = perTurnStatgain;
     }
 
@@ -60,6 +63,14 @@ final class StatgiverItem {
         return this.itemNameLower;
     }
 
+    /**
+     * @return The equipment ID of this item, see
+     *         {@link EquipmentChange#getEquipmentId(String)}.
+     */
+    int getEquipmentId() {
+        return this.equipmentId;
+    }
+
     void incrementLvlStatgain(final int levelNumber,
             final int numberOfIncrements) {
         for (int i = 0; i < numberOfIncrements; i++) {
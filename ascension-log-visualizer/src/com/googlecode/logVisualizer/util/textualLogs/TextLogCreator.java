@@ -932,72 +932,13 @@ public final class TextLogCreator {
         // Quest Turns summary
         this.write("QUEST TURNS" + TextLogCreator.NEW_LINE + "----------"
                 + TextLogCreator.NEW_LINE);
-        this.write("Mosquito Larva: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getMosquitoQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Opening the Hidden Temple: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getTempleOpeningTurns() + TextLogCreator.NEW_LINE);
-        this.write("Tavern quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getTavernQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Bat quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getBatQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Cobb's Knob quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getKnobQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Friars' part 1: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getFriarsQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Defiled Cyrpt quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getCyrptQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Trapzor quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getTrapzorQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Orc Chasm quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getChasmQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Airship: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getAirshipQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Giant's Castle: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getCastleQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Opening the Ballroom: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getBallroomOpeningTurns() + TextLogCreator.NEW_LINE);
-        this.write("Pirate quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getPirateQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Black Forest quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getBlackForrestQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Desert Oasis quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getDesertOasisQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Spookyraven quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getSpookyravenQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Hidden City quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getTempleCityQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Palindome quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getPalindomeQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Pyramid quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getPyramidQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("Starting the War: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getWarIslandOpeningTurns() + TextLogCreator.NEW_LINE);
-        this.write("War Island quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getWarIslandQuestTurns() + TextLogCreator.NEW_LINE);
-        this.write("DoD quest: "
-                + logData.getLogSummary().getQuestTurncounts()
-                        .getDodQuestTurns() + TextLogCreator.NEW_LINE);
+        for (final DataNumberPair<String> dn : logData.getLogSummary()
+                .getQuestTurncounts().getQuestTurncounts()) {
+            this.write(dn.getData());
+            this.write(": ");
+            this.write(dn.getNumber());
+            this.write(TextLogCreator.NEW_LINE);
+        }
         this.write(TextLogCreator.NEW_LINE + TextLogCreator.NEW_LINE
                 + TextLogCreator.NEW_LINE);
         // Pulls summary
@@ -1008,16 +949,9 @@ public final class TextLogCreator {
         for (final Pull p : logData.getPulls()) {
             pullsCounter.addDataElement(p.getItemName(), p.getAmount());
         }
-        final List<DataNumberPair<String>> pulls = pullsCounter
-                .getCountedData();
         // ordered from highest to lowest amount
-        Collections.sort(pulls, new Comparator<DataNumberPair<String>>() {
-            @Override
-            public int compare(final DataNumberPair<String> o1,
-                    final DataNumberPair<String> o2) {
-                return o2.compareTo(o1);
-            }
-        });
+        final List<DataNumberPair<String>> pulls = pullsCounter
+                .getCountedDataSortedByCount();
         for (final DataNumberPair<String> dn : pulls) {
             this.write("Pulled ");
             this.write(dn.getNumber());
@@ -1167,18 +1101,19 @@ public final class TextLogCreator {
                         sgi.incrementLvlStatgain(
                                 currentLvlNumber,
                                 st.getUsedEquipment().getNumberOfEquips(
-                                        sgi.getItemName()));
+                                        sgi.getEquipmentId()));
                     }
                     // Special cases
                     final int serpentineSwordEquips = st.getUsedEquipment()
-                            .getNumberOfEquips(serpentineSword.getItemName());
+                            .getNumberOfEquips(
+                                    serpentineSword.getEquipmentId());
                     serpentineSword.incrementLvlStatgain(currentLvlNumber,
                             serpentineSwordEquips);
                     if (serpentineSwordEquips == 1) {
                         snakeShield.incrementLvlStatgain(
                                 currentLvlNumber,
                                 st.getUsedEquipment().getNumberOfEquips(
-                                        snakeShield.getItemName()));
+                                        snakeShield.getEquipmentId()));
                     }
                 }
             }